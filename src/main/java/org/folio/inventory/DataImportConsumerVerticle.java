@@ -44,15 +44,20 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.DataImportEventTypes;
+import org.folio.inventory.common.metrics.MeteredRecordHandler;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
 import org.folio.inventory.dataimport.cache.ProfileSnapshotCache;
+import org.folio.inventory.dataimport.consumers.AdaptiveLoadLimitRecordHandler;
+import org.folio.inventory.dataimport.consumers.BatchingRecordHandler;
 import org.folio.inventory.dataimport.consumers.DataImportKafkaHandler;
 import org.folio.inventory.dataimport.util.ConsumerWrapperUtil;
 import org.folio.inventory.storage.Storage;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.GlobalLoadSensor;
 import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaConsumerWrapper;
+import org.folio.kafka.KafkaHeaderUtils;
 import org.folio.kafka.KafkaTopicNameHelper;
 import org.folio.kafka.SubscriptionDefinition;
 import org.folio.processing.events.EventManager;
@@ -63,10 +68,13 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 public class DataImportConsumerVerticle extends AbstractVerticle {
 
   private static final Logger LOGGER = LogManager.getLogger(DataImportConsumerVerticle.class);
+  private static final String RECORD_ID_HEADER = "recordId";
+  private static final String CHUNK_ID_HEADER = "chunkId";
 
   private static final List<DataImportEventTypes> EVENT_TYPES = List.of(
     DI_INVENTORY_HOLDING_CREATED,
@@ -99,6 +107,10 @@ public class DataImportConsumerVerticle extends AbstractVerticle {
   );
 
   private final int loadLimit = getLoadLimit();
+  private final int minLoadLimit = getMinLoadLimit();
+  private final int maxLoadLimit = getMaxLoadLimit();
+  private final int batchSize = getBatchSize();
+  private final long batchMaxWaitMs = getBatchMaxWaitMs();
   private final int maxDistributionNumber = getMaxDistributionNumber();
   private List<KafkaConsumerWrapper<String, String>> consumerWrappers = new ArrayList<>();
 
@@ -116,7 +128,7 @@ public class DataImportConsumerVerticle extends AbstractVerticle {
     LOGGER.info(format("kafkaConfig: %s", kafkaConfig));
     EventManager.registerKafkaEventPublisher(kafkaConfig, vertx, maxDistributionNumber);
 
-    HttpClient client = vertx.createHttpClient();
+    HttpClient client = HttpClientFactory.getHttpClient(vertx);
     Storage storage = Storage.basedUpon(config, client);
 
     String profileSnapshotExpirationTime = getCacheEnvVariable(config, "inventory.profile-snapshot-cache.expiration.time.seconds");
@@ -126,9 +138,19 @@ public class DataImportConsumerVerticle extends AbstractVerticle {
     MappingMetadataCache mappingMetadataCache = new MappingMetadataCache(vertx, client, Long.parseLong(mappingMetadataExpirationTime));
 
     DataImportKafkaHandler dataImportKafkaHandler = new DataImportKafkaHandler(vertx, storage, client, profileSnapshotCache, kafkaConfig, mappingMetadataCache);
+    AsyncRecordHandler<String, String> recordHandler = new MeteredRecordHandler<>(dataImportKafkaHandler);
+    if (batchSize > 1) {
+      LOGGER.info(format("Handling data import records in batches of up to %s records", batchSize));
+      if (batchSize > maxLoadLimit) {
+        LOGGER.warn(format("Batches hold at most %s records, the maximum load limit of the consumer", maxLoadLimit));
+      }
+      recordHandler = new BatchingRecordHandler<>(vertx, recordHandler, DataImportConsumerVerticle::batchKey,
+        DataImportConsumerVerticle::recordId, batchSize, batchMaxWaitMs);
+    }
+    var handler = recordHandler;
 
     List<Future> futures = EVENT_TYPES.stream()
-      .map(eventType -> createKafkaConsumerWrapper(kafkaConfig, eventType, dataImportKafkaHandler))
+      .map(eventType -> createKafkaConsumerWrapper(kafkaConfig, eventType, createRecordHandler(eventType, handler)))
       .collect(Collectors.toList());
 
     CompositeFuture.all(futures)
@@ -157,7 +179,7 @@ public class DataImportConsumerVerticle extends AbstractVerticle {
       .context(context)
       .vertx(vertx)
       .kafkaConfig(kafkaConfig)
-      .loadLimit(loadLimit)
+      .loadLimit(maxLoadLimit)
       .globalLoadSensor(new GlobalLoadSensor())
       .subscriptionDefinition(subscriptionDefinition)
       .build();
@@ -170,6 +192,39 @@ public class DataImportConsumerVerticle extends AbstractVerticle {
     return Integer.parseInt(System.getProperty("inventory.kafka.DataImportConsumer.loadLimit", "5"));
   }
 
+  private AsyncRecordHandler<String, String> createRecordHandler(DataImportEventTypes eventType,
+                                                                 AsyncRecordHandler<String, String> handler) {
+    return AdaptiveLoadLimitRecordHandler.withLoadLimits(handler, eventType.value(), loadLimit, minLoadLimit, maxLoadLimit);
+  }
+
+  private int getMinLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.DataImportConsumer.minLoadLimit", String.valueOf(loadLimit)));
+  }
+
+  private int getMaxLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.DataImportConsumer.maxLoadLimit", String.valueOf(loadLimit)));
+  }
+
+  /**
+   * Records of one topic, which is one event type of one tenant, and of one chunk, which belongs to one job,
+   * are handled together.
+   */
+  private static String batchKey(KafkaConsumerRecord<String, String> kafkaRecord) {
+    return kafkaRecord.topic() + ":" + KafkaHeaderUtils.kafkaHeadersToMap(kafkaRecord.headers()).get(CHUNK_ID_HEADER);
+  }
+
+  private static String recordId(KafkaConsumerRecord<String, String> kafkaRecord) {
+    return KafkaHeaderUtils.kafkaHeadersToMap(kafkaRecord.headers()).get(RECORD_ID_HEADER);
+  }
+
+  private int getBatchSize() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.DataImportConsumer.batchSize", "1"));
+  }
+
+  private long getBatchMaxWaitMs() {
+    return Long.parseLong(System.getProperty("inventory.kafka.DataImportConsumer.batchMaxWaitMs", "100"));
+  }
+
   private int getMaxDistributionNumber() {
     return Integer.parseInt(System.getProperty("inventory.kafka.DataImportConsumerVerticle.maxDistributionNumber", "100"));
   }
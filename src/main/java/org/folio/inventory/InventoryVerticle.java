@@ -2,10 +2,11 @@ package org.folio.inventory;
 
 import java.lang.invoke.MethodHandles;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.inventory.common.WebRequestDiagnostics;
-import org.folio.inventory.common.dao.PostgresClientFactory;
+import org.folio.inventory.common.metrics.InventoryMetrics;
 import org.folio.inventory.resources.AdminApi;
 import org.folio.inventory.resources.Holdings;
 import org.folio.inventory.resources.Instances;
@@ -17,6 +18,8 @@ import org.folio.inventory.resources.ItemsByHoldingsRecordId;
 import org.folio.inventory.resources.MoveApi;
 import org.folio.inventory.resources.TenantApi;
 import org.folio.inventory.storage.Storage;
+import org.folio.inventory.storage.external.ReferenceDataCache;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
@@ -47,20 +50,25 @@ public class InventoryVerticle extends AbstractVerticle {
     config.fieldNames().forEach(key ->
       log.info(String.format("%s:%s", key, config.getValue(key).toString())));
 
-    HttpClient client = vertx.createHttpClient();
+    HttpClient client = HttpClientFactory.getHttpClient(vertx);
 
     Storage storage = Storage.basedUpon(config, client);
 
+    ReferenceDataCache referenceDataCache = ReferenceDataCache.shared(
+      Long.parseLong(getCacheSetting(config, "inventory.reference-data-cache.max.size", "10000")),
+      Long.parseLong(getCacheSetting(config, "inventory.reference-data-cache.expiration.time.seconds", "300")));
+
+    router.route().handler(InventoryMetrics::recordRouteMetrics);
     router.route().handler(WebRequestDiagnostics::outputDiagnostics);
 
     new AdminApi().register(router);
-    new Items(storage, client).register(router);
+    new Items(storage, client, referenceDataCache).register(router);
     new MoveApi(storage, client).register(router);
     new Instances(storage, client).register(router);
     new Holdings(storage).register(router);
     new InstancesBatch(storage, client).register(router);
     new IsbnUtilsApi().register(router);
-    new ItemsByHoldingsRecordId(storage, client).register(router);
+    new ItemsByHoldingsRecordId(storage, client, referenceDataCache).register(router);
     new InventoryConfigApi().register(router);
     new TenantApi().register(router);
 
@@ -81,8 +89,6 @@ public class InventoryVerticle extends AbstractVerticle {
   public void stop(Promise<Void> stopped) {
     final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
 
-    PostgresClientFactory.closeAll();
-
     log.info("Stopping inventory module");
     server.close(result -> {
       if (result.succeeded()) {
@@ -93,4 +99,12 @@ public class InventoryVerticle extends AbstractVerticle {
       }
     });
   }
+
+  private String getCacheSetting(JsonObject config, String name, String defaultValue) {
+    String value = config.getString(name);
+    if (StringUtils.isBlank(value)) {
+      value = defaultValue;
+    }
+    return value;
+  }
 }
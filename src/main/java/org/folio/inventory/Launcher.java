@@ -3,6 +3,7 @@ package org.folio.inventory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.inventory.common.VertxAssistant;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 
 import java.lang.invoke.MethodHandles;
 import java.util.HashMap;
@@ -20,6 +21,7 @@ import static org.folio.inventory.dataimport.util.KafkaConfigConstants.KAFKA_REP
 import static org.folio.inventory.dataimport.util.KafkaConfigConstants.OKAPI_URL;
 
 public class Launcher {
+  private static final String INVENTORY_VERTICLE_INSTANCES_NUMBER_CONFIG = "inventory.InventoryVerticle.instancesNumber";
   private static final String DATA_IMPORT_CONSUMER_VERTICLE_INSTANCES_NUMBER_CONFIG = "inventory.kafka.DataImportConsumerVerticle.instancesNumber";
   private static final String MARC_BIB_INSTANCE_HRID_SET_CONSUMER_VERTICLE_INSTANCES_NUMBER_CONFIG = "inventory.kafka.MarcBibInstanceHridSetConsumerVerticle.instancesNumber";
   private static final String QUICK_MARC_CONSUMER_VERTICLE_INSTANCES_NUMBER_CONFIG = "inventory.kafka.QuickMarcConsumerVerticle.instancesNumber";
@@ -56,6 +58,10 @@ public class Launcher {
     putNonNullConfig("storage.type", storageType, config);
     putNonNullConfig("storage.location", storageLocation, config);
     putNonNullConfig("port", port, config);
+    putNonNullConfig("inventory.reference-data-cache.max.size",
+      System.getProperty("inventory.reference-data-cache.max.size"), config);
+    putNonNullConfig("inventory.reference-data-cache.expiration.time.seconds",
+      System.getProperty("inventory.reference-data-cache.expiration.time.seconds"), config);
 
     start(config);
 
@@ -74,13 +80,16 @@ public class Launcher {
     final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
 
     vertxAssistant.start();
+    // created before any verticle is deployed, so that it is not closed with one of them
+    vertxAssistant.createUsingVertx(HttpClientFactory::createHttpClient);
 
     log.info("Server Starting");
 
     CompletableFuture<String> deployed = new CompletableFuture<>();
+    int inventoryVerticleNumber = Integer.parseInt(System.getenv().getOrDefault(INVENTORY_VERTICLE_INSTANCES_NUMBER_CONFIG, "1"));
 
     vertxAssistant.deployVerticle(InventoryVerticle.class.getName(),
-      config, deployed);
+      config, inventoryVerticleNumber, false, deployed);
 
     deployed.thenAccept(v -> log.info("Server Started"));
 
@@ -14,10 +14,13 @@ import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.metrics.MeteredRecordHandler;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.consumers.AdaptiveLoadLimitRecordHandler;
 import org.folio.inventory.dataimport.consumers.MarcBibUpdateKafkaHandler;
 import org.folio.inventory.dataimport.handlers.actions.InstanceUpdateDelegate;
 import org.folio.inventory.storage.Storage;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 import org.folio.kafka.GlobalLoadSensor;
 import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaConsumerWrapper;
@@ -29,6 +32,8 @@ public class MarcBibUpdateConsumerVerticle extends AbstractVerticle {
   private static final String SRS_MARC_BIB_TOPIC_NAME = "srs.marc-bib";
   private static final String METADATA_EXPIRATION_TIME = "inventory.mapping-metadata-cache.expiration.time.seconds";
   private final int loadLimit = getLoadLimit();
+  private final int minLoadLimit = getMinLoadLimit();
+  private final int maxLoadLimit = getMaxLoadLimit();
   private KafkaConsumerWrapper<String, String> marcBibUpdateConsumerWrapper;
 
   @Override
@@ -36,7 +41,7 @@ public class MarcBibUpdateConsumerVerticle extends AbstractVerticle {
     JsonObject config = vertx.getOrCreateContext().config();
     KafkaConfig kafkaConfig = getKafkaConfig(config);
 
-    HttpClient client = vertx.createHttpClient();
+    HttpClient client = HttpClientFactory.getHttpClient(vertx);
     Storage storage = Storage.basedUpon(config, client);
     InstanceUpdateDelegate instanceUpdateDelegate = new InstanceUpdateDelegate(storage);
 
@@ -46,7 +51,9 @@ public class MarcBibUpdateConsumerVerticle extends AbstractVerticle {
     var marcBibUpdateKafkaHandler = new MarcBibUpdateKafkaHandler(vertx, getMaxDistributionNumber(), kafkaConfig, instanceUpdateDelegate, mappingMetadataCache);
 
     marcBibUpdateConsumerWrapper = createConsumer(kafkaConfig, SRS_MARC_BIB_TOPIC_NAME);
-    marcBibUpdateConsumerWrapper.start(marcBibUpdateKafkaHandler, constructModuleName())
+    var recordHandler = AdaptiveLoadLimitRecordHandler.withLoadLimits(new MeteredRecordHandler<>(marcBibUpdateKafkaHandler),
+      SRS_MARC_BIB_TOPIC_NAME, loadLimit, minLoadLimit, maxLoadLimit);
+    marcBibUpdateConsumerWrapper.start(recordHandler, constructModuleName())
       .onFailure(startPromise::fail)
       .onSuccess(ar -> startPromise.complete());
   }
@@ -61,7 +68,7 @@ public class MarcBibUpdateConsumerVerticle extends AbstractVerticle {
       .context(context)
       .vertx(vertx)
       .kafkaConfig(kafkaConfig)
-      .loadLimit(loadLimit)
+      .loadLimit(maxLoadLimit)
       .globalLoadSensor(GLOBAL_LOAD_SENSOR)
       .subscriptionDefinition(subscriptionDefinition)
       .build();
@@ -77,6 +84,14 @@ public class MarcBibUpdateConsumerVerticle extends AbstractVerticle {
     return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibUpdateConsumer.loadLimit","5"));
   }
 
+  private int getMinLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibUpdateConsumer.minLoadLimit", String.valueOf(loadLimit)));
+  }
+
+  private int getMaxLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibUpdateConsumer.maxLoadLimit", String.valueOf(loadLimit)));
+  }
+
   private int getMaxDistributionNumber() {
     return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibUpdateConsumer.maxDistributionNumber", "100"));
   }
@@ -9,13 +9,17 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.DataImportEventTypes;
+import org.folio.inventory.common.metrics.MeteredRecordHandler;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.consumers.AdaptiveLoadLimitRecordHandler;
 import org.folio.inventory.dataimport.consumers.MarcBibInstanceHridSetKafkaHandler;
 import org.folio.inventory.dataimport.consumers.MarcHoldingsRecordHridSetKafkaHandler;
 import org.folio.inventory.dataimport.handlers.actions.HoldingsUpdateDelegate;
 import org.folio.inventory.dataimport.handlers.actions.InstanceUpdateDelegate;
 import org.folio.inventory.services.HoldingsCollectionService;
 import org.folio.inventory.storage.Storage;
+import org.folio.inventory.support.http.client.HttpClientFactory;
+import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.GlobalLoadSensor;
 import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaConsumerWrapper;
@@ -38,6 +42,8 @@ public class MarcHridSetConsumerVerticle extends AbstractVerticle {
   private static final GlobalLoadSensor GLOBAL_LOAD_SENSOR = new GlobalLoadSensor();
 
   private final int loadLimit = getLoadLimit();
+  private final int minLoadLimit = getMinLoadLimit();
+  private final int maxLoadLimit = getMaxLoadLimit();
   private KafkaConsumerWrapper<String, String> marcBibConsumerWrapper;
   private KafkaConsumerWrapper<String, String> marcHoldingsConsumerWrapper;
 
@@ -57,7 +63,7 @@ public class MarcHridSetConsumerVerticle extends AbstractVerticle {
     marcBibConsumerWrapper = createConsumerByEvent(kafkaConfig, DI_SRS_MARC_BIB_INSTANCE_HRID_SET);
     marcHoldingsConsumerWrapper = createConsumerByEvent(kafkaConfig, DI_SRS_MARC_HOLDINGS_HOLDING_HRID_SET);
 
-    HttpClient client = vertx.createHttpClient();
+    HttpClient client = HttpClientFactory.getHttpClient(vertx);
     Storage storage = Storage.basedUpon(config, client);
     HoldingsCollectionService holdingsCollectionService = new HoldingsCollectionService();
     InstanceUpdateDelegate instanceUpdateDelegate = new InstanceUpdateDelegate(storage);
@@ -70,8 +76,10 @@ public class MarcHridSetConsumerVerticle extends AbstractVerticle {
     MarcHoldingsRecordHridSetKafkaHandler marcHoldingsRecordHridSetKafkaHandler = new MarcHoldingsRecordHridSetKafkaHandler(holdingsRecordUpdateDelegate, mappingMetadataCache);
 
     CompositeFuture.all(
-        marcBibConsumerWrapper.start(marcBibInstanceHridSetKafkaHandler, constructModuleName()),
-        marcHoldingsConsumerWrapper.start(marcHoldingsRecordHridSetKafkaHandler, constructModuleName())
+        marcBibConsumerWrapper.start(createRecordHandler(DI_SRS_MARC_BIB_INSTANCE_HRID_SET, marcBibInstanceHridSetKafkaHandler),
+          constructModuleName()),
+        marcHoldingsConsumerWrapper.start(createRecordHandler(DI_SRS_MARC_HOLDINGS_HOLDING_HRID_SET, marcHoldingsRecordHridSetKafkaHandler),
+          constructModuleName())
       )
       .onFailure(startPromise::fail)
       .onSuccess(ar -> startPromise.complete());
@@ -87,6 +95,20 @@ public class MarcHridSetConsumerVerticle extends AbstractVerticle {
     return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibInstanceHridSetConsumer.loadLimit", "5"));
   }
 
+  private int getMinLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibInstanceHridSetConsumer.minLoadLimit", String.valueOf(loadLimit)));
+  }
+
+  private int getMaxLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.MarcBibInstanceHridSetConsumer.maxLoadLimit", String.valueOf(loadLimit)));
+  }
+
+  private AsyncRecordHandler<String, String> createRecordHandler(DataImportEventTypes event,
+                                                                 AsyncRecordHandler<String, String> handler) {
+    return AdaptiveLoadLimitRecordHandler.withLoadLimits(new MeteredRecordHandler<>(handler), event.value(),
+      loadLimit, minLoadLimit, maxLoadLimit);
+  }
+
   private KafkaConsumerWrapper<String, String> createConsumerByEvent(KafkaConfig kafkaConfig, DataImportEventTypes event) {
     SubscriptionDefinition subscriptionDefinition = KafkaTopicNameHelper.createSubscriptionDefinition(
       kafkaConfig.getEnvId(),
@@ -96,7 +118,7 @@ public class MarcHridSetConsumerVerticle extends AbstractVerticle {
       .context(context)
       .vertx(vertx)
       .kafkaConfig(kafkaConfig)
-      .loadLimit(loadLimit)
+      .loadLimit(maxLoadLimit)
       .globalLoadSensor(GLOBAL_LOAD_SENSOR)
       .subscriptionDefinition(subscriptionDefinition)
       .build();
@@ -8,12 +8,15 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.metrics.MeteredRecordHandler;
+import org.folio.inventory.dataimport.consumers.AdaptiveLoadLimitRecordHandler;
 import org.folio.inventory.dataimport.consumers.QuickMarcKafkaHandler;
 import org.folio.inventory.dataimport.handlers.QMEventTypes;
 import org.folio.inventory.dataimport.handlers.actions.PrecedingSucceedingTitlesHelper;
 import org.folio.inventory.dataimport.util.ConsumerWrapperUtil;
 import org.folio.inventory.services.HoldingsCollectionService;
 import org.folio.inventory.storage.Storage;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.GlobalLoadSensor;
 import org.folio.kafka.KafkaConfig;
@@ -34,6 +37,8 @@ public class QuickMarcConsumerVerticle extends AbstractVerticle {
   private static final Logger LOGGER = LogManager.getLogger(QuickMarcConsumerVerticle.class);
 
   private final int loadLimit = getLoadLimit();
+  private final int minLoadLimit = getMinLoadLimit();
+  private final int maxLoadLimit = getMaxLoadLimit();
   private final int maxDistributionNumber = getMaxDistributionNumber();
   private KafkaConsumerWrapper<String, String> consumer;
 
@@ -42,14 +47,16 @@ public class QuickMarcConsumerVerticle extends AbstractVerticle {
     JsonObject config = vertx.getOrCreateContext().config();
     KafkaConfig kafkaConfig = getKafkaConfig(config);
 
-    HttpClient client = vertx.createHttpClient();
+    HttpClient client = HttpClientFactory.getHttpClient(vertx);
     Storage storage = Storage.basedUpon(config, client);
 
     var precedingSucceedingTitlesHelper = new PrecedingSucceedingTitlesHelper(WebClient.wrap(client));
     HoldingsCollectionService holdingsCollectionService = new HoldingsCollectionService();
     var handler = new QuickMarcKafkaHandler(vertx, storage, maxDistributionNumber, kafkaConfig, precedingSucceedingTitlesHelper, holdingsCollectionService);
 
-    var kafkaConsumerFuture = createKafkaConsumer(kafkaConfig, QMEventTypes.QM_SRS_MARC_RECORD_UPDATED, handler);
+    var recordHandler = AdaptiveLoadLimitRecordHandler.withLoadLimits(new MeteredRecordHandler<>(handler),
+      QMEventTypes.QM_SRS_MARC_RECORD_UPDATED.name(), loadLimit, minLoadLimit, maxLoadLimit);
+    var kafkaConsumerFuture = createKafkaConsumer(kafkaConfig, QMEventTypes.QM_SRS_MARC_RECORD_UPDATED, recordHandler);
 
     kafkaConsumerFuture
       .onFailure(startPromise::fail)
@@ -86,7 +93,7 @@ public class QuickMarcConsumerVerticle extends AbstractVerticle {
       .context(context)
       .vertx(vertx)
       .kafkaConfig(kafkaConfig)
-      .loadLimit(loadLimit)
+      .loadLimit(maxLoadLimit)
       .globalLoadSensor(new GlobalLoadSensor())
       .subscriptionDefinition(subscriptionDefinition)
       .build();
@@ -99,6 +106,14 @@ public class QuickMarcConsumerVerticle extends AbstractVerticle {
     return Integer.parseInt(System.getProperty("inventory.kafka.QuickMarcConsumer.loadLimit", "5"));
   }
 
+  private int getMinLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.QuickMarcConsumer.minLoadLimit", String.valueOf(loadLimit)));
+  }
+
+  private int getMaxLoadLimit() {
+    return Integer.parseInt(System.getProperty("inventory.kafka.QuickMarcConsumer.maxLoadLimit", String.valueOf(loadLimit)));
+  }
+
   private int getMaxDistributionNumber() {
     return Integer.parseInt(System.getProperty("inventory.kafka.QuickMarcConsumerVerticle.maxDistributionNumber", "100"));
   }
@@ -62,12 +62,25 @@ public class VertxAssistant {
                              Map<String, Object> config,
                              int verticleInstancesNumber,
                              CompletableFuture<String> deployed) {
+    deployVerticle(verticleClass, config, verticleInstancesNumber, true, deployed);
+  }
+
+  /**
+   * Deploys the instances of a verticle, either as worker verticles, or as
+   * standard verticles each bound to an event loop. Only verticles whose
+   * handlers never block should be deployed as standard verticles.
+   */
+  public void deployVerticle(String verticleClass,
+                             Map<String, Object> config,
+                             int verticleInstancesNumber,
+                             boolean worker,
+                             CompletableFuture<String> deployed) {
     long startTime = System.currentTimeMillis();
 
     DeploymentOptions options = new DeploymentOptions();
 
     options.setConfig(new JsonObject(config));
-    options.setWorker(true);
+    options.setWorker(worker);
     options.setInstances(verticleInstancesNumber);
 
     vertx.deployVerticle(verticleClass, options, result -> {
@@ -11,6 +11,10 @@ import org.folio.inventory.domain.relationship.RecordToEntity;
 
 import java.util.UUID;
 
+/**
+ * Saves record to entity relationships, one statement per relationship. The returned future completes on the
+ * Vert.x context the save was requested from, as {@link PostgresClientFactory#execute} does.
+ */
 public class EntityIdStorageDaoImpl implements EntityIdStorageDao {
   private static final Logger LOGGER = LogManager.getLogger(EntityIdStorageDaoImpl.class);
 
@@ -0,0 +1,97 @@
+package org.folio.inventory.common.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.folio.inventory.common.metrics.InventoryMetrics;
+
+/**
+ * Usage statistics of a tenant database connection pool, the acquire time is also recorded in {@link InventoryMetrics}.
+ * Counters are updated from several event loops, so all of them are thread-safe.
+ */
+public class PoolMetrics {
+
+  private final String tenantId;
+  private final AtomicInteger inUse = new AtomicInteger();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final LongAdder acquireCount = new LongAdder();
+  private final LongAdder acquireFailureCount = new LongAdder();
+  private final LongAdder totalAcquireNanos = new LongAdder();
+  private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+  PoolMetrics(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  /**
+   * Registers a request for a connection, {@link #acquired(long)} or {@link #acquireFailed(long)} has to follow.
+   */
+  void acquireStarted() {
+    waiting.incrementAndGet();
+  }
+
+  /**
+   * @param startTime {@link System#nanoTime()} when the connection has been requested
+   */
+  void acquired(long startTime) {
+    long acquireNanos = System.nanoTime() - startTime;
+    waiting.decrementAndGet();
+    inUse.incrementAndGet();
+    acquireCount.increment();
+    totalAcquireNanos.add(acquireNanos);
+    maxAcquireNanos.accumulateAndGet(acquireNanos, Math::max);
+    InventoryMetrics.recordDbConnectionAcquire(tenantId, acquireNanos, true);
+  }
+
+  /**
+   * @param startTime {@link System#nanoTime()} when the connection has been requested
+   */
+  void acquireFailed(long startTime) {
+    waiting.decrementAndGet();
+    acquireFailureCount.increment();
+    InventoryMetrics.recordDbConnectionAcquire(tenantId, System.nanoTime() - startTime, false);
+  }
+
+  void released() {
+    inUse.decrementAndGet();
+  }
+
+  /**
+   * @return number of connections currently used by queries
+   */
+  public int getInUse() {
+    return inUse.get();
+  }
+
+  /**
+   * @return number of queries currently waiting for a connection
+   */
+  public int getWaiting() {
+    return waiting.get();
+  }
+
+  public long getAcquireCount() {
+    return acquireCount.sum();
+  }
+
+  public long getAcquireFailureCount() {
+    return acquireFailureCount.sum();
+  }
+
+  public long getTotalAcquireTime(TimeUnit unit) {
+    return unit.convert(totalAcquireNanos.sum(), TimeUnit.NANOSECONDS);
+  }
+
+  public long getMaxAcquireTime(TimeUnit unit) {
+    return unit.convert(maxAcquireNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("inUse=%d, waiting=%d, acquired=%d, acquireFailures=%d, totalAcquireMs=%d, maxAcquireMs=%d",
+      getInUse(), getWaiting(), getAcquireCount(), getAcquireFailureCount(),
+      getTotalAcquireTime(TimeUnit.MILLISECONDS), getMaxAcquireTime(TimeUnit.MILLISECONDS));
+  }
+}
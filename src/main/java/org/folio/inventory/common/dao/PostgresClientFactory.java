@@ -4,29 +4,58 @@ import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
-import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import io.vertx.sqlclient.PoolOptions;
-import io.vertx.sqlclient.SqlClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.metrics.InventoryMetrics;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.convertToPsqlStandard;
 
+/**
+ * Registry of database connection pools, one {@link PgPool} per tenant shared by all verticle instances.
+ * Pools which have not been used for {@link PostgresConnectionOptions#getPoolEvictionTimeout()} milliseconds are closed.
+ * Connections in use and queries waiting for a connection are exposed per tenant in {@link InventoryMetrics}.
+ * <p>
+ * Pools and the eviction timer belong to the Vert.x instance rather than to the verticle which happens to need them
+ * first, so undeploying that verticle does not close them for the others. They are closed with the Vert.x instance.
+ */
 public class PostgresClientFactory {
   private static final Logger LOGGER = LogManager.getLogger(PostgresClientFactory.class);
 
-  private static final Map<String, PgPool> POOL_CACHE = new HashMap<>();
+  private static final long MAX_EVICTION_CHECK_PERIOD = 60000;
+
+  /**
+   * Thread without a Vert.x context which pools and the eviction timer are created on, when they are needed on a
+   * thread of a verticle. Creating them is quick, so one thread is enough.
+   */
+  private static final Executor OUTSIDE_OF_CONTEXT = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "inventory-db-pool-creator");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static final ConcurrentMap<String, TenantPool> POOL_CACHE = new ConcurrentHashMap<>();
+  private static final AtomicReference<EvictionTimer> EVICTION_TIMER = new AtomicReference<>();
 
   /**
    * Such field is temporary solution which is used to allow resetting the pool in tests.
    */
-  private static boolean shouldResetPool = false;
+  private static volatile boolean shouldResetPool = false;
 
   private Vertx vertx;
 
@@ -34,14 +63,8 @@ public class PostgresClientFactory {
     this.vertx = vertx;
   }
 
-  /**
-   * Get {@link PgPool}.
-   *
-   * @param tenantId tenant id.
-   * @return pooled database client.
-   */
-  public PgPool getCachedPool(String tenantId) {
-    return getCachedPool(this.vertx, tenantId);
+  public Vertx getVertx() {
+    return vertx;
   }
 
   /**
@@ -53,40 +76,130 @@ public class PostgresClientFactory {
    */
   public Future<RowSet<Row>> execute(String sql, Tuple tuple, String tenantId) {
     Future<Void> future = Future.succeededFuture();
-    return future.compose(x -> preparedQuery(sql, tenantId).execute(tuple));
+    return future.compose(x -> {
+      long acquireStartTime = System.nanoTime();
+      TenantPool tenantPool = getTenantPool(tenantId);
+      String preparedSql = sql.replace("{schemaName}", convertToPsqlStandard(tenantId));
+      PoolMetrics metrics = tenantPool.metrics;
+
+      return Future.fromCompletionStage(tenantPool.pool, vertx.getOrCreateContext())
+        .compose(PgPool::getConnection)
+        .onFailure(e -> metrics.acquireFailed(acquireStartTime))
+        .compose(connection -> {
+          metrics.acquired(acquireStartTime);
+          return connection.preparedQuery(preparedSql).execute(tuple)
+            .onComplete(ar -> {
+              connection.close();
+              metrics.released();
+            });
+        });
+    });
   }
 
-  private PgPool getCachedPool(Vertx vertx, String tenantId) {
-    // assumes a single thread Vert.x model so no synchronized needed
-    if (POOL_CACHE.containsKey(tenantId) && !shouldResetPool) {
-      LOGGER.debug("Using existing database connection pool for tenant {}.", tenantId);
-      return POOL_CACHE.get(tenantId);
-    }
-    if (shouldResetPool) {
-      POOL_CACHE.remove(tenantId);
-      shouldResetPool = false;
-    }
+  /**
+   * Returns usage statistics of the currently opened pools.
+   *
+   * @return pool metrics by tenant id.
+   */
+  public static Map<String, PoolMetrics> getPoolMetrics() {
+    return Collections.unmodifiableMap(POOL_CACHE.entrySet().stream()
+      .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().metrics)));
+  }
+
+  /**
+   * Looks up the pool of the tenant, and registers a connection as requested from it in the same step,
+   * so that the pool is not closed as idle in between.
+   */
+  private TenantPool getTenantPool(String tenantId) {
+    startEvictionTimer();
+    return POOL_CACHE.compute(tenantId, (key, existingPool) -> {
+      TenantPool tenantPool;
+      if (existingPool != null && !shouldResetPool) {
+        LOGGER.debug("Using existing database connection pool for tenant {}.", tenantId);
+        existingPool.lastAccessTime = System.currentTimeMillis();
+        tenantPool = existingPool;
+      } else {
+        shouldResetPool = false;
+        if (existingPool != null) {
+          LOGGER.info("Closing database connection pool for tenant {} to reset it.", tenantId);
+          existingPool.close();
+        }
+        tenantPool = createPool(tenantId);
+      }
+      tenantPool.metrics.acquireStarted();
+      return tenantPool;
+    });
+  }
+
+  private TenantPool createPool(String tenantId) {
     LOGGER.info("Creating new database connection pool for tenant {}.", tenantId);
     PgConnectOptions connectOptions = PostgresConnectionOptions.getConnectionOptions(tenantId);
     PoolOptions poolOptions = new PoolOptions()
-      .setMaxSize(PostgresConnectionOptions.getMaxPoolSize());
-    PgPool pgPool = PgPool.pool(vertx, connectOptions, poolOptions);
-    POOL_CACHE.put(tenantId, pgPool);
+      .setMaxSize(PostgresConnectionOptions.getMaxPoolSize())
+      .setMaxWaitQueueSize(PostgresConnectionOptions.getMaxWaitQueueSize());
+    InventoryMetrics.registerDbPool(tenantId, () -> currentPoolUsage(tenantId, PoolMetrics::getInUse),
+      () -> currentPoolUsage(tenantId, PoolMetrics::getWaiting));
+    return new TenantPool(tenantId, runOutsideOfContext(() -> PgPool.pool(vertx, connectOptions, poolOptions)));
+  }
 
-    return pgPool;
+  /**
+   * Resources created on a thread of a verticle are released when that verticle is undeployed, those created on
+   * a thread without a Vert.x context are released with the Vert.x instance. So when called from a verticle,
+   * the action runs on a dedicated thread without a context instead, without waiting for it. Neither a Vert.x
+   * worker thread, which has a context, nor the common pool, which is shared with unrelated tasks, would do.
+   */
+  private static <T> CompletableFuture<T> runOutsideOfContext(Supplier<T> action) {
+    if (Vertx.currentContext() != null) {
+      return CompletableFuture.supplyAsync(action, OUTSIDE_OF_CONTEXT);
+    }
+    try {
+      return CompletableFuture.completedFuture(action.get());
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static int currentPoolUsage(String tenantId, ToIntFunction<PoolMetrics> usage) {
+    TenantPool tenantPool = POOL_CACHE.get(tenantId);
+    return tenantPool != null ? usage.applyAsInt(tenantPool.metrics) : 0;
   }
 
-  private PreparedQuery<RowSet<Row>> preparedQuery(String sql, String tenantId) {
-    String schemaName = convertToPsqlStandard(tenantId);
-    String preparedSql = sql.replace("{schemaName}", schemaName);
-    return getCachedPool(tenantId).preparedQuery(preparedSql);
+  private void startEvictionTimer() {
+    long evictionTimeout = PostgresConnectionOptions.getPoolEvictionTimeout();
+    if (evictionTimeout <= 0 || EVICTION_TIMER.get() != null) {
+      return;
+    }
+    EvictionTimer evictionTimer = new EvictionTimer(vertx);
+    if (EVICTION_TIMER.compareAndSet(null, evictionTimer)) {
+      runOutsideOfContext(() -> vertx.setPeriodic(Math.min(evictionTimeout, MAX_EVICTION_CHECK_PERIOD),
+        id -> evictIdlePools(evictionTimeout)))
+        .thenAccept(evictionTimer::started);
+    }
+  }
+
+  private static void evictIdlePools(long evictionTimeout) {
+    long evictionTime = System.currentTimeMillis() - evictionTimeout;
+    POOL_CACHE.keySet().forEach(tenantId -> POOL_CACHE.computeIfPresent(tenantId, (key, tenantPool) -> {
+      if (tenantPool.lastAccessTime > evictionTime
+        || tenantPool.metrics.getInUse() > 0 || tenantPool.metrics.getWaiting() > 0) {
+        return tenantPool;
+      }
+      LOGGER.info("Closing idle database connection pool for tenant {}.", tenantId);
+      tenantPool.close();
+      return null;
+    }));
   }
 
   /**
-   * close all {@link PgPool} clients.
+   * close all {@link PgPool} clients. Pools are closed with the Vert.x instance anyway, this is for tests
+   * which keep the Vert.x instance.
    */
   public static void closeAll() {
-    POOL_CACHE.values().forEach(SqlClient::close);
+    EvictionTimer evictionTimer = EVICTION_TIMER.getAndSet(null);
+    if (evictionTimer != null) {
+      evictionTimer.cancel();
+    }
+    POOL_CACHE.values().forEach(TenantPool::close);
     POOL_CACHE.clear();
   }
 
@@ -96,4 +209,44 @@ public class PostgresClientFactory {
   public void setShouldResetPool(boolean shouldResetPool) {
     PostgresClientFactory.shouldResetPool = shouldResetPool;
   }
+
+  private static class TenantPool {
+    private final CompletableFuture<PgPool> pool;
+    private final PoolMetrics metrics;
+    private volatile long lastAccessTime = System.currentTimeMillis();
+
+    private TenantPool(String tenantId, CompletableFuture<PgPool> pool) {
+      this.pool = pool;
+      this.metrics = new PoolMetrics(tenantId);
+    }
+
+    private void close() {
+      pool.thenAccept(PgPool::close);
+    }
+  }
+
+  private static class EvictionTimer {
+    private final Vertx vertx;
+    private Long timerId;
+    private boolean cancelled;
+
+    private EvictionTimer(Vertx vertx) {
+      this.vertx = vertx;
+    }
+
+    private synchronized void started(long timerId) {
+      if (cancelled) {
+        vertx.cancelTimer(timerId);
+      } else {
+        this.timerId = timerId;
+      }
+    }
+
+    private synchronized void cancel() {
+      cancelled = true;
+      if (timerId != null) {
+        vertx.cancelTimer(timerId);
+      }
+    }
+  }
 }
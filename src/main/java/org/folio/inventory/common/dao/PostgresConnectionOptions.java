@@ -20,6 +20,8 @@ public class PostgresConnectionOptions {
   private static final String DEFAULT_SCHEMA_PROPERTY = "search_path";
   private static final String DEFAULT_IDLE_TIMEOUT = "60000";
   private static final String DEFAULT_MAX_POOL_SIZE = "5";
+  private static final String DEFAULT_MAX_WAIT_QUEUE_SIZE = "-1";
+  private static final String DEFAULT_POOL_EVICTION_TIMEOUT = "1800000";
   private static final String MODULE_NAME = "mod_inventory";
 
   public static final String DB_HOST = "DB_HOST";
@@ -30,6 +32,8 @@ public class PostgresConnectionOptions {
   public static final String DB_MAXPOOLSIZE = "DB_MAXPOOLSIZE";
   public static final String DB_SERVER_PEM = "DB_SERVER_PEM";
   public static final String DB_IDLETIMEOUT = "DB_IDLETIMEOUT";
+  public static final String DB_MAX_WAIT_QUEUE_SIZE = "DB_MAX_WAIT_QUEUE_SIZE";
+  public static final String DB_POOL_EVICTION_TIMEOUT = "DB_POOL_EVICTION_TIMEOUT";
 
   private static Map<String, String> systemProperties = System.getenv();
 
@@ -83,6 +87,20 @@ public class PostgresConnectionOptions {
     return Integer.parseInt(getSystemProperty(DB_MAXPOOLSIZE) != null ? getSystemProperty(DB_MAXPOOLSIZE) : DEFAULT_MAX_POOL_SIZE);
   }
 
+  /**
+   * Maximum number of queries waiting for a connection of a tenant pool, -1 means unbounded.
+   */
+  public static Integer getMaxWaitQueueSize() {
+    return Integer.parseInt(getSystemProperty(DB_MAX_WAIT_QUEUE_SIZE) != null ? getSystemProperty(DB_MAX_WAIT_QUEUE_SIZE) : DEFAULT_MAX_WAIT_QUEUE_SIZE);
+  }
+
+  /**
+   * Time in milliseconds after which an unused tenant pool is closed, 0 disables eviction.
+   */
+  public static Long getPoolEvictionTimeout() {
+    return Long.parseLong(getSystemProperty(DB_POOL_EVICTION_TIMEOUT) != null ? getSystemProperty(DB_POOL_EVICTION_TIMEOUT) : DEFAULT_POOL_EVICTION_TIMEOUT);
+  }
+
   public static String getSystemProperty(String key) {
     return systemProperties.get(key);
   }
@@ -0,0 +1,369 @@
+package org.folio.inventory.common.metrics;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+
+/**
+ * Metrics of the module, kept in one Prometheus registry shared by all verticle instances.
+ * <p>
+ * Records latency of incoming requests per route, latency and status of outgoing requests per endpoint,
+ * number of outgoing requests in flight per host, latency and outcome of Kafka record handling per event type, load limits
+ * of Kafka consumers, usage of the database connection pools per tenant and hits and misses of the caches.
+ */
+public final class InventoryMetrics {
+
+  public static final String HTTP_SERVER_REQUESTS = "inventory.http.server.requests";
+  public static final String HTTP_CLIENT_REQUESTS = "inventory.http.client.requests";
+  public static final String HTTP_CLIENT_ACTIVE_REQUESTS = "inventory.http.client.requests.active";
+  public static final String HTTP_CLIENT_COALESCED_REQUESTS = "inventory.http.client.requests.coalesced";
+  public static final String KAFKA_HANDLER_EVENTS = "inventory.kafka.handler.events";
+  public static final String KAFKA_CONSUMER_LOAD_LIMIT = "inventory.kafka.consumer.load.limit";
+  public static final String KAFKA_CONSUMER_IN_FLIGHT = "inventory.kafka.consumer.records.inflight";
+  public static final String KAFKA_CONSUMER_LATENCY = "inventory.kafka.consumer.latency";
+  public static final String DB_POOL_CONNECTIONS_IN_USE = "inventory.db.pool.connections.inuse";
+  public static final String DB_POOL_CONNECTIONS_WAITING = "inventory.db.pool.connections.waiting";
+  public static final String DB_POOL_ACQUIRE = "inventory.db.pool.acquire";
+  public static final String CACHE_GETS = "inventory.cache.gets";
+
+  private static final String UNMATCHED_ROUTE = "unmatched";
+  private static final String UNKNOWN = "unknown";
+  private static final String ID_SEGMENT = "{id}";
+  private static final Pattern ID_PATTERN = Pattern.compile(
+    "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+");
+
+  private static final Duration MIN_EXPECTED_LATENCY = Duration.ofMillis(1);
+  private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(60);
+
+  private static final PrometheusMeterRegistry REGISTRY = createRegistry();
+  private static final Map<String, AtomicInteger> ACTIVE_CLIENT_REQUESTS = new ConcurrentHashMap<>();
+  private static final Map<String, AtomicInteger> KAFKA_CONSUMER_INSTANCES = new ConcurrentHashMap<>();
+
+  private InventoryMetrics() {
+  }
+
+  public static MeterRegistry getRegistry() {
+    return REGISTRY;
+  }
+
+  /**
+   * @return all metrics in Prometheus text exposition format
+   */
+  public static String scrape() {
+    return REGISTRY.scrape();
+  }
+
+  /**
+   * Route handler which records latency of the request once the response has been sent,
+   * it should be registered before any other handler.
+   */
+  public static void recordRouteMetrics(RoutingContext routingContext) {
+    Timer.Sample sample = Timer.start(REGISTRY);
+    String method = routingContext.request().method().name();
+
+    routingContext.addBodyEndHandler(v -> {
+      Route route = routingContext.currentRoute();
+      String routeName = route != null && route.getName() != null ? route.getName() : UNMATCHED_ROUTE;
+
+      sample.stop(latencyTimer(HTTP_SERVER_REQUESTS)
+        .description("Latency of requests handled by the module")
+        .tag("method", method)
+        .tag("route", routeName)
+        .tag("status", String.valueOf(routingContext.response().getStatusCode()))
+        .register(REGISTRY));
+    });
+
+    routingContext.next();
+  }
+
+  /**
+   * Wraps the response handler of an outgoing request to record latency and status of the request.
+   * The request counts as in flight to its host until the response is handled, requests waiting
+   * for a connection of the pool included.
+   *
+   * @param request         request to record
+   * @param responseHandler handler of the response
+   * @return handler to pass to one of the send methods of the request
+   */
+  public static Handler<AsyncResult<HttpResponse<Buffer>>> recordClientRequest(HttpRequest<Buffer> request,
+    Handler<AsyncResult<HttpResponse<Buffer>>> responseHandler) {
+
+    Timer.Sample sample = Timer.start(REGISTRY);
+    String method = request.method().name();
+    String endpoint = normalizePath(request.uri());
+    AtomicInteger activeRequests = activeClientRequests(hostOf(request));
+    activeRequests.incrementAndGet();
+
+    return ar -> {
+      activeRequests.decrementAndGet();
+      sample.stop(latencyTimer(HTTP_CLIENT_REQUESTS)
+        .description("Latency of requests sent by the module to other modules")
+        .tag("method", method)
+        .tag("endpoint", endpoint)
+        .tag("status", ar.succeeded() ? String.valueOf(ar.result().statusCode()) : "error")
+        .register(REGISTRY));
+
+      responseHandler.handle(ar);
+    };
+  }
+
+  /**
+   * Counts a GET request which has not been sent because it joined an identical request in flight.
+   *
+   * @param uri uri of the request
+   */
+  public static void recordCoalescedClientRequest(String uri) {
+    Counter.builder(HTTP_CLIENT_COALESCED_REQUESTS)
+      .description("Number of requests which shared the response of an identical request in flight")
+      .tag("endpoint", normalizePath(uri))
+      .register(REGISTRY)
+      .increment();
+  }
+
+  /**
+   * Handles a Kafka record and records latency and outcome of the handling once it is completed.
+   *
+   * @param handlerName name of the record handler
+   * @param eventType   type of the handled event
+   * @param handling    starts handling of the record
+   * @return result of the record handling
+   */
+  public static <T> Future<T> recordKafkaEvent(String handlerName, String eventType, Supplier<Future<T>> handling) {
+    Timer.Sample sample = Timer.start(REGISTRY);
+    Future<T> result;
+    try {
+      result = handling.get();
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+
+    return result.onComplete(ar -> sample.stop(latencyTimer(KAFKA_HANDLER_EVENTS)
+      .description("Latency of handling of Kafka records")
+      .tag("handler", handlerName)
+      .tag("event_type", StringUtils.defaultIfEmpty(eventType, UNKNOWN))
+      .tag("outcome", ar.succeeded() ? "success" : "failure")
+      .register(REGISTRY)));
+  }
+
+  /**
+   * Registers gauges of the load limit, the number of records in flight and the smoothed handling latency of a Kafka
+   * consumer. Consumers of the same name, e.g. of several verticle instances, are told apart by an instance number.
+   *
+   * @param consumerName  name of the consumer
+   * @param consumer      object the values are read from, it is only weakly referenced
+   * @param loadLimit     gets the current load limit
+   * @param inFlight      gets the number of records in flight
+   * @param latencyMillis gets the smoothed latency of the handling of a record in milliseconds
+   */
+  public static <T> void registerKafkaConsumerLoad(String consumerName, T consumer, ToDoubleFunction<T> loadLimit,
+    ToDoubleFunction<T> inFlight, ToDoubleFunction<T> latencyMillis) {
+
+    String instance = String.valueOf(KAFKA_CONSUMER_INSTANCES
+      .computeIfAbsent(consumerName, name -> new AtomicInteger()).incrementAndGet());
+
+    Gauge.builder(KAFKA_CONSUMER_LOAD_LIMIT, consumer, loadLimit)
+      .description("Maximum number of records a Kafka consumer handles at the same time")
+      .tag("consumer", consumerName)
+      .tag("instance", instance)
+      .register(REGISTRY);
+    Gauge.builder(KAFKA_CONSUMER_IN_FLIGHT, consumer, inFlight)
+      .description("Number of records a Kafka consumer is handling")
+      .tag("consumer", consumerName)
+      .tag("instance", instance)
+      .register(REGISTRY);
+    Gauge.builder(KAFKA_CONSUMER_LATENCY, consumer, latencyMillis)
+      .description("Smoothed latency of the handling of records by a Kafka consumer in milliseconds")
+      .tag("consumer", consumerName)
+      .tag("instance", instance)
+      .register(REGISTRY);
+  }
+
+  /**
+   * Registers gauges of the connections in use and of the queries waiting for a connection of the database connection
+   * pool of a tenant. The pool of a tenant is closed when it is idle and opened again when it is needed, so the gauges
+   * read the values of the current pool of the tenant, registering them again for a new pool has no effect.
+   *
+   * @param tenantId tenant of the pool
+   * @param inUse    gets the number of connections in use, 0 when the tenant has no pool
+   * @param waiting  gets the number of queries waiting for a connection, 0 when the tenant has no pool
+   */
+  public static void registerDbPool(String tenantId, Supplier<Number> inUse, Supplier<Number> waiting) {
+    Gauge.builder(DB_POOL_CONNECTIONS_IN_USE, inUse)
+      .description("Number of connections of the database connection pool used by queries")
+      .tag("tenant", tenantId)
+      .register(REGISTRY);
+    Gauge.builder(DB_POOL_CONNECTIONS_WAITING, waiting)
+      .description("Number of queries waiting for a connection of the database connection pool")
+      .tag("tenant", tenantId)
+      .register(REGISTRY);
+  }
+
+  /**
+   * Records how long a query has waited for a connection of the database connection pool of a tenant.
+   *
+   * @param tenantId     tenant of the pool
+   * @param acquireNanos time from the request for a connection until it has been acquired or has failed
+   * @param succeeded    whether a connection has been acquired
+   */
+  public static void recordDbConnectionAcquire(String tenantId, long acquireNanos, boolean succeeded) {
+    latencyTimer(DB_POOL_ACQUIRE)
+      .description("Time queries wait for a connection of the database connection pool")
+      .tag("tenant", tenantId)
+      .tag("outcome", succeeded ? "success" : "failure")
+      .register(REGISTRY)
+      .record(acquireNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Counts a cache access, the hit ratio of a cache is the share of hits among all of its accesses.
+   *
+   * @param cacheName name of the cache
+   * @param hit       whether the value has been found in the cache
+   */
+  public static void recordCacheGet(String cacheName, boolean hit) {
+    cacheGets(cacheName, hit ? "hit" : "miss").increment();
+  }
+
+  /**
+   * Counts accesses of a cache which looks up several keys at once.
+   *
+   * @param cacheName name of the cache
+   * @param hits      number of keys found in the cache
+   * @param misses    number of keys missing from the cache
+   */
+  public static void recordCacheGets(String cacheName, long hits, long misses) {
+    cacheGets(cacheName, "hit").increment(hits);
+    cacheGets(cacheName, "miss").increment(misses);
+  }
+
+  /**
+   * Gets a value from the cache, loading it when it is absent, and counts the access as a hit or a miss.
+   *
+   * @param cacheName name of the cache
+   * @param cache     cache to get the value from
+   * @param key       key of the value
+   * @param loader    loads the value when it is absent
+   * @return future of the cached value
+   */
+  public static <K, V> CompletableFuture<V> meteredGet(String cacheName, AsyncCache<K, V> cache, K key,
+    Function<K, CompletableFuture<V>> loader) {
+
+    // the mapping function is called synchronously only when the key is absent
+    AtomicBoolean loaded = new AtomicBoolean();
+    CompletableFuture<V> value = cache.get(key, (k, executor) -> {
+      loaded.set(true);
+      return loader.apply(k);
+    });
+    recordCacheGet(cacheName, !loaded.get());
+    return value;
+  }
+
+  /**
+   * Removes the query and replaces ids in the path of the given uri,
+   * so that requests to the same endpoint are recorded together.
+   *
+   * @param uri absolute or relative uri
+   * @return normalized path
+   */
+  static String normalizePath(String uri) {
+    if (StringUtils.isEmpty(uri)) {
+      return UNKNOWN;
+    }
+    String path = StringUtils.substringBefore(uri, "?");
+    int schemeEnd = path.indexOf("://");
+    if (schemeEnd >= 0) {
+      int pathStart = path.indexOf('/', schemeEnd + 3);
+      path = pathStart >= 0 ? path.substring(pathStart) : "/";
+    }
+
+    String[] segments = path.split("/", -1);
+    for (int i = 0; i < segments.length; i++) {
+      if (ID_PATTERN.matcher(segments[i]).matches()) {
+        segments[i] = ID_SEGMENT;
+      }
+    }
+    return String.join("/", segments);
+  }
+
+  static String hostOf(HttpRequest<Buffer> request) {
+    String uri = request.uri();
+    if (uri != null && uri.contains("://")) {
+      try {
+        String host = URI.create(uri).getHost();
+        if (host != null) {
+          return host;
+        }
+      } catch (IllegalArgumentException e) {
+        return UNKNOWN;
+      }
+    }
+    return StringUtils.defaultIfEmpty(request.host(), UNKNOWN);
+  }
+
+  private static AtomicInteger activeClientRequests(String host) {
+    return ACTIVE_CLIENT_REQUESTS.computeIfAbsent(host, h -> {
+      AtomicInteger activeRequests = new AtomicInteger();
+      Gauge.builder(HTTP_CLIENT_ACTIVE_REQUESTS, activeRequests, AtomicInteger::get)
+        .description("Number of requests sent by the module which wait for a connection or a response")
+        .tag("host", h)
+        .register(REGISTRY);
+      return activeRequests;
+    });
+  }
+
+  private static Counter cacheGets(String cacheName, String result) {
+    return Counter.builder(CACHE_GETS)
+      .description("Number of cache accesses")
+      .tag("cache", cacheName)
+      .tag("result", result)
+      .register(REGISTRY);
+  }
+
+  private static Timer.Builder latencyTimer(String name) {
+    return Timer.builder(name)
+      .publishPercentileHistogram()
+      .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+      .maximumExpectedValue(MAX_EXPECTED_LATENCY);
+  }
+
+  private static PrometheusMeterRegistry createRegistry() {
+    PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    new JvmMemoryMetrics().bindTo(registry);
+    new JvmGcMetrics().bindTo(registry);
+    new JvmThreadMetrics().bindTo(registry);
+    new ProcessorMetrics().bindTo(registry);
+    return registry;
+  }
+}
@@ -0,0 +1,28 @@
+package org.folio.inventory.common.metrics;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.kafka.AsyncRecordHandler;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Record handler which records latency and outcome of the handling of each record by the delegate handler.
+ * The event type of a record is taken from the last part of its topic name, e.g. {@code folio.Default.diku.DI_COMPLETED}.
+ */
+public class MeteredRecordHandler<K, V> implements AsyncRecordHandler<K, V> {
+
+  private final AsyncRecordHandler<K, V> delegate;
+  private final String handlerName;
+
+  public MeteredRecordHandler(AsyncRecordHandler<K, V> delegate) {
+    this.delegate = delegate;
+    this.handlerName = delegate.getClass().getSimpleName();
+  }
+
+  @Override
+  public Future<K> handle(KafkaConsumerRecord<K, V> record) {
+    String eventType = StringUtils.substringAfterLast(record.topic(), ".");
+    return InventoryMetrics.recordKafkaEvent(handlerName, eventType, () -> delegate.handle(record));
+  }
+}
@@ -0,0 +1,292 @@
+package org.folio.inventory.dataimport.cache;
+
+import static org.folio.inventory.common.metrics.InventoryMetrics.recordCacheGet;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.Context;
+import org.folio.inventory.domain.Metadata;
+import org.folio.inventory.domain.instances.Instance;
+import org.folio.inventory.exceptions.ExternalResourceFetchException;
+import org.folio.inventory.storage.external.CollectionResourceClient;
+import org.folio.inventory.storage.external.CqlQuery;
+import org.folio.inventory.storage.external.MultipleRecordsFetchClient;
+import org.folio.inventory.support.http.client.OkapiHttpClient;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import lombok.SneakyThrows;
+
+/**
+ * Loads existing instances, and their MARC records from source record storage, for the records of a data import chunk
+ * by bulk requests, instead of one request per record.
+ * <p>
+ * The ids asked for by handlers of the records of one chunk are collected for {@code inventory.di.prefetch.window.ms}
+ * milliseconds, or until {@code inventory.di.prefetch.batch.size} ids (50 by default) are collected,
+ * and are then loaded together. Each loaded record is handed out once, to the handler which asked for it, so a handler
+ * never gets a record loaded before it asked for it, for instance when it asks again after an optimistic locking failure.
+ * The window is 0 by default, which turns batching off, as it delays the first record of each batch. Then no cache
+ * is created, and handlers load records one by one as they did before.
+ * <p>
+ * MARC records are loaded by {@code POST /source-storage/source-records}, which is an optional interface, so a window
+ * greater than 0 should only be set when source-storage-source-records 3.1 is available.
+ */
+public class ChunkRecordsCache {
+
+  private static final Logger LOGGER = LogManager.getLogger(ChunkRecordsCache.class);
+
+  private static final long WINDOW_MS = Long.parseLong(System.getenv().getOrDefault("inventory.di.prefetch.window.ms", "0"));
+  private static final int BATCH_SIZE = Integer.parseInt(System.getenv().getOrDefault("inventory.di.prefetch.batch.size", "50"));
+  private static final String INSTANCES_CACHE_NAME = "chunk-instances";
+  private static final String MARC_RECORDS_CACHE_NAME = "chunk-marc-records";
+  private static final String INSTANCES_PATH = "/instance-storage/instances";
+  private static final String SOURCE_RECORDS_PATH = "/source-storage/source-records?idType=INSTANCE&recordType=MARC_BIB";
+
+  private final Vertx vertx;
+  private final Function<Context, OkapiHttpClient> okapiHttpClientCreator;
+  private final long windowMs;
+  private final int batchSize;
+  private final Batcher instances;
+  private final Batcher marcRecords;
+
+  public ChunkRecordsCache(Vertx vertx, WebClient webClient) {
+    this(vertx, context -> createHttpClient(webClient, context), WINDOW_MS, BATCH_SIZE);
+  }
+
+  /**
+   * Creates the cache if {@code inventory.di.prefetch.window.ms} is greater than 0.
+   *
+   * @return the cache, or null if batching is turned off, so that handlers keep loading records one by one
+   */
+  public static ChunkRecordsCache createIfEnabled(Vertx vertx, WebClient webClient) {
+    if (WINDOW_MS <= 0) {
+      LOGGER.info("createIfEnabled:: Loading records of data import chunks together is turned off");
+      return null;
+    }
+    return new ChunkRecordsCache(vertx, webClient);
+  }
+
+  ChunkRecordsCache(Vertx vertx, Function<Context, OkapiHttpClient> okapiHttpClientCreator, long windowMs, int batchSize) {
+    this.vertx = vertx;
+    this.okapiHttpClientCreator = okapiHttpClientCreator;
+    this.windowMs = windowMs;
+    this.batchSize = batchSize;
+    this.instances = new Batcher(INSTANCES_CACHE_NAME, this::loadInstances);
+    this.marcRecords = new Batcher(MARC_RECORDS_CACHE_NAME, this::loadMarcRecords);
+  }
+
+  /**
+   * Gets the instance with the given id, loaded together with the instances asked for by other records of the chunk.
+   *
+   * @param chunkId    chunk the record which needs the instance belongs to
+   * @param instanceId id of the instance
+   * @param context    context of the request
+   * @return instance, or null if there is no instance with the id
+   */
+  public Future<Instance> getInstance(String chunkId, String instanceId, Context context) {
+    return instances.get(chunkId, instanceId, context)
+      .map(json -> json == null ? null
+        : Instance.fromJson(json).setMetadata(new Metadata(json.getJsonObject("metadata"))));
+  }
+
+  /**
+   * Gets the MARC bibliographic record of the instance with the given id, loaded together with the records asked for
+   * by other records of the chunk.
+   *
+   * @param chunkId    chunk the record which needs the MARC record belongs to
+   * @param instanceId id of the instance
+   * @param context    context of the request
+   * @return the MARC record as JSON, or null if the instance has no MARC record
+   */
+  public Future<JsonObject> getMarcRecordByInstanceId(String chunkId, String instanceId, Context context) {
+    return marcRecords.get(chunkId, instanceId, context);
+  }
+
+  private Future<Map<String, JsonObject>> loadInstances(List<String> instanceIds, Context context) {
+    OkapiHttpClient client = okapiHttpClientCreator.apply(context);
+
+    return Future.fromCompletionStage(MultipleRecordsFetchClient.builder()
+        .withCollectionPropertyName("instances")
+        .withExpectedStatus(HttpStatus.SC_OK)
+        .withCollectionResourceClient(new CollectionResourceClient(client, url(context, INSTANCES_PATH)))
+        .build()
+        .find(instanceIds, ids -> CqlQuery.exactMatchAny("id", ids)))
+      .map(records -> {
+        Map<String, JsonObject> instancesById = new HashMap<>();
+        records.forEach(json -> instancesById.put(json.getString("id"), json));
+        return instancesById;
+      });
+  }
+
+  private Future<Map<String, JsonObject>> loadMarcRecords(List<String> instanceIds, Context context) {
+    OkapiHttpClient client = okapiHttpClientCreator.apply(context);
+
+    return Future.fromCompletionStage(client.postForRead(context.getOkapiLocation() + SOURCE_RECORDS_PATH, new JsonArray(instanceIds)))
+      .compose(response -> {
+        if (response.getStatusCode() != HttpStatus.SC_OK) {
+          return Future.failedFuture(new ExternalResourceFetchException(response));
+        }
+
+        Map<String, JsonObject> recordsByInstanceId = new HashMap<>();
+        response.getRecords("sourceRecords").forEach(sourceRecord -> {
+          JsonObject externalIdsHolder = sourceRecord.getJsonObject("externalIdsHolder");
+          if (externalIdsHolder != null && externalIdsHolder.getString("instanceId") != null) {
+            recordsByInstanceId.put(externalIdsHolder.getString("instanceId"), toRecord(sourceRecord));
+          }
+        });
+        return Future.succeededFuture(recordsByInstanceId);
+      });
+  }
+
+  /**
+   * Maps a source record to the representation of the record itself, which is what
+   * {@code /source-storage/records/{id}/formatted} responds with.
+   */
+  private static JsonObject toRecord(JsonObject sourceRecord) {
+    JsonObject marcRecord = new JsonObject()
+      .put("id", sourceRecord.getString("recordId"));
+
+    for (String property : List.of("snapshotId", "recordType", "parsedRecord", "externalIdsHolder",
+      "additionalInfo", "metadata", "order")) {
+
+      if (sourceRecord.containsKey(property)) {
+        marcRecord.put(property, sourceRecord.getValue(property));
+      }
+    }
+    return marcRecord;
+  }
+
+  @SneakyThrows
+  private static URL url(Context context, String path) {
+    return new URL(context.getOkapiLocation() + path);
+  }
+
+  @SneakyThrows
+  private static OkapiHttpClient createHttpClient(WebClient webClient, Context context) {
+    return new OkapiHttpClient(webClient, new URL(context.getOkapiLocation()),
+      context.getTenantId(), context.getToken(), null, null, null);
+  }
+
+  /**
+   * Collects the ids asked for per tenant and chunk, and loads them by one bulk request when the window closes.
+   */
+  private final class Batcher {
+    private final String name;
+    private final BiFunction<List<String>, Context, Future<Map<String, JsonObject>>> loader;
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    private Batcher(String name, BiFunction<List<String>, Context, Future<Map<String, JsonObject>>> loader) {
+      this.name = name;
+      this.loader = loader;
+    }
+
+    private Future<JsonObject> get(String chunkId, String id, Context context) {
+      Promise<JsonObject> promise = Promise.promise();
+
+      if (windowMs <= 0 || chunkId == null) {
+        Batch batch = new Batch(context);
+        batch.add(id, promise);
+        load(batch);
+        return promise.future();
+      }
+
+      String key = context.getTenantId() + ":" + chunkId;
+      Batch fullBatch = null;
+      synchronized (this) {
+        Batch batch = openBatches.get(key);
+        if (batch == null) {
+          Batch newBatch = new Batch(context);
+          newBatch.timerId = vertx.setTimer(windowMs, timerId -> close(key, newBatch));
+          openBatches.put(key, newBatch);
+          batch = newBatch;
+        }
+        batch.add(id, promise);
+        if (batch.size() >= batchSize) {
+          openBatches.remove(key);
+          fullBatch = batch;
+        }
+      }
+
+      if (fullBatch != null) {
+        vertx.cancelTimer(fullBatch.timerId);
+        load(fullBatch);
+      }
+      return promise.future();
+    }
+
+    private void close(String key, Batch batch) {
+      synchronized (this) {
+        if (!openBatches.remove(key, batch)) {
+          return;
+        }
+      }
+      load(batch);
+    }
+
+    private void load(Batch batch) {
+      List<String> ids = new ArrayList<>(batch.requests.keySet());
+      LOGGER.debug("load:: Loading {} {} records for tenant {}", ids.size(), name, batch.context.getTenantId());
+
+      Future<Map<String, JsonObject>> loaded;
+      try {
+        loaded = loader.apply(ids, batch.context);
+      } catch (Exception e) {
+        loaded = Future.failedFuture(e);
+      }
+
+      loaded.onComplete(ar -> {
+        if (ar.failed()) {
+          LOGGER.warn("load:: Failed to load {} {} records for tenant {}", ids.size(), name,
+            batch.context.getTenantId(), ar.cause());
+        }
+        boolean first = true;
+        for (Map.Entry<String, List<Promise<JsonObject>>> request : batch.requests.entrySet()) {
+          for (Promise<JsonObject> promise : request.getValue()) {
+            // all but the first record of a batch are loaded without a request of their own
+            recordCacheGet(name, !first);
+            first = false;
+            if (ar.failed()) {
+              promise.fail(ar.cause());
+            } else {
+              JsonObject json = ar.result().get(request.getKey());
+              // records asked for more than once are not shared, handlers change them
+              promise.complete(json == null ? null : json.copy());
+            }
+          }
+        }
+      });
+    }
+  }
+
+  private static final class Batch {
+    private final Context context;
+    private final Map<String, List<Promise<JsonObject>>> requests = new LinkedHashMap<>();
+    private long timerId;
+
+    private Batch(Context context) {
+      this.context = context;
+    }
+
+    private void add(String id, Promise<JsonObject> promise) {
+      requests.computeIfAbsent(id, k -> new ArrayList<>()).add(promise);
+    }
+
+    private int size() {
+      return requests.size();
+    }
+  }
+}
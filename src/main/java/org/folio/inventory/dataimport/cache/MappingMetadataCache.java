@@ -5,6 +5,8 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import static org.folio.inventory.common.metrics.InventoryMetrics.meteredGet;
+
 import io.vertx.core.json.Json;
 import io.vertx.ext.web.client.WebClient;
 import lombok.SneakyThrows;
@@ -24,13 +26,15 @@ import io.vertx.core.http.HttpClient;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
 
 /**
- * Cache for storing MappingMetadataDto entities by jobExecutionId
+ * Cache for storing MappingMetadataDto entities by jobExecutionId.
+ * Mapping parameters and rules of the cached entities are decoded once per job, see {@link ParsedMappingMetadata}.
  */
 public class MappingMetadataCache {
 
   private static final Logger LOGGER = LogManager.getLogger();
+  private static final String CACHE_NAME = "mapping-metadata";
 
-  private final AsyncCache<String, Optional<MappingMetadataDto>> cache;
+  private final AsyncCache<String, Optional<ParsedMappingMetadata>> cache;
   private final HttpClient httpClient;
 
   public MappingMetadataCache(Vertx vertx, HttpClient httpClient, long cacheExpirationTime) {
@@ -42,8 +46,20 @@ public class MappingMetadataCache {
   }
 
   public Future<Optional<MappingMetadataDto>> get(String jobExecutionId, Context context) {
+    return getParsed(jobExecutionId, context)
+      .map(parsedOptional -> parsedOptional.map(ParsedMappingMetadata::getMappingMetadataDto));
+  }
+
+  /**
+   * Returns mapping metadata by jobExecutionId with mapping parameters and rules decoded at most once per job.
+   *
+   * @param jobExecutionId job execution id
+   * @param context        context of the request, used for tenant and Okapi location
+   * @return future with optional parsed mapping metadata
+   */
+  public Future<Optional<ParsedMappingMetadata>> getParsed(String jobExecutionId, Context context) {
     try {
-      return Future.fromCompletionStage(cache.get(jobExecutionId, (key, executor) -> loadJobProfileSnapshot(key, context)));
+      return Future.fromCompletionStage(meteredGet(CACHE_NAME, cache, jobExecutionId, key -> loadJobProfileSnapshot(key, context)));
     } catch (Exception e) {
       LOGGER.warn("Error loading MappingMetadata by jobExecutionId: '{}'", jobExecutionId, e);
       return Future.failedFuture(e);
@@ -51,8 +67,19 @@ public class MappingMetadataCache {
   }
 
   public Future<Optional<MappingMetadataDto>> getByRecordType(String jobExecutionId, Context context, String recordType) {
+    return getParsedByRecordType(jobExecutionId, context, recordType)
+      .map(parsedOptional -> parsedOptional.map(ParsedMappingMetadata::getMappingMetadataDto));
+  }
+
+  /**
+   * Returns mapping metadata of the record type, cached by jobExecutionId, with mapping parameters
+   * and rules decoded at most once per job.
+   */
+  public Future<Optional<ParsedMappingMetadata>> getParsedByRecordType(String jobExecutionId, Context context,
+    String recordType) {
+
     try {
-      return Future.fromCompletionStage(cache.get(jobExecutionId, (key, executor) -> loadMappingMetadata(recordType, context)));
+      return Future.fromCompletionStage(meteredGet(CACHE_NAME, cache, jobExecutionId, key -> loadMappingMetadata(recordType, context)));
     } catch (Exception e) {
       LOGGER.warn("Error loading MappingMetadata by jobExecutionId: '{}'", jobExecutionId, e);
       return Future.failedFuture(e);
@@ -60,7 +87,7 @@ public class MappingMetadataCache {
   }
 
   @SneakyThrows
-  private CompletableFuture<Optional<MappingMetadataDto>> loadJobProfileSnapshot(String jobExecutionId, Context context) {
+  private CompletableFuture<Optional<ParsedMappingMetadata>> loadJobProfileSnapshot(String jobExecutionId, Context context) {
     LOGGER.debug("Trying to load MappingMetadata by jobExecutionId  '{}' for cache, okapi url: {}, tenantId: {}", jobExecutionId, context.getOkapiLocation(), context.getTenantId());
 
     OkapiHttpClient client = new OkapiHttpClient(WebClient.wrap(httpClient), new URL(context.getOkapiLocation()), context.getTenantId(), context.getToken(), null, null, null);
@@ -70,7 +97,8 @@ public class MappingMetadataCache {
       .thenCompose(httpResponse -> {
         if (httpResponse.getStatusCode() == HttpStatus.SC_OK) {
           LOGGER.info("MappingMetadata was loaded by jobExecutionId '{}'", jobExecutionId);
-          return CompletableFuture.completedFuture(Optional.of(Json.decodeValue(httpResponse.getBody(), MappingMetadataDto.class)));
+          return CompletableFuture.completedFuture(Optional.of(
+            new ParsedMappingMetadata(Json.decodeValue(httpResponse.getBody(), MappingMetadataDto.class))));
         } else if (httpResponse.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
          LOGGER.warn("MappingMetadata was not found by jobExecutionId '{}'", jobExecutionId);
           return CompletableFuture.completedFuture(Optional.empty());
@@ -84,7 +112,7 @@ public class MappingMetadataCache {
   }
 
   @SneakyThrows
-  private CompletableFuture<Optional<MappingMetadataDto>> loadMappingMetadata(String recordType, Context context) {
+  private CompletableFuture<Optional<ParsedMappingMetadata>> loadMappingMetadata(String recordType, Context context) {
     LOGGER.debug("Trying to load MappingMetadata by recordType  '{}' for cache, okapi url: {}, tenantId: {}", recordType, context.getOkapiLocation(), context.getTenantId());
 
     OkapiHttpClient client = new OkapiHttpClient(WebClient.wrap(httpClient), new URL(context.getOkapiLocation()), context.getTenantId(), context.getToken(), null, null, null);
@@ -94,7 +122,8 @@ public class MappingMetadataCache {
       .thenCompose(httpResponse -> {
         if (httpResponse.getStatusCode() == HttpStatus.SC_OK) {
           LOGGER.info("MappingMetadata was loaded by recordType '{}'", recordType);
-          return CompletableFuture.completedFuture(Optional.of(Json.decodeValue(httpResponse.getBody(), MappingMetadataDto.class)));
+          return CompletableFuture.completedFuture(Optional.of(
+            new ParsedMappingMetadata(Json.decodeValue(httpResponse.getBody(), MappingMetadataDto.class))));
         } else if (httpResponse.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
           LOGGER.warn("MappingMetadata was not found by recordType '{}'", recordType);
           return CompletableFuture.completedFuture(Optional.empty());
@@ -0,0 +1,45 @@
+package org.folio.inventory.dataimport.cache;
+
+import org.folio.MappingMetadataDto;
+import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * MappingMetadataDto together with its mapping parameters and mapping rules, which are decoded
+ * on first access and then reused, so that records of the same job do not parse the same
+ * (potentially large) JSON again. Decoded values are shared and must be treated as read-only.
+ */
+public class ParsedMappingMetadata {
+
+  private final MappingMetadataDto mappingMetadataDto;
+  private volatile MappingParameters mappingParameters;
+  private volatile JsonObject mappingRules;
+
+  public ParsedMappingMetadata(MappingMetadataDto mappingMetadataDto) {
+    this.mappingMetadataDto = mappingMetadataDto;
+  }
+
+  public MappingMetadataDto getMappingMetadataDto() {
+    return mappingMetadataDto;
+  }
+
+  public MappingParameters getMappingParameters() {
+    MappingParameters result = mappingParameters;
+    if (result == null) {
+      result = Json.decodeValue(mappingMetadataDto.getMappingParams(), MappingParameters.class);
+      mappingParameters = result;
+    }
+    return result;
+  }
+
+  public JsonObject getMappingRules() {
+    JsonObject result = mappingRules;
+    if (result == null) {
+      result = new JsonObject(mappingMetadataDto.getMappingRules());
+      mappingRules = result;
+    }
+    return result;
+  }
+}
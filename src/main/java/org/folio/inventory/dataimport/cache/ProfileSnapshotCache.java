@@ -5,6 +5,8 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import static org.folio.inventory.common.metrics.InventoryMetrics.meteredGet;
+
 import io.vertx.core.json.Json;
 import io.vertx.ext.web.client.WebClient;
 import lombok.SneakyThrows;
@@ -13,6 +15,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.dataimport.exceptions.CacheLoadingException;
+import org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 
@@ -24,11 +27,12 @@ import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 
 /**
- * Cache for storing ProfileSnapshotWrapper entities by jobProfileSnapshotId
+ * Cache for storing ProfileSnapshotWrapper entities by tenant and jobProfileSnapshotId
  */
 public class ProfileSnapshotCache {
 
   private static final Logger LOGGER = LogManager.getLogger();
+  private static final String CACHE_NAME = "profile-snapshot";
 
   private final AsyncCache<String, Optional<ProfileSnapshotWrapper>> cache;
   private final HttpClient httpClient;
@@ -42,8 +46,12 @@ public class ProfileSnapshotCache {
   }
 
   public Future<Optional<ProfileSnapshotWrapper>> get(String profileSnapshotId, Context context) {
+    if (profileSnapshotId == null) {
+      return Future.failedFuture(new IllegalArgumentException("Job profile snapshot id is not specified"));
+    }
     try {
-      return Future.fromCompletionStage(cache.get(profileSnapshotId, (key, executor) -> loadJobProfileSnapshot(key, context)));
+      return Future.fromCompletionStage(meteredGet(CACHE_NAME, cache, context.getTenantId() + ":" + profileSnapshotId,
+        key -> loadJobProfileSnapshot(profileSnapshotId, context)));
     } catch (Exception e) {
       LOGGER.warn("Error loading ProfileSnapshotWrapper by id: '{}'", profileSnapshotId, e);
       return Future.failedFuture(e);
@@ -61,7 +69,9 @@ public class ProfileSnapshotCache {
       .thenCompose(httpResponse -> {
         if (httpResponse.getStatusCode() == HttpStatus.SC_OK) {
           LOGGER.info("JobProfileSnapshot was loaded by id '{}'", profileSnapshotId);
-          return CompletableFuture.completedFuture(Optional.of(Json.decodeValue(httpResponse.getBody(), (ProfileSnapshotWrapper.class))));
+          ProfileSnapshotWrapper profileSnapshot = Json.decodeValue(httpResponse.getBody(), ProfileSnapshotWrapper.class);
+          ProfileSnapshotNodeUtil.resolveProfiles(context.getTenantId(), profileSnapshotId, profileSnapshot);
+          return CompletableFuture.completedFuture(Optional.of(profileSnapshot));
         } else if (httpResponse.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
           LOGGER.warn("JobProfileSnapshot was not found by id '{}'", profileSnapshotId);
           return CompletableFuture.completedFuture(Optional.empty());
@@ -0,0 +1,216 @@
+package org.folio.inventory.dataimport.consumers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.metrics.InventoryMetrics;
+import org.folio.kafka.AsyncRecordHandler;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Record handler which limits the number of records handled by the delegate handler at the same time, and adapts
+ * the limit to how the handling goes, between a minimum and a maximum.
+ * <p>
+ * The limit grows by one for each round of records handled at the limit without a sign of overload, and shrinks by
+ * a quarter when the handling of a record takes more than twice as long as usual, or when more than half of the
+ * recent records have failed. It shrinks at most once for the records handled under the same limit. Records above
+ * the limit wait for the handling of others to complete. The consumer itself has to let through as many records
+ * as the maximum limit.
+ * <p>
+ * The latency of a record handled by a {@link BatchingRecordHandler} is measured from the moment its group is
+ * handed over, so the time spent waiting for the other records of the group does not count as a sign of overload.
+ * <p>
+ * The current limit, the number of records in flight and the smoothed latency of the handling are exposed as metrics.
+ */
+public class AdaptiveLoadLimitRecordHandler<K, V> implements AsyncRecordHandler<K, V> {
+
+  private static final Logger LOGGER = LogManager.getLogger(AdaptiveLoadLimitRecordHandler.class);
+
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double MAX_ERROR_RATE = 0.5;
+  private static final double DECREASE_RATIO = 0.75;
+  private static final double BASELINE_LATENCY_WEIGHT = 0.05;
+  private static final double SMOOTHED_LATENCY_WEIGHT = 0.2;
+  private static final double ERROR_RATE_WEIGHT = 0.1;
+
+  private final BiFunction<KafkaConsumerRecord<K, V>, Runnable, Future<K>> delegate;
+  private final String consumerName;
+  private final int minLoadLimit;
+  private final int maxLoadLimit;
+  private final LongSupplier nanoClock;
+  private final Deque<Waiting> waiting = new ArrayDeque<>();
+
+  private double loadLimit;
+  private int inFlight;
+  private double baselineLatencyNanos;
+  private double smoothedLatencyNanos;
+  private double errorRate;
+  private long lastDecreaseNanos;
+
+  public AdaptiveLoadLimitRecordHandler(AsyncRecordHandler<K, V> delegate, String consumerName,
+    int loadLimit, int minLoadLimit, int maxLoadLimit) {
+
+    this(delegate, consumerName, loadLimit, minLoadLimit, maxLoadLimit, System::nanoTime);
+  }
+
+  AdaptiveLoadLimitRecordHandler(AsyncRecordHandler<K, V> delegate, String consumerName,
+    int loadLimit, int minLoadLimit, int maxLoadLimit, LongSupplier nanoClock) {
+
+    this.delegate = handlingStartOf(delegate);
+    this.consumerName = consumerName;
+    this.minLoadLimit = Math.max(1, minLoadLimit);
+    this.maxLoadLimit = Math.max(this.minLoadLimit, maxLoadLimit);
+    this.loadLimit = Math.min(this.maxLoadLimit, Math.max(this.minLoadLimit, loadLimit));
+    this.nanoClock = nanoClock;
+    this.lastDecreaseNanos = nanoClock.getAsLong();
+
+    InventoryMetrics.registerKafkaConsumerLoad(consumerName, this, AdaptiveLoadLimitRecordHandler::getLoadLimit,
+      AdaptiveLoadLimitRecordHandler::getInFlight, handler -> handler.getSmoothedLatencyNanos() / 1_000_000);
+  }
+
+  /**
+   * Wraps the handler of a consumer in an adaptive load limit, when the minimum and maximum limits differ.
+   *
+   * @param delegate     handler of the consumer
+   * @param consumerName name of the consumer, used for the metrics
+   * @param loadLimit    initial limit
+   * @param minLoadLimit minimum limit
+   * @param maxLoadLimit maximum limit
+   * @return the wrapped handler, or the handler itself when the limit is fixed
+   */
+  public static <K, V> AsyncRecordHandler<K, V> withLoadLimits(AsyncRecordHandler<K, V> delegate, String consumerName,
+    int loadLimit, int minLoadLimit, int maxLoadLimit) {
+
+    if (minLoadLimit >= maxLoadLimit) {
+      return delegate;
+    }
+    LOGGER.info("withLoadLimits:: Adapting load limit of consumer {} between {} and {}", consumerName,
+      minLoadLimit, maxLoadLimit);
+    return new AdaptiveLoadLimitRecordHandler<>(delegate, consumerName, loadLimit, minLoadLimit, maxLoadLimit);
+  }
+
+  @Override
+  public Future<K> handle(KafkaConsumerRecord<K, V> kafkaRecord) {
+    Promise<K> promise = Promise.promise();
+    boolean start;
+    synchronized (this) {
+      start = inFlight < (int) loadLimit;
+      if (start) {
+        inFlight++;
+      } else {
+        waiting.add(new Waiting(kafkaRecord, promise));
+      }
+    }
+
+    if (start) {
+      start(kafkaRecord, promise);
+    }
+    return promise.future();
+  }
+
+  public synchronized int getLoadLimit() {
+    return (int) loadLimit;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  public synchronized double getSmoothedLatencyNanos() {
+    return smoothedLatencyNanos;
+  }
+
+  /**
+   * Lets a batching delegate tell when the handling of a record actually starts. Other delegates start right away.
+   */
+  private static <K, V> BiFunction<KafkaConsumerRecord<K, V>, Runnable, Future<K>> handlingStartOf(
+    AsyncRecordHandler<K, V> delegate) {
+
+    if (delegate instanceof BatchingRecordHandler) {
+      return ((BatchingRecordHandler<K, V>) delegate)::handle;
+    }
+    return (kafkaRecord, started) -> delegate.handle(kafkaRecord);
+  }
+
+  private void start(KafkaConsumerRecord<K, V> kafkaRecord, Promise<K> promise) {
+    AtomicLong startedAt = new AtomicLong(nanoClock.getAsLong());
+    boolean saturated;
+    synchronized (this) {
+      saturated = inFlight >= (int) loadLimit;
+    }
+
+    Future<K> result;
+    try {
+      result = delegate.apply(kafkaRecord, () -> startedAt.set(nanoClock.getAsLong()));
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+
+    result.onComplete(ar -> {
+      complete(startedAt.get(), saturated, ar);
+      promise.handle(ar);
+    });
+  }
+
+  private void complete(long startedAt, boolean saturated, AsyncResult<K> ar) {
+    long now = nanoClock.getAsLong();
+    List<Waiting> toStart = new ArrayList<>();
+
+    synchronized (this) {
+      inFlight--;
+      adapt(startedAt, now, saturated, ar.succeeded());
+
+      while (inFlight < (int) loadLimit && !waiting.isEmpty()) {
+        inFlight++;
+        toStart.add(waiting.poll());
+      }
+    }
+
+    toStart.forEach(next -> start(next.kafkaRecord, next.promise));
+  }
+
+  private void adapt(long startedAt, long now, boolean saturated, boolean succeeded) {
+    long latency = now - startedAt;
+    if (baselineLatencyNanos == 0) {
+      baselineLatencyNanos = latency;
+      smoothedLatencyNanos = latency;
+    }
+    boolean slow = latency > LATENCY_TOLERANCE * baselineLatencyNanos;
+
+    baselineLatencyNanos += BASELINE_LATENCY_WEIGHT * (latency - baselineLatencyNanos);
+    smoothedLatencyNanos += SMOOTHED_LATENCY_WEIGHT * (latency - smoothedLatencyNanos);
+    errorRate += ERROR_RATE_WEIGHT * ((succeeded ? 0 : 1) - errorRate);
+
+    if (slow || errorRate > MAX_ERROR_RATE) {
+      // records started before the last decrease were handled under the previous limit
+      if (startedAt > lastDecreaseNanos && loadLimit > minLoadLimit) {
+        loadLimit = Math.max(minLoadLimit, loadLimit * DECREASE_RATIO);
+        lastDecreaseNanos = now;
+        LOGGER.debug("adapt:: Decreased load limit of consumer {} to {}", consumerName, (int) loadLimit);
+      }
+    } else if (saturated && loadLimit < maxLoadLimit) {
+      loadLimit = Math.min(maxLoadLimit, loadLimit + 1 / loadLimit);
+    }
+  }
+
+  private final class Waiting {
+    private final KafkaConsumerRecord<K, V> kafkaRecord;
+    private final Promise<K> promise;
+
+    private Waiting(KafkaConsumerRecord<K, V> kafkaRecord, Promise<K> promise) {
+      this.kafkaRecord = kafkaRecord;
+      this.promise = promise;
+    }
+  }
+}
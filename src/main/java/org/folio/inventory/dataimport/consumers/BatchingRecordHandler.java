@@ -0,0 +1,143 @@
+package org.folio.inventory.dataimport.consumers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Record handler which hands records to the delegate handler in groups, instead of one at a time.
+ * <p>
+ * Records with the same group key, e.g. of the same event type and job, are collected until there are
+ * {@code batchSize} of them, or until {@code maxWaitMs} milliseconds have passed since the first of them
+ * has been received. All records of a group are then handed to the delegate at once, as a group of
+ * {@link RecordGroups}, so that the records created by their handling are saved by one batch request.
+ * <p>
+ * The handling of a record completes only when the handling of all records of its group has completed, so the
+ * offset of a record is only committed once its whole group is done. The outcome of each record stays its own:
+ * a failed record fails alone, and its error is reported as it is without batching.
+ * <p>
+ * The handler has to be called on one Vert.x context, that of the consumers using it.
+ */
+public class BatchingRecordHandler<K, V> implements AsyncRecordHandler<K, V> {
+
+  private static final Logger LOGGER = LogManager.getLogger(BatchingRecordHandler.class);
+
+  private final Vertx vertx;
+  private final AsyncRecordHandler<K, V> delegate;
+  private final Function<KafkaConsumerRecord<K, V>, String> groupKey;
+  private final Function<KafkaConsumerRecord<K, V>, String> recordId;
+  private final int batchSize;
+  private final long maxWaitMs;
+  private final Map<String, Group> openGroups = new HashMap<>();
+
+  public BatchingRecordHandler(Vertx vertx, AsyncRecordHandler<K, V> delegate,
+    Function<KafkaConsumerRecord<K, V>, String> groupKey, Function<KafkaConsumerRecord<K, V>, String> recordId,
+    int batchSize, long maxWaitMs) {
+
+    this.vertx = vertx;
+    this.delegate = delegate;
+    this.groupKey = groupKey;
+    this.recordId = recordId;
+    this.batchSize = batchSize;
+    this.maxWaitMs = maxWaitMs;
+  }
+
+  @Override
+  public Future<K> handle(KafkaConsumerRecord<K, V> kafkaRecord) {
+    return handle(kafkaRecord, () -> { });
+  }
+
+  /**
+   * Handles a record, as part of its group.
+   *
+   * @param kafkaRecord record to handle
+   * @param dispatched  called once the group of the record is handed to the delegate, when the wait for the
+   *                    other records of the group is over
+   * @return the outcome of the handling of the record
+   */
+  public Future<K> handle(KafkaConsumerRecord<K, V> kafkaRecord, Runnable dispatched) {
+    Promise<K> promise = Promise.promise();
+    String key = groupKey.apply(kafkaRecord);
+
+    Group group = openGroups.get(key);
+    if (group == null) {
+      Group newGroup = new Group();
+      newGroup.timerId = vertx.setTimer(maxWaitMs, timerId -> close(key, newGroup));
+      openGroups.put(key, newGroup);
+      group = newGroup;
+    }
+    group.add(kafkaRecord, promise, dispatched);
+
+    if (group.records.size() >= batchSize) {
+      openGroups.remove(key);
+      vertx.cancelTimer(group.timerId);
+      dispatch(key, group);
+    }
+    return promise.future();
+  }
+
+  private void close(String key, Group group) {
+    if (openGroups.remove(key, group)) {
+      dispatch(key, group);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private void dispatch(String key, Group group) {
+    LOGGER.debug("dispatch:: Handling group {} of {} records", key, group.records.size());
+    group.dispatched.forEach(Runnable::run);
+
+    List<String> recordIds = group.records.stream().map(recordId).collect(Collectors.toList());
+    RecordGroups.Group recordGroup = RecordGroups.start(recordIds);
+
+    List<Future> results = new ArrayList<>();
+    for (int i = 0; i < group.records.size(); i++) {
+      String id = recordIds.get(i);
+      results.add(handleRecord(group.records.get(i))
+        .onComplete(ar -> recordGroup.completed(id)));
+    }
+
+    CompositeFuture.join(results).onComplete(notUsed -> {
+      for (int i = 0; i < results.size(); i++) {
+        @SuppressWarnings("unchecked")
+        Future<K> result = results.get(i);
+        group.promises.get(i).handle(result);
+      }
+    });
+  }
+
+  private Future<K> handleRecord(KafkaConsumerRecord<K, V> kafkaRecord) {
+    try {
+      Future<K> result = delegate.handle(kafkaRecord);
+      return result != null ? result : Future.failedFuture("No result of handling record " + kafkaRecord.key());
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private final class Group {
+    private final List<KafkaConsumerRecord<K, V>> records = new ArrayList<>();
+    private final List<Promise<K>> promises = new ArrayList<>();
+    private final List<Runnable> dispatched = new ArrayList<>();
+    private long timerId;
+
+    private void add(KafkaConsumerRecord<K, V> kafkaRecord, Promise<K> promise, Runnable onDispatch) {
+      records.add(kafkaRecord);
+      promises.add(promise);
+      dispatched.add(onDispatch);
+    }
+  }
+}
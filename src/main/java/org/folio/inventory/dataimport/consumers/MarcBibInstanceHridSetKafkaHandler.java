@@ -11,7 +11,6 @@ import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.MappingMetadataDto;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
@@ -38,8 +37,6 @@ public class MarcBibInstanceHridSetKafkaHandler implements AsyncRecordHandler<St
   private static final Logger LOGGER = LogManager.getLogger(MarcBibInstanceHridSetKafkaHandler.class);
   private static final String MAPPING_METADATA_NOT_FOUND_MSG = "MappingParameters and mapping rules snapshots were not found by jobExecutionId '%s'";
   private static final String MARC_KEY = "MARC_BIB";
-  private static final String MAPPING_RULES_KEY = "MAPPING_RULES";
-  private static final String MAPPING_PARAMS_KEY = "MAPPING_PARAMS";
   private static final ObjectMapper OBJECT_MAPPER = ObjectMapperTool.getMapper();
   private static final String RECORD_ID_HEADER = "recordId";
   private static final String CHUNK_ID_HEADER = "chunkId";
@@ -77,11 +74,10 @@ public class MarcBibInstanceHridSetKafkaHandler implements AsyncRecordHandler<St
       Context context = EventHandlingUtil.constructContext(headersMap.get(OKAPI_TENANT_HEADER), headersMap.get(OKAPI_TOKEN_HEADER), headersMap.get(OKAPI_URL_HEADER));
       Record marcRecord = new JsonObject(eventPayload.get(MARC_KEY)).mapTo(Record.class);
 
-      mappingMetadataCache.get(jobExecutionId, context)
+      mappingMetadataCache.getParsed(jobExecutionId, context)
         .map(metadataOptional -> metadataOptional.orElseThrow(() ->
           new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, jobExecutionId))))
-        .onSuccess(mappingMetadataDto -> ensureEventPayloadWithMappingMetadata(eventPayload, mappingMetadataDto))
-        .compose(v -> instanceUpdateDelegate.handle(eventPayload, marcRecord, context))
+        .compose(mappingMetadata -> instanceUpdateDelegate.handle(eventPayload, marcRecord, context, mappingMetadata))
         .onComplete(ar -> {
           if (ar.succeeded()) {
             eventPayload.remove(CURRENT_RETRY_NUMBER);
@@ -124,9 +120,4 @@ public class MarcBibInstanceHridSetKafkaHandler implements AsyncRecordHandler<St
     }
   }
 
-  private void ensureEventPayloadWithMappingMetadata(HashMap<String, String> eventPayload, MappingMetadataDto mappingMetadataDto) {
-    eventPayload.put(MAPPING_RULES_KEY, mappingMetadataDto.getMappingRules());
-    eventPayload.put(MAPPING_PARAMS_KEY, mappingMetadataDto.getMappingParams());
-  }
-
 }
@@ -24,7 +24,6 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.MappingMetadataDto;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
@@ -45,8 +44,6 @@ public class MarcBibUpdateKafkaHandler implements AsyncRecordHandler<String, Str
   private static final String MAPPING_METADATA_NOT_FOUND_MSG = "MappingParameters and mapping rules snapshots were not found by jobId '%s'";
   private static final ObjectMapper OBJECT_MAPPER = ObjectMapperTool.getMapper();
   private static final AtomicLong INDEXER = new AtomicLong();
-  private static final String MAPPING_RULES_KEY = "MAPPING_RULES";
-  private static final String MAPPING_PARAMS_KEY = "MAPPING_PARAMS";
   private static final String MARC_BIB_RECORD_TYPE = "marc-bib";
 
   private final InstanceUpdateDelegate instanceUpdateDelegate;
@@ -86,11 +83,10 @@ public class MarcBibUpdateKafkaHandler implements AsyncRecordHandler<String, Str
       Context context = EventHandlingUtil.constructContext(instanceEvent.getTenant(), headersMap.get(OKAPI_TOKEN_HEADER), headersMap.get(OKAPI_URL_HEADER));
       Record marcBibRecord = instanceEvent.getRecord();
 
-      mappingMetadataCache.getByRecordType(instanceEvent.getJobId(), context, MARC_BIB_RECORD_TYPE)
+      mappingMetadataCache.getParsedByRecordType(instanceEvent.getJobId(), context, MARC_BIB_RECORD_TYPE)
         .map(metadataOptional -> metadataOptional.orElseThrow(() ->
           new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, instanceEvent.getJobId()))))
-        .onSuccess(mappingMetadataDto -> ensureEventPayloadWithMappingMetadata(metaDataPayload, mappingMetadataDto))
-        .compose(v -> instanceUpdateDelegate.handle(metaDataPayload, marcBibRecord, context))
+        .compose(mappingMetadata -> instanceUpdateDelegate.handle(metaDataPayload, marcBibRecord, context, mappingMetadata))
         .onComplete(ar -> processUpdateResult(ar, promise, consumerRecord, instanceEvent, marcBibRecord));
       return promise.future();
     } catch (Exception e) {
@@ -144,11 +140,6 @@ public class MarcBibUpdateKafkaHandler implements AsyncRecordHandler<String, Str
     return String.join(".", env, tenant, eventType);
   }
 
-  private void ensureEventPayloadWithMappingMetadata(HashMap<String, String> eventPayload, MappingMetadataDto mappingMetadataDto) {
-    eventPayload.put(MAPPING_RULES_KEY, mappingMetadataDto.getMappingRules());
-    eventPayload.put(MAPPING_PARAMS_KEY, mappingMetadataDto.getMappingParams());
-  }
-
   private KafkaProducer<String, String> createProducer(String eventType, KafkaConfig kafkaConfig) {
     String producerName = eventType + "_Producer";
     return KafkaProducer.createShared(vertx, producerName, kafkaConfig.getProducerProps());
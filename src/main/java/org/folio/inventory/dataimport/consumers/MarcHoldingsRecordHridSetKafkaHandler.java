@@ -32,7 +32,6 @@ import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.KafkaHeaderUtils;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.rest.jaxrs.model.Event;
-import org.folio.MappingMetadataDto;
 import org.folio.rest.jaxrs.model.Record;
 
 /**
@@ -50,8 +49,6 @@ public class MarcHoldingsRecordHridSetKafkaHandler implements AsyncRecordHandler
   private static final String MAPPING_METADATA_NOT_FOUND_MSG = "MappingParameters and mapping rules snapshots were not found by jobExecutionId '%s'";
   private static final String RECORD_ID_HEADER = "recordId";
   private static final String MARC_KEY = "MARC_HOLDINGS";
-  private static final String MAPPING_RULES_KEY = "MAPPING_RULES";
-  private static final String MAPPING_PARAMS_KEY = "MAPPING_PARAMS";
   public static final String JOB_EXECUTION_ID_KEY = "JOB_EXECUTION_ID";
   private static final String CHUNK_ID_HEADER = "chunkId";
   private static final String JOB_EXECUTION_ID_HEADER = "JOB_EXECUTION_ID";
@@ -92,11 +89,10 @@ public class MarcHoldingsRecordHridSetKafkaHandler implements AsyncRecordHandler
           headersMap.get(OKAPI_URL_HEADER));
         Record marcRecord = Json.decodeValue(eventPayload.get(MARC_KEY), Record.class);
 
-        mappingMetadataCache.get(jobExecutionId, context)
+        mappingMetadataCache.getParsed(jobExecutionId, context)
           .map(metadataOptional -> metadataOptional.orElseThrow(() ->
             new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, jobExecutionId))))
-          .onSuccess(mappingMetadataDto -> ensureEventPayloadWithMappingMetadata(eventPayload, mappingMetadataDto))
-          .compose(v -> holdingsRecordUpdateDelegate.handle(eventPayload, marcRecord, context))
+          .compose(mappingMetadata -> holdingsRecordUpdateDelegate.handle(eventPayload, marcRecord, context, mappingMetadata))
           .onComplete(ar -> {
             if (ar.succeeded()) {
               eventPayload.remove(CURRENT_RETRY_NUMBER);
@@ -118,11 +114,6 @@ public class MarcHoldingsRecordHridSetKafkaHandler implements AsyncRecordHandler
     }
   }
 
-  private void ensureEventPayloadWithMappingMetadata(HashMap<String, String> eventPayload, MappingMetadataDto mappingMetadataDto) {
-    eventPayload.put(MAPPING_RULES_KEY, mappingMetadataDto.getMappingRules());
-    eventPayload.put(MAPPING_PARAMS_KEY, mappingMetadataDto.getMappingParams());
-  }
-
   private void processOLError(KafkaConsumerRecord<String, String> value, Promise<String> promise, HashMap<String, String> eventPayload, AsyncResult<HoldingsRecord> ar) {
     int currentRetryNumber = eventPayload.get(CURRENT_RETRY_NUMBER) == null
       ? 0 : Integer.parseInt(eventPayload.get(CURRENT_RETRY_NUMBER));
@@ -0,0 +1,218 @@
+package org.folio.inventory.dataimport.consumers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.common.domain.Success;
+import org.folio.inventory.domain.AsynchronousCollection;
+import org.folio.inventory.domain.BatchResult;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Saves the records created by the handling of data import records which are handled together, as a group of
+ * {@link BatchingRecordHandler}, by one batch request per collection.
+ * <p>
+ * The records handed over for a data import record of a group are held back until every record of the group has
+ * either handed over its records, or completed without doing so. All records handed over for the same kind of
+ * collection are then added by one {@link AsynchronousCollection#addBatch} call, and each handler is called back with
+ * the outcome of its own records only. Records handed over for a data import record which is not handled as part
+ * of a group, or which have no id to tell their outcome by, are added right away.
+ * <p>
+ * Groups are shared by the consumer verticles, as the data import handlers are. Handlers are called back on the
+ * Vert.x context they handed their records over on.
+ */
+public final class RecordGroups {
+
+  private static final Logger LOGGER = LogManager.getLogger(RecordGroups.class);
+
+  private static final Map<String, Group> GROUPS_BY_RECORD_ID = new ConcurrentHashMap<>();
+
+  private RecordGroups() {
+  }
+
+  /**
+   * Starts a group of data import records, before any of them is handled. A record which is already part of
+   * another group in flight, e.g. a redelivered one, is left out of the new group.
+   *
+   * @param recordIds ids of the data import records of the group
+   * @return the group, which has to be told about each of its records once its handling has completed
+   */
+  static Group start(Collection<String> recordIds) {
+    Group group = new Group();
+    synchronized (group) {
+      for (String recordId : recordIds) {
+        if (recordId != null && GROUPS_BY_RECORD_ID.putIfAbsent(recordId, group) == null) {
+          group.pending.add(recordId);
+        }
+      }
+    }
+    return group;
+  }
+
+  /**
+   * Adds the records created for a data import record, together with those of the other records of its group.
+   *
+   * @param recordId        id of the data import record the records are created for
+   * @param collection      collection to add the records to
+   * @param records         records to add
+   * @param getId           gets the id of a record
+   * @param resultCallback  called with the outcome of the given records
+   * @param failureCallback called when the batch request fails as a whole
+   */
+  public static <T> void addBatch(String recordId, AsynchronousCollection<T> collection, List<T> records,
+    Function<T, String> getId, Consumer<Success<BatchResult<T>>> resultCallback, Consumer<Failure> failureCallback) {
+
+    Group group = recordId == null ? null : GROUPS_BY_RECORD_ID.get(recordId);
+    boolean grouped = group != null
+      && records.stream().map(getId).allMatch(Objects::nonNull)
+      && group.add(recordId, new Submission<>(collection, records, getId, resultCallback, failureCallback));
+
+    if (!grouped) {
+      collection.addBatch(records, resultCallback, failureCallback);
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static void save(List<Submission<?>> submissions) {
+    Map<Class<?>, List<Submission>> submissionsByCollection = new LinkedHashMap<>();
+    submissions.forEach(submission -> submissionsByCollection
+      .computeIfAbsent(submission.collection.getClass(), k -> new ArrayList<>())
+      .add(submission));
+
+    submissionsByCollection.values().forEach(sameCollection -> saveTogether((List) sameCollection));
+  }
+
+  private static <T> void saveTogether(List<Submission<T>> submissions) {
+    List<T> records = submissions.stream()
+      .flatMap(submission -> submission.records.stream())
+      .collect(Collectors.toList());
+
+    LOGGER.debug("saveTogether:: Adding {} records handed over for {} data import records", records.size(),
+      submissions.size());
+
+    submissions.get(0).collection.addBatch(records,
+      success -> submissions.forEach(submission -> submission.succeed(success.getResult())),
+      failure -> submissions.forEach(submission -> submission.fail(failure)));
+  }
+
+  /**
+   * Data import records handled together, which have not yet handed over their records nor completed.
+   */
+  static final class Group {
+    private final Set<String> pending = new HashSet<>();
+    private final List<Submission<?>> submissions = new ArrayList<>();
+
+    /**
+     * Tells the group that the handling of one of its records has completed.
+     */
+    void completed(String recordId) {
+      List<Submission<?>> toSave;
+      synchronized (this) {
+        if (!pending.remove(recordId)) {
+          return;
+        }
+        GROUPS_BY_RECORD_ID.remove(recordId, this);
+        toSave = takeSubmissionsIfDone();
+      }
+      saveIfAny(toSave);
+    }
+
+    private boolean add(String recordId, Submission<?> submission) {
+      List<Submission<?>> toSave;
+      synchronized (this) {
+        if (!pending.remove(recordId)) {
+          return false;
+        }
+        GROUPS_BY_RECORD_ID.remove(recordId, this);
+        submissions.add(submission);
+        toSave = takeSubmissionsIfDone();
+      }
+      saveIfAny(toSave);
+      return true;
+    }
+
+    private List<Submission<?>> takeSubmissionsIfDone() {
+      if (!pending.isEmpty() || submissions.isEmpty()) {
+        return List.of();
+      }
+      List<Submission<?>> toSave = new ArrayList<>(submissions);
+      submissions.clear();
+      return toSave;
+    }
+
+    private static void saveIfAny(List<Submission<?>> toSave) {
+      if (!toSave.isEmpty()) {
+        save(toSave);
+      }
+    }
+  }
+
+  private static final class Submission<T> {
+    private final AsynchronousCollection<T> collection;
+    private final List<T> records;
+    private final Function<T, String> getId;
+    private final Consumer<Success<BatchResult<T>>> resultCallback;
+    private final Consumer<Failure> failureCallback;
+    private final Context context = Vertx.currentContext();
+
+    private Submission(AsynchronousCollection<T> collection, List<T> records, Function<T, String> getId,
+      Consumer<Success<BatchResult<T>>> resultCallback, Consumer<Failure> failureCallback) {
+
+      this.collection = collection;
+      this.records = records;
+      this.getId = getId;
+      this.resultCallback = resultCallback;
+      this.failureCallback = failureCallback;
+    }
+
+    private void succeed(BatchResult<T> batchResult) {
+      Set<String> ids = records.stream().map(getId).collect(Collectors.toSet());
+
+      BatchResult<T> ownResult = new BatchResult<>();
+      ownResult.setBatchItems(batchResult.getBatchItems().stream()
+        .filter(saved -> ids.contains(getId.apply(saved)))
+        .collect(Collectors.toList()));
+
+      List<T> failed = new ArrayList<>();
+      List<String> errorMessages = new ArrayList<>();
+      for (int i = 0; i < batchResult.getFailedBatchItems().size(); i++) {
+        T record = batchResult.getFailedBatchItems().get(i);
+        if (ids.contains(getId.apply(record))) {
+          failed.add(record);
+          errorMessages.add(batchResult.getErrorMessages().get(i));
+        }
+      }
+      ownResult.setFailedBatchItems(failed);
+      ownResult.setErrorMessages(errorMessages);
+
+      runOnContext(() -> resultCallback.accept(new Success<>(ownResult)));
+    }
+
+    private void fail(Failure failure) {
+      runOnContext(() -> failureCallback.accept(failure));
+    }
+
+    private void runOnContext(Runnable action) {
+      if (context == null || context == Vertx.currentContext()) {
+        action.run();
+      } else {
+        context.runOnContext(v -> action.run());
+      }
+    }
+  }
+}
@@ -1,7 +1,8 @@
 package org.folio.inventory.dataimport.handlers.actions;
 
-import static io.vertx.core.json.JsonObject.mapFrom;
 import static java.lang.String.format;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getMappingProfile;
 
 import static org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil.constructContext;
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
@@ -23,10 +24,10 @@ import org.apache.logging.log4j.Logger;
 import org.folio.ActionProfile;
 import org.folio.Authority;
 import org.folio.DataImportEventPayload;
-import org.folio.MappingMetadataDto;
 import org.folio.MappingProfile;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.domain.AuthorityRecordCollection;
 import org.folio.inventory.storage.Storage;
 import org.folio.inventory.validation.exceptions.JsonMappingException;
@@ -34,7 +35,6 @@ import org.folio.processing.events.services.handler.EventHandler;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.processing.mapping.defaultmapper.RecordMapper;
 import org.folio.processing.mapping.defaultmapper.RecordMapperBuilder;
-import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 import org.folio.rest.jaxrs.model.Record;
@@ -76,7 +76,7 @@ public abstract class AbstractAuthorityEventHandler implements EventHandler {
 
       var context = constructContext(payload.getTenant(), payload.getToken(), payload.getOkapiUrl());
       var jobExecutionId = payload.getJobExecutionId();
-      mappingMetadataCache.get(jobExecutionId, context)
+      mappingMetadataCache.getParsed(jobExecutionId, context)
         .map(mapMetadataOrFail())
         .compose(mappingMetadata -> mapAuthority(payload, mappingMetadata))
         .compose(authority -> handleProfileAction(authority, context, payload))
@@ -93,10 +93,10 @@ public abstract class AbstractAuthorityEventHandler implements EventHandler {
   public boolean isEligible(DataImportEventPayload payload) {
     if (isExpectedPayload(payload)) {
       if (profileContentType() == ACTION_PROFILE) {
-        var actionProfile = mapFrom(payload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+        var actionProfile = getActionProfile(payload);
         return isEligibleActionProfile(actionProfile);
       } else if (profileContentType() == MAPPING_PROFILE) {
-        var mappingProfile = mapFrom(payload.getCurrentNode().getContent()).mapTo(MappingProfile.class);
+        var mappingProfile = getMappingProfile(payload);
         return isEligibleMappingProfile(mappingProfile);
       }
     }
@@ -155,10 +155,10 @@ public abstract class AbstractAuthorityEventHandler implements EventHandler {
     };
   }
 
-  private Future<Authority> mapAuthority(DataImportEventPayload payload, MappingMetadataDto mappingMetadata) {
+  private Future<Authority> mapAuthority(DataImportEventPayload payload, ParsedMappingMetadata mappingMetadata) {
     try {
-      var mappingRules = new JsonObject(mappingMetadata.getMappingRules());
-      var mappingParameters = Json.decodeValue(mappingMetadata.getMappingParams(), MappingParameters.class);
+      var mappingRules = mappingMetadata.getMappingRules();
+      var mappingParameters = mappingMetadata.getMappingParameters();
       var parsedRecord = new JsonObject((String) new JsonObject(payload.getContext().get(sourceRecordType().value()))
         .mapTo(Record.class).getParsedRecord().getContent());
       RecordMapper<Authority> recordMapper = RecordMapperBuilder.buildMapper(sourceRecordType().value());
@@ -195,7 +195,7 @@ public abstract class AbstractAuthorityEventHandler implements EventHandler {
     return payload.getContext() == null ? "-" : payload.getContext().get(RECORD_ID_HEADER);
   }
 
-  private Function<Optional<MappingMetadataDto>, MappingMetadataDto> mapMetadataOrFail() {
+  private Function<Optional<ParsedMappingMetadata>, ParsedMappingMetadata> mapMetadataOrFail() {
     return parameters -> parameters.orElseThrow(() -> new EventProcessingException(MAPPING_METADATA_NOT_FOUND_MSG));
   }
 
@@ -8,6 +8,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.Authority;
 import org.folio.inventory.common.Context;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.exceptions.DataImportException;
 import org.folio.inventory.dataimport.exceptions.OptimisticLockingException;
 import org.folio.inventory.domain.AuthorityRecordCollection;
@@ -38,13 +39,42 @@ public class AuthorityUpdateDelegate {
     this.storage = storage;
   }
 
+  /**
+   * Updates the authority of the MARC record with mapping rules and parameters passed in the event payload.
+   */
   public Future<Authority> handle(Map<String, String> eventPayload, Record marcRecord, Context context) {
-    logParametersUpdateDelegate(LOGGER, eventPayload, marcRecord, context);
     try {
       JsonObject mappingRules = new JsonObject(eventPayload.get(MAPPING_RULES_KEY));
       MappingParameters mappingParameters =
         new JsonObject(eventPayload.get(MAPPING_PARAMS_KEY)).mapTo(MappingParameters.class);
+      return handle(eventPayload, marcRecord, context, mappingRules, mappingParameters);
+    } catch (Exception e) {
+      LOGGER.error("Error updating Authority", e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Updates the authority of the MARC record with mapping rules and parameters of the job, which are decoded
+   * once per job rather than for each record.
+   */
+  public Future<Authority> handle(Map<String, String> eventPayload, Record marcRecord, Context context,
+    ParsedMappingMetadata mappingMetadata) {
 
+    try {
+      return handle(eventPayload, marcRecord, context, mappingMetadata.getMappingRules(),
+        mappingMetadata.getMappingParameters());
+    } catch (Exception e) {
+      LOGGER.error("Error updating Authority", e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Authority> handle(Map<String, String> eventPayload, Record marcRecord, Context context,
+    JsonObject mappingRules, MappingParameters mappingParameters) {
+
+    logParametersUpdateDelegate(LOGGER, eventPayload, marcRecord, context);
+    try {
       JsonObject parsedRecord = retrieveParsedContent(marcRecord.getParsedRecord());
       String authorityId = marcRecord.getExternalIdsHolder().getAuthorityId();
       LOGGER.info("Authority update with authorityId: {}", authorityId);
@@ -1,6 +1,5 @@
 package org.folio.inventory.dataimport.handlers.actions;
 
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.Json;
@@ -14,9 +13,11 @@ import org.folio.DataImportEventPayload;
 import org.folio.HoldingsRecord;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.consumers.RecordGroups;
 import org.folio.inventory.dataimport.entities.PartialError;
 import org.folio.inventory.dataimport.services.OrderHelperService;
 import org.folio.inventory.dataimport.util.ParsedRecordUtil;
+import org.folio.inventory.domain.BatchResult;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.domain.relationship.RecordToEntity;
 import org.folio.inventory.services.IdStorageService;
@@ -46,6 +47,7 @@ import static org.folio.DataImportEventTypes.DI_INVENTORY_HOLDING_CREATED;
 import static org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil.constructContext;
 import static org.folio.inventory.dataimport.util.DataImportConstants.UNIQUE_ID_ERROR_MESSAGE;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 public class CreateHoldingEventHandler implements EventHandler {
 
@@ -101,13 +103,13 @@ public class CreateHoldingEventHandler implements EventHandler {
       Future<RecordToEntity> recordToHoldingsFuture = idStorageService.store(recordId, UUID.randomUUID().toString(), dataImportEventPayload.getTenant());
       recordToHoldingsFuture.onSuccess(res -> {
           String holdingsId = res.getEntityId();
-          mappingMetadataCache.get(jobExecutionId, context)
+          mappingMetadataCache.getParsed(jobExecutionId, context)
             .map(parametersOptional -> parametersOptional.orElseThrow(() ->
               new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG,
                 jobExecutionId, recordId, chunkId))))
-            .map(mappingMetadataDto -> {
+            .map(mappingMetadata -> {
               prepareEvent(dataImportEventPayload);
-              MappingParameters mappingParameters = Json.decodeValue(mappingMetadataDto.getMappingParams(), MappingParameters.class);
+              MappingParameters mappingParameters = mappingMetadata.getMappingParameters();
               MappingManager.map(dataImportEventPayload, new MappingContext().withMappingParameters(mappingParameters));
               JsonArray holdingsList = new JsonArray(payloadContext.get(HOLDINGS.value()));
               for (int i = 0; i < holdingsList.size(); i++) {
@@ -156,7 +158,7 @@ public class CreateHoldingEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getContext().get(MARC_BIBLIOGRAPHIC.value()) != null && dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == ActionProfile.Action.CREATE && actionProfile.getFolioRecord() == ActionProfile.FolioRecord.HOLDINGS;
     }
     return false;
@@ -196,33 +198,27 @@ public class CreateHoldingEventHandler implements EventHandler {
 
   private Future<List<HoldingsRecord>> addHoldings(List<HoldingsRecord> holdingsList, HashMap<String, String> payloadContext, Context context) {
     Promise<List<HoldingsRecord>> holdingsPromise = Promise.promise();
-    List<HoldingsRecord> createdHoldingsRecord = new ArrayList<>();
-    List<PartialError> errors = new ArrayList<>();
-    List<Future> createHoldingsRecordFutures = new ArrayList<>();
+    LOGGER.debug("addHoldings:: Trying to add {} holdings", holdingsList.size());
 
     HoldingsRecordCollection holdingsRecordCollection = storage.getHoldingsRecordCollection(context);
-    holdingsList.forEach(holdings -> {
-      LOGGER.debug(format("addHoldings:: Trying to add holdings with id: %s", holdings.getId()));
-      Promise<Void> createPromise = Promise.promise();
-      createHoldingsRecordFutures.add(createPromise.future());
-      holdingsRecordCollection.add(holdings,
-        success -> {
-          createdHoldingsRecord.add(success.getResult());
-          createPromise.complete();
-        },
-        failure -> {
-          errors.add(new PartialError(holdings.getId() != null ? holdings.getId() : BLANK, failure.getReason()));
-          if (isNotBlank(failure.getReason()) && failure.getReason().contains(UNIQUE_ID_ERROR_MESSAGE)) {
+    RecordGroups.addBatch(payloadContext.get(RECORD_ID_HEADER), holdingsRecordCollection, holdingsList, HoldingsRecord::getId,
+      success -> {
+        BatchResult<HoldingsRecord> batchResult = success.getResult();
+        List<HoldingsRecord> createdHoldingsRecord = batchResult.getBatchItems();
+        List<PartialError> errors = new ArrayList<>();
+
+        for (int i = 0; i < batchResult.getFailedBatchItems().size(); i++) {
+          HoldingsRecord holdings = batchResult.getFailedBatchItems().get(i);
+          String reason = batchResult.getErrorMessages().get(i);
+          if (isNotBlank(reason) && reason.contains(UNIQUE_ID_ERROR_MESSAGE)) {
             LOGGER.info("addHoldings:: Duplicated event received by Holding id: {}. Ignoring...", holdings.getId());
-            createPromise.fail(new DuplicateEventException(format("Duplicated event by Holding id: %s", holdings.getId())));
-          } else {
-            LOGGER.warn(format("addHoldings:: Error posting Holdings cause %s, status code %s", failure.getReason(), failure.getStatusCode()));
-            createPromise.complete();
+            holdingsPromise.fail(new DuplicateEventException(format("Duplicated event by Holding id: %s", holdings.getId())));
+            return;
           }
-        });
-    });
-    CompositeFuture.all(createHoldingsRecordFutures).onComplete(ar -> {
-      if (ar.succeeded()) {
+          LOGGER.warn(format("addHoldings:: Error posting Holdings with id %s cause %s", holdings.getId(), reason));
+          errors.add(new PartialError(holdings.getId() != null ? holdings.getId() : BLANK, reason));
+        }
+
         String errorsAsStringJson = Json.encode(errors);
         if (!createdHoldingsRecord.isEmpty()) {
           payloadContext.put(ERRORS, errorsAsStringJson);
@@ -230,10 +226,11 @@ public class CreateHoldingEventHandler implements EventHandler {
         } else {
           holdingsPromise.fail(errorsAsStringJson);
         }
-      } else {
-        holdingsPromise.fail(ar.cause());
-      }
-    });
+      },
+      failure -> {
+        LOGGER.warn(format("addHoldings:: Error posting Holdings cause %s, status code %s", failure.getReason(), failure.getStatusCode()));
+        holdingsPromise.fail(failure.getReason());
+      });
     return holdingsPromise.future();
   }
 }
@@ -44,6 +44,7 @@ import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventH
 import static org.folio.inventory.domain.instances.Instance.HRID_KEY;
 import static org.folio.inventory.domain.instances.Instance.SOURCE_KEY;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 public class CreateInstanceEventHandler extends AbstractInstanceEventHandler {
 
@@ -98,10 +99,10 @@ public class CreateInstanceEventHandler extends AbstractInstanceEventHandler {
       Future<RecordToEntity> recordToInstanceFuture = idStorageService.store(targetRecord.getId(), getInstanceId(targetRecord), dataImportEventPayload.getTenant());
       recordToInstanceFuture.onSuccess(res -> {
           String instanceId = res.getEntityId();
-          mappingMetadataCache.get(jobExecutionId, context)
+          mappingMetadataCache.getParsed(jobExecutionId, context)
             .compose(parametersOptional -> parametersOptional
-              .map(mappingMetadata -> prepareAndExecuteMapping(dataImportEventPayload, new JsonObject(mappingMetadata.getMappingRules()),
-                Json.decodeValue(mappingMetadata.getMappingParams(), MappingParameters.class)))
+              .map(mappingMetadata -> prepareAndExecuteMapping(dataImportEventPayload, mappingMetadata.getMappingRules(),
+                mappingMetadata.getMappingParameters()))
               .orElseGet(() -> Future.failedFuture(format(MAPPING_PARAMETERS_NOT_FOUND_MSG, jobExecutionId, recordId, chunkId))))
             .compose(v -> {
               InstanceCollection instanceCollection = storage.getInstanceCollection(context);
@@ -167,7 +168,7 @@ public class CreateInstanceEventHandler extends AbstractInstanceEventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == CREATE && actionProfile.getFolioRecord() == INSTANCE;
     }
     return false;
@@ -12,11 +12,13 @@ import org.apache.logging.log4j.Logger;
 import org.folio.ActionProfile;
 import org.folio.DataImportEventPayload;
 import org.folio.inventory.common.Context;
-import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.consumers.RecordGroups;
 import org.folio.inventory.dataimport.entities.PartialError;
 import org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil;
 import org.folio.inventory.dataimport.services.OrderHelperService;
+import org.folio.inventory.dataimport.util.ParsedPayloadContext;
+import org.folio.inventory.domain.BatchResult;
 import org.folio.inventory.domain.items.CirculationNote;
 import org.folio.inventory.domain.items.Item;
 import org.folio.inventory.domain.items.ItemCollection;
@@ -24,7 +26,6 @@ import org.folio.inventory.domain.items.ItemStatusName;
 import org.folio.inventory.domain.relationship.RecordToEntity;
 import org.folio.inventory.services.IdStorageService;
 import org.folio.inventory.storage.Storage;
-import org.folio.inventory.support.CqlHelper;
 import org.folio.inventory.support.ItemUtil;
 import org.folio.inventory.support.JsonHelper;
 import org.folio.kafka.exception.DuplicateEventException;
@@ -35,7 +36,6 @@ import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingPa
 import org.folio.processing.mapping.mapper.MappingContext;
 import org.folio.rest.jaxrs.model.EntityType;
 
-import java.io.UnsupportedEncodingException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -52,13 +52,13 @@ import java.util.stream.Collectors;
 import static java.lang.String.format;
 import static org.apache.commons.lang.StringUtils.isNotBlank;
 import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.folio.ActionProfile.Action.CREATE;
 import static org.folio.ActionProfile.FolioRecord.ITEM;
 import static org.folio.DataImportEventTypes.DI_INVENTORY_ITEM_CREATED;
 import static org.folio.inventory.dataimport.util.DataImportConstants.UNIQUE_ID_ERROR_MESSAGE;
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 public class CreateItemEventHandler implements EventHandler {
 
@@ -136,12 +136,12 @@ public class CreateItemEventHandler implements EventHandler {
         Context context = EventHandlingUtil.constructContext(dataImportEventPayload.getTenant(), dataImportEventPayload.getToken(), dataImportEventPayload.getOkapiUrl());
         ItemCollection itemCollection = storage.getItemCollection(context);
 
-        mappingMetadataCache.get(jobExecutionId, context)
+        mappingMetadataCache.getParsed(jobExecutionId, context)
           .map(parametersOptional -> parametersOptional
             .orElseThrow(() -> new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, jobExecutionId,
               recordId, chunkId))))
-          .map(mappingMetadataDto -> {
-            MappingParameters mappingParameters = Json.decodeValue(mappingMetadataDto.getMappingParams(), MappingParameters.class);
+          .map(mappingMetadata -> {
+            MappingParameters mappingParameters = mappingMetadata.getMappingParameters();
             MappingManager.map(dataImportEventPayload, new MappingContext().withMappingParameters(mappingParameters));
             return processMappingResult(dataImportEventPayload, deduplicationItemId);
           })
@@ -149,49 +149,43 @@ public class CreateItemEventHandler implements EventHandler {
             LOGGER.trace(format("handle:: Mapped items: %s", mappedItemList.encode()));
             Promise<List<Item>> createMultipleItemsPromise = Promise.promise();
             List<PartialError> multipleItemsCreateErrors = new ArrayList<>();
-            List<Future> createItemsFutures = new ArrayList<>();
-            List<Item> createdItems = new ArrayList<>();
+            List<Future<Item>> prepareItemsFutures = new ArrayList<>();
+            ItemBarcodeUniquenessChecker barcodeUniquenessChecker = ItemBarcodeUniquenessChecker.forNewItems(itemCollection,
+              mappedItemList.stream().map(e -> getItemFromJson((JsonObject) e).getString("barcode")).collect(Collectors.toList()));
 
             mappedItemList.forEach(e -> {
               JsonObject itemAsJson = getItemFromJson((JsonObject) e);
-              Promise<Item> createItemPromise = Promise.promise();
-              processSingleItem(jobExecutionId, recordId, chunkId, itemCollection, itemAsJson)
-                .onSuccess(item -> {
-                  createdItems.add(item);
-                  createItemPromise.complete();
-                })
-                .onFailure(cause -> {
-                  String itemId = itemAsJson.getString(ITEM_ID_FIELD) != null ? itemAsJson.getString(ITEM_ID_FIELD) : BLANK;
-                  String holdingId = itemAsJson.getString(HOLDINGS_RECORD_ID_FIELD) != null ? itemAsJson.getString(HOLDINGS_RECORD_ID_FIELD) : BLANK;
-                  PartialError partialError = new PartialError(itemId, cause.getMessage());
-                  partialError.setHoldingId(holdingId);
-                  multipleItemsCreateErrors.add(partialError);
-                  if (cause instanceof DuplicateEventException) {
-                    createItemPromise.fail(cause);
-                  } else {
-                    createItemPromise.complete();
-                  }
-                });
-
-              createItemsFutures.add(createItemPromise.future());
+              prepareItemsFutures.add(prepareItem(jobExecutionId, recordId, chunkId, barcodeUniquenessChecker, itemAsJson)
+                .onFailure(cause -> multipleItemsCreateErrors.add(createPartialError(itemAsJson.getString(ITEM_ID_FIELD),
+                  itemAsJson.getString(HOLDINGS_RECORD_ID_FIELD), cause.getMessage()))));
             });
 
-            CompositeFuture.all(createItemsFutures).onComplete(ar -> {
-              if (payloadContext.containsKey(ERRORS) || !multipleItemsCreateErrors.isEmpty()) {
-                payloadContext.put(ERRORS, Json.encode(multipleItemsCreateErrors));
-              }
-              if (ar.succeeded()) {
-                String multipleItemsCreateErrorsAsStringJson = Json.encode(multipleItemsCreateErrors);
-                if (!createdItems.isEmpty()) {
-                  payloadContext.put(ERRORS, multipleItemsCreateErrorsAsStringJson);
-                  createMultipleItemsPromise.complete(createdItems);
+            CompositeFuture.join(new ArrayList<>(prepareItemsFutures))
+              .transform(notUsed -> {
+                List<Item> itemsToCreate = prepareItemsFutures.stream()
+                  .filter(Future::succeeded)
+                  .map(Future::result)
+                  .collect(Collectors.toList());
+                return itemsToCreate.isEmpty()
+                  ? Future.<List<Item>>succeededFuture(new ArrayList<>())
+                  : addItems(recordId, itemsToCreate, itemCollection, multipleItemsCreateErrors);
+              })
+              .onComplete(ar -> {
+                if (payloadContext.containsKey(ERRORS) || !multipleItemsCreateErrors.isEmpty()) {
+                  payloadContext.put(ERRORS, Json.encode(multipleItemsCreateErrors));
+                }
+                if (ar.succeeded()) {
+                  String multipleItemsCreateErrorsAsStringJson = Json.encode(multipleItemsCreateErrors);
+                  if (!ar.result().isEmpty()) {
+                    payloadContext.put(ERRORS, multipleItemsCreateErrorsAsStringJson);
+                    createMultipleItemsPromise.complete(ar.result());
+                  } else {
+                    createMultipleItemsPromise.fail(multipleItemsCreateErrorsAsStringJson);
+                  }
                 } else {
-                  createMultipleItemsPromise.fail(multipleItemsCreateErrorsAsStringJson);
+                  createMultipleItemsPromise.fail(ar.cause());
                 }
-              } else {
-                createMultipleItemsPromise.fail(ar.cause());
-              }
-            });
+              });
             return createMultipleItemsPromise.future();
           })
           .onComplete(ar -> {
@@ -220,33 +214,32 @@ public class CreateItemEventHandler implements EventHandler {
     return future;
   }
 
-  private Future<Item> processSingleItem(String jobExecutionId, String recordId, String chunkId, ItemCollection itemCollection, JsonObject mappedItemJson) {
+  private Future<Item> prepareItem(String jobExecutionId, String recordId, String chunkId,
+                                   ItemBarcodeUniquenessChecker barcodeUniquenessChecker, JsonObject mappedItemJson) {
     List<String> errors = validateItem(mappedItemJson, requiredFields);
-    LOGGER.debug(format("processSingleItem:: Trying to create item with id: %s", mappedItemJson.getString("id")));
+    LOGGER.debug(format("prepareItem:: Preparing item with id: %s", mappedItemJson.getString("id")));
     if (!errors.isEmpty()) {
       String msg = format("Mapped Item is invalid: %s, by jobExecutionId: '%s' and recordId: '%s' and chunkId: '%s' ", errors,
         jobExecutionId, recordId, chunkId);
-      LOGGER.warn("processSingleItem:: " + msg);
+      LOGGER.warn("prepareItem:: " + msg);
       return Future.failedFuture(msg);
     }
     Item mappedItem = ItemUtil.jsonToItem(mappedItemJson);
-    return isItemBarcodeUnique(mappedItemJson.getString("barcode"), itemCollection)
-      .compose(isUnique -> isUnique
-        ? addItem(mappedItem, itemCollection)
-        : Future.failedFuture(format("Barcode must be unique, %s is already assigned to another item", mappedItemJson.getString("barcode"))));
+    return barcodeUniquenessChecker.verify(mappedItem)
+      .map(v -> prepareCirculationNotes(mappedItem));
   }
 
   private JsonArray processMappingResult(DataImportEventPayload dataImportEventPayload, String deduplicationItemId) {
-    JsonArray items = new JsonArray(dataImportEventPayload.getContext().get(ITEM.value()));
+    ParsedPayloadContext parsedContext = new ParsedPayloadContext(dataImportEventPayload);
+    JsonArray items = parsedContext.getJsonArray(ITEM.value());
     JsonArray mappedItems = new JsonArray();
-    JsonArray holdingsIdentifiers = new JsonArray(dataImportEventPayload.getContext().remove(HOLDING_IDENTIFIERS));
-    String holdingsAsString = dataImportEventPayload.getContext().get(EntityType.HOLDINGS.value());
+    JsonArray holdingsIdentifiers = new JsonArray(parsedContext.remove(HOLDING_IDENTIFIERS));
 
     for (int i = 0; i < items.size(); i++) {
       JsonObject itemAsJson = getItemFromJson(items.getJsonObject(i));
       String holdingPermanentLocation = holdingsIdentifiers.size() > i ? holdingsIdentifiers.getString(i) : null;
-      fillPoLineIdIfNecessary(dataImportEventPayload, itemAsJson);
-      if (fillHoldingsRecordIdIfNecessary(itemAsJson, holdingsAsString, holdingPermanentLocation)) {
+      fillPoLineIdIfNecessary(dataImportEventPayload, parsedContext, itemAsJson);
+      if (fillHoldingsRecordIdIfNecessary(dataImportEventPayload, parsedContext, itemAsJson, holdingPermanentLocation)) {
         mappedItems.add(itemAsJson);
       }
     }
@@ -261,17 +254,17 @@ public class CreateItemEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == CREATE && actionProfile.getFolioRecord() == ITEM;
     }
     return false;
   }
 
-  private void fillPoLineIdIfNecessary(DataImportEventPayload dataImportEventPayload, JsonObject itemAsJson) {
+  private void fillPoLineIdIfNecessary(DataImportEventPayload dataImportEventPayload, ParsedPayloadContext parsedContext, JsonObject itemAsJson) {
     if (isBlank(itemAsJson.getString(Item.PURCHASE_ORDER_LINE_IDENTIFIER))) {
       String poLineAsString = dataImportEventPayload.getContext().get(EntityType.PO_LINE.value());
       if (StringUtils.isNotEmpty(poLineAsString)) {
-        JsonObject poLineAsJson = new JsonObject(poLineAsString);
+        JsonObject poLineAsJson = parsedContext.getJsonObject(EntityType.PO_LINE.value());
         String poLineId = poLineAsJson.getString(PO_LINE_ID_FIELD);
 
         if (isBlank(poLineId)) {
@@ -284,11 +277,12 @@ public class CreateItemEventHandler implements EventHandler {
     }
   }
 
-  private boolean fillHoldingsRecordIdIfNecessary(JsonObject itemAsJson, String holdingsAsString, String holdingPermanentLocation) {
+  private boolean fillHoldingsRecordIdIfNecessary(DataImportEventPayload dataImportEventPayload, ParsedPayloadContext parsedContext,
+                                                  JsonObject itemAsJson, String holdingPermanentLocation) {
     if (isBlank(itemAsJson.getString(HOLDINGS_RECORD_ID_FIELD))) {
       String holdingId;
-      if (StringUtils.isNotEmpty(holdingsAsString)) {
-        holdingId = getHoldingByPermanentLocation(holdingsAsString, holdingPermanentLocation);
+      if (StringUtils.isNotEmpty(dataImportEventPayload.getContext().get(EntityType.HOLDINGS.value()))) {
+        holdingId = getHoldingByPermanentLocation(parsedContext.getJsonArray(EntityType.HOLDINGS.value()), holdingPermanentLocation);
       } else {
         LOGGER.warn("fillHoldingsRecordIdIfNecessary:: " + PAYLOAD_DATA_HAS_NO_HOLDINGS);
         throw new EventProcessingException(PAYLOAD_DATA_HAS_NO_HOLDINGS);
@@ -299,8 +293,7 @@ public class CreateItemEventHandler implements EventHandler {
     return true;
   }
 
-  private static String getHoldingByPermanentLocation(String holdingsAsString, String holdingPermanentLocation) {
-    JsonArray holdingsRecords = new JsonArray(holdingsAsString);
+  private static String getHoldingByPermanentLocation(JsonArray holdingsRecords, String holdingPermanentLocation) {
     if (holdingsRecords.size() == 1) {
       return holdingsRecords.getJsonObject(0).getString(HOLDING_ID_FIELD);
     }
@@ -330,26 +323,7 @@ public class CreateItemEventHandler implements EventHandler {
     return errors;
   }
 
-  private Future<Boolean> isItemBarcodeUnique(String barcode, ItemCollection itemCollection) {
-
-    if (isEmpty(barcode)) {
-      return Future.succeededFuture(Boolean.TRUE);
-    }
-
-    Promise<Boolean> promise = Promise.promise();
-    try {
-      itemCollection.findByCql(CqlHelper.barcodeIs(barcode), PagingParameters.defaults(),
-        findResult -> promise.complete(findResult.getResult().records.isEmpty()),
-        failure -> promise.fail(failure.getReason()));
-    } catch (UnsupportedEncodingException e) {
-      LOGGER.warn(format("isItemBarcodeUnique:: Error to find items by barcode '%s'", barcode), e);
-      promise.fail(e);
-    }
-    return promise.future();
-  }
-
-  private Future<Item> addItem(Item item, ItemCollection itemCollection) {
-    Promise<Item> promise = Promise.promise();
+  private Item prepareCirculationNotes(Item item) {
     List<CirculationNote> notes = item.getCirculationNotes()
       .stream()
       .map(note -> note.withId(UUID.randomUUID().toString()))
@@ -359,23 +333,46 @@ public class CreateItemEventHandler implements EventHandler {
       .collect(Collectors.toList());
 
     if (LOGGER.isTraceEnabled()) {
-      notes.forEach(note -> LOGGER.trace("addItem:: circulation note with id : {} added to item with itemId: {}", note.getId(), item.getId()));
+      notes.forEach(note -> LOGGER.trace("prepareCirculationNotes:: circulation note with id : {} added to item with itemId: {}", note.getId(), item.getId()));
     }
+    return item.withCirculationNotes(notes);
+  }
 
-    itemCollection.add(item.withCirculationNotes(notes), success -> promise.complete(success.getResult()),
-      failure -> {
-        //This is temporary solution (verify by error message). It will be improved via another solution by https://issues.folio.org/browse/RMB-899.
-        if (isNotBlank(failure.getReason()) && failure.getReason().contains(UNIQUE_ID_ERROR_MESSAGE)) {
-          LOGGER.info("addItem:: Duplicated event received by ItemId: {}. Ignoring...", item.getId());
-          promise.fail(new DuplicateEventException(format("Duplicated event by Item id: %s", item.getId())));
-        } else {
-          LOGGER.warn(format("addItem:: Error posting Item cause %s, status code %s", failure.getReason(), failure.getStatusCode()));
-          promise.fail(failure.getReason());
+  private Future<List<Item>> addItems(String recordId, List<Item> items, ItemCollection itemCollection, List<PartialError> errors) {
+    Promise<List<Item>> promise = Promise.promise();
+    LOGGER.debug("addItems:: Trying to create {} items", items.size());
+
+    RecordGroups.addBatch(recordId, itemCollection, items, Item::getId,
+      success -> {
+        BatchResult<Item> batchResult = success.getResult();
+        for (int i = 0; i < batchResult.getFailedBatchItems().size(); i++) {
+          Item item = batchResult.getFailedBatchItems().get(i);
+          String reason = batchResult.getErrorMessages().get(i);
+          errors.add(createPartialError(item.getId(), item.getHoldingId(), reason));
+          //This is temporary solution (verify by error message). It will be improved via another solution by https://issues.folio.org/browse/RMB-899.
+          if (isNotBlank(reason) && reason.contains(UNIQUE_ID_ERROR_MESSAGE)) {
+            LOGGER.info("addItems:: Duplicated event received by ItemId: {}. Ignoring...", item.getId());
+            promise.tryFail(new DuplicateEventException(format("Duplicated event by Item id: %s", item.getId())));
+          } else {
+            LOGGER.warn(format("addItems:: Error posting Item with id %s cause %s", item.getId(), reason));
+          }
         }
+        promise.tryComplete(batchResult.getBatchItems());
+      },
+      failure -> {
+        LOGGER.warn(format("addItems:: Error posting Items cause %s, status code %s", failure.getReason(), failure.getStatusCode()));
+        items.forEach(item -> errors.add(createPartialError(item.getId(), item.getHoldingId(), failure.getReason())));
+        promise.complete(new ArrayList<>());
       });
     return promise.future();
   }
 
+  private PartialError createPartialError(String itemId, String holdingId, String reason) {
+    PartialError partialError = new PartialError(itemId != null ? itemId : BLANK, reason);
+    partialError.setHoldingId(holdingId != null ? holdingId : BLANK);
+    return partialError;
+  }
+
   private JsonObject getItemFromJson(JsonObject itemAsJson) {
     if (itemAsJson.getJsonObject(ITEM_PATH_FIELD) != null) {
       return itemAsJson.getJsonObject(ITEM_PATH_FIELD);
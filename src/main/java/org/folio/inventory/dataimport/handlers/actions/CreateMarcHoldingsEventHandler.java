@@ -13,6 +13,7 @@ import static org.folio.inventory.dataimport.util.DataImportConstants.UNIQUE_ID_
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
 import static org.folio.inventory.dataimport.util.ParsedRecordUtil.getControlFieldValue;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 import java.util.HashMap;
 import java.util.UUID;
@@ -25,9 +26,9 @@ import org.folio.ActionProfile;
 import org.folio.DataImportEventPayload;
 import org.folio.Holdings;
 import org.folio.HoldingsRecord;
-import org.folio.MappingMetadataDto;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.domain.relationship.RecordToEntity;
 import org.folio.inventory.services.HoldingsCollectionService;
@@ -39,7 +40,6 @@ import org.folio.processing.events.services.handler.EventHandler;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.processing.mapping.defaultmapper.RecordMapper;
 import org.folio.processing.mapping.defaultmapper.RecordMapperBuilder;
-import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.Record;
 
@@ -111,7 +111,7 @@ public class CreateMarcHoldingsEventHandler implements EventHandler {
       Future<RecordToEntity> recordToHoldingsFuture = idStorageService.store(targetRecord.getId(), UUID.randomUUID().toString(), dataImportEventPayload.getTenant());
       recordToHoldingsFuture.onSuccess(res -> {
           String holdingsId = res.getEntityId();
-          mappingMetadataCache.get(jobExecutionId, context)
+          mappingMetadataCache.getParsed(jobExecutionId, context)
             .map(parametersOptional -> parametersOptional.orElseThrow(() ->
               new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, jobExecutionId,
                 recordId, chunkId))))
@@ -172,13 +172,13 @@ public class CreateMarcHoldingsEventHandler implements EventHandler {
     return holdingAsJson;
   }
 
-  private void defaultMapRecordToHoldings(DataImportEventPayload dataImportEventPayload, MappingMetadataDto mappingMetadata) {
+  private void defaultMapRecordToHoldings(DataImportEventPayload dataImportEventPayload, ParsedMappingMetadata mappingMetadata) {
     try {
       HashMap<String, String> context = dataImportEventPayload.getContext();
-      var mappingRules = new JsonObject(mappingMetadata.getMappingRules());
+      var mappingRules = mappingMetadata.getMappingRules();
       var parsedRecord = new JsonObject((String) new JsonObject(context.get(MARC_HOLDINGS.value()))
         .mapTo(Record.class).getParsedRecord().getContent());
-      var mappingParameters = Json.decodeValue(mappingMetadata.getMappingParams(), MappingParameters.class);
+      var mappingParameters = mappingMetadata.getMappingParameters();
       RecordMapper<Holdings> recordMapper = RecordMapperBuilder.buildMapper(MARC_FORMAT);
       var holdings = recordMapper.mapRecord(parsedRecord, mappingParameters, mappingRules);
       dataImportEventPayload.getContext().put(HOLDINGS.value(), Json.encode(new JsonObject().put(HOLDINGS_PATH, JsonObject.mapFrom(holdings))));
@@ -190,7 +190,7 @@ public class CreateMarcHoldingsEventHandler implements EventHandler {
 
   private Future<String> findSourceId(Context context) {
     var sourceCollection = storage.getHoldingsRecordsSourceCollection(context);
-    return holdingsCollectionService.findSourceIdByName(sourceCollection, MARC_NAME);
+    return holdingsCollectionService.findSourceIdByName(sourceCollection, MARC_NAME, context.getTenantId());
   }
 
   private Future<String> findInstanceIdByHrid(DataImportEventPayload dataImportEventPayload, JsonObject holdingAsJson, Context context) {
@@ -205,7 +205,8 @@ public class CreateMarcHoldingsEventHandler implements EventHandler {
         throw new EventProcessingException(FIELD_004_MARC_HOLDINGS_NOT_NULL);
       }
       var instanceCollection = storage.getInstanceCollection(context);
-      return holdingsCollectionService.findInstanceIdByHrid(instanceCollection, instanceHrid);
+      return holdingsCollectionService.findInstanceIdByHrid(instanceCollection, instanceHrid,
+        context.getTenantId(), dataImportEventPayload.getJobExecutionId());
     }else{
       promise.complete(instanceId);
     }
@@ -215,7 +216,7 @@ public class CreateMarcHoldingsEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && dataImportEventPayload.getContext().get(MARC_HOLDINGS.value()) != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      var actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      var actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == ActionProfile.Action.CREATE && actionProfile.getFolioRecord() == ActionProfile.FolioRecord.HOLDINGS;
     }
     return false;
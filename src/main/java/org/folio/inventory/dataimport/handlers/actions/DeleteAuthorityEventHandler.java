@@ -6,7 +6,6 @@ import io.vertx.core.Promise;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.ActionProfile;
 import org.folio.Authority;
 import org.folio.DataImportEventPayload;
 import org.folio.inventory.dataimport.exceptions.DataImportException;
@@ -18,13 +17,13 @@ import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 
 import java.util.concurrent.CompletableFuture;
 
-import static io.vertx.core.json.JsonObject.mapFrom;
 import static java.lang.String.format;
 import static org.folio.ActionProfile.Action.DELETE;
 import static org.folio.ActionProfile.FolioRecord.MARC_AUTHORITY;
 import static org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil.constructContext;
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 public class DeleteAuthorityEventHandler implements EventHandler {
   private static final Logger LOGGER = LogManager.getLogger(DeleteAuthorityEventHandler.class);
@@ -75,7 +74,7 @@ public class DeleteAuthorityEventHandler implements EventHandler {
     if (isExpectedPayload(payload)) {
       ProfileSnapshotWrapper currentNode = payload.getCurrentNode();
       if (currentNode != null && ACTION_PROFILE == currentNode.getContentType()) {
-        var actionProfile = mapFrom(currentNode.getContent()).mapTo(ActionProfile.class);
+        var actionProfile = getActionProfile(payload);
         return DELETE == actionProfile.getAction() && MARC_AUTHORITY == actionProfile.getFolioRecord();
       }
     }
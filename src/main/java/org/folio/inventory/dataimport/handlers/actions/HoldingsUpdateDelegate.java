@@ -16,6 +16,7 @@ import org.apache.logging.log4j.Logger;
 import org.folio.Holdings;
 import org.folio.HoldingsRecord;
 import org.folio.inventory.common.Context;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.exceptions.OptimisticLockingException;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.exceptions.NotFoundException;
@@ -45,13 +46,42 @@ public class HoldingsUpdateDelegate {
     this.holdingsCollectionService = holdingsCollectionService;
   }
 
+  /**
+   * Updates the holdings of the MARC record with mapping rules and parameters passed in the event payload.
+   */
   public Future<HoldingsRecord> handle(Map<String, String> eventPayload, Record marcRecord, Context context) {
-    logParametersUpdateDelegate(LOGGER, eventPayload, marcRecord, context);
     try {
       JsonObject mappingRules = new JsonObject(eventPayload.get(MAPPING_RULES_KEY));
       MappingParameters mappingParameters =
         new JsonObject(eventPayload.get(MAPPING_PARAMS_KEY)).mapTo(MappingParameters.class);
+      return handle(eventPayload, marcRecord, context, mappingRules, mappingParameters);
+    } catch (Exception e) {
+      LOGGER.error("Error updating inventory holdings", e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Updates the holdings of the MARC record with mapping rules and parameters of the job, which are decoded
+   * once per job rather than for each record.
+   */
+  public Future<HoldingsRecord> handle(Map<String, String> eventPayload, Record marcRecord, Context context,
+    ParsedMappingMetadata mappingMetadata) {
 
+    try {
+      return handle(eventPayload, marcRecord, context, mappingMetadata.getMappingRules(),
+        mappingMetadata.getMappingParameters());
+    } catch (Exception e) {
+      LOGGER.error("Error updating inventory holdings", e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<HoldingsRecord> handle(Map<String, String> eventPayload, Record marcRecord, Context context,
+    JsonObject mappingRules, MappingParameters mappingParameters) {
+
+    logParametersUpdateDelegate(LOGGER, eventPayload, marcRecord, context);
+    try {
       JsonObject parsedRecord = retrieveParsedContent(marcRecord.getParsedRecord());
       String holdingsId = marcRecord.getExternalIdsHolder().getHoldingsId();
       LOGGER.info("Holdings update with holdingId: {}", holdingsId);
@@ -145,6 +175,6 @@ public class HoldingsUpdateDelegate {
 
   private Future<String> findSourceId(Context context) {
     var sourceCollection = storage.getHoldingsRecordsSourceCollection(context);
-    return holdingsCollectionService.findSourceIdByName(sourceCollection, MARC_NAME);
+    return holdingsCollectionService.findSourceIdByName(sourceCollection, MARC_NAME, context.getTenantId());
   }
 }
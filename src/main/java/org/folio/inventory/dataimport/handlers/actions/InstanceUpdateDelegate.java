@@ -9,6 +9,8 @@ import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.inventory.common.Context;
+import org.folio.inventory.dataimport.cache.ChunkRecordsCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.domain.instances.Instance;
 import org.folio.inventory.domain.instances.InstanceCollection;
 import org.folio.inventory.dataimport.exceptions.OptimisticLockingException;
@@ -33,19 +35,59 @@ public class InstanceUpdateDelegate {
   private static final String MAPPING_PARAMS_KEY = "MAPPING_PARAMS";
   private static final String QM_RELATED_RECORD_VERSION_KEY = "RELATED_RECORD_VERSION";
   private static final String MARC_FORMAT = "MARC_BIB";
+  private static final String CHUNK_ID_KEY = "chunkId";
 
   private final Storage storage;
+  private final ChunkRecordsCache chunkRecordsCache;
 
   public InstanceUpdateDelegate(Storage storage) {
+    this(storage, null);
+  }
+
+  /**
+   * @param chunkRecordsCache loads the instances of a data import chunk together, if null, or if the payload
+   *                          has no chunk id, instances are loaded one by one
+   */
+  public InstanceUpdateDelegate(Storage storage, ChunkRecordsCache chunkRecordsCache) {
     this.storage = storage;
+    this.chunkRecordsCache = chunkRecordsCache;
   }
 
+  /**
+   * Updates the instance of the MARC record with mapping rules and parameters passed in the event payload.
+   */
   public Future<Instance> handle(Map<String, String> eventPayload, Record marcRecord, Context context) {
-    logParametersUpdateDelegate(LOGGER, eventPayload, marcRecord, context);
     try {
       JsonObject mappingRules = new JsonObject(eventPayload.get(MAPPING_RULES_KEY));
       MappingParameters mappingParameters = new JsonObject(eventPayload.get(MAPPING_PARAMS_KEY)).mapTo(MappingParameters.class);
+      return handle(eventPayload, marcRecord, context, mappingRules, mappingParameters);
+    } catch (Exception e) {
+      LOGGER.error("Error updating inventory instance", e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Updates the instance of the MARC record with mapping rules and parameters of the job, which are decoded
+   * once per job rather than for each record.
+   */
+  public Future<Instance> handle(Map<String, String> eventPayload, Record marcRecord, Context context,
+    ParsedMappingMetadata mappingMetadata) {
 
+    try {
+      return handle(eventPayload, marcRecord, context, mappingMetadata.getMappingRules(),
+        mappingMetadata.getMappingParameters());
+    } catch (Exception e) {
+      LOGGER.error("Error updating inventory instance", e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Instance> handle(Map<String, String> eventPayload, Record marcRecord, Context context,
+    JsonObject mappingRules, MappingParameters mappingParameters) {
+
+    logParametersUpdateDelegate(LOGGER, eventPayload, marcRecord, context);
+    try {
       JsonObject parsedRecord = retrieveParsedContent(marcRecord.getParsedRecord());
       String instanceId = marcRecord.getExternalIdsHolder().getInstanceId();
       LOGGER.info("Instance update with instanceId: {}", instanceId);
@@ -53,7 +95,7 @@ public class InstanceUpdateDelegate {
       var mappedInstance = recordMapper.mapRecord(parsedRecord, mappingParameters, mappingRules);
       InstanceCollection instanceCollection = storage.getInstanceCollection(context);
 
-      return getInstanceById(instanceId, instanceCollection)
+      return getInstanceById(instanceId, eventPayload.get(CHUNK_ID_KEY), instanceCollection, context)
         .onSuccess(existingInstance -> fillVersion(existingInstance, eventPayload))
         .compose(existingInstance -> updateInstance(existingInstance, mappedInstance))
         .compose(updatedInstance -> updateInstanceInStorage(updatedInstance, instanceCollection));
@@ -75,7 +117,20 @@ public class InstanceUpdateDelegate {
       : JsonObject.mapFrom(parsedRecord.getContent());
   }
 
-  private Future<Instance> getInstanceById(String instanceId, InstanceCollection instanceCollection) {
+  private Future<Instance> getInstanceById(String instanceId, String chunkId, InstanceCollection instanceCollection,
+    Context context) {
+
+    if (chunkRecordsCache != null && chunkId != null) {
+      return chunkRecordsCache.getInstance(chunkId, instanceId, context)
+        .compose(instance -> {
+          if (instance == null) {
+            LOGGER.error("Can't find Instance by id: {} ", instanceId);
+            return Future.failedFuture(new NotFoundException(format("Can't find Instance by id: %s", instanceId)));
+          }
+          return Future.succeededFuture(instance);
+        });
+    }
+
     Promise<Instance> promise = Promise.promise();
     instanceCollection.findById(instanceId, success -> {
         if (success.getResult() == null) {
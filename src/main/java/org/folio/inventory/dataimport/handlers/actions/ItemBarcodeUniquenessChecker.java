@@ -0,0 +1,169 @@
+package org.folio.inventory.dataimport.handlers.actions;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+import java.io.UnsupportedEncodingException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.api.request.PagingParameters;
+import org.folio.inventory.common.domain.MultipleRecords;
+import org.folio.inventory.domain.items.Item;
+import org.folio.inventory.domain.items.ItemCollection;
+import org.folio.inventory.support.CqlHelper;
+
+import com.google.common.collect.Iterables;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Checks that the barcodes of the items mapped from one record are not assigned to other items.
+ * <p>
+ * The barcodes of all the items are looked up in item storage up front with a single
+ * {@code barcode==(a or b ...)} query, instead of one query per item. A barcode which is repeated
+ * by the items themselves is reported for each item but the first one it is verified for,
+ * as item storage would reject these items anyway. When more items are found than the first
+ * request asks for, e.g. items sharing a barcode, all of them are fetched by a second request.
+ */
+public class ItemBarcodeUniquenessChecker {
+
+  private static final Logger LOGGER = LogManager.getLogger(ItemBarcodeUniquenessChecker.class);
+
+  static final String BARCODE_NOT_UNIQUE_MSG = "Barcode must be unique, %s is already assigned to another item";
+  static final int BARCODES_PER_QUERY = 50;
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private final ItemCollection itemCollection;
+  private final boolean itemsExist;
+  private final Map<String, Future<Map<String, Set<String>>>> lookups = new HashMap<>();
+  private final Set<String> verifiedBarcodes = new HashSet<>();
+
+  private ItemBarcodeUniquenessChecker(ItemCollection itemCollection, Collection<String> barcodes, boolean itemsExist) {
+    this.itemCollection = itemCollection;
+    this.itemsExist = itemsExist;
+    lookUp(barcodes);
+  }
+
+  /**
+   * Starts the lookup of the barcodes of items which are about to be created.
+   *
+   * @param itemCollection item storage
+   * @param barcodes       barcodes of all the items, empty ones are ignored
+   */
+  public static ItemBarcodeUniquenessChecker forNewItems(ItemCollection itemCollection, Collection<String> barcodes) {
+    return new ItemBarcodeUniquenessChecker(itemCollection, barcodes, false);
+  }
+
+  /**
+   * Starts the lookup of the barcodes of items which are about to be updated,
+   * items found by their own barcode do not count.
+   *
+   * @param itemCollection item storage
+   * @param barcodes       barcodes of all the items, empty ones are ignored
+   */
+  public static ItemBarcodeUniquenessChecker forExistingItems(ItemCollection itemCollection, Collection<String> barcodes) {
+    return new ItemBarcodeUniquenessChecker(itemCollection, barcodes, true);
+  }
+
+  /**
+   * Verifies the barcode of an item. Items have to be verified in the order in which they are saved,
+   * a barcode verified for one item is not unique for the following ones.
+   *
+   * @param item item to verify
+   * @return succeeded future when the barcode is empty or unique, failed future with the reason otherwise
+   */
+  public Future<Void> verify(Item item) {
+    String barcode = item.getBarcode();
+    if (isEmpty(barcode)) {
+      return Future.succeededFuture();
+    }
+
+    String key = normalize(barcode);
+    if (!verifiedBarcodes.add(key)) {
+      LOGGER.warn("verify:: Barcode {} is repeated by items of the same record", barcode);
+      return Future.failedFuture(format(BARCODE_NOT_UNIQUE_MSG, barcode));
+    }
+    if (!lookups.containsKey(key)) {
+      lookUp(List.of(barcode));
+    }
+
+    return lookups.get(key).compose(itemIdsByBarcode -> {
+      Set<String> itemIds = itemIdsByBarcode.getOrDefault(key, Set.of());
+      boolean assignedToAnotherItem = itemsExist
+        ? itemIds.stream().anyMatch(id -> !Objects.equals(id, item.getId()))
+        : !itemIds.isEmpty();
+
+      if (assignedToAnotherItem) {
+        LOGGER.warn("verify:: Barcode must be unique, {} is already assigned to another item", barcode);
+        return Future.failedFuture(format(BARCODE_NOT_UNIQUE_MSG, barcode));
+      }
+      return Future.succeededFuture();
+    });
+  }
+
+  private void lookUp(Collection<String> barcodes) {
+    Set<String> keys = new HashSet<>();
+    List<String> barcodesToLookUp = new ArrayList<>();
+    for (String barcode : barcodes) {
+      if (!isEmpty(barcode) && !lookups.containsKey(normalize(barcode)) && keys.add(normalize(barcode))) {
+        barcodesToLookUp.add(barcode);
+      }
+    }
+
+    for (List<String> partition : Iterables.partition(barcodesToLookUp, BARCODES_PER_QUERY)) {
+      Future<Map<String, Set<String>>> lookup = findItemIdsByBarcode(partition);
+      partition.forEach(barcode -> lookups.put(normalize(barcode), lookup));
+    }
+  }
+
+  private Future<Map<String, Set<String>>> findItemIdsByBarcode(List<String> barcodes) {
+    // an item being updated can be found by its own barcode along with an item it conflicts with
+    return findItems(barcodes, barcodes.size() * 2)
+      .compose(found -> found.totalRecords != null && found.records.size() < found.totalRecords
+        ? findItems(barcodes, found.totalRecords)
+        : Future.succeededFuture(found))
+      .map(found -> {
+        Map<String, Set<String>> itemIdsByBarcode = new HashMap<>();
+        found.records.stream()
+          .filter(foundItem -> !isEmpty(foundItem.getBarcode()))
+          .forEach(foundItem -> itemIdsByBarcode
+            .computeIfAbsent(normalize(foundItem.getBarcode()), key -> new HashSet<>())
+            .add(foundItem.getId()));
+        return itemIdsByBarcode;
+      });
+  }
+
+  private Future<MultipleRecords<Item>> findItems(List<String> barcodes, int limit) {
+    Promise<MultipleRecords<Item>> promise = Promise.promise();
+    try {
+      itemCollection.findByCql(CqlHelper.barcodeIsAny(barcodes), new PagingParameters(limit, 0),
+        findResult -> promise.complete(findResult.getResult()),
+        failure -> promise.fail(failure.getReason()));
+    } catch (UnsupportedEncodingException e) {
+      String msg = format("Failed to find items by barcodes '%s'", barcodes);
+      LOGGER.warn("findItems:: " + msg, e);
+      promise.fail(msg);
+    }
+    return promise.future();
+  }
+
+  // barcodes are matched by item storage regardless of case and accents
+  private static String normalize(String barcode) {
+    return COMBINING_MARKS.matcher(Normalizer.normalize(barcode, Normalizer.Form.NFD))
+      .replaceAll("")
+      .toLowerCase(Locale.ROOT);
+  }
+}
@@ -19,13 +19,10 @@ import org.folio.processing.events.services.handler.EventHandler;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.ExternalIdsHolder;
-import org.folio.MappingMetadataDto;
 import org.folio.rest.jaxrs.model.Record;
 
 import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Objects.isNull;
@@ -35,6 +32,7 @@ import static org.folio.DataImportEventTypes.DI_SRS_MARC_BIB_RECORD_MODIFIED_REA
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
 import static org.folio.rest.jaxrs.model.EntityType.MARC_BIBLIOGRAPHIC;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MAPPING_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getMappingProfile;
 
 public class MarcBibModifiedPostProcessingEventHandler implements EventHandler {
 
@@ -42,8 +40,6 @@ public class MarcBibModifiedPostProcessingEventHandler implements EventHandler {
 
   private static final String PAYLOAD_HAS_NO_DATA_MSG = "Event does not contain required data to update Instance";
   private static final String MAPPING_METADATA_NOT_FOUND_MSG = "MappingMetadata snapshot was not found by jobExecutionId '%s'";
-  private static final String MAPPING_RULES_KEY = "MAPPING_RULES";
-  private static final String MAPPING_PARAMS_KEY = "MAPPING_PARAMS";
   private static final String CURRENT_RETRY_NUMBER = "CURRENT_RETRY_NUMBER";
   private static final int MAX_RETRIES_COUNT = Integer.parseInt(System.getenv().getOrDefault("inventory.di.ol.retry.number", "1"));
 
@@ -81,18 +77,13 @@ public class MarcBibModifiedPostProcessingEventHandler implements EventHandler {
       Context context = EventHandlingUtil.constructContext(dataImportEventPayload.getTenant(), dataImportEventPayload.getToken(), dataImportEventPayload.getOkapiUrl());
       Promise<Instance> instanceUpdatePromise = Promise.promise();
 
-      mappingMetadataCache.get(dataImportEventPayload.getJobExecutionId(), context)
+      mappingMetadataCache.getParsed(dataImportEventPayload.getJobExecutionId(), context)
         .map(parametersOptional -> parametersOptional.orElseThrow(() ->
           new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, dataImportEventPayload.getJobExecutionId()))))
-        .map(mappingMetadataDto -> buildPayloadForInstanceUpdate(dataImportEventPayload, mappingMetadataDto))
-        .compose(payloadForUpdate -> instanceUpdateDelegate.handle(payloadForUpdate, record, context))
+        .compose(mappingMetadata -> instanceUpdateDelegate.handle(dataImportEventPayload.getContext(), record, context,
+          mappingMetadata))
         .onSuccess(instanceUpdatePromise::complete)
-        .compose(updatedInstance -> precedingSucceedingTitlesHelper.getExistingPrecedingSucceedingTitles(updatedInstance, context))
-        .map(precedingSucceedingTitles -> precedingSucceedingTitles.stream()
-          .map(titleJson -> titleJson.getString("id"))
-          .collect(Collectors.toSet()))
-        .compose(precedingSucceedingTitles -> precedingSucceedingTitlesHelper.deletePrecedingSucceedingTitles(precedingSucceedingTitles, context))
-        .compose(ar -> precedingSucceedingTitlesHelper.createPrecedingSucceedingTitles(instanceUpdatePromise.future().result(), context))
+        .compose(updatedInstance -> precedingSucceedingTitlesHelper.replacePrecedingSucceedingTitles(updatedInstance, context))
         .onComplete(updateAr -> {
           if (updateAr.succeeded()) {
             dataImportEventPayload.getContext().remove(CURRENT_RETRY_NUMBER);
@@ -146,17 +137,10 @@ public class MarcBibModifiedPostProcessingEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && MAPPING_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      MappingProfile mappingProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(MappingProfile.class);
+      MappingProfile mappingProfile = getMappingProfile(dataImportEventPayload);
       return DI_SRS_MARC_BIB_RECORD_MODIFIED_READY_FOR_POST_PROCESSING.value().equals(dataImportEventPayload.getEventType())
         && mappingProfile.getExistingRecordType() == EntityType.MARC_BIBLIOGRAPHIC;
     }
     return false;
   }
-
-  private Map<String, String> buildPayloadForInstanceUpdate(DataImportEventPayload dataImportEventPayload, MappingMetadataDto mappingMetadataDto) {
-    HashMap<String, String> preparedPayload = new HashMap<>(dataImportEventPayload.getContext());
-    preparedPayload.put(MAPPING_RULES_KEY, mappingMetadataDto.getMappingRules());
-    preparedPayload.put(MAPPING_PARAMS_KEY, mappingMetadataDto.getMappingParams());
-    return preparedPayload;
-  }
 }
@@ -5,9 +5,11 @@ import static java.lang.String.format;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 
 import io.vertx.core.Future;
@@ -22,9 +24,11 @@ import org.folio.inventory.common.Context;
 import org.folio.inventory.domain.instances.Instance;
 import org.folio.inventory.domain.instances.titles.PrecedingSucceedingTitle;
 import org.folio.inventory.domain.instances.titles.PrecedingSucceedingTitleCollection;
+import org.folio.inventory.exceptions.ExternalResourceFetchException;
 import org.folio.inventory.storage.external.CollectionResourceClient;
 import org.folio.inventory.storage.external.CollectionResourceRepository;
-import org.folio.inventory.support.JsonArrayHelper;
+import org.folio.inventory.storage.external.CqlQuery;
+import org.folio.inventory.storage.external.MultipleRecordsFetchClient;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
 import org.folio.processing.exceptions.EventProcessingException;
 
@@ -48,42 +52,25 @@ public class PrecedingSucceedingTitlesHelper {
     LOGGER.trace("getExistingPrecedingSucceedingTitles:: parameters instance: {} , context: {} ", instance, context);
     CollectionResourceClient precedingSucceedingTitlesClient = createPrecedingSucceedingTitlesClient(context);
 
-    Promise<List<JsonObject>> promise = Promise.promise();
     String instanceId = instance.getId();
-    String queryForPrecedingSucceedingInstances = String.format("succeedingInstanceId==(%s) or precedingInstanceId==(%s)", instanceId, instanceId);
-
-    precedingSucceedingTitlesClient.getAll(queryForPrecedingSucceedingInstances, response -> {
-      if (response.getStatusCode() == 200) {
-        JsonObject json = response.getJson();
-        List<JsonObject> precedingSucceedingTitles = JsonArrayHelper.toList(json.getJsonArray("precedingSucceedingTitles"));
-        promise.complete(precedingSucceedingTitles);
-      } else {
-        String msg = format("Error retrieving existing preceding and succeeding titles. Response status code: %s", response.getStatusCode());
+    CqlQuery queryForPrecedingSucceedingInstances = CqlQuery.exactMatch("succeedingInstanceId", instanceId)
+      .or(CqlQuery.exactMatch("precedingInstanceId", instanceId));
+
+    return Future.fromCompletionStage(MultipleRecordsFetchClient.builder()
+        .withCollectionPropertyName("precedingSucceedingTitles")
+        .withExpectedStatus(200)
+        .withCollectionResourceClient(precedingSucceedingTitlesClient)
+        .build()
+        .findAll(queryForPrecedingSucceedingInstances))
+      .recover(e -> {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        String msg = cause instanceof ExternalResourceFetchException
+          ? format("Error retrieving existing preceding and succeeding titles. Response status code: %s",
+            ((ExternalResourceFetchException) cause).getStatusCode())
+          : format("Error retrieving existing preceding and succeeding titles: %s", cause.getMessage());
         LOGGER.error(msg);
-        promise.fail(msg);
-      }
-    });
-
-    return promise.future();
-  }
-
-  public Future<Void> deletePrecedingSucceedingTitles(Set<String> titlesIds, Context context) {
-    LOGGER.info("deletePrecedingSucceedingTitles:: parameters titlesIds: {} , context: {} ", titlesIds, context);
-
-    CollectionResourceClient precedingSucceedingTitlesClient = createPrecedingSucceedingTitlesClient(context);
-    CollectionResourceRepository precedingSucceedingTitlesRepository = new CollectionResourceRepository(precedingSucceedingTitlesClient);
-
-    titlesIds.forEach(id -> precedingSucceedingTitlesRepository
-      .delete(id)
-      .whenComplete((v, e) -> {
-          if (e != null) {
-            LOGGER.error("Error during deleting PrecedingSucceedingTitles with ids {}", id, e);
-            LOGGER.info("Error during deleting PrecedingSucceedingTitles retry delete PrecedingSucceedingTitles");
-            precedingSucceedingTitlesRepository.delete(id);
-          }
-        }
-      ));
-    return Future.succeededFuture();
+        return Future.failedFuture(msg);
+      });
   }
 
   public Future<Void> createPrecedingSucceedingTitles(Instance instance, Context context) {
@@ -109,20 +96,70 @@ public class PrecedingSucceedingTitlesHelper {
 
   public Future<Void> updatePrecedingSucceedingTitles(Instance instance, Context context) {
     LOGGER.info("updatePrecedingSucceedingTitles:: parameters instance: {} , context: {} ", instance, context);
-    Promise<Void> promise = Promise.promise();
 
     List<PrecedingSucceedingTitle> titlesList = new ArrayList<>();
     preparePrecedingTitles(instance, titlesList);
     prepareSucceedingTitles(instance, titlesList);
 
+    return putPrecedingSucceedingTitles(instance, titlesList, context);
+  }
+
+  /**
+   * Replaces existing preceding/succeeding titles of the instance by its current titles.
+   * <p>
+   * The titles are compared with the existing ones first, nothing is sent when they are the same.
+   * Otherwise all titles of the instance are replaced by one request, titles which have not changed keep their ids.
+   *
+   * @param instance instance with its current preceding/succeeding titles
+   * @param context  context of the request
+   * @return future completed when the titles are replaced
+   */
+  public Future<Void> replacePrecedingSucceedingTitles(Instance instance, Context context) {
+    LOGGER.info("replacePrecedingSucceedingTitles:: parameters instance: {} , context: {} ", instance, context);
+
+    return getExistingPrecedingSucceedingTitles(instance, context)
+      .compose(existingTitlesJson -> {
+        List<PrecedingSucceedingTitle> titles = new ArrayList<>();
+        preparePrecedingTitles(instance, titles);
+        prepareSucceedingTitles(instance, titles);
+
+        List<PrecedingSucceedingTitle> unmatchedTitles = new ArrayList<>();
+        existingTitlesJson.forEach(json -> unmatchedTitles.add(PrecedingSucceedingTitle.from(json)));
+
+        List<PrecedingSucceedingTitle> replacingTitles = new ArrayList<>();
+        boolean changed = false;
+        for (PrecedingSucceedingTitle title : titles) {
+          PrecedingSucceedingTitle existingTitle = removeSameTitle(unmatchedTitles, title);
+          changed |= existingTitle == null;
+          replacingTitles.add(existingTitle != null ? existingTitle : title);
+        }
+
+        if (!changed && unmatchedTitles.isEmpty()) {
+          LOGGER.debug("replacePrecedingSucceedingTitles:: Titles of instance {} have not changed", instance.getId());
+          return Future.succeededFuture();
+        }
+        return putPrecedingSucceedingTitles(instance, replacingTitles, context);
+      });
+  }
+
+  private Future<Void> putPrecedingSucceedingTitles(Instance instance, List<PrecedingSucceedingTitle> titlesList,
+    Context context) {
+
+    Promise<Void> promise = Promise.promise();
+
     var precedingSucceedingTitles = new PrecedingSucceedingTitleCollection(titlesList, titlesList.size());
     var requestUrl = String.format("%s/instances/%s", getRootUrl(context), instance.getId());
     var apply = okapiHttpClientCreator.apply(context);
     apply.put(requestUrl, JsonObject.mapFrom(precedingSucceedingTitles))
-      .whenComplete((v, e) -> {
+      .whenComplete((response, e) -> {
           if (e != null) {
             LOGGER.error("Error during updating preceding/succeeding titles for instance {}", instance.getId(), e);
             promise.fail(e);
+          } else if (response.getStatusCode() != 204) {
+            String msg = format("Error during updating preceding/succeeding titles for instance %s. Response status code: %s, body: %s",
+              instance.getId(), response.getStatusCode(), response.getBody());
+            LOGGER.error(msg);
+            promise.fail(new EventProcessingException(msg));
           } else {
             promise.complete();
           }
@@ -132,6 +169,22 @@ public class PrecedingSucceedingTitlesHelper {
     return promise.future();
   }
 
+  private PrecedingSucceedingTitle removeSameTitle(List<PrecedingSucceedingTitle> titles, PrecedingSucceedingTitle title) {
+    Iterator<PrecedingSucceedingTitle> iterator = titles.iterator();
+    while (iterator.hasNext()) {
+      PrecedingSucceedingTitle existingTitle = iterator.next();
+      if (Objects.equals(existingTitle.precedingInstanceId, title.precedingInstanceId)
+        && Objects.equals(existingTitle.succeedingInstanceId, title.succeedingInstanceId)
+        && Objects.equals(existingTitle.title, title.title)
+        && Objects.equals(existingTitle.hrid, title.hrid)
+        && Objects.equals(existingTitle.identifiers, title.identifiers)) {
+        iterator.remove();
+        return existingTitle;
+      }
+    }
+    return null;
+  }
+
   private void preparePrecedingTitles(Instance instance, List<PrecedingSucceedingTitle> preparedTitles) {
     if (instance.getPrecedingTitles() != null) {
       for (PrecedingSucceedingTitle parent : instance.getPrecedingTitles()) {
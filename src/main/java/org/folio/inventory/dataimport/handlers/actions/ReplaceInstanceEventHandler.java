@@ -9,11 +9,12 @@ import io.vertx.core.json.JsonObject;
 import org.apache.http.HttpStatus;
 import org.folio.ActionProfile;
 import org.folio.DataImportEventPayload;
-import org.folio.MappingMetadataDto;
 import org.folio.Record;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.dataimport.cache.ChunkRecordsCache;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil;
 import org.folio.inventory.domain.instances.Instance;
 import org.folio.inventory.domain.instances.InstanceCollection;
@@ -48,6 +49,7 @@ import static org.folio.inventory.domain.instances.Instance.HRID_KEY;
 import static org.folio.inventory.domain.instances.Instance.METADATA_KEY;
 import static org.folio.inventory.domain.instances.Instance.SOURCE_KEY;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 
 public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler { // NOSONAR
@@ -67,15 +69,28 @@ public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler {
   private final PrecedingSucceedingTitlesHelper precedingSucceedingTitlesHelper;
   private final MappingMetadataCache mappingMetadataCache;
   private final HttpClient httpClient;
+  private final ChunkRecordsCache chunkRecordsCache;
 
   public ReplaceInstanceEventHandler(Storage storage,
                                      PrecedingSucceedingTitlesHelper precedingSucceedingTitlesHelper,
                                      MappingMetadataCache mappingMetadataCache,
                                      HttpClient client) {
+    this(storage, precedingSucceedingTitlesHelper, mappingMetadataCache, client, null);
+  }
+
+  /**
+   * @param chunkRecordsCache loads MARC records of the instances of a chunk together, if null they are loaded one by one
+   */
+  public ReplaceInstanceEventHandler(Storage storage,
+                                     PrecedingSucceedingTitlesHelper precedingSucceedingTitlesHelper,
+                                     MappingMetadataCache mappingMetadataCache,
+                                     HttpClient client,
+                                     ChunkRecordsCache chunkRecordsCache) {
     super(storage);
     this.precedingSucceedingTitlesHelper = precedingSucceedingTitlesHelper;
     this.mappingMetadataCache = mappingMetadataCache;
     this.httpClient = client;
+    this.chunkRecordsCache = chunkRecordsCache;
   }
 
   @Override
@@ -111,7 +126,7 @@ public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler {
       String chunkId = dataImportEventPayload.getContext().get(CHUNK_ID_HEADER);
       LOGGER.info("Replace instance with jobExecutionId: {} , recordId: {} , chunkId: {}", jobExecutionId, recordId, chunkId);
 
-      mappingMetadataCache.get(jobExecutionId, context)
+      mappingMetadataCache.getParsed(jobExecutionId, context)
         .compose(parametersOptional -> parametersOptional
           .map(mappingMetadata -> prepareAndExecuteMapping(dataImportEventPayload, mappingMetadata, instanceToUpdate))
           .orElseGet(() -> Future.failedFuture(format(MAPPING_PARAMETERS_NOT_FOUND_MSG, jobExecutionId,
@@ -130,12 +145,7 @@ public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler {
 
           Instance mappedInstance = Instance.fromJson(instanceAsJson);
           return updateInstanceAndRetryIfOlExists(mappedInstance, instanceCollection, dataImportEventPayload)
-            .compose(updatedInstance -> precedingSucceedingTitlesHelper.getExistingPrecedingSucceedingTitles(mappedInstance, context))
-            .map(precedingSucceedingTitles -> precedingSucceedingTitles.stream()
-              .map(titleJson -> titleJson.getString("id"))
-              .collect(Collectors.toSet()))
-            .compose(titlesIds -> precedingSucceedingTitlesHelper.deletePrecedingSucceedingTitles(titlesIds, context))
-            .compose(ar -> precedingSucceedingTitlesHelper.createPrecedingSucceedingTitles(mappedInstance, context))
+            .compose(updatedInstance -> precedingSucceedingTitlesHelper.replacePrecedingSucceedingTitles(mappedInstance, context))
             .map(instanceAsJson);
         })
         .onComplete(ar -> {
@@ -161,7 +171,7 @@ public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == UPDATE && actionProfile.getFolioRecord() == INSTANCE;
     }
     return false;
@@ -202,9 +212,9 @@ public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler {
     return instanceAsJson;
   }
 
-  private Future<Void> prepareAndExecuteMapping(DataImportEventPayload dataImportEventPayload, MappingMetadataDto mappingMetadata, Instance instanceToUpdate) {
-    JsonObject mappingRules = new JsonObject(mappingMetadata.getMappingRules());
-    MappingParameters mappingParameters = Json.decodeValue(mappingMetadata.getMappingParams(), MappingParameters.class);
+  private Future<Void> prepareAndExecuteMapping(DataImportEventPayload dataImportEventPayload, ParsedMappingMetadata mappingMetadata, Instance instanceToUpdate) {
+    JsonObject mappingRules = mappingMetadata.getMappingRules();
+    MappingParameters mappingParameters = mappingMetadata.getMappingParameters();
 
     return prepareRecordForMapping(dataImportEventPayload, mappingParameters.getMarcFieldProtectionSettings(), instanceToUpdate)
       .onSuccess(v -> {
@@ -234,6 +244,18 @@ public class ReplaceInstanceEventHandler extends AbstractInstanceEventHandler {
 
   private Future<Record> getRecordByInstanceId(DataImportEventPayload dataImportEventPayload,
                                                String instanceId) {
+    String chunkId = dataImportEventPayload.getContext().get(CHUNK_ID_HEADER);
+    if (chunkRecordsCache != null && chunkId != null) {
+      Context context = EventHandlingUtil.constructContext(dataImportEventPayload.getTenant(),
+        dataImportEventPayload.getToken(), dataImportEventPayload.getOkapiUrl());
+
+      return chunkRecordsCache.getMarcRecordByInstanceId(chunkId, instanceId, context)
+        .compose(recordJson -> recordJson == null
+          ? Future.failedFuture(format("Failed to retrieve MARC record by instance id: '%s', status code: %s",
+              instanceId, HttpStatus.SC_NOT_FOUND))
+          : Future.succeededFuture(recordJson.mapTo(Record.class)));
+    }
+
     SourceStorageRecordsClient client = new SourceStorageRecordsClient(dataImportEventPayload.getOkapiUrl(),
       dataImportEventPayload.getTenant(), dataImportEventPayload.getToken(), httpClient);
 
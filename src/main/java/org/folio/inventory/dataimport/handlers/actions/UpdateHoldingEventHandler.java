@@ -45,6 +45,7 @@ import static org.folio.inventory.dataimport.handlers.matching.util.EventHandlin
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
 import static org.folio.rest.jaxrs.model.EntityType.ITEM;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -112,13 +113,13 @@ public class UpdateHoldingEventHandler implements EventHandler {
       String chunkId = dataImportEventPayload.getContext().get(CHUNK_ID_HEADER);
       LOGGER.info("handle:: Update holding with jobExecutionId: {} , recordId: {} , chunkId: {}", jobExecutionId, recordId, chunkId);
 
-      mappingMetadataCache.get(jobExecutionId, context)
+      mappingMetadataCache.getParsed(jobExecutionId, context)
         .map(parametersOptional -> parametersOptional
           .orElseThrow(() -> new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MESSAGE, jobExecutionId,
             recordId, chunkId))))
-        .onSuccess(mappingMetadataDto -> {
+        .onSuccess(mappingMetadata -> {
           prepareEvent(dataImportEventPayload);
-          MappingParameters mappingParameters = Json.decodeValue(mappingMetadataDto.getMappingParams(), MappingParameters.class);
+          MappingParameters mappingParameters = mappingMetadata.getMappingParameters();
           MappingManager.map(dataImportEventPayload, new MappingContext().withMappingParameters(mappingParameters));
 
           HoldingsRecordCollection holdingsRecordsCollection = storage.getHoldingsRecordCollection(context);
@@ -214,7 +215,7 @@ public class UpdateHoldingEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == UPDATE && actionProfile.getFolioRecord() == HOLDINGS;
     }
     return false;
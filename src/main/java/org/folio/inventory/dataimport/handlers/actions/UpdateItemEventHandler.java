@@ -3,7 +3,6 @@ package org.folio.inventory.dataimport.handlers.actions;
 import static java.lang.String.format;
 import static java.util.Objects.isNull;
 import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.folio.ActionProfile.Action.UPDATE;
 import static org.folio.DataImportEventTypes.DI_INVENTORY_ITEM_UPDATED;
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
@@ -12,8 +11,8 @@ import static org.folio.rest.jaxrs.model.EntityType.HOLDINGS;
 import static org.folio.rest.jaxrs.model.EntityType.ITEM;
 import static org.folio.rest.jaxrs.model.EntityType.MARC_BIBLIOGRAPHIC;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getActionProfile;
 
-import java.io.UnsupportedEncodingException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -27,6 +26,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.json.JsonArray;
@@ -38,16 +38,15 @@ import org.folio.ActionProfile;
 import org.folio.DataImportEventPayload;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.inventory.common.Context;
-import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
 import org.folio.inventory.dataimport.entities.PartialError;
 import org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil;
+import org.folio.inventory.dataimport.util.ParsedPayloadContext;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.domain.items.Item;
 import org.folio.inventory.domain.items.ItemCollection;
 import org.folio.inventory.domain.items.ItemStatusName;
 import org.folio.inventory.storage.Storage;
-import org.folio.inventory.support.CqlHelper;
 import org.folio.inventory.support.ItemUtil;
 import org.folio.inventory.support.JsonHelper;
 import org.folio.processing.events.services.handler.EventHandler;
@@ -81,7 +80,6 @@ public class UpdateItemEventHandler implements EventHandler {
   private static final String CURRENT_NODE_PROPERTY = "CURRENT_NODE";
   private static final String ERRORS = "ERRORS";
   private static final String BLANK = "";
-  private static final String BLANK_JSON_ARRAY = "[]";
   private static final String MULTIPLE_HOLDINGS_FIELD = "MULTIPLE_HOLDINGS_FIELD";
   private static final String TEMPORARY_MULTIPLE_HOLDINGS_FIELD = "TEMPORARY_MULTIPLE_HOLDINGS_FIELD";
   public static final String ID_PATH_FIELD = "id";
@@ -104,8 +102,9 @@ public class UpdateItemEventHandler implements EventHandler {
       dataImportEventPayload.setEventType(DI_INVENTORY_ITEM_UPDATED.value());
 
       HashMap<String, String> payloadContext = dataImportEventPayload.getContext();
+      ParsedPayloadContext parsedContext = new ParsedPayloadContext(dataImportEventPayload);
       if (isNull(payloadContext) || isBlank(payloadContext.get(MARC_BIBLIOGRAPHIC.value()))
-        || isBlank(payloadContext.get(ITEM.value())) || new JsonArray(payloadContext.get(ITEM.value())).isEmpty()) {
+        || isBlank(payloadContext.get(ITEM.value())) || parsedContext.getJsonArray(ITEM.value()).isEmpty()) {
         LOGGER.warn("handle:: " + PAYLOAD_HAS_NO_DATA_MSG);
         return CompletableFuture.failedFuture(new EventProcessingException(PAYLOAD_HAS_NO_DATA_MSG));
       }
@@ -119,16 +118,17 @@ public class UpdateItemEventHandler implements EventHandler {
       String recordId = dataImportEventPayload.getContext().get(RECORD_ID_HEADER);
       String chunkId = dataImportEventPayload.getContext().get(CHUNK_ID_HEADER);
 
-      mappingMetadataCache.get(jobExecutionId, context)
+      mappingMetadataCache.getParsed(jobExecutionId, context)
         .map(parametersOptional -> parametersOptional
           .orElseThrow(() -> new EventProcessingException(format(MAPPING_METADATA_NOT_FOUND_MSG, jobExecutionId,
             recordId, chunkId))))
-        .onSuccess(mappingMetadataDto -> {
+        .onSuccess(mappingMetadata -> {
           if (dataImportEventPayload.getContext().containsKey(MULTIPLE_HOLDINGS_FIELD)) {
             dataImportEventPayload.getContext().put(TEMPORARY_MULTIPLE_HOLDINGS_FIELD, dataImportEventPayload.getContext().get(MULTIPLE_HOLDINGS_FIELD));
           }
-          Map<String, String> oldItemStatuses = preparePayloadAndGetStatus(dataImportEventPayload);
-          MappingParameters mappingParameters = Json.decodeValue(mappingMetadataDto.getMappingParams(), MappingParameters.class);
+          Map<String, String> oldItemStatuses = preparePayloadAndGetStatus(dataImportEventPayload, parsedContext);
+          parsedContext.flush();
+          MappingParameters mappingParameters = mappingMetadata.getMappingParameters();
           MappingManager.map(dataImportEventPayload, new MappingContext().withMappingParameters(mappingParameters));
 
           ItemCollection itemCollection = storage.getItemCollection(context);
@@ -136,9 +136,11 @@ public class UpdateItemEventHandler implements EventHandler {
           List<Item> updatedItemEntities = new ArrayList<>();
           List<PartialError> errors = new ArrayList<>();
 
-          JsonArray itemsJsonArray = new JsonArray(dataImportEventPayload.getContext().get(ITEM.value()));
+          JsonArray itemsJsonArray = parsedContext.getJsonArray(ITEM.value());
           LOGGER.trace(format("handle:: Mapped Items to update: %s", dataImportEventPayload.getContext().get(ITEM.value())));
           List<Item> expiredItems = new ArrayList<>();
+          ItemBarcodeUniquenessChecker barcodeUniquenessChecker = ItemBarcodeUniquenessChecker.forExistingItems(itemCollection,
+            itemsJsonArray.stream().map(item -> ((JsonObject) item).getJsonObject(ITEM_PATH_FIELD).getString("barcode")).collect(Collectors.toList()));
           for (int i = 0; i < itemsJsonArray.size(); i++) {
             Promise<Void> updatePromise = Promise.promise();
             updatedItemsRecordFutures.add(updatePromise.future());
@@ -162,7 +164,7 @@ public class UpdateItemEventHandler implements EventHandler {
               }
 
               Item itemToUpdate = ItemUtil.jsonToItem(mappedItemAsJson);
-              verifyItemBarcodeUniqueness(itemToUpdate, itemCollection, updatePromise, errors)
+              verifyItemBarcodeUniqueness(itemToUpdate, barcodeUniquenessChecker, updatePromise, errors)
                 .compose(v -> updateItemAndRetryIfOLExists(itemToUpdate, itemCollection, dataImportEventPayload, updatePromise, errors, expiredItems))
                 .onSuccess(updatedItem -> {
                   if (isProtectedStatusChanged.get()) {
@@ -172,7 +174,7 @@ public class UpdateItemEventHandler implements EventHandler {
                     errors.add(new PartialError(updatedItem.getId() != null ? updatedItem.getId() : BLANK, msg));
                     updatePromise.complete();
                   } else {
-                    addHoldingToPayloadIfNeeded(dataImportEventPayload, context, updatedItem)
+                    addHoldingToPayloadIfNeeded(dataImportEventPayload, parsedContext, context, updatedItem)
                       .onComplete(item -> {
                         updatedItemEntities.add(updatedItem);
                         updatePromise.complete();
@@ -183,6 +185,7 @@ public class UpdateItemEventHandler implements EventHandler {
           }
 
           CompositeFuture.all(updatedItemsRecordFutures).onComplete(ar -> {
+            parsedContext.flush();
             if (!expiredItems.isEmpty()) {
               processOLError(dataImportEventPayload, future, itemCollection, expiredItems.get(0), errors);
             }
@@ -219,36 +222,36 @@ public class UpdateItemEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = getActionProfile(dataImportEventPayload);
       return actionProfile.getAction() == UPDATE && actionProfile.getFolioRecord() == ActionProfile.FolioRecord.ITEM;
     }
     return false;
   }
 
-  private Map<String, String> preparePayloadAndGetStatus(DataImportEventPayload dataImportEventPayload) {
+  private Map<String, String> preparePayloadAndGetStatus(DataImportEventPayload dataImportEventPayload, ParsedPayloadContext parsedContext) {
     Map<String, String> itemOldStatuses = new HashMap<>();
 
-    JsonArray itemsJsonArray = new JsonArray(dataImportEventPayload.getContext().get(ITEM.value()));
+    JsonArray itemsJsonArray = parsedContext.getJsonArray(ITEM.value());
     for (int i = 0; i < itemsJsonArray.size(); i++) {
       JsonObject itemAsJson = itemsJsonArray.getJsonObject(i);
       itemAsJson = itemAsJson.getJsonObject(ITEM_PATH_FIELD) != null ? itemAsJson.getJsonObject(ITEM_PATH_FIELD) : itemAsJson;
       itemOldStatuses.put(itemAsJson.getString(ID_PATH_FIELD), itemAsJson.getJsonObject(STATUS_KEY).getString("name"));
     }
-    dataImportEventPayload.getContext().put(ITEM.value(), itemsJsonArray.encode());
-    preparePayloadForMappingManager(dataImportEventPayload);
+    preparePayloadForMappingManager(dataImportEventPayload, parsedContext);
     return itemOldStatuses;
   }
 
-  private Future<DataImportEventPayload> addHoldingToPayloadIfNeeded(DataImportEventPayload dataImportEventPayload, Context context, Item updatedItem) {
+  private Future<DataImportEventPayload> addHoldingToPayloadIfNeeded(DataImportEventPayload dataImportEventPayload, ParsedPayloadContext parsedContext,
+                                                                    Context context, Item updatedItem) {
     Promise<DataImportEventPayload> promise = Promise.promise();
     HoldingsRecordCollection holdingsRecordCollection = storage.getHoldingsRecordCollection(context);
-    JsonArray holdings = new JsonArray(dataImportEventPayload.getContext().get(HOLDINGS.value()) != null ? dataImportEventPayload.getContext().get(HOLDINGS.value()) : BLANK_JSON_ARRAY);
-    if (holdings.stream().noneMatch(holding -> StringUtils.equals(((JsonObject) holding).getString("id"), updatedItem.getHoldingId()))) {
+    if (getHoldings(parsedContext).stream().noneMatch(holding -> StringUtils.equals(((JsonObject) holding).getString("id"), updatedItem.getHoldingId()))) {
       holdingsRecordCollection.findById(updatedItem.getHoldingId(),
         success -> {
           LOGGER.info("addHoldingToPayloadIfNeeded:: Successfully retrieved Holdings for the hotlink by id: {}", updatedItem.getHoldingId());
+          JsonArray holdings = getHoldings(parsedContext);
           holdings.add(success.getResult());
-          dataImportEventPayload.getContext().put(HOLDINGS.value(), holdings.encode());
+          parsedContext.put(HOLDINGS.value(), holdings);
           promise.complete(dataImportEventPayload);
         },
         failure -> {
@@ -262,21 +265,26 @@ public class UpdateItemEventHandler implements EventHandler {
     return promise.future();
   }
 
+  private static JsonArray getHoldings(ParsedPayloadContext parsedContext) {
+    JsonArray holdings = parsedContext.getJsonArray(HOLDINGS.value());
+    return holdings != null ? holdings : new JsonArray();
+  }
+
   private boolean isProtectedStatusChanged(String oldItemStatus, String newItemStatus) {
     return PROTECTED_STATUSES_FROM_UPDATE.contains(oldItemStatus) && !oldItemStatus.equals(newItemStatus);
   }
 
-  private void preparePayloadForMappingManager(DataImportEventPayload dataImportEventPayload) {
+  private void preparePayloadForMappingManager(DataImportEventPayload dataImportEventPayload, ParsedPayloadContext parsedContext) {
     dataImportEventPayload.getContext().put(CURRENT_EVENT_TYPE_PROPERTY, dataImportEventPayload.getEventType());
     dataImportEventPayload.getContext().put(CURRENT_NODE_PROPERTY, Json.encode(dataImportEventPayload.getCurrentNode()));
 
-    JsonArray itemsJsonArray = new JsonArray(dataImportEventPayload.getContext().get(ITEM.value()));
+    JsonArray itemsJsonArray = parsedContext.getJsonArray(ITEM.value());
     for (int i = 0; i < itemsJsonArray.size(); i++) {
       JsonObject itemAsJson = itemsJsonArray.getJsonObject(i);
       itemAsJson = itemAsJson.getJsonObject(ITEM_PATH_FIELD) != null ? itemAsJson.getJsonObject(ITEM_PATH_FIELD) : itemAsJson;
       itemsJsonArray.set(i, new JsonObject().put(ITEM_PATH_FIELD, itemAsJson));
     }
-    dataImportEventPayload.getContext().put(ITEM.value(), itemsJsonArray.encode());
+    parsedContext.markChanged(ITEM.value());
     dataImportEventPayload.getEventsChain().add(dataImportEventPayload.getEventType());
     dataImportEventPayload.setCurrentNode(dataImportEventPayload.getCurrentNode().getChildSnapshotWrappers().get(0));
   }
@@ -294,37 +302,12 @@ public class UpdateItemEventHandler implements EventHandler {
     }
   }
 
-  private Future<Void> verifyItemBarcodeUniqueness(Item item, ItemCollection itemCollection, Promise<Void> updatePromise, List<PartialError> errors) {
-    if (isEmpty(item.getBarcode())) {
-      return Future.succeededFuture();
-    }
-
-    Promise<Void> promise = Promise.promise();
-    try {
-      itemCollection.findByCql(CqlHelper.barcodeIs(item.getBarcode()) + " AND id <> " + item.id, PagingParameters.defaults(),
-        findResult -> {
-          if (findResult.getResult().records.isEmpty()) {
-            promise.complete();
-          } else {
-            LOGGER.warn("verifyItemBarcodeUniqueness:: Barcode must be unique, {} is already assigned to another item", item.getBarcode());
-            errors.add(new PartialError(item.getId() != null ? item.getId() : BLANK, format("Barcode must be unique, %s is already assigned to another item", item.getBarcode())));
-            updatePromise.complete();
-            promise.fail(format("Barcode must be unique, %s is already assigned to another item", item.getBarcode()));
-          }
-        },
-        failure -> {
-          errors.add(new PartialError(item.getId() != null ? item.getId() : BLANK, failure.getReason()));
-          updatePromise.complete();
-          promise.fail(failure.getReason());
-        });
-    } catch (UnsupportedEncodingException e) {
-      String msg = format("Failed to find items by barcode '%s'", item.getBarcode());
-      LOGGER.warn("verifyItemBarcodeUniqueness:: " + msg, e);
-      errors.add(new PartialError(item.getId() != null ? item.getId() : BLANK, format("Failed to find items by barcode '%s'", item.getBarcode())));
-      updatePromise.complete();
-      promise.fail(msg);
-    }
-    return promise.future();
+  private Future<Void> verifyItemBarcodeUniqueness(Item item, ItemBarcodeUniquenessChecker barcodeUniquenessChecker, Promise<Void> updatePromise, List<PartialError> errors) {
+    return barcodeUniquenessChecker.verify(item)
+      .onFailure(e -> {
+        errors.add(new PartialError(item.getId() != null ? item.getId() : BLANK, e.getMessage()));
+        updatePromise.complete();
+      });
   }
 
   private Future<Item> updateItemAndRetryIfOLExists(Item item, ItemCollection itemCollection, DataImportEventPayload eventPayload, Promise<Void> updatePromise, List<PartialError> errors, List<Item> expiredItems) {
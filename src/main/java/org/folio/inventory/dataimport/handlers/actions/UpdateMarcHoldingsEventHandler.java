@@ -1,8 +1,8 @@
 package org.folio.inventory.dataimport.handlers.actions;
 
-import static io.vertx.core.json.JsonObject.mapFrom;
 import static java.lang.String.format;
 import static org.apache.commons.lang.StringUtils.isBlank;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getMappingProfile;
 
 import static org.folio.ActionProfile.Action.UPDATE;
 import static org.folio.ActionProfile.FolioRecord.HOLDINGS;
@@ -14,7 +14,6 @@ import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventH
 import static org.folio.inventory.dataimport.util.ParsedRecordUtil.getControlFieldValue;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MAPPING_PROFILE;
 
-import java.io.UnsupportedEncodingException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -33,16 +32,14 @@ import org.apache.logging.log4j.Logger;
 import org.folio.DataImportEventPayload;
 import org.folio.Holdings;
 import org.folio.HoldingsRecord;
-import org.folio.MappingMetadataDto;
-import org.folio.MappingProfile;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.inventory.common.Context;
-import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.common.domain.Failure;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.exceptions.DataImportException;
 import org.folio.inventory.domain.HoldingsRecordCollection;
-import org.folio.inventory.domain.instances.InstanceCollection;
+import org.folio.inventory.services.HoldingsCollectionService;
 import org.folio.inventory.storage.Storage;
 import org.folio.inventory.validation.exceptions.JsonMappingException;
 import org.folio.processing.events.services.handler.EventHandler;
@@ -50,7 +47,6 @@ import org.folio.processing.events.services.publisher.KafkaEventPublisher;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.processing.mapping.defaultmapper.RecordMapper;
 import org.folio.processing.mapping.defaultmapper.RecordMapperBuilder;
-import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
@@ -75,19 +71,21 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
   private static final String ACTION_FAILED_MSG_PATTERN = "Action '%s' for record '%s' failed.";
   private static final String UNEXPECTED_PAYLOAD_MSG = "Unexpected payload";
   private static final String CANNOT_UPDATE_HOLDING_ERROR_MESSAGE = "Error updating Holding by holdingId %s and jobExecution '%s', failure reason: %s, status code %s";
-  private static final String ERROR_HOLDING_MSG = "Error loading inventory holdings for MARC BIB";
   private static final String HOLDING_NOT_FOUND_ERROR_MESSAGE = "Holdings record was not found by id: %s";
 
   private final Storage storage;
   private final MappingMetadataCache mappingMetadataCache;
   private final KafkaEventPublisher eventPublisher;
+  private final HoldingsCollectionService holdingsCollectionService;
 
   public UpdateMarcHoldingsEventHandler(Storage storage,
     MappingMetadataCache mappingMetadataCache,
-    KafkaEventPublisher eventPublisher) {
+    KafkaEventPublisher eventPublisher,
+    HoldingsCollectionService holdingsCollectionService) {
     this.storage = storage;
     this.mappingMetadataCache = mappingMetadataCache;
     this.eventPublisher = eventPublisher;
+    this.holdingsCollectionService = holdingsCollectionService;
   }
 
   @Override
@@ -106,7 +104,7 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
       var jobExecutionId = payload.getJobExecutionId();
       LOGGER.info("Update marc holding with jobExecutionId: {}", jobExecutionId);
 
-      mappingMetadataCache.get(jobExecutionId, context)
+      mappingMetadataCache.getParsed(jobExecutionId, context)
         .map(mapMetadataOrFail())
         .compose(mappingMetadata -> mapHolding(payload, mappingMetadata))
         .compose(holdings -> fillInstanceIdByHrid(payload, holdings, context))
@@ -124,7 +122,7 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
   public boolean isEligible(DataImportEventPayload payload) {
     if (payload.getCurrentNode() != null && getMarcHoldingRecordAsString(payload) != null
       && MAPPING_PROFILE == payload.getCurrentNode().getContentType()) {
-      var mappingProfile = mapFrom(payload.getCurrentNode().getContent()).mapTo(MappingProfile.class);
+      var mappingProfile = getMappingProfile(payload);
       return mappingProfile.getExistingRecordType() == EntityType.fromValue(MARC_HOLDINGS.value());
     }
     return false;
@@ -144,7 +142,7 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
       && StringUtils.isNotBlank(getMarcHoldingRecordAsString(payload));
   }
 
-  private Function<Optional<MappingMetadataDto>, MappingMetadataDto> mapMetadataOrFail() {
+  private Function<Optional<ParsedMappingMetadata>, ParsedMappingMetadata> mapMetadataOrFail() {
     return parameters -> parameters.orElseThrow(() -> new EventProcessingException(MAPPING_METADATA_NOT_FOUND_MSG));
   }
 
@@ -157,10 +155,10 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
     payload.getContext().put(CURRENT_HOLDING_PROPERTY, Json.encode(payload.getContext().get(HOLDINGS.value())));
   }
 
-  private Future<Holdings> mapHolding(DataImportEventPayload payload, MappingMetadataDto mappingMetadata) {
+  private Future<Holdings> mapHolding(DataImportEventPayload payload, ParsedMappingMetadata mappingMetadata) {
     try {
-      var mappingRules = new JsonObject(mappingMetadata.getMappingRules());
-      var mappingParameters = Json.decodeValue(mappingMetadata.getMappingParams(), MappingParameters.class);
+      var mappingRules = mappingMetadata.getMappingRules();
+      var mappingParameters = mappingMetadata.getMappingParameters();
       var marcRecord = new JsonObject(getMarcHoldingRecordAsString(payload)).mapTo(Record.class);
       var parsedRecord = retrieveParsedContent(marcRecord.getParsedRecord());
       String holdingsId = marcRecord.getExternalIdsHolder().getHoldingsId();
@@ -214,7 +212,13 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
         promise.fail(new EventProcessingException(FIELD_004_MARC_HOLDINGS_NOT_NULL));
       } else {
         var instanceCollection = storage.getInstanceCollection(context);
-        fillInstanceIdSearchingByHrid(instanceCollection, instanceHrid, holdings, promise);
+        holdingsCollectionService.findInstanceIdByHrid(instanceCollection, instanceHrid,
+            context.getTenantId(), dataImportEventPayload.getJobExecutionId())
+          .onSuccess(instanceId -> {
+            holdings.setInstanceId(instanceId);
+            promise.complete(holdings);
+          })
+          .onFailure(promise::fail);
       }
     } else {
       promise.complete(holdings);
@@ -222,30 +226,6 @@ public class UpdateMarcHoldingsEventHandler implements EventHandler {
     return promise.future();
   }
 
-  private void fillInstanceIdSearchingByHrid(InstanceCollection instanceCollection,
-                                             String instanceHrid, Holdings holdings,
-                                             Promise<Holdings> promise) {
-    try {
-      instanceCollection.findByCql(format("hrid==%s", instanceHrid), PagingParameters.defaults(),
-        findResult -> {
-          if (findResult.getResult() != null && findResult.getResult().totalRecords == 1) {
-            var instanceIdFromDb = findResult.getResult().records.get(0).getId();
-            holdings.setInstanceId(instanceIdFromDb);
-            promise.complete(holdings);
-          } else {
-            promise.fail(new EventProcessingException("No instance id found for marc holdings with hrid: " + instanceHrid));
-          }
-        },
-        failure -> {
-          LOGGER.error(format(ERROR_HOLDING_MSG + ". StatusCode: %s. Message: %s", failure.getStatusCode(), failure.getReason()));
-          promise.fail(new EventProcessingException(failure.getReason()));
-        });
-    } catch (UnsupportedEncodingException e) {
-      LOGGER.error(ERROR_HOLDING_MSG, e);
-      promise.fail(e);
-    }
-  }
-
   private void failureUpdateHandler(DataImportEventPayload payload, String id, HoldingsRecordCollection collection, Promise<HoldingsRecord> promise, Failure failure) {
     if (failure.getStatusCode() == HttpStatus.SC_CONFLICT) {
       processOLError(failure, payload, id, collection, promise);
@@ -1,7 +1,6 @@
 package org.folio.inventory.dataimport.handlers.matching;
 
 import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.DataImportEventPayload;
@@ -20,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import static org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil.constructContext;
 import static org.folio.inventory.dataimport.util.LoggerUtil.logParametersEventHandler;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MATCH_PROFILE;
+import static org.folio.inventory.dataimport.util.ProfileSnapshotNodeUtil.getMatchProfile;
 
 public abstract class AbstractMatchEventHandler implements EventHandler {
   private static final Logger LOGGER = LogManager.getLogger(AbstractMatchEventHandler.class);
@@ -74,7 +74,7 @@ public abstract class AbstractMatchEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && MATCH_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      MatchProfile matchProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(MatchProfile.class);
+      MatchProfile matchProfile = getMatchProfile(dataImportEventPayload);
       return matchProfile.getExistingRecordType() == getEntityType();
     }
     return false;
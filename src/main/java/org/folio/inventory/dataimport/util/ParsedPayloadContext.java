@@ -0,0 +1,127 @@
+package org.folio.inventory.dataimport.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.folio.DataImportEventPayload;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Parsed entities of the data import event payload context.
+ * <p>
+ * The payload context keeps entities as JSON strings, because it is shared with the mapping
+ * and publishing code of data-import-processing-core and sent as is to Kafka. A handler wraps the
+ * payload once and reads and changes the entities through this side-car, so that each entity
+ * is parsed once however many steps of the handler use it.
+ * Changed entities are encoded back into the payload context only by {@link #flush()},
+ * which has to be called before the payload is passed to code that reads the context
+ * (e.g. {@code MappingManager}) and before the handler completes.
+ * <p>
+ * The side-car is not thread safe, as the payload context itself.
+ */
+public class ParsedPayloadContext {
+
+  private final Map<String, String> context;
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  public ParsedPayloadContext(DataImportEventPayload dataImportEventPayload) {
+    this.context = dataImportEventPayload.getContext();
+  }
+
+  /**
+   * @param key key of the entity in the payload context
+   * @return parsed entity, shared by all callers, or null when the context has no such entity
+   */
+  public JsonArray getJsonArray(String key) {
+    return (JsonArray) get(key, JsonArray::new);
+  }
+
+  /**
+   * @param key key of the entity in the payload context
+   * @return parsed entity, shared by all callers, or null when the context has no such entity
+   */
+  public JsonObject getJsonObject(String key) {
+    return (JsonObject) get(key, JsonObject::new);
+  }
+
+  /**
+   * Replaces the entity, it is encoded into the payload context on the next {@link #flush()}.
+   *
+   * @param key    key of the entity in the payload context
+   * @param entity {@link JsonArray} or {@link JsonObject}
+   */
+  public void put(String key, Object entity) {
+    entries.put(key, new Entry(null, entity));
+  }
+
+  /**
+   * Marks the parsed entity as changed in place, so that it is encoded on the next {@link #flush()}.
+   *
+   * @param key key of the entity in the payload context
+   */
+  public void markChanged(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      entries.put(key, new Entry(null, entry.entity));
+    }
+  }
+
+  /**
+   * Removes the entity from the payload context.
+   *
+   * @param key key of the entity in the payload context
+   * @return the entity as it was in the payload context, with changes which were not flushed yet
+   */
+  public String remove(String key) {
+    Entry entry = entries.remove(key);
+    String entity = context.remove(key);
+    return entry != null && entry.isChanged() ? Json.encode(entry.entity) : entity;
+  }
+
+  /**
+   * Encodes the changed entities into the payload context.
+   */
+  public void flush() {
+    entries.replaceAll((key, entry) -> {
+      if (!entry.isChanged()) {
+        return entry;
+      }
+      String encoded = Json.encode(entry.entity);
+      context.put(key, encoded);
+      return new Entry(encoded, entry.entity);
+    });
+  }
+
+  private Object get(String key, Function<String, Object> parser) {
+    Entry entry = entries.get(key);
+    String entity = context.get(key);
+    // an entity which was put into the context directly since it was parsed has to be parsed again
+    if (entry != null && (entry.isChanged() || entry.source == entity)) {
+      return entry.entity;
+    }
+    if (entity == null) {
+      return null;
+    }
+    Object parsed = parser.apply(entity);
+    entries.put(key, new Entry(entity, parsed));
+    return parsed;
+  }
+
+  private static final class Entry {
+    private final String source;
+    private final Object entity;
+
+    private Entry(String source, Object entity) {
+      this.source = source;
+      this.entity = entity;
+    }
+
+    private boolean isChanged() {
+      return source == null;
+    }
+  }
+}
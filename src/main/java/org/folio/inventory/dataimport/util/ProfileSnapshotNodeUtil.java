@@ -0,0 +1,115 @@
+package org.folio.inventory.dataimport.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.folio.ActionProfile;
+import org.folio.DataImportEventPayload;
+import org.folio.MappingProfile;
+import org.folio.MatchProfile;
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Typed content of profile snapshot nodes.
+ * <p>
+ * Every registered event handler checks the profile of the current node to find out whether it is eligible
+ * for an event. When a job profile snapshot is loaded, the content of its nodes is mapped to their profile classes
+ * once and kept by tenant, snapshot id and node id. A job profile snapshot does not change once it is taken,
+ * so the checks of the events of a job use these profiles instead of mapping the content of the current node again
+ * for each handler and each event. Nodes of snapshots which have not been resolved are mapped as they come.
+ * The returned profiles are shared and must not be modified.
+ */
+public final class ProfileSnapshotNodeUtil {
+
+  private static final String PROFILE_SNAPSHOT_ID_KEY = "JOB_PROFILE_SNAPSHOT_ID";
+
+  private static final long MAXIMUM_SIZE = 10_000;
+  private static final Duration EXPIRATION_TIME = Duration.ofHours(1);
+
+  private static final Cache<String, Object> RESOLVED_PROFILES = Caffeine.newBuilder()
+    .maximumSize(MAXIMUM_SIZE)
+    .expireAfterAccess(EXPIRATION_TIME)
+    .build();
+
+  private ProfileSnapshotNodeUtil() {
+  }
+
+  /**
+   * Maps the content of all nodes of the job profile snapshot to their profile classes in advance.
+   *
+   * @param tenantId          tenant the snapshot has been loaded for
+   * @param profileSnapshotId id of the job profile snapshot
+   * @param profileSnapshot   root of the job profile snapshot tree
+   */
+  public static void resolveProfiles(String tenantId, String profileSnapshotId, ProfileSnapshotWrapper profileSnapshot) {
+    Deque<ProfileSnapshotWrapper> nodes = new ArrayDeque<>();
+    nodes.push(profileSnapshot);
+
+    while (!nodes.isEmpty()) {
+      ProfileSnapshotWrapper node = nodes.pop();
+      Class<?> profileClass = profileClass(node.getContentType());
+      if (profileClass != null && node.getId() != null && node.getContent() != null) {
+        RESOLVED_PROFILES.put(key(tenantId, profileSnapshotId, node.getId()),
+          mapContent(node.getContent(), profileClass));
+      }
+      if (node.getChildSnapshotWrappers() != null) {
+        node.getChildSnapshotWrappers().forEach(nodes::push);
+      }
+    }
+  }
+
+  public static ActionProfile getActionProfile(DataImportEventPayload eventPayload) {
+    return getProfile(eventPayload, ActionProfile.class);
+  }
+
+  public static MatchProfile getMatchProfile(DataImportEventPayload eventPayload) {
+    return getProfile(eventPayload, MatchProfile.class);
+  }
+
+  public static MappingProfile getMappingProfile(DataImportEventPayload eventPayload) {
+    return getProfile(eventPayload, MappingProfile.class);
+  }
+
+  private static <T> T getProfile(DataImportEventPayload eventPayload, Class<T> profileClass) {
+    ProfileSnapshotWrapper node = eventPayload.getCurrentNode();
+    Object content = node.getContent();
+    if (profileClass.isInstance(content)) {
+      return profileClass.cast(content);
+    }
+
+    String profileSnapshotId = eventPayload.getContext() != null
+      ? eventPayload.getContext().get(PROFILE_SNAPSHOT_ID_KEY) : null;
+    if (eventPayload.getTenant() != null && profileSnapshotId != null && node.getId() != null) {
+      Object profile = RESOLVED_PROFILES.getIfPresent(key(eventPayload.getTenant(), profileSnapshotId, node.getId()));
+      if (profileClass.isInstance(profile)) {
+        return profileClass.cast(profile);
+      }
+    }
+    return mapContent(content, profileClass);
+  }
+
+  private static Class<?> profileClass(ProfileSnapshotWrapper.ContentType contentType) {
+    if (contentType == ProfileSnapshotWrapper.ContentType.ACTION_PROFILE) {
+      return ActionProfile.class;
+    } else if (contentType == ProfileSnapshotWrapper.ContentType.MATCH_PROFILE) {
+      return MatchProfile.class;
+    } else if (contentType == ProfileSnapshotWrapper.ContentType.MAPPING_PROFILE) {
+      return MappingProfile.class;
+    }
+    return null;
+  }
+
+  private static String key(String tenantId, String profileSnapshotId, String nodeId) {
+    return tenantId + ":" + profileSnapshotId + ":" + nodeId;
+  }
+
+  private static <T> T mapContent(Object content, Class<T> profileClass) {
+    return JsonObject.mapFrom(content).mapTo(profileClass);
+  }
+}
@@ -2,7 +2,9 @@ package org.folio.inventory.domain;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.common.domain.Failure;
@@ -68,9 +70,42 @@ public interface AsynchronousCollection<T> {
     return future;
   }
 
+  /**
+   * Adds the records one by one, collections backed by a batch endpoint override it.
+   * Records which could not be added are reported in the result along with the reasons.
+   */
   default void addBatch(List<T> items,
                         Consumer<Success<BatchResult<T>>> resultCallback,
                         Consumer<Failure> failureCallback) {
-    throw new UnsupportedOperationException();
+
+    saveOneByOne(items, (item, future) -> add(item, success -> future.complete(success.getResult()),
+      failure -> future.completeExceptionally(new InternalServerErrorException(failure))), resultCallback);
+  }
+
+  /**
+   * Updates the records one by one, collections backed by a batch endpoint override it.
+   * Records which could not be updated are reported in the result along with the reasons.
+   */
+  default void updateBatch(List<T> items,
+                           Consumer<Success<BatchResult<T>>> resultCallback,
+                           Consumer<Failure> failureCallback) {
+
+    saveOneByOne(items, (item, future) -> update(item, success -> future.complete(item),
+      failure -> future.completeExceptionally(new InternalServerErrorException(failure))), resultCallback);
+  }
+
+  private void saveOneByOne(List<T> items, BiConsumer<T, CompletableFuture<T>> save,
+    Consumer<Success<BatchResult<T>>> resultCallback) {
+
+    List<CompletableFuture<T>> saves = items.stream()
+      .map(item -> {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        save.accept(item, future);
+        return future;
+      })
+      .collect(Collectors.toList());
+
+    BatchResult.of(items, saves)
+      .thenAccept(batchResult -> resultCallback.accept(new Success<>(batchResult)));
   }
 }
@@ -1,6 +1,11 @@
 package org.folio.inventory.domain;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.folio.inventory.exceptions.AbstractInventoryException;
 
 public class BatchResult<T> {
 
@@ -8,6 +13,40 @@ public class BatchResult<T> {
 
   private List<String> errorMessages;
 
+  private List<T> failedItems = new ArrayList<>();
+
+  /**
+   * Collects the outcome of records saved one by one.
+   *
+   * @param records records being saved
+   * @param saves   saving of each record, in the same order as the records
+   * @return result which is complete when all records are saved or failed
+   */
+  public static <T> CompletableFuture<BatchResult<T>> of(List<T> records, List<CompletableFuture<T>> saves) {
+    return CompletableFuture.allOf(saves.toArray(new CompletableFuture[0]))
+      .handle((notUsed, throwable) -> {
+        List<T> savedItems = new ArrayList<>();
+        List<T> failedItems = new ArrayList<>();
+        List<String> errorMessages = new ArrayList<>();
+
+        for (int i = 0; i < saves.size(); i++) {
+          CompletableFuture<T> save = saves.get(i);
+          if (save.isCompletedExceptionally()) {
+            failedItems.add(records.get(i));
+            errorMessages.add(getReason(save.handle((result, cause) -> cause).join()));
+          } else {
+            savedItems.add(save.join());
+          }
+        }
+
+        BatchResult<T> batchResult = new BatchResult<>();
+        batchResult.setBatchItems(savedItems);
+        batchResult.setFailedBatchItems(failedItems);
+        batchResult.setErrorMessages(errorMessages);
+        return batchResult;
+      });
+  }
+
   public List<T> getBatchItems() {
     return items;
   }
@@ -23,4 +62,26 @@ public class BatchResult<T> {
   public void setErrorMessages(List<String> errorMessages) {
     this.errorMessages = errorMessages;
   }
+
+  /**
+   * @return records which were not saved, when the collection can tell them,
+   * in the same order as their error messages
+   */
+  public List<T> getFailedBatchItems() {
+    return failedItems;
+  }
+
+  public void setFailedBatchItems(List<T> failedItems) {
+    this.failedItems = failedItems;
+  }
+
+  private static String getReason(Throwable cause) {
+    Throwable unwrapped = cause instanceof CompletionException && cause.getCause() != null
+      ? cause.getCause()
+      : cause;
+
+    return unwrapped instanceof AbstractInventoryException
+      ? ((AbstractInventoryException) unwrapped).getBody()
+      : unwrapped.getMessage();
+  }
 }
@@ -302,6 +302,13 @@ public abstract class AbstractInstances {
       "/preceding-succeeding-titles");
   }
 
+  protected CollectionResourceClient createInstancesStorageClient(
+    RoutingContext routingContext, WebContext context) {
+
+    return getCollectionResourceRepository(routingContext, context,
+      "/instance-storage/instances");
+  }
+
   protected CollectionResourceClient createBoundWithPartsClient(
     RoutingContext routingContext, WebContext context) {
 
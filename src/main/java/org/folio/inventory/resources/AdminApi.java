@@ -3,16 +3,25 @@ package org.folio.inventory.resources;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import org.folio.inventory.common.metrics.InventoryMetrics;
 
 public class AdminApi {
   private static final String HEALTH_PATH = "/admin/health";
+  private static final String METRICS_PATH = "/admin/metrics";
+  private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
 
   public void register(Router router) {
     router.get(HEALTH_PATH).handler(this::health);
+    router.get(METRICS_PATH).handler(this::metrics);
   }
 
   public void health(RoutingContext routingContext) {
     routingContext.response().setStatusCode(200)
     .putHeader(HttpHeaders.CONTENT_TYPE, "text/plain").end("OK");
   }
+
+  public void metrics(RoutingContext routingContext) {
+    routingContext.response().setStatusCode(200)
+    .putHeader(HttpHeaders.CONTENT_TYPE, PROMETHEUS_CONTENT_TYPE).end(InventoryMetrics.scrape());
+  }
 }
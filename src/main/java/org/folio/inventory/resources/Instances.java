@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,6 +38,7 @@ import org.folio.inventory.domain.instances.InstanceRelationshipToChild;
 import org.folio.inventory.domain.instances.InstanceRelationshipToParent;
 import org.folio.inventory.domain.instances.titles.PrecedingSucceedingTitle;
 import org.folio.inventory.exceptions.UnprocessableEntityException;
+import org.folio.inventory.services.BoundWithResolver;
 import org.folio.inventory.services.InstanceRelationshipsService;
 import org.folio.inventory.storage.Storage;
 import org.folio.inventory.storage.external.CollectionResourceClient;
@@ -314,7 +316,8 @@ public class Instances extends AbstractInstances {
             .thenCompose(response -> fetchInstanceRelationships(it, routingContext, context))
             .thenCompose(response -> fetchPrecedingSucceedingTitles(it, routingContext, context))
             .thenCompose(response -> setBoundWithFlag(it, routingContext, context))
-            .thenAccept(response -> successResponse(routingContext, context, response));
+            .thenAccept(response -> successResponse(routingContext, context, response))
+            .exceptionally(doExceptionally(routingContext));
         } else {
           ClientErrorResponse.notFound(routingContext.response());
         }
@@ -382,17 +385,20 @@ public class Instances extends AbstractInstances {
    */
   private CompletableFuture<List<String>> findBoundWithHoldingsIdsForInstanceId(
     String instanceId, RoutingContext routingContext, WebContext webContext ) {
-    CompletableFuture<Response> holdingsFuture = new CompletableFuture<>();
-
-    createHoldingsStorageClient(routingContext, webContext).getAll("instanceId=="+instanceId, holdingsFuture::complete);
-    return holdingsFuture.thenCompose(
-      response -> {
-        List<String> holdingsRecordsList =
-          response.getJson().getJsonArray("holdingsRecords")
-            .stream().map(o -> ((JsonObject) o).getString("id")).collect(Collectors.toList());
-        return checkHoldingsForBoundWith(holdingsRecordsList, routingContext, webContext);
-      }
-    );
+    List<String> boundWithHoldingsIds = new ArrayList<>();
+
+    MultipleRecordsFetchClient holdingsFetcher = MultipleRecordsFetchClient.builder()
+      .withCollectionPropertyName("holdingsRecords")
+      .withExpectedStatus(200)
+      .withCollectionResourceClient(createHoldingsStorageClient(routingContext, webContext))
+      .build();
+
+    return holdingsFetcher.findByPages(CqlQuery.exactMatch(INSTANCE_ID, instanceId),
+        holdingsRecords -> checkHoldingsForBoundWith(
+            holdingsRecords.stream().map(holdingsRecord -> holdingsRecord.getString(ID)).collect(Collectors.toList()),
+            routingContext, webContext)
+          .thenAccept(boundWithHoldingsIds::addAll))
+      .thenApply(notUsed -> boundWithHoldingsIds);
   }
 
   /**
@@ -407,62 +413,9 @@ public class Instances extends AbstractInstances {
                                               List<String> holdingsRecordIds,
                                               RoutingContext routingContext,
                                               WebContext webContext) {
-    List<String> holdingsRecordsThatAreBoundWith = new ArrayList<>();
-    String holdingsRecordIdKey = "holdingsRecordId";
-    // Check if any IDs in the list of holdings appears in bound-with-parts
-    return MultipleRecordsFetchClient
-      .builder()
-      .withCollectionPropertyName("boundWithParts")
-      .withExpectedStatus(200)
-      .withCollectionResourceClient(createBoundWithPartsClient(routingContext, webContext))
-      .build()
-      .find(holdingsRecordIds, this::cqlMatchAnyByHoldingsRecordIds)
-      .thenCompose( boundWithParts -> {
-          holdingsRecordsThatAreBoundWith.addAll(boundWithParts.stream()
-           .map( boundWithPart -> boundWithPart.getString( holdingsRecordIdKey ))
-           .collect( Collectors.toList()));
-           // Check if any of the holdings has an item that appears in bound-with-parts
-           // First, find the holdings' items
-           return MultipleRecordsFetchClient
-             .builder()
-             .withCollectionPropertyName( "items" )
-             .withExpectedStatus( 200 )
-             .withCollectionResourceClient( createItemsStorageClient( routingContext, webContext ) )
-             .build()
-             .find( holdingsRecordIds, this::cqlMatchAnyByHoldingsRecordIds)
-             .thenCompose(
-               items -> {
-                 if (items.isEmpty()) {
-                  return CompletableFuture.completedFuture(Collections.emptyList());
-                 }
-                 List<String> itemIds = new ArrayList<>();
-                 Map<String,String> itemHoldingsMap = new HashMap<>();
-                 for (JsonObject item : items) {
-                   itemHoldingsMap.put(item.getString( "id" ), item.getString( holdingsRecordIdKey ));
-                   itemIds.add(item.getString( "id" ));
-                 }
-                 // Then look up the items in bound-with-parts
-                 return MultipleRecordsFetchClient
-                   .builder()
-                   .withCollectionPropertyName( "boundWithParts" )
-                   .withExpectedStatus( 200 )
-                   .withCollectionResourceClient( createBoundWithPartsClient( routingContext, webContext ) )
-                   .build()
-                   .find( itemIds, this::cqlMatchAnyByItemIds )
-                   .thenCompose( boundWithParts2 ->
-                   {
-                     List<String> boundWithItemIds =
-                       boundWithParts2.stream()
-                         .map(boundWithPart2 -> boundWithPart2.getString( "itemId" ))
-                         .distinct()
-                         .collect(Collectors.toList());
-                     for (String itemId : boundWithItemIds) {
-                       holdingsRecordsThatAreBoundWith.add(itemHoldingsMap.get(itemId));
-                     }
-                     return completedFuture( holdingsRecordsThatAreBoundWith );
-                   });
-               });
-        });
+    return createBoundWithResolver(routingContext, webContext)
+      .findBoundWithHoldingsIds(holdingsRecordIds)
+      .thenApply(ArrayList::new);
   }
 
   /**
@@ -596,16 +549,12 @@ public class Instances extends AbstractInstances {
 
   // Utilities
 
-  private CqlQuery cqlMatchAnyByInstanceIds(List<String> instanceIds) {
-    return CqlQuery.exactMatchAny(INSTANCE_ID, instanceIds);
-  }
-
-  private CqlQuery cqlMatchAnyByHoldingsRecordIds(List<String> holdingsRecordIds) {
-    return CqlQuery.exactMatchAny("holdingsRecordId", holdingsRecordIds);
+  private CqlQuery cqlMatchAnyByIds(List<String> ids) {
+    return CqlQuery.exactMatchAny(ID, ids);
   }
 
-  private CqlQuery cqlMatchAnyByItemIds (List<String> itemIds) {
-    return CqlQuery.exactMatchAny( "itemId", itemIds );
+  private CqlQuery cqlMatchAnyByInstanceIds(List<String> instanceIds) {
+    return CqlQuery.exactMatchAny(INSTANCE_ID, instanceIds);
   }
 
   private List<String> getInstanceIdsFromInstanceResult(Success success) {
@@ -622,6 +571,15 @@ public class Instances extends AbstractInstances {
     return instanceIds;
   }
 
+  private List<Instance> getInstancesFromInstanceResult(Success success) {
+    if (success.getResult() instanceof Instance) {
+      return Collections.singletonList((Instance) success.getResult());
+    } else if (success.getResult() instanceof MultipleRecords) {
+      return ((MultipleRecords<Instance>) success.getResult()).records;
+    }
+    return Collections.emptyList();
+  }
+
   private synchronized <T> void addToList(Map<String, List<T>> items,
     String mapKey, T myItem) {
 
@@ -644,25 +602,30 @@ public class Instances extends AbstractInstances {
     RoutingContext routingContext, WebContext context,
     InstancesResponse instancesResponse, List<JsonObject> relationsList) {
 
-    Map<String, List<CompletableFuture<PrecedingSucceedingTitle>>> precedingTitlesMap = new HashMap<>();
-    Map<String, List<CompletableFuture<PrecedingSucceedingTitle>>> succeedingTitlesMap = new HashMap<>();
+    List<Instance> pageInstances = getInstancesFromInstanceResult(instancesResponse.getSuccess());
 
-    relationsList.forEach(rel -> {
-      final String precedingInstanceId = rel.getString(PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY);
-      if (StringUtils.isNotBlank(precedingInstanceId)) {
-        addToList(precedingTitlesMap, precedingInstanceId, getPrecedingSucceedingTitle(routingContext, context, rel,
-          PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY));
-      }
-      final String succeedingInstanceId = rel.getString(PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY);
-      if (StringUtils.isNotBlank(succeedingInstanceId)) {
-        addToList(succeedingTitlesMap, succeedingInstanceId, getPrecedingSucceedingTitle(routingContext, context, rel,
-          PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY));
-      }
-    });
+    return findRelatedInstances(relationsList, pageInstances, routingContext, context)
+      .thenApply(relatedInstances -> {
+        Map<String, List<PrecedingSucceedingTitle>> precedingTitlesMap = new HashMap<>();
+        Map<String, List<PrecedingSucceedingTitle>> succeedingTitlesMap = new HashMap<>();
+
+        relationsList.forEach(rel -> {
+          final String precedingInstanceId = rel.getString(PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY);
+          if (StringUtils.isNotBlank(precedingInstanceId)) {
+            addToList(precedingTitlesMap, precedingInstanceId, toPrecedingSucceedingTitle(rel,
+              PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY, relatedInstances));
+          }
+          final String succeedingInstanceId = rel.getString(PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY);
+          if (StringUtils.isNotBlank(succeedingInstanceId)) {
+            addToList(succeedingTitlesMap, succeedingInstanceId, toPrecedingSucceedingTitle(rel,
+              PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY, relatedInstances));
+          }
+        });
 
-    return completedFuture(instancesResponse)
-      .thenCompose(r -> withPrecedingTitles(instancesResponse, precedingTitlesMap))
-      .thenCompose(r -> withSucceedingTitles(instancesResponse, succeedingTitlesMap));
+        return instancesResponse
+          .setPrecedingTitlesMap(precedingTitlesMap)
+          .setSucceedingTitlesMap(succeedingTitlesMap);
+      });
   }
 
   private CompletableFuture<Instance> withPrecedingSucceedingTitles(
@@ -673,19 +636,18 @@ public class Instances extends AbstractInstances {
       JsonObject json = result.getJson();
       List<JsonObject> relationsList = JsonArrayHelper.toList(json.getJsonArray("precedingSucceedingTitles"));
 
-      List<CompletableFuture<PrecedingSucceedingTitle>> precedingTitleCompletableFutures =
-        relationsList.stream().filter(rel -> isPrecedingTitle(instance, rel))
-          .map(rel -> getPrecedingSucceedingTitle(routingContext, context, rel,
-            PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY)).collect(Collectors.toList());
-
-      List<CompletableFuture<PrecedingSucceedingTitle>> succeedingTitleCompletableFutures =
-        relationsList.stream().filter(rel -> isSucceedingTitle(instance, rel))
-          .map(rel -> getPrecedingSucceedingTitle(routingContext, context, rel,
-            PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY)).collect(Collectors.toList());
-
-      return completedFuture(instance)
-        .thenCompose(r -> withPrecedingTitles(instance, precedingTitleCompletableFutures))
-        .thenCompose(r -> withSucceedingTitles(instance, succeedingTitleCompletableFutures));
+      return findRelatedInstances(relationsList, List.of(instance), routingContext, context)
+        .thenApply(relatedInstances -> instance
+          .setPrecedingTitles(relationsList.stream()
+            .filter(rel -> isPrecedingTitle(instance, rel))
+            .map(rel -> toPrecedingSucceedingTitle(rel,
+              PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY, relatedInstances))
+            .collect(Collectors.toList()))
+          .setSucceedingTitles(relationsList.stream()
+            .filter(rel -> isSucceedingTitle(instance, rel))
+            .map(rel -> toPrecedingSucceedingTitle(rel,
+              PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY, relatedInstances))
+            .collect(Collectors.toList())));
     }
     return completedFuture(null);
   }
@@ -700,73 +662,65 @@ public class Instances extends AbstractInstances {
       rel.getString(PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY));
   }
 
-  private CompletionStage<Instance> withSucceedingTitles(Instance instance,
-    List<CompletableFuture<PrecedingSucceedingTitle>> succeedingTitleCompletableFutures) {
-
-    return allResultsOf(succeedingTitleCompletableFutures)
-      .thenApply(instance::setSucceedingTitles);
-  }
-
-  private CompletableFuture<Instance> withPrecedingTitles(Instance instance,
-    List<CompletableFuture<PrecedingSucceedingTitle>> precedingTitleCompletableFutures) {
-
-    return allResultsOf(precedingTitleCompletableFutures)
-      .thenApply(instance::setPrecedingTitles);
-  }
+  /**
+   * Fetches all instances connected by the given preceding/succeeding title relations
+   * with one query per partition of ids, instead of one request per relation.
+   *
+   * @param relationsList  preceding/succeeding title relations
+   * @param knownInstances instances which are already fetched and need not be fetched again
+   * @param routingContext Routing
+   * @param context        Context
+   * @return related instances by id
+   */
+  private CompletableFuture<Map<String, Instance>> findRelatedInstances(
+    List<JsonObject> relationsList, List<Instance> knownInstances,
+    RoutingContext routingContext, WebContext context) {
 
-  private CompletableFuture<InstancesResponse> withPrecedingTitles(
-    InstancesResponse instance,
-    Map<String, List<CompletableFuture<PrecedingSucceedingTitle>>> precedingTitles) {
+    Map<String, Instance> relatedInstances = new HashMap<>();
+    knownInstances.forEach(instance -> relatedInstances.put(instance.getId(), instance));
 
-    return mapToCompletableFutureMap(precedingTitles)
-      .thenApply(instance::setPrecedingTitlesMap);
-  }
+    List<String> missingInstanceIds = relationsList.stream()
+      .flatMap(rel -> Stream.of(
+        rel.getString(PrecedingSucceedingTitle.PRECEDING_INSTANCE_ID_KEY),
+        rel.getString(PrecedingSucceedingTitle.SUCCEEDING_INSTANCE_ID_KEY)))
+      .filter(StringUtils::isNotBlank)
+      .filter(id -> !relatedInstances.containsKey(id))
+      .distinct()
+      .collect(Collectors.toList());
 
-  private CompletableFuture<InstancesResponse> withSucceedingTitles(
-    InstancesResponse instance,
-    Map<String, List<CompletableFuture<PrecedingSucceedingTitle>>> precedingTitles) {
+    if (missingInstanceIds.isEmpty()) {
+      return completedFuture(relatedInstances);
+    }
 
-    return mapToCompletableFutureMap(precedingTitles)
-      .thenApply(instance::setSucceedingTitlesMap);
+    return MultipleRecordsFetchClient.builder()
+      .withCollectionPropertyName("instances")
+      .withExpectedStatus(200)
+      .withCollectionResourceClient(createInstancesStorageClient(routingContext, context))
+      .build()
+      .find(missingInstanceIds, this::cqlMatchAnyByIds)
+      .thenApply(instances -> {
+        instances.stream()
+          .map(Instance::fromJson)
+          .forEach(instance -> relatedInstances.put(instance.getId(), instance));
+        return relatedInstances;
+      });
   }
 
-  private CompletableFuture<Map<String, List<PrecedingSucceedingTitle>>> mapToCompletableFutureMap(
-    Map<String, List<CompletableFuture<PrecedingSucceedingTitle>>> precedingTitles) {
+  private PrecedingSucceedingTitle toPrecedingSucceedingTitle(JsonObject rel,
+    String precedingSucceedingKey, Map<String, Instance> relatedInstances) {
 
-    Map<String, CompletableFuture<List<PrecedingSucceedingTitle>>> map =
-      precedingTitles.entrySet().stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, e -> allResultsOf(e.getValue())));
-
-    return CompletableFuture.allOf(map.values().toArray(new CompletableFuture[0]))
-      .thenApply(r -> map.entrySet().stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().join())));
-  }
+    if (StringUtils.isBlank(rel.getString(precedingSucceedingKey))) {
+      return PrecedingSucceedingTitle.from(rel);
+    }
 
-  private CompletableFuture<PrecedingSucceedingTitle> getPrecedingSucceedingTitle(
-    RoutingContext routingContext, WebContext context,
-    JsonObject rel, String precedingSucceedingKey) {
-
-    if (!StringUtils.isBlank(rel.getString(precedingSucceedingKey))) {
-      String precedingInstanceId = rel.getString(precedingSucceedingKey);
-      CompletableFuture<Success<Instance>> getInstanceFuture = new CompletableFuture<>();
-      storage
-        .getInstanceCollection(context).findById(precedingInstanceId, getInstanceFuture::complete,
-        FailureResponseConsumer.serverError(routingContext.response()));
-
-      return getInstanceFuture.thenApply(response -> {
-        Instance precedingInstance = response.getResult();
-        if (precedingInstance != null) {
-          return PrecedingSucceedingTitle.from(rel,
-            precedingInstance.getTitle(),
-            precedingInstance.getHrid(),
-            new JsonArray(precedingInstance.getIdentifiers()));
-        } else {
-          return null;
-        }
-      });
-    } else {
-      return completedFuture(PrecedingSucceedingTitle.from(rel));
+    Instance relatedInstance = relatedInstances.get(rel.getString(precedingSucceedingKey));
+    if (relatedInstance == null) {
+      return null;
     }
+    return PrecedingSucceedingTitle.from(rel,
+      relatedInstance.getTitle(),
+      relatedInstance.getHrid(),
+      new JsonArray(relatedInstance.getIdentifiers()));
   }
 
   private InstanceRelationshipsService createInstanceRelationshipsService(RoutingContext routingContext) {
@@ -777,6 +731,12 @@ public class Instances extends AbstractInstances {
       createPrecedingSucceedingTitlesClient(routingContext, webContext));
   }
 
+  private BoundWithResolver createBoundWithResolver(RoutingContext routingContext, WebContext webContext) {
+    return new BoundWithResolver(webContext.getTenantId(),
+      createBoundWithPartsClient(routingContext, webContext),
+      createItemsStorageClient(routingContext, webContext));
+  }
+
   private CompletionStage<Instance> refuseWhenBlockedFieldsChanged(
     Instance existingInstance, Instance updatedInstance) {
 
@@ -1,7 +1,9 @@
 package org.folio.inventory.resources;
 
 import static org.folio.HttpStatus.HTTP_OK;
-import static org.folio.inventory.common.FutureAssistance.allOf;
+import static org.folio.inventory.storage.external.ReferenceDataType.LOAN_TYPES;
+import static org.folio.inventory.storage.external.ReferenceDataType.LOCATIONS;
+import static org.folio.inventory.storage.external.ReferenceDataType.MATERIAL_TYPES;
 import static org.folio.inventory.support.CqlHelper.multipleRecordsCqlQuery;
 import static org.folio.inventory.support.EndpointFailureHandler.doExceptionally;
 import static org.folio.inventory.support.http.server.JsonResponse.unprocessableEntity;
@@ -16,8 +18,8 @@ import java.net.URL;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.inventory.common.WebContext;
@@ -42,15 +45,16 @@ import org.folio.inventory.domain.items.ItemCollection;
 import org.folio.inventory.domain.items.ItemStatusName;
 import org.folio.inventory.domain.user.User;
 import org.folio.inventory.domain.user.UserCollection;
+import org.folio.inventory.exceptions.InternalServerErrorException;
 import org.folio.inventory.services.MoveItemIntoStatusService;
 import org.folio.inventory.storage.Storage;
 import org.folio.inventory.storage.external.Clients;
 import org.folio.inventory.storage.external.CollectionResourceClient;
 import org.folio.inventory.storage.external.CqlQuery;
 import org.folio.inventory.storage.external.MultipleRecordsFetchClient;
+import org.folio.inventory.storage.external.ReferenceDataCache;
 import org.folio.inventory.support.CqlHelper;
 import org.folio.inventory.support.ItemUtil;
-import org.folio.inventory.support.JsonArrayHelper;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
 import org.folio.inventory.support.http.client.Response;
 import org.folio.inventory.support.http.server.ClientErrorResponse;
@@ -62,7 +66,10 @@ import org.folio.inventory.support.http.server.SuccessResponse;
 import org.folio.inventory.support.http.server.ValidationError;
 import org.folio.inventory.validation.ItemsValidator;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
@@ -76,6 +83,10 @@ public class Items extends AbstractInventoryResource {
 
   private static final String RELATIVE_ITEMS_PATH = "/inventory/items";
   private static final String RELATIVE_ITEMS_PATH_ID = RELATIVE_ITEMS_PATH+"/:id";
+  private static final String RELATIVE_ITEMS_EXPORT_PATH = RELATIVE_ITEMS_PATH + "/export";
+  private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+  private static final int DEFAULT_EXPORT_CHUNK_SIZE = 200;
+  private static final int MAX_EXPORT_CHUNK_SIZE = 1000;
   private static final String INSTANCE_ID_PROPERTY = "instanceId";
 
   private static final int STATUS_CREATED = 201;
@@ -84,8 +95,13 @@ public class Items extends AbstractInventoryResource {
   private final DateTimeFormatter dateTimeFormatter =
     DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ").withZone(ZoneOffset.UTC);
 
-  public Items(final Storage storage, final HttpClient client) {
+  private final ReferenceDataCache referenceDataCache;
+
+  public Items(final Storage storage, final HttpClient client,
+    final ReferenceDataCache referenceDataCache) {
+
     super(storage, client);
+    this.referenceDataCache = referenceDataCache;
   }
 
   @Override
@@ -94,6 +110,7 @@ public class Items extends AbstractInventoryResource {
     router.put(RELATIVE_ITEMS_PATH + "*").handler(BodyHandler.create());
 
     router.get(RELATIVE_ITEMS_PATH).handler(this::getAll);
+    router.get(RELATIVE_ITEMS_EXPORT_PATH).handler(this::exportAll);
     router.post(RELATIVE_ITEMS_PATH).handler(this::create);
     router.delete(RELATIVE_ITEMS_PATH).handler(this::deleteAll);
 
@@ -160,6 +177,152 @@ public class Items extends AbstractInventoryResource {
     }
   }
 
+  /**
+   * Streams all items matching the optional query as newline-delimited JSON.
+   * Items are fetched from storage in chunks ordered by id, each chunk selecting the items
+   * following the last exported id, so that no chunk is slower than the first one.
+   * The next chunk is only fetched once the enriched items of the previous one have been
+   * written to a response which is ready to accept more, so memory use does not depend
+   * on the number of exported items.
+   */
+  private void exportAll(RoutingContext routingContext) {
+    WebContext context = new WebContext(routingContext);
+
+    String search = context.getStringParameter("query", null);
+    String chunkSizeParameter = context.getStringParameter("chunkSize",
+      String.valueOf(DEFAULT_EXPORT_CHUNK_SIZE));
+
+    if (!StringUtils.isNumeric(chunkSizeParameter)
+      || Integer.parseInt(chunkSizeParameter) < 1
+      || Integer.parseInt(chunkSizeParameter) > MAX_EXPORT_CHUNK_SIZE) {
+
+      ClientErrorResponse.badRequest(routingContext.response(),
+        String.format("chunkSize must be a number from 1 to %s", MAX_EXPORT_CHUNK_SIZE));
+      return;
+    }
+
+    if (search != null && CqlQuery.hasSortBy(search)) {
+      ClientErrorResponse.badRequest(routingContext.response(),
+        "query must not contain sortBy, items are exported ordered by id");
+      return;
+    }
+
+    OkapiHttpClient okapiClient;
+
+    try {
+      okapiClient = new OkapiHttpClient(WebClient.wrap(client), context,
+        exception -> log.error("Failed to contact storage module", exception));
+    }
+    catch (MalformedURLException e) {
+      invalidOkapiUrlResponse(routingContext, context);
+
+      return;
+    }
+
+    exportNextChunk(routingContext, context, okapiClient, search,
+      Integer.parseInt(chunkSizeParameter), null);
+  }
+
+  private void exportNextChunk(
+    RoutingContext routingContext,
+    WebContext context,
+    OkapiHttpClient okapiClient,
+    String search,
+    int chunkSize,
+    String lastItemId) {
+
+    HttpServerResponse response = routingContext.response();
+
+    findItemsChunk(context, search, chunkSize, lastItemId)
+      .thenCompose(wrappedItems -> wrappedItems.records.isEmpty()
+        ? CompletableFuture.completedFuture(new JsonArray())
+        : enrichChunk(wrappedItems, context, okapiClient))
+      .whenComplete((items, error) -> {
+        if (error != null) {
+          failExport(routingContext, error);
+          return;
+        }
+        if (response.closed()) {
+          log.warn("Items export stopped, the client has closed the connection");
+          return;
+        }
+        if (!response.headWritten()) {
+          response.setChunked(true)
+            .setStatusCode(STATUS_SUCCESS)
+            .putHeader(HttpHeaders.CONTENT_TYPE, NDJSON_CONTENT_TYPE);
+        }
+
+        Buffer lines = Buffer.buffer();
+        items.forEach(item -> lines.appendString(((JsonObject) item).encode()).appendString("\n"));
+        response.write(lines);
+
+        if (items.size() < chunkSize) {
+          response.end();
+          return;
+        }
+
+        String nextLastItemId = items.getJsonObject(items.size() - 1).getString("id");
+        if (response.writeQueueFull()) {
+          response.drainHandler(v -> exportNextChunk(routingContext, context,
+            okapiClient, search, chunkSize, nextLastItemId));
+        } else {
+          exportNextChunk(routingContext, context, okapiClient, search, chunkSize, nextLastItemId);
+        }
+      });
+  }
+
+  private CompletableFuture<MultipleRecords<Item>> findItemsChunk(
+    WebContext context,
+    String search,
+    int chunkSize,
+    String lastItemId) {
+
+    String query = search != null ? "(" + search + ")" : "cql.allRecords=1";
+    if (lastItemId != null) {
+      query += String.format(" and id>\"%s\"", lastItemId);
+    }
+    query += " sortBy id";
+
+    CompletableFuture<MultipleRecords<Item>> future = new CompletableFuture<>();
+
+    try {
+      storage.getItemCollection(context).findByCql(query, new PagingParameters(chunkSize, 0),
+        success -> future.complete(success.getResult()),
+        failure -> future.completeExceptionally(new InternalServerErrorException(
+          String.format("Items request failed %s: %s", failure.getStatusCode(), failure.getReason()))));
+    } catch (UnsupportedEncodingException e) {
+      future.completeExceptionally(e);
+    }
+
+    return future;
+  }
+
+  private CompletableFuture<JsonArray> enrichChunk(
+    MultipleRecords<Item> wrappedItems,
+    WebContext context,
+    OkapiHttpClient okapiClient) {
+
+    try {
+      return enrichItems(wrappedItems, context, okapiClient)
+        .thenApply(representation -> representation.getJsonArray("items"));
+    } catch (MalformedURLException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void failExport(RoutingContext routingContext, Throwable error) {
+    HttpServerResponse response = routingContext.response();
+
+    if (!response.headWritten()) {
+      doExceptionally(routingContext).apply(error);
+      return;
+    }
+    // the status has already been sent, closing the connection without the last chunk
+    // lets the client know the export is incomplete
+    log.error("Items export failed", error);
+    response.reset();
+  }
+
   private void deleteAll(RoutingContext routingContext) {
     WebContext context = new WebContext(routingContext);
 
@@ -291,6 +454,10 @@ public class Items extends AbstractInventoryResource {
       }, FailureResponseConsumer.serverError(routingContext.response()));
   }
 
+  /**
+   * Responds with the page of items enriched with holdings, instances, reference
+   * records and bound-with flags, see {@link #enrichItems}.
+   */
   protected void respondWithManyItems(
     RoutingContext routingContext,
     WebContext context,
@@ -302,21 +469,11 @@ public class Items extends AbstractInventoryResource {
       return;
     }
 
-    CollectionResourceClient holdingsClient;
-    CollectionResourceClient instancesClient;
-    CollectionResourceClient materialTypesClient;
-    CollectionResourceClient loanTypesClient;
-    CollectionResourceClient locationsClient;
-    CollectionResourceClient boundWithPartsClient;
+    CompletableFuture<JsonObject> representationFuture;
 
     try {
-      OkapiHttpClient okapiClient = createHttpClient(routingContext, context);
-      holdingsClient = createHoldingsClient(okapiClient, context);
-      instancesClient = createInstancesClient(okapiClient, context);
-      materialTypesClient = createMaterialTypesClient(okapiClient, context);
-      loanTypesClient = createLoanTypesClient(okapiClient, context);
-      locationsClient = createLocationsClient(okapiClient, context);
-      boundWithPartsClient = createBoundWithPartsClient(okapiClient, context);
+      representationFuture = enrichItems(wrappedItems, context,
+        createHttpClient(routingContext, context));
     }
     catch (MalformedURLException e) {
       invalidOkapiUrlResponse(routingContext, context);
@@ -324,174 +481,106 @@ public class Items extends AbstractInventoryResource {
       return;
     }
 
-    ArrayList<CompletableFuture<Response>> allMaterialTypeFutures = new ArrayList<>();
-    ArrayList<CompletableFuture<Response>> allLoanTypeFutures = new ArrayList<>();
-    ArrayList<CompletableFuture<Response>> allLocationsFutures = new ArrayList<>();
-    ArrayList<CompletableFuture<Response>> allFutures = new ArrayList<>();
-
-    List<String> holdingsIds = wrappedItems.records.stream()
-      .map(Item::getHoldingId)
-      .filter(Objects::nonNull)
-      .distinct()
-      .collect(Collectors.toList());
-
-    CompletableFuture<Response> holdingsFetched =
-      new CompletableFuture<>();
-
-    String holdingsQuery = multipleRecordsCqlQuery(holdingsIds);
-
-    holdingsClient.getMany(holdingsQuery, holdingsIds.size(), 0,
-      holdingsFetched::complete);
-
-    holdingsFetched.thenAccept(holdingsResponse -> {
-      if (holdingsResponse.getStatusCode() != 200) {
-        ServerErrorResponse.internalError(routingContext.response(),
-          String.format("Holdings request (%s) failed %s: %s",
-            holdingsQuery, holdingsResponse.getStatusCode(),
-            holdingsResponse.getBody()));
-      }
-
-      final List<JsonObject> holdings = JsonArrayHelper.toList(
-        holdingsResponse.getJson().getJsonArray("holdingsRecords"));
-
-      List<String> instanceIds = holdings.stream()
-        .map(holding -> holding.getString(INSTANCE_ID_PROPERTY))
-        .filter(Objects::nonNull)
-        .distinct()
-        .collect(Collectors.toList());
-
-      CompletableFuture<Response> instancesFetched =
-        new CompletableFuture<>();
-
-      String instancesQuery = multipleRecordsCqlQuery(instanceIds);
-
-      instancesClient.getMany(instancesQuery, instanceIds.size(), 0,
-        instancesFetched::complete);
-
-      instancesFetched.thenAccept(instancesResponse -> {
-        if (instancesResponse.getStatusCode() != 200) {
-          ServerErrorResponse.internalError(routingContext.response(),
-            String.format("Instances request (%s) failed %s: %s",
-              instancesQuery, instancesResponse.getStatusCode(),
-              instancesResponse.getBody()));
-        }
-
-        final List<JsonObject> instances = JsonArrayHelper.toList(
-          instancesResponse.getJson().getJsonArray("instances"));
-
-        List<String> materialTypeIds = wrappedItems.records.stream()
-          .map(Item::getMaterialTypeId)
-          .filter(Objects::nonNull)
-          .distinct()
-          .collect(Collectors.toList());
+    representationFuture
+      .thenAccept(representation -> JsonResponse.success(routingContext.response(), representation))
+      .exceptionally(doExceptionally(routingContext));
+  }
 
-        materialTypeIds.forEach(id -> {
-          CompletableFuture<Response> newFuture = new CompletableFuture<>();
+  /**
+   * Builds the representation of the items enriched with holdings, instances, reference
+   * records and bound-with flags. The requests for these are issued as soon as
+   * their inputs are known: reference records and bound-with parts only depend on
+   * the items and so are fetched in parallel with the holdings, which the
+   * instances have to wait for.
+   */
+  private CompletableFuture<JsonObject> enrichItems(
+    MultipleRecords<Item> wrappedItems,
+    WebContext context,
+    OkapiHttpClient okapiClient)
+    throws MalformedURLException {
 
-          allFutures.add(newFuture);
-          allMaterialTypeFutures.add(newFuture);
+    CollectionResourceClient holdingsClient = createHoldingsClient(okapiClient, context);
+    CollectionResourceClient instancesClient = createInstancesClient(okapiClient, context);
+    CollectionResourceClient boundWithPartsClient = createBoundWithPartsClient(okapiClient, context);
 
-          materialTypesClient.get(id, newFuture::complete);
-        });
+    List<String> materialTypeIds = wrappedItems.records.stream()
+      .map(Item::getMaterialTypeId)
+      .collect(Collectors.toList());
 
-        List<String> permanentLoanTypeIds = wrappedItems.records.stream()
-          .map(Item::getPermanentLoanTypeId)
-          .filter(Objects::nonNull)
-          .distinct()
-          .collect(Collectors.toList());
+    List<String> loanTypeIds = wrappedItems.records.stream()
+      .flatMap(item -> Stream.of(item.getPermanentLoanTypeId(),
+        item.getTemporaryLoanTypeId()))
+      .collect(Collectors.toList());
 
-        List<String> temporaryLoanTypeIds = wrappedItems.records.stream()
-          .map(Item::getTemporaryLoanTypeId)
-          .filter(Objects::nonNull)
-          .distinct()
-          .collect(Collectors.toList());
+    List<String> locationIds = wrappedItems.records.stream()
+      .flatMap(item -> Stream.of(item.getPermanentLocationId(),
+        item.getTemporaryLocationId(), item.getEffectiveLocationId()))
+      .collect(Collectors.toList());
 
-        Stream.concat(permanentLoanTypeIds.stream(), temporaryLoanTypeIds.stream())
-          .distinct()
-          .forEach(id -> {
+    CompletableFuture<Map<String, JsonObject>> materialTypesFuture =
+      referenceDataCache.getAll(MATERIAL_TYPES, materialTypeIds, context, okapiClient);
 
-            CompletableFuture<Response> newFuture = new CompletableFuture<>();
+    CompletableFuture<Map<String, JsonObject>> loanTypesFuture =
+      referenceDataCache.getAll(LOAN_TYPES, loanTypeIds, context, okapiClient);
 
-            allFutures.add(newFuture);
-            allLoanTypeFutures.add(newFuture);
+    CompletableFuture<Map<String, JsonObject>> locationsFuture =
+      referenceDataCache.getAll(LOCATIONS, locationIds, context, okapiClient);
 
-            loanTypesClient.get(id, newFuture::complete);
-          });
+    CompletableFuture<Response> boundWithPartsFuture =
+      getBoundWithPartsForMultipleItemsFuture(wrappedItems, boundWithPartsClient);
 
-        List<String> effectiveLocationIds = wrappedItems.records.stream()
-          .map(Item::getEffectiveLocationId)
-          .filter(Objects::nonNull)
-          .distinct()
-          .collect(Collectors.toList());
+    List<String> holdingsIds = wrappedItems.records.stream()
+      .map(Item::getHoldingId)
+      .filter(Objects::nonNull)
+      .distinct()
+      .collect(Collectors.toList());
 
-        List<String> permanentLocationIds = wrappedItems.records.stream()
-          .map(Item::getPermanentLocationId)
-          .filter(Objects::nonNull)
-          .distinct()
-          .collect(Collectors.toList());
+    CompletableFuture<List<JsonObject>> holdingsFuture = fetchRecordsByIds(
+      holdingsClient, holdingsIds, "holdingsRecords", "Holdings");
 
-        List<String> temporaryLocationIds = wrappedItems.records.stream()
-          .map(Item::getTemporaryLocationId)
+    CompletableFuture<List<JsonObject>> instancesFuture = holdingsFuture
+      .thenCompose(holdings -> fetchRecordsByIds(instancesClient,
+        holdings.stream()
+          .map(holding -> holding.getString(INSTANCE_ID_PROPERTY))
           .filter(Objects::nonNull)
           .distinct()
-          .collect(Collectors.toList());
-
-        Stream.concat(Stream.concat(permanentLocationIds.stream(), temporaryLocationIds.stream()), effectiveLocationIds.stream())
-          .distinct()
-          .forEach(id -> {
-
-            CompletableFuture<Response> newFuture = new CompletableFuture<>();
+          .collect(Collectors.toList()),
+        "instances", "Instances"));
 
-            allFutures.add(newFuture);
-            allLocationsFutures.add(newFuture);
+    return CompletableFuture.allOf(materialTypesFuture, loanTypesFuture,
+      locationsFuture, boundWithPartsFuture, instancesFuture)
+      .thenApply(v -> {
+        log.info("GET all items: all futures completed");
 
-            locationsClient.get(id, newFuture::complete);
-          });
+        setBoundWithFlagsOnItems(wrappedItems, boundWithPartsFuture);
 
-        CompletableFuture<Response> boundWithPartsFuture =
-          getBoundWithPartsForMultipleItemsFuture(wrappedItems, boundWithPartsClient);
-        allFutures.add(boundWithPartsFuture);
+        return new ItemRepresentation()
+          .toJson(wrappedItems, holdingsFuture.join(), instancesFuture.join(),
+            materialTypesFuture.join(), loanTypesFuture.join(),
+            locationsFuture.join());
+      });
+  }
 
-        CompletableFuture<Void> allDoneFuture = allOf(allFutures);
+  private CompletableFuture<List<JsonObject>> fetchRecordsByIds(
+    CollectionResourceClient client,
+    List<String> ids,
+    String collectionPropertyName,
+    String recordsDescription) {
 
-        allDoneFuture.thenAccept(v -> {
-          log.info("GET all items: all futures completed");
+    if (ids.isEmpty()) {
+      return CompletableFuture.completedFuture(Collections.emptyList());
+    }
 
-          try {
+    String query = multipleRecordsCqlQuery(ids);
 
-            Map<String, JsonObject> foundMaterialTypes
-              = allMaterialTypeFutures.stream()
-              .map(CompletableFuture::join)
-              .filter(response -> response.getStatusCode() == 200)
-              .map(Response::getJson)
-              .collect(Collectors.toMap(r -> r.getString("id"), r -> r));
-
-            Map<String, JsonObject> foundLoanTypes
-              = allLoanTypeFutures.stream()
-              .map(CompletableFuture::join)
-              .filter(response -> response.getStatusCode() == 200)
-              .map(Response::getJson)
-              .collect(Collectors.toMap(r -> r.getString("id"), r -> r));
-
-            Map<String, JsonObject> foundLocations
-              = allLocationsFutures.stream()
-              .map(CompletableFuture::join)
-              .filter(response -> response.getStatusCode() == 200)
-              .map(Response::getJson)
-              .collect(Collectors.toMap(r -> r.getString("id"), r -> r));
-
-            setBoundWithFlagsOnItems(wrappedItems, boundWithPartsFuture);
-
-            JsonResponse.success(routingContext.response(),
-              new ItemRepresentation()
-                .toJson(wrappedItems, holdings, instances, foundMaterialTypes,
-                  foundLoanTypes, foundLocations));
+    return client.getMany(query, ids.size(), 0).thenCompose(response -> {
+      if (response.getStatusCode() != 200) {
+        return CompletableFuture.failedFuture(new InternalServerErrorException(
+          String.format("%s request (%s) failed %s: %s", recordsDescription,
+            query, response.getStatusCode(), response.getBody())));
+      }
 
-          } catch (Exception e) {
-            ServerErrorResponse.internalError(routingContext.response(), e.toString());
-          }
-        });
-      });
+      return CompletableFuture.completedFuture(response.getRecords(collectionPropertyName));
     });
   }
 
@@ -533,30 +622,6 @@ public class Items extends AbstractInventoryResource {
       "/instance-storage/instances");
   }
 
-  private CollectionResourceClient createMaterialTypesClient(
-    OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-
-    return createCollectionResourceClient(client, context, "/material-types");
-  }
-
-  private CollectionResourceClient createLoanTypesClient(
-    OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-
-    return createCollectionResourceClient(client, context, "/loan-types");
-  }
-
-  private CollectionResourceClient createLocationsClient(
-    OkapiHttpClient client,
-    WebContext context)
-    throws MalformedURLException {
-
-    return createCollectionResourceClient(client, context, "/locations");
-  }
-
   private CollectionResourceClient createBoundWithPartsClient(
     OkapiHttpClient client,
     WebContext webContext)
@@ -574,18 +639,6 @@ public class Items extends AbstractInventoryResource {
       new URL(context.getOkapiLocation() + rootPath));
   }
 
-  private JsonObject referenceRecordFrom(
-    String id,
-    CompletableFuture<Response> requestFuture) {
-
-    return id != null
-      && requestFuture != null
-      && requestFuture.join() != null
-      && requestFuture.join().getStatusCode() == 200
-      ? requestFuture.join().getJson()
-      : null;
-  }
-
   private void findUserAndAddItem(
     RoutingContext routingContext,
     WebContext webContext,
@@ -622,20 +675,15 @@ public class Items extends AbstractInventoryResource {
   private void respondWithItemRepresentation (
           Item item, int responseStatus, RoutingContext routingContext, WebContext webContext)
   {
+    OkapiHttpClient okapiClient;
     CollectionResourceClient holdingsClient;
     CollectionResourceClient instancesClient;
-    CollectionResourceClient materialTypesClient;
-    CollectionResourceClient loanTypesClient;
-    CollectionResourceClient locationsClient;
     CollectionResourceClient boundWithPartsClient;
 
     try {
-      OkapiHttpClient okapiClient = createHttpClient(routingContext, webContext);
+      okapiClient = createHttpClient(routingContext, webContext);
       holdingsClient = createHoldingsClient(okapiClient, webContext);
       instancesClient = createInstancesClient(okapiClient, webContext);
-      materialTypesClient = createMaterialTypesClient(okapiClient, webContext);
-      loanTypesClient = createLoanTypesClient(okapiClient, webContext);
-      locationsClient = createLocationsClient(okapiClient, webContext);
       boundWithPartsClient = createBoundWithPartsClient(okapiClient, webContext);
     }
     catch (MalformedURLException e) {
@@ -656,31 +704,27 @@ public class Items extends AbstractInventoryResource {
           ? instanceResponse.getJson()
           : null;
 
-        ArrayList<CompletableFuture<Response>> allFutures = new ArrayList<>();
-
-        CompletableFuture<Response> materialTypeFuture = getReferenceRecord(
-          item.getMaterialTypeId(), materialTypesClient, allFutures);
+        CompletableFuture<Map<String, JsonObject>> materialTypesFuture =
+          referenceDataCache.getAll(MATERIAL_TYPES,
+            Collections.singletonList(item.getMaterialTypeId()), webContext, okapiClient);
 
-        CompletableFuture<Response> permanentLoanTypeFuture = getReferenceRecord(
-          item.getPermanentLoanTypeId(), loanTypesClient, allFutures);
+        CompletableFuture<Map<String, JsonObject>> loanTypesFuture =
+          referenceDataCache.getAll(LOAN_TYPES,
+            Arrays.asList(item.getPermanentLoanTypeId(), item.getTemporaryLoanTypeId()),
+            webContext, okapiClient);
 
-        CompletableFuture<Response> temporaryLoanTypeFuture = getReferenceRecord(
-          item.getTemporaryLoanTypeId(), loanTypesClient, allFutures);
+        CompletableFuture<Map<String, JsonObject>> locationsFuture =
+          referenceDataCache.getAll(LOCATIONS,
+            Arrays.asList(item.getPermanentLocationId(), item.getTemporaryLocationId(),
+              item.getEffectiveLocationId()),
+            webContext, okapiClient);
 
-        CompletableFuture<Response> permanentLocationFuture = getReferenceRecord(
-          item.getPermanentLocationId(), locationsClient, allFutures);
-
-        CompletableFuture<Response> temporaryLocationFuture = getReferenceRecord(
-          item.getTemporaryLocationId(), locationsClient, allFutures);
-
-        CompletableFuture<Response> effectiveLocationFuture = getReferenceRecord(
-          item.getEffectiveLocationId(), locationsClient, allFutures);
-
-        allFutures.add(
+        CompletableFuture<Response> boundWithTitlesFuture =
           setBoundWithTitlesOnItem( item,
-            boundWithPartsClient, routingContext));
+            boundWithPartsClient, routingContext);
 
-        CompletableFuture<Void> allDoneFuture = allOf(allFutures);
+        CompletableFuture<Void> allDoneFuture = CompletableFuture.allOf(
+          materialTypesFuture, loanTypesFuture, locationsFuture, boundWithTitlesFuture);
 
         allDoneFuture.thenAccept(v -> {
           try {
@@ -688,12 +732,9 @@ public class Items extends AbstractInventoryResource {
               item,
               holding,
               instance,
-              materialTypeFuture,
-              permanentLoanTypeFuture,
-              temporaryLoanTypeFuture,
-              temporaryLocationFuture,
-              permanentLocationFuture,
-              effectiveLocationFuture);
+              materialTypesFuture.join(),
+              loanTypesFuture.join(),
+              locationsFuture.join());
 
             switch (responseStatus) {
               case STATUS_CREATED :
@@ -711,7 +752,7 @@ public class Items extends AbstractInventoryResource {
             ServerErrorResponse.internalError(routingContext.response(),
               String.format("Error responding with Item representation: %s", e));
           }
-        });
+        }).exceptionally(doExceptionally(routingContext));
       });
     });
   }
@@ -721,63 +762,28 @@ public class Items extends AbstractInventoryResource {
       String.format("Invalid Okapi URL: %s", context.getOkapiLocation()));
   }
 
-  private CompletableFuture<Response> getReferenceRecord(
-    String id, CollectionResourceClient client,
-    ArrayList<CompletableFuture<Response>> allFutures) {
-
-    CompletableFuture<Response> newFuture = new CompletableFuture<>();
-
-    if(id != null) {
-      allFutures.add(newFuture);
-
-      client.get(id, newFuture::complete);
-
-      return newFuture;
-    }
-    else {
-      return null;
-    }
-  }
-
   private JsonObject includeReferenceRecordInformationInItem(
     Item item,
     JsonObject holding,
     JsonObject instance,
-    CompletableFuture<Response> materialTypeFuture,
-    CompletableFuture<Response> permanentLoanTypeFuture,
-    CompletableFuture<Response> temporaryLoanTypeFuture,
-    CompletableFuture<Response> temporaryLocationFuture,
-    CompletableFuture<Response> permanentLocationFuture,
-    CompletableFuture<Response> effectiveLocationFuture) {
-
-    JsonObject foundMaterialType =
-      referenceRecordFrom(item.getMaterialTypeId(), materialTypeFuture);
-
-    JsonObject foundPermanentLoanType =
-      referenceRecordFrom(item.getPermanentLoanTypeId(), permanentLoanTypeFuture);
-
-    JsonObject foundTemporaryLoanType =
-      referenceRecordFrom(item.getTemporaryLoanTypeId(), temporaryLoanTypeFuture);
-
-    JsonObject foundPermanentLocation =
-      referenceRecordFrom(item.getPermanentLocationId(), permanentLocationFuture);
-
-    JsonObject foundTemporaryLocation =
-      referenceRecordFrom(item.getTemporaryLocationId(), temporaryLocationFuture);
-
-    JsonObject foundEffectiveLocation =
-      referenceRecordFrom(item.getEffectiveLocationId(), effectiveLocationFuture);
+    Map<String, JsonObject> materialTypes,
+    Map<String, JsonObject> loanTypes,
+    Map<String, JsonObject> locations) {
 
     return new ItemRepresentation()
         .toJson(item,
           holding,
           instance,
-          foundMaterialType,
-          foundPermanentLoanType,
-          foundTemporaryLoanType,
-          foundPermanentLocation,
-          foundTemporaryLocation,
-          foundEffectiveLocation);
+          referenceRecordFrom(item.getMaterialTypeId(), materialTypes),
+          referenceRecordFrom(item.getPermanentLoanTypeId(), loanTypes),
+          referenceRecordFrom(item.getTemporaryLoanTypeId(), loanTypes),
+          referenceRecordFrom(item.getPermanentLocationId(), locations),
+          referenceRecordFrom(item.getTemporaryLocationId(), locations),
+          referenceRecordFrom(item.getEffectiveLocationId(), locations));
+  }
+
+  private JsonObject referenceRecordFrom(String id, Map<String, JsonObject> records) {
+    return id != null ? records.get(id) : null;
   }
 
   private boolean hasSameBarcode(Item updatedItem, Item foundItem) {
@@ -1038,18 +1044,13 @@ public class Items extends AbstractInventoryResource {
     CollectionResourceClient boundWithPartsClient)
   {
 
-    CompletableFuture<Response> future = new CompletableFuture<>();
-
     String boundWithPartsByItemIdQuery = String.format("itemId==(%s)",
       item.getId());
 
-    boundWithPartsClient.getMany(
+    return boundWithPartsClient.getMany(
       boundWithPartsByItemIdQuery,
       1000,
-      0,
-      future::complete);
-
-    return future;
+      0);
   }
 
   private void setBoundWithFlagsOnItems(MultipleRecords<Item> wrappedItems,
@@ -1080,8 +1081,6 @@ public class Items extends AbstractInventoryResource {
     MultipleRecords<Item> wrappedItems,
     CollectionResourceClient boundWithPartsClient)
   {
-    CompletableFuture<Response> future = new CompletableFuture<>();
-
     List<String> itemIds = wrappedItems.records.stream()
       .map(Item::getId)
       .collect(Collectors.toList());
@@ -1092,13 +1091,10 @@ public class Items extends AbstractInventoryResource {
           .map(String::toString)
           .collect(Collectors.joining(" or ")));
 
-    boundWithPartsClient.getMany(
+    return boundWithPartsClient.getMany(
       boundWithPartsByItemIdsQuery,
       itemIds.size(),
-      0,
-      future::complete);
-
-    return future;
+      0);
   }
 
 }
@@ -12,6 +12,7 @@ import org.folio.inventory.common.WebContext;
 import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.storage.Storage;
 import org.folio.inventory.storage.external.CollectionResourceClient;
+import org.folio.inventory.storage.external.ReferenceDataCache;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
 import org.folio.inventory.support.http.server.ClientErrorResponse;
 import org.folio.inventory.support.http.server.FailureResponseConsumer;
@@ -37,8 +38,9 @@ public class ItemsByHoldingsRecordId extends Items
   private static final String RELATION_PARAM_ONLY_BOUND_WITHS  = "onlyBoundWiths";
   private static final String RELATION_PARAM_ONLY_BOUND_WITHS_SKIP_DIRECTLY_LINKED_ITEM = "onlyBoundWithsSkipDirectlyLinkedItem";
 
-  public ItemsByHoldingsRecordId( final Storage storage, final HttpClient client) {
-    super(storage, client);
+  public ItemsByHoldingsRecordId( final Storage storage, final HttpClient client,
+    final ReferenceDataCache referenceDataCache) {
+    super(storage, client, referenceDataCache);
   }
 
   @Override
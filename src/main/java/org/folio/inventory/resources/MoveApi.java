@@ -12,8 +12,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 import org.apache.commons.collections15.ListUtils;
 import org.folio.HoldingsRecord;
@@ -27,6 +25,7 @@ import org.folio.inventory.storage.external.CqlQuery;
 import org.folio.inventory.storage.external.MultipleRecordsFetchClient;
 import org.folio.inventory.support.ItemUtil;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
+import org.folio.inventory.support.http.server.FailureResponseConsumer;
 import org.folio.inventory.support.http.server.JsonResponse;
 import org.folio.inventory.support.http.server.ServerErrorResponse;
 import org.folio.inventory.support.http.server.ValidationError;
@@ -150,6 +149,10 @@ public class MoveApi extends AbstractInventoryResource {
       });
   }
 
+  /**
+   * Only the items found by the fetch are moved, ids which were not found are reported as not updated.
+   * The batch endpoint saves with upsert, so an item deleted after the fetch would be saved again.
+   */
   private List<Item> updateHoldingsRecordIdForItems(String toHoldingsRecordId, List<JsonObject> jsons) {
     return jsons.stream()
       .map(ItemUtil::fromStoredItemRepresentation)
@@ -160,19 +163,17 @@ public class MoveApi extends AbstractInventoryResource {
   private void updateItems(RoutingContext routingContext, WebContext context, List<String> idsToUpdate, List<Item> itemsToUpdate) {
     ItemCollection storageItemCollection = storage.getItemCollection(context);
 
-    List<CompletableFuture<Item>> updates = itemsToUpdate.stream()
-      .map(storageItemCollection::update)
-      .collect(Collectors.toList());
-
-    CompletableFuture.allOf(updates.toArray(new CompletableFuture[0]))
-      .handle((vVoid, throwable) -> updates.stream()
-        .filter(future -> !future.isCompletedExceptionally())
-        .map(CompletableFuture::join)
+    storageItemCollection.updateBatch(itemsToUpdate,
+      success -> respond(routingContext, idsToUpdate, success.getResult().getBatchItems().stream()
         .map(Item::getId)
-        .collect(toList()))
-      .thenAccept(updatedIds -> respond(routingContext, idsToUpdate, updatedIds));
+        .collect(toList())),
+      FailureResponseConsumer.serverError(routingContext.response()));
   }
 
+  /**
+   * Only the holdings records found by the fetch are moved, ids which were not found are reported as not updated.
+   * The batch endpoint saves with upsert, so a holdings record deleted after the fetch would be saved again.
+   */
   private List<HoldingsRecord> updateInstanceIdForHoldings(String toInstanceId, List<JsonObject> jsons) {
     return jsons.stream()
       .map(json -> json.mapTo(HoldingsRecord.class))
@@ -184,17 +185,11 @@ public class MoveApi extends AbstractInventoryResource {
       List<HoldingsRecord> holdingsToUpdate) {
     HoldingsRecordCollection storageHoldingsRecordsCollection = storage.getHoldingsRecordCollection(context);
 
-    List<CompletableFuture<HoldingsRecord>> updateFutures = holdingsToUpdate.stream()
-      .map(storageHoldingsRecordsCollection::update)
-      .collect(Collectors.toList());
-
-    CompletableFuture.allOf(updateFutures.toArray(new CompletableFuture[0]))
-      .handle((vVoid, throwable) -> updateFutures.stream()
-        .filter(future -> !future.isCompletedExceptionally())
-        .map(CompletableFuture::join)
+    storageHoldingsRecordsCollection.updateBatch(holdingsToUpdate,
+      success -> respond(routingContext, idsToUpdate, success.getResult().getBatchItems().stream()
         .map(HoldingsRecord::getId)
-        .collect(toList()))
-      .thenAccept(updatedIds -> respond(routingContext, idsToUpdate, updatedIds));
+        .collect(toList())),
+      FailureResponseConsumer.serverError(routingContext.response()));
   }
 
   private void respond(RoutingContext routingContext, List<String> itemIdsToUpdate, List<String> updatedItemIds) {
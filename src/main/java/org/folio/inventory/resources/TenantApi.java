@@ -1,8 +1,15 @@
 package org.folio.inventory.resources;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
 import liquibase.Contexts;
 import liquibase.Liquibase;
 import liquibase.database.DatabaseFactory;
@@ -11,15 +18,39 @@ import liquibase.exception.LiquibaseException;
 import liquibase.resource.ClassLoaderResourceAccessor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.HttpStatus;
 import org.folio.inventory.common.WebContext;
 import org.folio.inventory.rest.impl.SingleConnectionProvider;
+import org.folio.inventory.support.http.server.ClientErrorResponse;
+import org.folio.inventory.support.http.server.JsonResponse;
+import org.folio.inventory.support.http.server.ServerErrorResponse;
+import org.folio.inventory.support.http.server.SuccessResponse;
 
 import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.convertToPsqlStandard;
 
+/**
+ * Tenant interface 2.0: initialization, upgrade and purge of a tenant run as jobs on a worker pool,
+ * so that schema migrations never block the event loop.
+ * <p>
+ * POST {@value #TENANT_PATH} starts a job and responds with 201 and the job, which can be polled with
+ * GET {@value #TENANT_PATH}/{id}, optionally waiting for it to complete up to {@code wait} milliseconds,
+ * and removed with DELETE {@value #TENANT_PATH}/{id}. A purge runs as a job too, started by POST with
+ * {@code purge} set, as there is no DELETE {@value #TENANT_PATH} in the 2.0 interface.
+ * <p>
+ * Jobs are kept in memory, shared by all verticle instances of this process, not stored in the database:
+ * a job creates, or drops, the very schema a job table would be kept in. Okapi therefore has to poll the
+ * instance which accepted the job. Completed jobs which are never removed by Okapi expire after
+ * {@link #COMPLETED_JOB_RETENTION}.
+ */
 public class TenantApi {
   private static final Logger LOGGER = LogManager.getLogger(TenantApi.class);
 
@@ -27,26 +58,95 @@ public class TenantApi {
   private static final String DROP_SCHEMA_SQL = "DROP SCHEMA IF EXISTS %s CASCADE";
   private static final String CHANGELOG_TENANT_PATH = "liquibase/tenant/changelog.xml";
   private static final String TENANT_PATH = "/_/tenant";
+  private static final String TENANT_JOB_PATH = TENANT_PATH + "/:id";
+  private static final String WORKER_POOL_NAME = "inventory-tenant-jobs";
+  private static final int WORKER_POOL_SIZE = 4;
+  private static final Duration COMPLETED_JOB_RETENTION = Duration.ofHours(1);
+  private static final Map<String, TenantJob> JOBS = new ConcurrentHashMap<>();
+
+  private WorkerExecutor workerExecutor;
 
   public void register(Router router) {
-    router.post(TENANT_PATH).handler(this::create);
-    router.delete(TENANT_PATH).handler(this::delete);
+    router.post(TENANT_PATH).handler(BodyHandler.create()).handler(this::create);
+    router.get(TENANT_JOB_PATH).handler(this::getJob);
+    router.delete(TENANT_JOB_PATH).handler(this::deleteJob);
   }
 
   public void create(RoutingContext routingContext) {
     WebContext context = new WebContext(routingContext);
+    String tenantId = context.getTenantId();
+    JsonObject tenantAttributes;
+    try {
+      tenantAttributes = routingContext.body().length() > 0
+        ? routingContext.body().asJsonObject()
+        : new JsonObject();
+    } catch (DecodeException e) {
+      ClientErrorResponse.badRequest(routingContext.response(), "Tenant attributes must be a JSON object");
+      return;
+    }
+
+    boolean purge = tenantAttributes.getBoolean("purge", false);
+    if (!purge && tenantAttributes.getString("module_to") == null && tenantAttributes.getString("module_from") != null) {
+      LOGGER.info("create:: Module {} is disabled for tenant {}", tenantAttributes.getString("module_from"), tenantId);
+      SuccessResponse.noContent(routingContext.response());
+      return;
+    }
+
+    removeExpiredJobs();
+    TenantJob job = new TenantJob(tenantId, tenantAttributes);
+    JOBS.put(job.id, job);
+    LOGGER.info("create:: Starting tenant job {} for tenant {}", job.id, tenantId);
 
-    initializeSchemaForTenant(context.getTenantId())
-      .onSuccess(result -> routingContext.response().setStatusCode(HttpStatus.HTTP_NO_CONTENT.toInt()).end())
-      .onFailure(fail -> routingContext.response().setStatusCode(HttpStatus.HTTP_INTERNAL_SERVER_ERROR.toInt()).end(fail.toString()));
+    runOnWorker(routingContext, purge
+        ? () -> deleteSchemaForTenant(tenantId)
+        : () -> initializeSchemaForTenant(tenantId))
+      .onComplete(job::complete);
+
+    routingContext.response().putHeader("Location", TENANT_PATH + "/" + job.id);
+    JsonResponse.created(routingContext.response(), job.toJson());
   }
 
-  public void delete(RoutingContext routingContext) {
-    WebContext context = new WebContext(routingContext);
+  public void getJob(RoutingContext routingContext) {
+    TenantJob job = findJob(routingContext);
+    if (job == null) {
+      return;
+    }
+
+    long wait;
+    try {
+      wait = Long.parseLong(routingContext.request().params().get("wait") != null
+        ? routingContext.request().params().get("wait")
+        : "0");
+    } catch (NumberFormatException e) {
+      ClientErrorResponse.badRequest(routingContext.response(), "wait must be a number of milliseconds");
+      return;
+    }
 
-    deleteSchemaForTenant(context.getTenantId())
-      .onSuccess(result -> routingContext.response().setStatusCode(HttpStatus.HTTP_NO_CONTENT.toInt()).end())
-      .onFailure(fail -> routingContext.response().setStatusCode(HttpStatus.HTTP_INTERNAL_SERVER_ERROR.toInt()).end(fail.toString()));
+    if (job.isComplete() || wait <= 0) {
+      JsonResponse.success(routingContext.response(), job.toJson());
+      return;
+    }
+
+    Context context = routingContext.vertx().getOrCreateContext();
+    AtomicBoolean responded = new AtomicBoolean();
+    Runnable respond = () -> {
+      if (responded.compareAndSet(false, true)) {
+        JsonResponse.success(routingContext.response(), job.toJson());
+      }
+    };
+    long timerId = routingContext.vertx().setTimer(wait, id -> respond.run());
+    job.completion.future().onComplete(ar -> context.runOnContext(v -> {
+      routingContext.vertx().cancelTimer(timerId);
+      respond.run();
+    }));
+  }
+
+  public void deleteJob(RoutingContext routingContext) {
+    TenantJob job = findJob(routingContext);
+    if (job != null) {
+      JOBS.remove(job.id);
+      SuccessResponse.noContent(routingContext.response());
+    }
   }
 
   public Future<Integer> initializeSchemaForTenant(String tenantId) {
@@ -95,6 +195,29 @@ public class TenantApi {
     }
   }
 
+  private TenantJob findJob(RoutingContext routingContext) {
+    removeExpiredJobs();
+    String id = routingContext.pathParam("id");
+    TenantJob job = JOBS.get(id);
+    if (job == null || !job.tenantId.equals(new WebContext(routingContext).getTenantId())) {
+      ClientErrorResponse.notFound(routingContext.response(), format("Tenant job %s not found", id));
+      return null;
+    }
+    return job;
+  }
+
+  private static void removeExpiredJobs() {
+    Instant expiredBefore = Instant.now().minus(COMPLETED_JOB_RETENTION);
+    JOBS.values().removeIf(job -> job.completedBefore(expiredBefore));
+  }
+
+  private <T> Future<T> runOnWorker(RoutingContext routingContext, Supplier<Future<T>> blockingCode) {
+    if (workerExecutor == null) {
+      workerExecutor = routingContext.vertx().createSharedWorkerExecutor(WORKER_POOL_NAME, WORKER_POOL_SIZE);
+    }
+    return workerExecutor.executeBlocking(promise -> blockingCode.get().onComplete(promise), false);
+  }
+
   private void runScripts(String schemaName, Connection connection) throws LiquibaseException {
     var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
     database.setDefaultSchemaName(schemaName);
@@ -103,4 +226,48 @@ public class TenantApi {
     }
     // no need to call database.close() because liquibase.close() has already closed the connection.
   }
+
+  private static final class TenantJob {
+    private final String id = UUID.randomUUID().toString();
+    private final String tenantId;
+    private final JsonObject tenantAttributes;
+    private final Promise<Void> completion = Promise.promise();
+    private volatile Instant completedAt;
+
+    private TenantJob(String tenantId, JsonObject tenantAttributes) {
+      this.tenantId = tenantId;
+      this.tenantAttributes = tenantAttributes;
+    }
+
+    private void complete(AsyncResult<?> result) {
+      completedAt = Instant.now();
+      if (result.succeeded()) {
+        LOGGER.info("complete:: Tenant job {} for tenant {} completed", id, tenantId);
+        completion.tryComplete();
+      } else {
+        LOGGER.warn("complete:: Tenant job {} for tenant {} failed", id, tenantId, result.cause());
+        completion.tryFail(result.cause());
+      }
+    }
+
+    private boolean completedBefore(Instant instant) {
+      return completedAt != null && completedAt.isBefore(instant);
+    }
+
+    private boolean isComplete() {
+      return completion.future().isComplete();
+    }
+
+    private JsonObject toJson() {
+      JsonObject json = new JsonObject()
+        .put("id", id)
+        .put("tenant", tenantId)
+        .put("tenantAttributes", tenantAttributes)
+        .put("complete", isComplete());
+      if (completion.future().failed()) {
+        json.put("error", completion.future().cause().getMessage());
+      }
+      return json;
+    }
+  }
 }
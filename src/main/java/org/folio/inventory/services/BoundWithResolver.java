@@ -0,0 +1,135 @@
+package org.folio.inventory.services;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.folio.inventory.storage.external.CollectionResourceClient;
+import org.folio.inventory.storage.external.CqlQuery;
+import org.folio.inventory.storage.external.MultipleRecordsFetchClient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Finds out which of the given holdings records are part of a bound-with.
+ * <p>
+ * A holdings record is bound-with when it is referenced by a bound-with part, or when one of its items is.
+ * Both checks are started at the same time. Holdings records found not to be bound-with are remembered
+ * for a short time, so that repeated searches returning the same instances do not check them again.
+ */
+public class BoundWithResolver {
+  private static final String HOLDINGS_RECORD_ID = "holdingsRecordId";
+  private static final String ITEM_ID = "itemId";
+  private static final Duration NOT_BOUND_WITH_EXPIRATION = Duration.ofSeconds(30);
+  private static final long NOT_BOUND_WITH_MAXIMUM_SIZE = 100_000;
+
+  // shared by all verticle instances, keys are prefixed with the tenant id
+  private static final Cache<String, Boolean> NOT_BOUND_WITH_HOLDINGS = Caffeine.newBuilder()
+    .expireAfterWrite(NOT_BOUND_WITH_EXPIRATION)
+    .maximumSize(NOT_BOUND_WITH_MAXIMUM_SIZE)
+    .build();
+
+  private final String tenantId;
+  private final MultipleRecordsFetchClient boundWithPartsFetchClient;
+  private final MultipleRecordsFetchClient itemsFetchClient;
+
+  public BoundWithResolver(String tenantId, CollectionResourceClient boundWithPartsClient,
+    CollectionResourceClient itemsClient) {
+
+    this.tenantId = tenantId;
+    this.boundWithPartsFetchClient = MultipleRecordsFetchClient.builder()
+      .withCollectionPropertyName("boundWithParts")
+      .withExpectedStatus(200)
+      .withCollectionResourceClient(boundWithPartsClient)
+      .build();
+    this.itemsFetchClient = MultipleRecordsFetchClient.builder()
+      .withCollectionPropertyName("items")
+      .withExpectedStatus(200)
+      .withCollectionResourceClient(itemsClient)
+      .build();
+  }
+
+  /**
+   * @param holdingsRecordIds holdings records to check for bound-with
+   * @return IDs of the given holdings records that are bound with others
+   */
+  public CompletableFuture<Set<String>> findBoundWithHoldingsIds(Collection<String> holdingsRecordIds) {
+    List<String> holdingsToCheck = holdingsRecordIds.stream()
+      .distinct()
+      .filter(id -> NOT_BOUND_WITH_HOLDINGS.getIfPresent(cacheKey(id)) == null)
+      .collect(Collectors.toList());
+
+    if (holdingsToCheck.isEmpty()) {
+      return completedFuture(new LinkedHashSet<>());
+    }
+
+    CompletableFuture<List<String>> boundWithByHoldings = findHoldingsReferencedByParts(holdingsToCheck);
+    CompletableFuture<List<String>> boundWithByItems = findHoldingsWithItemsReferencedByParts(holdingsToCheck);
+
+    return boundWithByHoldings.thenCombine(boundWithByItems, (byHoldings, byItems) -> {
+      Set<String> boundWithHoldingsIds = new LinkedHashSet<>(byHoldings);
+      boundWithHoldingsIds.addAll(byItems);
+
+      holdingsToCheck.stream()
+        .filter(id -> !boundWithHoldingsIds.contains(id))
+        .forEach(id -> NOT_BOUND_WITH_HOLDINGS.put(cacheKey(id), Boolean.TRUE));
+
+      return boundWithHoldingsIds;
+    });
+  }
+
+  private CompletableFuture<List<String>> findHoldingsReferencedByParts(List<String> holdingsRecordIds) {
+    return boundWithPartsFetchClient.find(holdingsRecordIds, BoundWithResolver::matchAnyHoldingsRecordId)
+      .thenApply(parts -> values(parts, HOLDINGS_RECORD_ID));
+  }
+
+  private CompletableFuture<List<String>> findHoldingsWithItemsReferencedByParts(List<String> holdingsRecordIds) {
+    List<String> boundWithHoldingsIds = new ArrayList<>();
+
+    // holdings can have many thousands of items, they are checked a page at a time
+    return itemsFetchClient.findByPages(holdingsRecordIds, BoundWithResolver::matchAnyHoldingsRecordId,
+        items -> {
+          // only the item id and its holdings record are needed, the rest of the item is not kept
+          Map<String, String> itemToHoldings = new HashMap<>();
+          for (JsonObject item : items) {
+            itemToHoldings.put(item.getString("id"), item.getString(HOLDINGS_RECORD_ID));
+          }
+
+          return boundWithPartsFetchClient.find(new ArrayList<>(itemToHoldings.keySet()),
+              itemIds -> CqlQuery.exactMatchAny(ITEM_ID, itemIds))
+            .thenAccept(parts -> values(parts, ITEM_ID).stream()
+              .map(itemToHoldings::get)
+              .forEach(boundWithHoldingsIds::add));
+        })
+      .thenApply(notUsed -> boundWithHoldingsIds.stream()
+        .distinct()
+        .collect(Collectors.toList()));
+  }
+
+  private String cacheKey(String holdingsRecordId) {
+    return tenantId + ":" + holdingsRecordId;
+  }
+
+  private static CqlQuery matchAnyHoldingsRecordId(List<String> holdingsRecordIds) {
+    return CqlQuery.exactMatchAny(HOLDINGS_RECORD_ID, holdingsRecordIds);
+  }
+
+  private static List<String> values(List<JsonObject> records, String propertyName) {
+    return records.stream()
+      .map(record -> record.getString(propertyName))
+      .distinct()
+      .collect(Collectors.toList());
+  }
+}
@@ -1,7 +1,9 @@
 package org.folio.inventory.services;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.inventory.common.api.request.PagingParameters;
@@ -9,14 +11,81 @@ import org.folio.inventory.domain.HoldingsRecordsSourceCollection;
 import org.folio.inventory.domain.instances.InstanceCollection;
 import org.folio.processing.exceptions.EventProcessingException;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
+import static org.folio.inventory.common.metrics.InventoryMetrics.meteredGet;
 
+/**
+ * Looks up ids needed to save MARC holdings.
+ * <p>
+ * Ids of holdings sources are cached per tenant, as they do not change. Instance ids are cached
+ * per tenant and job by the HRID of the instance, for the holdings of one job often refer to the same instances,
+ * only the most recently used ones are kept. Lookups which fail, or which do not find the record, are not cached.
+ * The caches are shared by all instances of the service, as each consumer verticle creates its own one, so a lookup
+ * is completed on the Vert.x context it was made from, rather than on the one of the verticle which loaded the id.
+ */
 public class HoldingsCollectionService {
   private static final Logger LOGGER = LogManager.getLogger(HoldingsCollectionService.class);
 
   private static final String ERROR_HOLDING_MSG = "Error loading inventory holdings for MARC BIB";
+  private static final String SOURCE_ID_CACHE_NAME = "holdings-source-id";
+  private static final String INSTANCE_ID_CACHE_NAME = "instance-id-by-hrid";
+  private static final long SOURCE_ID_EXPIRATION_HOURS = 1;
+  private static final long INSTANCE_ID_EXPIRATION_MINUTES = 10;
+  private static final long INSTANCE_ID_CACHE_SIZE = 10_000;
+
+  private static final AsyncCache<String, String> SOURCE_IDS = Caffeine.newBuilder()
+    .expireAfterWrite(SOURCE_ID_EXPIRATION_HOURS, TimeUnit.HOURS)
+    .buildAsync();
+  private static final AsyncCache<String, String> INSTANCE_IDS = Caffeine.newBuilder()
+    .expireAfterAccess(INSTANCE_ID_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+    .maximumSize(INSTANCE_ID_CACHE_SIZE)
+    .buildAsync();
+
+  /**
+   * Finds the id of the holdings source with the given name, the id is cached for the tenant.
+   *
+   * @param sourceCollection holdings sources of the tenant
+   * @param name             name of the source
+   * @param tenantId         tenant the collection belongs to
+   * @return id of the source
+   */
+  public Future<String> findSourceIdByName(HoldingsRecordsSourceCollection sourceCollection, String name,
+    String tenantId) {
+
+    return onCurrentContext(meteredGet(SOURCE_ID_CACHE_NAME, SOURCE_IDS, tenantId + ":" + name,
+      key -> findSourceIdByName(sourceCollection, name).toCompletionStage().toCompletableFuture()));
+  }
+
+  /**
+   * Finds the id of the instance with the given HRID, the id is cached for the tenant and the job.
+   *
+   * @param instanceCollection instances of the tenant
+   * @param instanceHrid       HRID of the instance
+   * @param tenantId           tenant the collection belongs to
+   * @param jobExecutionId     job the lookup is done for
+   * @return id of the instance
+   */
+  public Future<String> findInstanceIdByHrid(InstanceCollection instanceCollection, String instanceHrid,
+    String tenantId, String jobExecutionId) {
+
+    return onCurrentContext(meteredGet(INSTANCE_ID_CACHE_NAME, INSTANCE_IDS,
+      tenantId + ":" + jobExecutionId + ":" + instanceHrid,
+      key -> findInstanceIdByHrid(instanceCollection, instanceHrid).toCompletionStage().toCompletableFuture()));
+  }
+
+  private static <T> Future<T> onCurrentContext(CompletionStage<T> completionStage) {
+    Context context = Vertx.currentContext();
+    return context == null
+      ? Future.fromCompletionStage(completionStage)
+      : Future.fromCompletionStage(completionStage, context);
+  }
 
   public Future<String> findSourceIdByName(HoldingsRecordsSourceCollection sourceCollection, String name) {
     Promise<String> promise = Promise.promise();
@@ -7,6 +7,7 @@ import org.folio.inventory.support.http.client.OkapiHttpClient;
 import org.folio.inventory.support.http.client.Response;
 
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class CollectionResourceClient {
@@ -61,11 +62,25 @@ public class CollectionResourceClient {
     Integer pageOffset,
     Consumer<Response> responseHandler) {
 
+    getMany(cqlQuery, pageLimit, pageOffset)
+      .thenAccept(responseHandler);
+  }
+
+  /**
+   * Run the query using some limit and offset.
+   *
+   * @param cqlQuery the query without percent (url) encoding
+   * @return the response, or a failed future when storage cannot be reached
+   */
+  public CompletableFuture<Response> getMany(
+    String cqlQuery,
+    Integer pageLimit,
+    Integer pageOffset) {
+
     String url = collectionRoot + "?"
         + (isProvided(cqlQuery) ? ("query=" + urlEncode(cqlQuery) + "&") : "")
         + "limit=" + pageLimit + "&offset=" + pageOffset;
-    client.get(url)
-      .thenAccept(responseHandler);
+    return client.get(url).toCompletableFuture();
   }
 
   /**
@@ -77,6 +92,16 @@ public class CollectionResourceClient {
     getMany(cqlQuery, Integer.MAX_VALUE, 0, responseHandler);
   }
 
+  /**
+   * Runs the query while setting limit to maximum and offset to zero to get all records.
+   *
+   * @param cqlQuery the query without percent (url) encoding
+   * @return the response, or a failed future when storage cannot be reached
+   */
+  public CompletableFuture<Response> getAll(String cqlQuery) {
+    return getMany(cqlQuery, Integer.MAX_VALUE, 0);
+  }
+
   private boolean isProvided(String query) {
     return query != null && !query.trim().equals("");
   }
@@ -4,10 +4,14 @@ import static java.lang.String.format;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.folio.util.StringUtil;
 
 public final class CqlQuery {
+  private static final Pattern QUOTED_TERM = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"");
+  private static final Pattern SORT_BY = Pattern.compile("(?:^|[\\s)])sortBy(?:\\s|$)", Pattern.CASE_INSENSITIVE);
+
   private final String query;
 
   private CqlQuery(String query) {
@@ -43,6 +47,28 @@ public final class CqlQuery {
     return new CqlQuery(format("%s<>%s", indexName, StringUtil.cqlEncode(value)));
   }
 
+  public static CqlQuery greaterThan(String indexName, String value) {
+    return new CqlQuery(format("%s>%s", indexName, StringUtil.cqlEncode(value)));
+  }
+
+  /**
+   * @return the query in parentheses, so that it can be combined with other queries as one clause
+   */
+  public CqlQuery grouped() {
+    return new CqlQuery(format("(%s)", query));
+  }
+
+  public CqlQuery sortBy(String indexName) {
+    return new CqlQuery(format("%s sortBy %s", query, indexName));
+  }
+
+  /**
+   * @return whether the query has a sortBy clause, a sortBy keyword outside of quoted terms
+   */
+  public static boolean hasSortBy(String query) {
+    return SORT_BY.matcher(QUOTED_TERM.matcher(query).replaceAll("\"\"")).find();
+  }
+
   @Override
   public String toString() {
     return query;
@@ -3,12 +3,12 @@ package org.folio.inventory.storage.external;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apache.http.HttpHeaders.ACCEPT;
-import static org.apache.http.HttpHeaders.CONTENT_TYPE;
-import static org.apache.http.HttpHeaders.LOCATION;
+import static org.folio.inventory.common.metrics.InventoryMetrics.recordClientRequest;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
@@ -20,23 +20,38 @@ import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.common.domain.Failure;
 import org.folio.inventory.common.domain.MultipleRecords;
 import org.folio.inventory.common.domain.Success;
-import org.folio.inventory.support.JsonArrayHelper;
+import org.folio.inventory.domain.BatchResult;
+import org.folio.inventory.exceptions.AbstractInventoryException;
+import org.folio.inventory.exceptions.InternalServerErrorException;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 import org.folio.inventory.support.http.client.Response;
+import org.folio.inventory.support.http.client.SingleFlight;
 import org.folio.util.PercentCodec;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
+
 abstract class ExternalStorageModuleCollection<T> {
   private static final String TENANT_HEADER = "X-Okapi-Tenant";
   private static final String TOKEN_HEADER = "X-Okapi-Token";
 
   private static final Logger LOGGER = LogManager.getLogger(ExternalStorageModuleCollection.class);
 
+  private static final int BATCH_SIZE = 1000;
+  private static final int IDS_PER_QUERY = 50;
+
 
   private final String storageAddress;
   private final String tenant;
@@ -70,9 +85,10 @@ abstract class ExternalStorageModuleCollection<T> {
 
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.postAbs(storageAddress));
 
-    request.sendJsonObject(mapToRequest(item), futureResponse::complete);
+    request.sendJsonObject(mapToRequest(item), recordClientRequest(request, futureResponse::complete));
 
     futureResponse
       .thenCompose(this::mapAsyncResultToCompletionStage)
@@ -96,15 +112,7 @@ abstract class ExternalStorageModuleCollection<T> {
                        Consumer<Success<T>> resultCallback,
                        Consumer<Failure> failureCallback) {
 
-    final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
-
-    final HttpRequest<Buffer> request = withStandardHeaders(
-      webClient.getAbs(individualRecordLocation(id)));
-
-    request.send(futureResponse::complete);
-
-    futureResponse
-      .thenCompose(this::mapAsyncResultToCompletionStage)
+    get(individualRecordLocation(id))
       .thenAccept(response -> {
         switch (response.getStatusCode()) {
           case 200:
@@ -177,9 +185,10 @@ abstract class ExternalStorageModuleCollection<T> {
 
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.putAbs(location));
 
-    request.sendJsonObject(mapToRequest(item), futureResponse::complete);
+    request.sendJsonObject(mapToRequest(item), recordClientRequest(request, futureResponse::complete));
 
     futureResponse
       .thenCompose(this::mapAsyncResultToCompletionStage)
@@ -187,12 +196,166 @@ abstract class ExternalStorageModuleCollection<T> {
         interpretNoContentResponse(response, completionCallback, failureCallback));
   }
 
+  /**
+   * Saves the records through the synchronous batch endpoint of the storage module,
+   * {@value #BATCH_SIZE} records per request. The endpoint saves either all the records
+   * of a request or none of them, so the records of a request rejected as invalid (422) are saved
+   * one by one to report which of them fail, at most as many at a time as the shared HTTP client
+   * has connections. So are the records of a create request rejected for missing permissions (403):
+   * records are created in batches by data import, whose requests carry the token of the user running
+   * the import, and the synchronous batch permissions can only be granted to the endpoints of this module.
+   * Any other failure of a request fails the whole batch, as saving the records one by one would only
+   * add load to a storage module which cannot take it, or hide a misconfiguration.
+   * Created records are fetched afterwards, as the endpoint does not return them.
+   *
+   * @param batchAddress address of the synchronous batch endpoint
+   * @param records      records to save
+   * @param upsert       whether existing records are updated, otherwise all records are created;
+   *                     records which do not exist (any longer) are created in either case
+   */
+  protected void saveBatch(String batchAddress, List<T> records, boolean upsert,
+    Consumer<Success<BatchResult<T>>> resultCallback, Consumer<Failure> failureCallback) {
+
+    CompletableFuture<BatchResult<T>> result = completedFuture(
+      batchResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+
+    for (List<T> partition : Lists.partition(records, BATCH_SIZE)) {
+      result = result.thenCompose(batchResult -> savePartition(batchAddress, partition, upsert)
+        .thenApply(partitionResult -> {
+          batchResult.getBatchItems().addAll(partitionResult.getBatchItems());
+          batchResult.getFailedBatchItems().addAll(partitionResult.getFailedBatchItems());
+          batchResult.getErrorMessages().addAll(partitionResult.getErrorMessages());
+          return batchResult;
+        }));
+    }
+
+    result.whenComplete((batchResult, e) -> {
+      if (e != null) {
+        LOGGER.error("saveBatch:: Failed to save batch of {} records", records.size(), e);
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        failureCallback.accept(cause instanceof AbstractInventoryException
+          ? new Failure(((AbstractInventoryException) cause).getBody(), ((AbstractInventoryException) cause).getStatusCode())
+          : new Failure(cause.getMessage(), 500));
+      } else {
+        resultCallback.accept(new Success<>(batchResult));
+      }
+    });
+  }
+
   public void delete(String id, Consumer<Success<Void>> completionCallback,
                      Consumer<Failure> failureCallback) {
 
     deleteLocation(individualRecordLocation(id), completionCallback, failureCallback);
   }
 
+  private CompletableFuture<BatchResult<T>> savePartition(String batchAddress, List<T> records, boolean upsert) {
+    // created records are fetched by their ids, which storage would generate for records without one
+    if (!upsert && records.stream().map(this::getId).anyMatch(Objects::isNull)) {
+      return saveOneByOne(records, false);
+    }
+
+    JsonObject batchRequest = new JsonObject().put(collectionWrapperPropertyName,
+      new JsonArray(records.stream().map(this::mapToRequest).collect(Collectors.toList())));
+
+    final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
+
+    invalidateReadsInFlight();
+    final HttpRequest<Buffer> request = withStandardHeaders(webClient.postAbs(batchAddress))
+      .addQueryParam("upsert", String.valueOf(upsert));
+
+    request.sendJsonObject(batchRequest, recordClientRequest(request, futureResponse::complete));
+
+    return futureResponse
+      .thenCompose(this::mapAsyncResultToCompletionStage)
+      .thenCompose(response -> {
+        if (response.getStatusCode() == 201) {
+          return upsert
+            ? completedFuture(batchResult(new ArrayList<>(records), new ArrayList<>(), new ArrayList<>()))
+            : findCreated(records);
+        }
+        if (response.getStatusCode() == 422 || (!upsert && response.getStatusCode() == 403)) {
+          LOGGER.warn("savePartition:: Batch of {} records was rejected with status code {}, saving them one by one: {}",
+            records.size(), response.getStatusCode(), response.getBody());
+          return saveOneByOne(records, upsert);
+        }
+        LOGGER.error("savePartition:: Batch of {} records was rejected with status code {}: {}",
+          records.size(), response.getStatusCode(), response.getBody());
+        return failedFuture(new InternalServerErrorException(
+          new Failure(response.getBody(), response.getStatusCode())));
+      });
+  }
+
+  private CompletableFuture<BatchResult<T>> saveOneByOne(List<T> records, boolean upsert) {
+    List<CompletableFuture<T>> saves = records.stream()
+      .map(record -> new CompletableFuture<T>())
+      .collect(Collectors.toList());
+    AtomicInteger nextRecord = new AtomicInteger();
+
+    // more saves in flight than connections of the pool would only wait for a connection
+    for (int i = 0; i < Math.min(HttpClientFactory.getMaxPoolSize(), records.size()); i++) {
+      saveNext(records, saves, nextRecord, upsert);
+    }
+
+    return BatchResult.of(records, saves);
+  }
+
+  private void saveNext(List<T> records, List<CompletableFuture<T>> saves, AtomicInteger nextRecord, boolean upsert) {
+    int index = nextRecord.getAndIncrement();
+    if (index >= records.size()) {
+      return;
+    }
+
+    T record = records.get(index);
+    CompletableFuture<T> save = saves.get(index);
+    Consumer<Failure> failureCallback = failure -> save.completeExceptionally(new InternalServerErrorException(failure));
+    if (upsert) {
+      update(record, success -> save.complete(record), failureCallback);
+    } else {
+      add(record, success -> save.complete(success.getResult()), failureCallback);
+    }
+
+    save.whenComplete((saved, error) -> saveNext(records, saves, nextRecord, upsert));
+  }
+
+  private CompletableFuture<BatchResult<T>> findCreated(List<T> records) {
+    List<CompletableFuture<List<T>>> finds = Lists.partition(records, IDS_PER_QUERY).stream()
+      .map(partition -> {
+        CompletableFuture<List<T>> found = new CompletableFuture<>();
+        List<String> ids = partition.stream().map(this::getId).collect(Collectors.toList());
+
+        findByCql(CqlQuery.exactMatchAny("id", ids).toString(), new PagingParameters(ids.size(), 0),
+          success -> found.complete(success.getResult().records),
+          failure -> {
+            LOGGER.warn("findCreated:: Failed to fetch created records, status code {}: {}",
+              failure.getStatusCode(), failure.getReason());
+            found.complete(partition);
+          });
+        return found;
+      })
+      .collect(Collectors.toList());
+
+    return CompletableFuture.allOf(finds.toArray(new CompletableFuture[0]))
+      .thenApply(notUsed -> {
+        Map<String, T> createdById = finds.stream()
+          .flatMap(find -> find.join().stream())
+          .collect(Collectors.toMap(this::getId, Function.identity(), (first, second) -> first));
+
+        List<T> created = records.stream()
+          .map(record -> createdById.getOrDefault(getId(record), record))
+          .collect(Collectors.toList());
+
+        return batchResult(created, new ArrayList<>(), new ArrayList<>());
+      });
+  }
+
+  private static <T> BatchResult<T> batchResult(List<T> savedRecords, List<T> failedRecords, List<String> errorMessages) {
+    BatchResult<T> batchResult = new BatchResult<>();
+    batchResult.setBatchItems(savedRecords);
+    batchResult.setFailedBatchItems(failedRecords);
+    batchResult.setErrorMessages(errorMessages);
+    return batchResult;
+  }
+
   private String individualRecordLocation(String id) {
     return String.format("%s/%s", storageAddress, id);
   }
@@ -207,6 +370,14 @@ abstract class ExternalStorageModuleCollection<T> {
     }
   }
 
+  /**
+   * Stops the GETs in flight for the tenant from being joined, as they may not see the state after a write,
+   * it has to be called by each write before it is sent.
+   */
+  protected void invalidateReadsInFlight() {
+    SingleFlight.invalidate(tenant);
+  }
+
   protected HttpRequest<Buffer> withStandardHeaders(HttpRequest<Buffer> request) {
     return request
       .putHeader(ACCEPT, "application/json, text/plain")
@@ -223,25 +394,34 @@ abstract class ExternalStorageModuleCollection<T> {
   }
 
   private Response mapResponse(AsyncResult<HttpResponse<Buffer>> asyncResult) {
-    final var response = asyncResult.result();
-
-    return new Response(response.statusCode(), response.bodyAsString(),
-      response.getHeader(CONTENT_TYPE), response.getHeader(LOCATION));
+    return Response.from(asyncResult.result());
   }
 
   private void find(String location,
                     Consumer<Success<MultipleRecords<T>>> resultCallback, Consumer<Failure> failureCallback) {
 
-    final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
+    get(location)
+      .whenComplete((response, e) -> {
+        if (e != null) {
+          LOGGER.warn("find:: Failed to contact storage module: {}", location, e);
+          failureCallback.accept(new Failure(e.getMessage(), 500));
+        } else {
+          interpretMultipleRecordResponse(resultCallback, failureCallback, response);
+        }
+      });
+  }
 
-    final HttpRequest<Buffer> request = withStandardHeaders(webClient.getAbs(location));
+  private CompletableFuture<Response> get(String location) {
+    return SingleFlight.get(location, tenant, token, () -> {
+      final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
-    request.send(futureResponse::complete);
+      final HttpRequest<Buffer> request = withStandardHeaders(webClient.getAbs(location));
 
-    futureResponse
-      .thenCompose(this::mapAsyncResultToCompletionStage)
-      .thenAccept(response ->
-        interpretMultipleRecordResponse(resultCallback, failureCallback, response));
+      request.send(recordClientRequest(request, futureResponse::complete));
+
+      return futureResponse
+        .thenCompose(this::mapAsyncResultToCompletionStage);
+    });
   }
 
   private void interpretMultipleRecordResponse(
@@ -250,17 +430,13 @@ abstract class ExternalStorageModuleCollection<T> {
 
     if (response.getStatusCode() == 200) {
       try {
-        JsonObject wrappedRecords = response.getJson();
-
-        List<JsonObject> records = JsonArrayHelper.toList(
-          wrappedRecords.getJsonArray(collectionWrapperPropertyName));
+        List<T> foundRecords = new ArrayList<>();
 
-        List<T> foundRecords = records.stream()
-          .map(this::mapFromJson)
-          .collect(Collectors.toList());
+        JsonObject otherProperties = response.forEachRecord(collectionWrapperPropertyName,
+          json -> foundRecords.add(mapFromJson(json)));
 
         MultipleRecords<T> result = new MultipleRecords<>(
-          foundRecords, wrappedRecords.getInteger("totalRecords"));
+          foundRecords, otherProperties.getInteger("totalRecords"));
 
         resultCallback.accept(new Success<>(result));
       } catch (Exception e) {
@@ -278,9 +454,10 @@ abstract class ExternalStorageModuleCollection<T> {
 
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.deleteAbs(location));
 
-    request.send(futureResponse::complete);
+    request.send(recordClientRequest(request, futureResponse::complete));
 
     futureResponse
       .thenCompose(this::mapAsyncResultToCompletionStage)
@@ -1,11 +1,16 @@
 package org.folio.inventory.storage.external;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.HoldingsRecord;
 import org.folio.dbschema.ObjectMapperTool;
+import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.common.domain.Success;
+import org.folio.inventory.domain.BatchResult;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.validation.exceptions.JsonMappingException;
 
@@ -18,6 +23,8 @@ class ExternalStorageModuleHoldingsRecordCollection
 
   private static final Logger LOGGER = LogManager.getLogger(ExternalStorageModuleHoldingsRecordCollection.class);
 
+  private final String batchAddress;
+
   ExternalStorageModuleHoldingsRecordCollection(String baseAddress,
                                          String tenant,
                                          String token,
@@ -25,6 +32,22 @@ class ExternalStorageModuleHoldingsRecordCollection
 
     super(String.format("%s/%s", baseAddress, "holdings-storage/holdings"),
       tenant, token, "holdingsRecords", client);
+
+    batchAddress = String.format("%s/%s", baseAddress, "holdings-storage/batch/synchronous");
+  }
+
+  @Override
+  public void addBatch(List<HoldingsRecord> holdingsRecords,
+    Consumer<Success<BatchResult<HoldingsRecord>>> resultCallback, Consumer<Failure> failureCallback) {
+
+    saveBatch(batchAddress, holdingsRecords, false, resultCallback, failureCallback);
+  }
+
+  @Override
+  public void updateBatch(List<HoldingsRecord> holdingsRecords,
+    Consumer<Success<BatchResult<HoldingsRecord>>> resultCallback, Consumer<Failure> failureCallback) {
+
+    saveBatch(batchAddress, holdingsRecords, true, resultCallback, failureCallback);
   }
 
   @Override
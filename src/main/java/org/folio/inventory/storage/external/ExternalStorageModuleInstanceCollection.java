@@ -78,6 +78,7 @@ class ExternalStorageModuleInstanceCollection
 
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.postAbs(batchAddress));
 
     request.sendJsonObject(batchRequest, futureResponse::complete);
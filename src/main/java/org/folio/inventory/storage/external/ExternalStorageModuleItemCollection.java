@@ -1,5 +1,11 @@
 package org.folio.inventory.storage.external;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.common.domain.Success;
+import org.folio.inventory.domain.BatchResult;
 import org.folio.inventory.domain.items.Item;
 import org.folio.inventory.domain.items.ItemCollection;
 import org.folio.inventory.support.ItemUtil;
@@ -11,11 +17,29 @@ class ExternalStorageModuleItemCollection
   extends ExternalStorageModuleCollection<Item>
   implements ItemCollection {
 
+  private final String batchAddress;
+
   ExternalStorageModuleItemCollection(String baseAddress, String tenant,
     String token, HttpClient client) {
 
     super(String.format("%s/%s", baseAddress, "item-storage/items"),
       tenant, token, "items", client);
+
+    batchAddress = String.format("%s/%s", baseAddress, "item-storage/batch/synchronous");
+  }
+
+  @Override
+  public void addBatch(List<Item> items,
+    Consumer<Success<BatchResult<Item>>> resultCallback, Consumer<Failure> failureCallback) {
+
+    saveBatch(batchAddress, items, false, resultCallback, failureCallback);
+  }
+
+  @Override
+  public void updateBatch(List<Item> items,
+    Consumer<Success<BatchResult<Item>>> resultCallback, Consumer<Failure> failureCallback) {
+
+    saveBatch(batchAddress, items, true, resultCallback, failureCallback);
   }
 
   @Override
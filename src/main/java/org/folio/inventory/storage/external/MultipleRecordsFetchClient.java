@@ -1,54 +1,229 @@
 package org.folio.inventory.storage.external;
 
-import static org.apache.commons.collections4.ListUtils.partition;
-import static org.folio.inventory.support.JsonArrayHelper.toList;
+import static org.folio.util.StringUtil.urlEncode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 import org.folio.inventory.exceptions.ExternalResourceFetchException;
 import org.folio.inventory.support.CompletableFutures;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 import org.folio.inventory.support.http.client.Response;
 
 import io.vertx.core.json.JsonObject;
 
 public class MultipleRecordsFetchClient {
-  private static final int DEFAULT_PARTITION_SIZE = 30;
+  private static final int DEFAULT_PARTITION_SIZE = 50;
+  // Okapi rejects request lines longer than 4096 bytes, this leaves room for the path and paging
+  private static final int DEFAULT_MAX_QUERY_LENGTH = 2048;
+  private static final int DEFAULT_PAGE_SIZE = 1000;
+  private static final String ID = "id";
 
   private final CollectionResourceClient resourceClient;
   private final int partitionSize;
+  private final int maxQueryLength;
+  private final int maxConcurrentRequests;
+  private final boolean orderedResults;
+  private final int pageSize;
   private final String collectionPropertyName;
   private final int expectedStatus;
+  private final Deque<Runnable> waitingRequests = new ArrayDeque<>();
+  private int requestsInFlight;
 
   private MultipleRecordsFetchClient(Builder builder) {
     this.resourceClient = builder.collectionResourceClient;
     this.partitionSize = builder.partitionSize;
+    this.maxQueryLength = builder.maxQueryLength;
+    this.maxConcurrentRequests = builder.maxConcurrentRequests;
+    this.orderedResults = builder.orderedResults;
+    this.pageSize = builder.pageSize;
     this.collectionPropertyName = builder.collectionPropertyName;
     this.expectedStatus = builder.expectedStatus;
   }
 
+  /**
+   * Fetches the records matched by the queries for partitions of the elements. The records of a partition
+   * are fetched in pages of {@link Builder#withPageSize(int)} records, as {@link #findAll(CqlQuery)} does.
+   * At most {@link Builder#withMaxConcurrentRequests(int)} requests of this client are in flight at a time,
+   * for all the calls together, the next request is sent when one of them completes.
+   *
+   * @return records of all the partitions, in the order of the partitions unless
+   * {@link Builder#withOrderedResults(boolean)} says otherwise
+   */
   public <T> CompletableFuture<List<JsonObject>> find(
     List<T> elements, Function<List<T>, CqlQuery> toQueryConverter) {
 
-    final List<CompletableFuture<Response>> allFutures = partition(elements, partitionSize).stream()
-      .map(toQueryConverter)
-      .map(this::getAllMatched)
-      .collect(Collectors.toList());
-
-    return CompletableFuture.allOf(allFutures.toArray(new CompletableFuture[0]))
-      .thenApply(notUsed -> allFutures.stream()
-        .map(CompletableFuture::join)
-        .map(Response::getJson)
-        .flatMap(json -> toList(json.getJsonArray(collectionPropertyName)).stream())
-        .collect(Collectors.toList()));
+    return new PartitionedFetch(partitionQueries(elements, toQueryConverter)).start();
+  }
+
+  /**
+   * Fetches all the records matched by the query, in pages of {@link Builder#withPageSize(int)} records
+   * ordered by id, rather than by one request without a limit.
+   *
+   * @param query query without sorting
+   * @return records matched by the query, ordered by id
+   */
+  public CompletableFuture<List<JsonObject>> findAll(CqlQuery query) {
+    List<JsonObject> records = new ArrayList<>();
+
+    return findByPages(query, page -> {
+      records.addAll(page);
+      return CompletableFuture.completedFuture(null);
+    }).thenApply(notUsed -> records);
+  }
+
+  /**
+   * Walks the records matched by the queries for the elements page by page, instead of fetching
+   * all of them in one response. The queries are run one after another, so only one page
+   * is held at a time.
+   *
+   * @param pageHandler handles the records of a page, the next page is requested
+   *                    when the returned future completes
+   * @return future completed when all the pages have been handled
+   */
+  public <T> CompletableFuture<Void> findByPages(List<T> elements,
+    Function<List<T>, CqlQuery> toQueryConverter,
+    Function<List<JsonObject>, CompletableFuture<Void>> pageHandler) {
+
+    CompletableFuture<Void> allPages = CompletableFuture.completedFuture(null);
+
+    for (CqlQuery query : partitionQueries(elements, toQueryConverter)) {
+      allPages = allPages.thenCompose(notUsed -> findByPages(query, pageHandler));
+    }
+
+    return allPages;
+  }
+
+  /**
+   * Walks the records matched by the query page by page, ordered by id. Each page is requested
+   * for the records following the last id of the previous page (keyset pagination),
+   * so that a page far from the start costs storage as little as the first one.
+   *
+   * @param query       query without sorting
+   * @param pageHandler handles the records of a page, the next page is requested
+   *                    when the returned future completes
+   * @return future completed when all the pages have been handled
+   */
+  public CompletableFuture<Void> findByPages(CqlQuery query,
+    Function<List<JsonObject>, CompletableFuture<Void>> pageHandler) {
+
+    return findPage(query, query.sortBy(ID), pageHandler);
+  }
+
+  private CompletableFuture<Void> findPage(CqlQuery query, CqlQuery pageQuery,
+    Function<List<JsonObject>, CompletableFuture<Void>> pageHandler) {
+
+    return getMatched(pageQuery, pageSize)
+      .thenCompose(response -> {
+        List<JsonObject> records = response.getRecords(collectionPropertyName);
+        if (records.isEmpty()) {
+          return CompletableFuture.completedFuture(null);
+        }
+
+        String lastId = records.get(records.size() - 1).getString(ID);
+
+        return pageHandler.apply(records)
+          .thenCompose(notUsed -> records.size() < pageSize
+            ? CompletableFuture.completedFuture(null)
+            : findPage(query, query.grouped().and(CqlQuery.greaterThan(ID, lastId)).sortBy(ID), pageHandler));
+      });
+  }
+
+  /**
+   * Splits the elements into partitions of at most {@link Builder#withPartitionSize(int)} elements,
+   * which are made smaller where the URL encoded query of a partition would exceed
+   * {@link Builder#withMaxQueryLength(int)}.
+   */
+  <T> List<CqlQuery> partitionQueries(List<T> elements, Function<List<T>, CqlQuery> toQueryConverter) {
+    List<CqlQuery> queries = new ArrayList<>();
+    int from = 0;
+
+    while (from < elements.size()) {
+      int size = Math.min(partitionSize, elements.size() - from);
+      CqlQuery query = toQueryConverter.apply(elements.subList(from, from + size));
+      int length = urlEncode(query.toString()).length();
+
+      while (length > maxQueryLength && size > 1) {
+        // the length of a query grows about linearly with the number of elements
+        size = Math.max(1, Math.min(size - 1, (int) ((long) size * maxQueryLength / length)));
+        query = toQueryConverter.apply(elements.subList(from, from + size));
+        length = urlEncode(query.toString()).length();
+      }
+
+      queries.add(query);
+      from += size;
+    }
+
+    return queries;
   }
 
-  private CompletableFuture<Response> getAllMatched(CqlQuery query) {
-    final CompletableFuture<Response> future = new CompletableFuture<>();
+  private CompletableFuture<Response> getMatched(CqlQuery query, int limit) {
+    return checkStatus(withinConcurrencyLimit(() -> resourceClient.getMany(query.toString(), limit, 0)));
+  }
 
-    resourceClient.getAll(query.toString(), future::complete);
+  /**
+   * Sends the request right away when fewer than {@link Builder#withMaxConcurrentRequests(int)} requests
+   * of this client are in flight, otherwise once one of them completes.
+   */
+  private CompletableFuture<Response> withinConcurrencyLimit(Supplier<CompletableFuture<Response>> request) {
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    Runnable send = () -> {
+      CompletableFuture<Response> response;
+      try {
+        response = request.get();
+      } catch (Exception e) {
+        response = CompletableFutures.failedFuture(e);
+      }
+      response.whenComplete((r, error) -> {
+        sendNextWaitingRequest();
+        if (error != null) {
+          result.completeExceptionally(error);
+        } else {
+          result.complete(r);
+        }
+      });
+    };
 
+    boolean sendNow;
+    synchronized (waitingRequests) {
+      sendNow = requestsInFlight < maxConcurrentRequests;
+      if (sendNow) {
+        requestsInFlight++;
+      } else {
+        waitingRequests.add(send);
+      }
+    }
+
+    if (sendNow) {
+      send.run();
+    }
+    return result;
+  }
+
+  private void sendNextWaitingRequest() {
+    Runnable next;
+    synchronized (waitingRequests) {
+      next = waitingRequests.poll();
+      if (next == null) {
+        requestsInFlight--;
+      }
+    }
+
+    if (next != null) {
+      next.run();
+    }
+  }
+
+  private CompletableFuture<Response> checkStatus(CompletableFuture<Response> future) {
     return future.thenCompose(response -> {
       if (response.getStatusCode() != expectedStatus) {
         return CompletableFutures.failedFuture(new ExternalResourceFetchException(response));
@@ -58,6 +233,69 @@ public class MultipleRecordsFetchClient {
     });
   }
 
+  private class PartitionedFetch {
+    private final List<CqlQuery> queries;
+    private final AtomicReferenceArray<List<JsonObject>> orderedRecords;
+    private final Queue<JsonObject> unorderedRecords = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextQuery = new AtomicInteger();
+    private final AtomicInteger remainingQueries;
+    private final CompletableFuture<List<JsonObject>> result = new CompletableFuture<>();
+
+    private PartitionedFetch(List<CqlQuery> queries) {
+      this.queries = queries;
+      this.orderedRecords = new AtomicReferenceArray<>(queries.size());
+      this.remainingQueries = new AtomicInteger(queries.size());
+    }
+
+    private CompletableFuture<List<JsonObject>> start() {
+      if (queries.isEmpty()) {
+        result.complete(new ArrayList<>());
+      }
+      for (int i = 0; i < Math.min(maxConcurrentRequests, queries.size()); i++) {
+        fetchNext();
+      }
+      return result;
+    }
+
+    private void fetchNext() {
+      int index = nextQuery.getAndIncrement();
+      if (index >= queries.size() || result.isDone()) {
+        return;
+      }
+
+      findAll(queries.get(index)).whenComplete((records, error) -> {
+        if (error != null) {
+          result.completeExceptionally(error);
+          return;
+        }
+
+        if (orderedResults) {
+          orderedRecords.set(index, records);
+        } else {
+          unorderedRecords.addAll(records);
+        }
+
+        if (remainingQueries.decrementAndGet() == 0) {
+          result.complete(collectRecords());
+        } else {
+          fetchNext();
+        }
+      });
+    }
+
+    private List<JsonObject> collectRecords() {
+      if (!orderedResults) {
+        return new ArrayList<>(unorderedRecords);
+      }
+
+      List<JsonObject> records = new ArrayList<>();
+      for (int i = 0; i < orderedRecords.length(); i++) {
+        records.addAll(orderedRecords.get(i));
+      }
+      return records;
+    }
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -66,7 +304,12 @@ public class MultipleRecordsFetchClient {
     private CollectionResourceClient collectionResourceClient;
     private int expectedStatus = 200;
     private String collectionPropertyName;
-    private final int partitionSize = DEFAULT_PARTITION_SIZE;
+    private int partitionSize = DEFAULT_PARTITION_SIZE;
+    private int maxQueryLength = DEFAULT_MAX_QUERY_LENGTH;
+    // more requests than connections of the pool would only wait for a connection
+    private int maxConcurrentRequests = HttpClientFactory.getMaxPoolSize();
+    private boolean orderedResults = true;
+    private int pageSize = DEFAULT_PAGE_SIZE;
 
     public Builder withCollectionResourceClient(CollectionResourceClient client) {
       this.collectionResourceClient = client;
@@ -83,10 +326,53 @@ public class MultipleRecordsFetchClient {
       return this;
     }
 
+    /**
+     * @param partitionSize maximum number of elements matched by one query
+     */
+    public Builder withPartitionSize(int partitionSize) {
+      this.partitionSize = partitionSize;
+      return this;
+    }
+
+    /**
+     * @param maxQueryLength maximum length of the URL encoded query of a partition,
+     *                       partitions are made smaller to keep their queries within it
+     */
+    public Builder withMaxQueryLength(int maxQueryLength) {
+      this.maxQueryLength = maxQueryLength;
+      return this;
+    }
+
+    /**
+     * @param maxConcurrentRequests maximum number of requests of the client in flight at a time,
+     *                              the connection pool size of the shared HTTP client by default
+     */
+    public Builder withMaxConcurrentRequests(int maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    /**
+     * @param orderedResults whether records are returned in the order of the partitions,
+     *                       otherwise in the order the partitions are fetched
+     */
+    public Builder withOrderedResults(boolean orderedResults) {
+      this.orderedResults = orderedResults;
+      return this;
+    }
+
+    public Builder withPageSize(int pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
     public MultipleRecordsFetchClient build() {
       if (collectionResourceClient == null || collectionPropertyName == null) {
         throw new IllegalStateException("Resource client and collection property name are required");
       }
+      if (partitionSize < 1 || maxConcurrentRequests < 1 || pageSize < 1) {
+        throw new IllegalStateException("Partition size, concurrent requests and page size must be positive");
+      }
 
       return new MultipleRecordsFetchClient(this);
     }
@@ -0,0 +1,139 @@
+package org.folio.inventory.storage.external;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.Context;
+import org.folio.inventory.common.metrics.InventoryMetrics;
+import org.folio.inventory.support.http.client.OkapiHttpClient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Cache for storing reference records (material types, loan types, locations) by tenant and id.
+ * Records which are not cached yet are fetched in bulk with one id==(a or b or ...) query per partition.
+ * <p>
+ * One cache is shared by all verticle instances, see {@link #shared(long, long)}. Hits and misses are
+ * counted by {@link InventoryMetrics} as gets of the {@value #CACHE_NAME} cache.
+ */
+public class ReferenceDataCache {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String CACHE_NAME = "reference-data";
+
+  private static ReferenceDataCache sharedCache;
+
+  private final Cache<String, JsonObject> cache;
+
+  public ReferenceDataCache(long maximumSize, long cacheExpirationTime) {
+    cache = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * Gets the cache shared by all verticle instances, it is created with the given settings by the first call.
+   *
+   * @param maximumSize         maximum number of cached records
+   * @param cacheExpirationTime seconds a record is kept after it has been fetched
+   * @return the shared cache
+   */
+  public static synchronized ReferenceDataCache shared(long maximumSize, long cacheExpirationTime) {
+    if (sharedCache == null) {
+      sharedCache = new ReferenceDataCache(maximumSize, cacheExpirationTime);
+    }
+    return sharedCache;
+  }
+
+  /**
+   * Gets reference records of the given type by ids. Only records missing from the cache
+   * are requested from storage, records which could not be found are omitted from the result.
+   * The future fails when the missing records cannot be fetched.
+   *
+   * @param type       reference record type
+   * @param ids        ids of the reference records, null values are ignored
+   * @param context    context of the request, used for tenant and Okapi location
+   * @param httpClient client for fetching records missing from the cache
+   * @return future with found reference records by id
+   */
+  public CompletableFuture<Map<String, JsonObject>> getAll(ReferenceDataType type,
+    Collection<String> ids, Context context, OkapiHttpClient httpClient) {
+
+    final String tenantId = context.getTenantId();
+
+    final List<String> keys = ids.stream()
+      .filter(Objects::nonNull)
+      .distinct()
+      .map(id -> cacheKey(tenantId, type, id))
+      .collect(Collectors.toList());
+
+    final Map<String, JsonObject> found = new HashMap<>();
+    cache.getAllPresent(keys).values()
+      .forEach(record -> found.put(record.getString("id"), record));
+
+    final List<String> missingIds = ids.stream()
+      .filter(Objects::nonNull)
+      .distinct()
+      .filter(id -> !found.containsKey(id))
+      .collect(Collectors.toList());
+
+    InventoryMetrics.recordCacheGets(CACHE_NAME, found.size(), missingIds.size());
+
+    if (missingIds.isEmpty()) {
+      return CompletableFuture.completedFuture(found);
+    }
+
+    final MultipleRecordsFetchClient fetchClient;
+    try {
+      fetchClient = MultipleRecordsFetchClient.builder()
+        .withCollectionPropertyName(type.getCollectionPropertyName())
+        .withExpectedStatus(200)
+        .withCollectionResourceClient(new CollectionResourceClient(httpClient,
+          new URL(context.getOkapiLocation() + type.getPath())))
+        .build();
+    } catch (MalformedURLException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    return fetchClient.find(missingIds, partition -> CqlQuery.exactMatchAny("id", partition))
+      .thenApply(records -> {
+        records.forEach(record -> {
+          cache.put(cacheKey(tenantId, type, record.getString("id")), record);
+          found.put(record.getString("id"), record);
+        });
+        return found;
+      })
+      .whenComplete((records, e) -> {
+        if (e != null) {
+          LOGGER.warn("Failed to fetch {} reference records for tenant '{}'", type, tenantId, e);
+        }
+      });
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  private static String cacheKey(String tenantId, ReferenceDataType type, String id) {
+    return tenantId + ":" + type + ":" + id;
+  }
+}
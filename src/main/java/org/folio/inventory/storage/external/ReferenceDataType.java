@@ -0,0 +1,26 @@
+package org.folio.inventory.storage.external;
+
+/**
+ * Reference record types used to enrich item representations
+ */
+public enum ReferenceDataType {
+  MATERIAL_TYPES("/material-types", "mtypes"),
+  LOAN_TYPES("/loan-types", "loantypes"),
+  LOCATIONS("/locations", "locations");
+
+  private final String path;
+  private final String collectionPropertyName;
+
+  ReferenceDataType(String path, String collectionPropertyName) {
+    this.path = path;
+    this.collectionPropertyName = collectionPropertyName;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public String getCollectionPropertyName() {
+    return collectionPropertyName;
+  }
+}
@@ -1,7 +1,6 @@
 package org.folio.inventory.storage.external;
 
 import io.vertx.core.json.JsonObject;
-import org.folio.inventory.support.JsonArrayHelper;
 import org.folio.inventory.support.http.client.Response;
 import org.folio.util.StringUtil;
 import java.util.List;
@@ -28,7 +27,8 @@ public class ReferenceRecordClient {
     CompletableFuture<ReferenceRecord> overallFuture
       = new CompletableFuture<>();
 
-    collectionResourceClient.getAll(query, requestFuture::complete);
+    // names are unique, only the first matched record is used
+    collectionResourceClient.getMany(query, 1, 0, requestFuture::complete);
 
     requestFuture.thenAccept(response -> {
       if(response == null) {
@@ -37,8 +37,7 @@ public class ReferenceRecordClient {
             "Failed to get reference record: %s", name)));
       }
       else if (response.getStatusCode() == 200) {
-        List<JsonObject> records = JsonArrayHelper.toList(
-          response.getJson().getJsonArray(collectionWrappingProperty));
+        List<JsonObject> records = response.getRecords(collectionWrappingProperty);
 
         if(!records.isEmpty()) {
           JsonObject referenceRecord = records.stream().findFirst().get();
@@ -1,5 +1,6 @@
 package org.folio.inventory.support;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -45,4 +46,17 @@ public class CqlHelper {
   public static String barcodeIs(String barcode) {
     return "barcode==" + StringUtil.cqlEncode(barcode);
   }
+
+  /**
+   * Returns a CQL expression with an exact match for any of the barcodes.
+   * <p>
+   * barcodeIsAny(List.of("abc", "1-*?")) = "barcode==(\"abc\" or \"1-\\*\\?\")"
+   * @param barcodes  Strings to match
+   * @return CQL expression
+   */
+  public static String barcodeIsAny(Collection<String> barcodes) {
+    return String.format("barcode==(%s)", barcodes.stream()
+      .map(StringUtil::cqlEncode)
+      .collect(Collectors.joining(" or ")));
+  }
 }
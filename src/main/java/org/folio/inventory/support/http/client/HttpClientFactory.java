@@ -0,0 +1,128 @@
+package org.folio.inventory.support.http.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.WebClient;
+
+/**
+ * Creates the HTTP client used for all requests to Okapi and storage modules.
+ * <p>
+ * One client, and so one connection pool, is shared by all verticle instances of a Vert.x instance. The client
+ * is created before the verticles are deployed, so it belongs to the Vert.x instance rather than to the verticle
+ * which happens to ask for it first, and undeploying that verticle does not close it for the others.
+ * The pool is configured by system properties:
+ * <ul>
+ *   <li>{@value #MAX_POOL_SIZE} - maximum number of HTTP/1.x connections per host, 20 by default</li>
+ *   <li>{@value #MAX_WAIT_QUEUE_SIZE} - maximum number of requests waiting for a connection, unbounded by default</li>
+ *   <li>{@value #KEEP_ALIVE} - whether connections are reused, true by default</li>
+ *   <li>{@value #KEEP_ALIVE_TIMEOUT} - seconds an idle connection is kept open, 60 by default</li>
+ *   <li>{@value #PIPELINING} - whether requests are pipelined on HTTP/1.1 connections, false by default</li>
+ *   <li>{@value #HTTP2} - whether HTTP/2 over clear text (h2c, with prior knowledge) is used, false by default,
+ *   Okapi must be configured to accept it</li>
+ *   <li>{@value #HTTP2_MAX_POOL_SIZE} - maximum number of HTTP/2 connections per host, 1 by default</li>
+ * </ul>
+ */
+public final class HttpClientFactory {
+
+  private static final Logger LOGGER = LogManager.getLogger(HttpClientFactory.class);
+
+  public static final String MAX_POOL_SIZE = "inventory.http.client.maxPoolSize";
+  public static final String MAX_WAIT_QUEUE_SIZE = "inventory.http.client.maxWaitQueueSize";
+  public static final String KEEP_ALIVE = "inventory.http.client.keepAlive";
+  public static final String KEEP_ALIVE_TIMEOUT = "inventory.http.client.keepAliveTimeoutSeconds";
+  public static final String PIPELINING = "inventory.http.client.pipelining";
+  public static final String HTTP2 = "inventory.http.client.http2";
+  public static final String HTTP2_MAX_POOL_SIZE = "inventory.http.client.http2.maxPoolSize";
+
+  private static final int DEFAULT_MAX_POOL_SIZE = 20;
+
+  private static final Map<Vertx, HttpClient> HTTP_CLIENTS = new ConcurrentHashMap<>();
+  private static final Map<Vertx, WebClient> WEB_CLIENTS = new ConcurrentHashMap<>();
+
+  private HttpClientFactory() {
+  }
+
+  /**
+   * Creates the HTTP client shared by all verticle instances of the Vert.x instance, it has to be called on
+   * a thread without a Vert.x context, before any verticle is deployed, so that the client belongs to
+   * the Vert.x instance rather than to the verticle which happens to ask for it first.
+   *
+   * @return HTTP client shared by all verticle instances of the Vert.x instance
+   */
+  public static HttpClient createHttpClient(Vertx vertx) {
+    if (Vertx.currentContext() != null) {
+      throw new IllegalStateException("The shared HTTP client has to be created before any verticle is deployed");
+    }
+    return HTTP_CLIENTS.computeIfAbsent(vertx, HttpClientFactory::create);
+  }
+
+  /**
+   * Returns the client created by {@link #createHttpClient(Vertx)}. When it has not been created, the client is
+   * created on the calling thread, and so is closed when the verticle asking for it first is undeployed.
+   *
+   * @return HTTP client shared by all verticle instances of the Vert.x instance
+   */
+  public static HttpClient getHttpClient(Vertx vertx) {
+    return HTTP_CLIENTS.computeIfAbsent(vertx, v -> {
+      if (Vertx.currentContext() != null) {
+        LOGGER.warn("getHttpClient:: HTTP client was not created before deployment, it is closed with the verticle creating it");
+      }
+      return create(v);
+    });
+  }
+
+  private static HttpClient create(Vertx vertx) {
+    HttpClientOptions options = createOptions(System::getProperty);
+    LOGGER.info("create:: Creating HTTP client with options {}", options.toJson().encode());
+    return vertx.createHttpClient(options);
+  }
+
+  /**
+   * @return web client which uses the shared HTTP client of the Vert.x instance
+   */
+  public static WebClient getWebClient(Vertx vertx) {
+    return WEB_CLIENTS.computeIfAbsent(vertx, v -> WebClient.wrap(getHttpClient(v)));
+  }
+
+  /**
+   * @return maximum number of HTTP/1.x connections per host of the shared client
+   */
+  public static int getMaxPoolSize() {
+    return getInt(System::getProperty, MAX_POOL_SIZE, DEFAULT_MAX_POOL_SIZE);
+  }
+
+  static HttpClientOptions createOptions(UnaryOperator<String> settings) {
+    HttpClientOptions options = new HttpClientOptions()
+      .setMaxPoolSize(getInt(settings, MAX_POOL_SIZE, DEFAULT_MAX_POOL_SIZE))
+      .setMaxWaitQueueSize(getInt(settings, MAX_WAIT_QUEUE_SIZE, HttpClientOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE))
+      .setKeepAlive(getBoolean(settings, KEEP_ALIVE, HttpClientOptions.DEFAULT_KEEP_ALIVE))
+      .setKeepAliveTimeout(getInt(settings, KEEP_ALIVE_TIMEOUT, HttpClientOptions.DEFAULT_KEEP_ALIVE_TIMEOUT))
+      .setPipelining(getBoolean(settings, PIPELINING, HttpClientOptions.DEFAULT_PIPELINING))
+      .setHttp2MaxPoolSize(getInt(settings, HTTP2_MAX_POOL_SIZE, HttpClientOptions.DEFAULT_HTTP2_MAX_POOL_SIZE));
+
+    if (getBoolean(settings, HTTP2, false)) {
+      options.setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2ClearTextUpgrade(false);
+    }
+    return options;
+  }
+
+  private static int getInt(UnaryOperator<String> settings, String name, int defaultValue) {
+    String value = settings.apply(name);
+    return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+  }
+
+  private static boolean getBoolean(UnaryOperator<String> settings, String name, boolean defaultValue) {
+    String value = settings.apply(name);
+    return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+  }
+}
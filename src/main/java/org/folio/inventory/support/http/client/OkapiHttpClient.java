@@ -3,12 +3,10 @@ package org.folio.inventory.support.http.client;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apache.http.HttpHeaders.ACCEPT;
-import static org.apache.http.HttpHeaders.CONTENT_TYPE;
-import static org.apache.http.HttpHeaders.LOCATION;
+import static org.folio.inventory.common.metrics.InventoryMetrics.recordClientRequest;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -17,6 +15,7 @@ import java.util.function.Consumer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
@@ -39,12 +38,6 @@ public class OkapiHttpClient {
   private final String requestId;
   private final Consumer<Throwable> exceptionHandler;
 
-  static Map<Vertx,WebClient> webClients = new HashMap<>();
-
-  static WebClient getWebClient(Vertx vertx) {
-    return webClients.computeIfAbsent(vertx, WebClient::create);
-  }
-
   /** HTTP client that calls via Okapi
    *
    * @param vertx Vert.x handle
@@ -57,7 +50,7 @@ public class OkapiHttpClient {
    */
   public OkapiHttpClient(Vertx vertx, URL okapiUrl, String tenantId,
     String token, String userId, String requestId, Consumer<Throwable> exceptionHandler) {
-    this(getWebClient(vertx), okapiUrl, tenantId, token, userId, requestId, exceptionHandler);
+    this(HttpClientFactory.getWebClient(vertx), okapiUrl, tenantId, token, userId, requestId, exceptionHandler);
   }
 
   public OkapiHttpClient(WebClient webClient, WebContext context,
@@ -97,9 +90,25 @@ public class OkapiHttpClient {
   public CompletionStage<Response> post(String url, JsonObject body) {
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
+    final HttpRequest<Buffer> request = withStandardHeaders(webClient.postAbs(url));
+
+    request.sendJsonObject(body, recordClientRequest(request, futureResponse::complete));
+
+    return futureResponse
+      .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
+  }
+
+  /**
+   * Sends a POST request which only reads, like a fetch by a list of ids too long for a query string.
+   * Unlike other writes it does not cut off the GETs in flight for the tenant.
+   */
+  public CompletionStage<Response> postForRead(String url, JsonArray body) {
+    final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
+
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.postAbs(url));
 
-    request.sendJsonObject(body, futureResponse::complete);
+    request.sendJson(body, recordClientRequest(request, futureResponse::complete));
 
     return futureResponse
       .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
@@ -112,13 +121,14 @@ public class OkapiHttpClient {
   public CompletionStage<Response> post(String url, String body) {
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.postAbs(url));
 
     final var buffer = body != null
       ? Buffer.buffer(body)
       : Buffer.buffer();
 
-    request.sendBuffer(buffer, futureResponse::complete);
+    request.sendBuffer(buffer, recordClientRequest(request, futureResponse::complete));
 
     return futureResponse
       .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
@@ -131,9 +141,10 @@ public class OkapiHttpClient {
   public CompletionStage<Response> put(String url, JsonObject body) {
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.putAbs(url));
 
-    request.sendJsonObject(body, futureResponse::complete);
+    request.sendJsonObject(body, recordClientRequest(request, futureResponse::complete));
 
     return futureResponse
       .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
@@ -143,15 +154,20 @@ public class OkapiHttpClient {
     return get(url.toString());
   }
 
+  /**
+   * Sends the GET request, or joins an identical request in flight, see {@link SingleFlight}.
+   */
   public CompletionStage<Response> get(String url) {
-    final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
+    return SingleFlight.get(url, tenantId, token, () -> {
+      final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
-    final HttpRequest<Buffer> request = withStandardHeaders(webClient.getAbs(url));
+      final HttpRequest<Buffer> request = withStandardHeaders(webClient.getAbs(url));
 
-    request.send(futureResponse::complete);
+      request.send(recordClientRequest(request, futureResponse::complete));
 
-    return futureResponse
-      .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
+      return futureResponse
+        .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
+    });
   }
 
   public CompletionStage<Response> get(String url, Map<String, String> params) {
@@ -160,7 +176,7 @@ public class OkapiHttpClient {
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.getAbs(url));
     params.forEach(request::addQueryParam);
 
-    request.send(futureResponse::complete);
+    request.send(recordClientRequest(request, futureResponse::complete));
 
     return futureResponse
       .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
@@ -173,14 +189,23 @@ public class OkapiHttpClient {
   public CompletionStage<Response> delete(String url) {
     final var futureResponse = new CompletableFuture<AsyncResult<HttpResponse<Buffer>>>();
 
+    invalidateReadsInFlight();
     final HttpRequest<Buffer> request = withStandardHeaders(webClient.deleteAbs(url));
 
-    request.send(futureResponse::complete);
+    request.send(recordClientRequest(request, futureResponse::complete));
 
     return futureResponse
       .thenCompose(OkapiHttpClient::mapAsyncResultToCompletionStage);
   }
 
+  /**
+   * Stops the GETs in flight for the tenant from being joined, as they may not see the state after a write,
+   * it has to be called by each write before it is sent.
+   */
+  private void invalidateReadsInFlight() {
+    SingleFlight.invalidate(tenantId);
+  }
+
   private HttpRequest<Buffer> withStandardHeaders(HttpRequest<Buffer> request) {
     return request
       .putHeader(ACCEPT, "application/json, text/plain")
@@ -200,9 +225,6 @@ public class OkapiHttpClient {
   }
 
   private static Response mapResponse(AsyncResult<HttpResponse<Buffer>> asyncResult) {
-    final var response = asyncResult.result();
-
-    return new Response(response.statusCode(), response.bodyAsString(),
-      response.getHeader(CONTENT_TYPE), response.getHeader(LOCATION));
+    return Response.from(asyncResult.result());
   }
 }
@@ -1,33 +1,89 @@
 package org.folio.inventory.support.http.client;
 
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import io.vertx.core.json.jackson.JacksonCodec;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.ext.web.client.HttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import static io.vertx.core.http.HttpHeaders.LOCATION;
 
+/**
+ * Response received from another module.
+ * <p>
+ * The body is kept as received, it is decoded to a string only when asked for and at most once.
+ * It is parsed as JSON at most once too, each call of {@link #getJson()} gets a copy of the parsed object,
+ * so that callers can modify what they get.
+ * Collection responses can also be decoded one record at a time with {@link #forEachRecord(String, Consumer)},
+ * without building the string or the JSON of the whole body.
+ */
 public class Response {
-  protected final String body;
+  private final Buffer bodyBuffer;
   private final int statusCode;
   private final String contentType;
   private final String location;
 
+  private volatile String body;
+  private volatile JsonObject json;
+
   public Response(int statusCode, String body, String contentType, String location) {
     this.statusCode = statusCode;
+    this.bodyBuffer = null;
     this.body = body;
     this.contentType = contentType;
     this.location = location;
   }
 
+  private Response(int statusCode, Buffer body, String contentType, String location) {
+    this.statusCode = statusCode;
+    this.bodyBuffer = body;
+    this.contentType = contentType;
+    this.location = location;
+  }
+
   public static Response from(HttpClientResponse response, Buffer body) {
     return new Response(response.statusCode(),
-      BufferHelper.stringFromBuffer(body),
+      body != null ? body : Buffer.buffer(),
       convertNullToEmpty(response.getHeader(CONTENT_TYPE.toString())),
       response.getHeader("Location"));
   }
 
+  public static Response from(HttpResponse<Buffer> response) {
+    return new Response(response.statusCode(), response.body(),
+      response.getHeader(CONTENT_TYPE.toString()), response.getHeader(LOCATION.toString()));
+  }
+
+  /**
+   * @return response with the same body, which is decoded on its own
+   */
+  public Response copy() {
+    return bodyBuffer != null
+      ? new Response(statusCode, bodyBuffer, contentType, location)
+      : new Response(statusCode, body, contentType, location);
+  }
+
   public boolean hasBody() {
-    return getBody() != null && !getBody().trim().equals("");
+    if (bodyBuffer != null) {
+      for (int i = 0; i < bodyBuffer.length(); i++) {
+        if (!Character.isWhitespace(bodyBuffer.getByte(i))) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return body != null && !body.trim().equals("");
   }
 
   public int getStatusCode() {
@@ -35,18 +91,55 @@ public class Response {
   }
 
   public String getBody() {
+    if (body == null && bodyBuffer != null) {
+      body = BufferHelper.stringFromBuffer(bodyBuffer);
+    }
     return body;
   }
 
+  /**
+   * @return body parsed as JSON, a new copy on each call, or empty object when there is no body
+   */
   public JsonObject getJson() {
-    String body = getBody();
-
-    if(hasBody()) {
-      return new JsonObject(body);
+    if (!hasBody()) {
+      return new JsonObject();
+    }
+    if (json == null) {
+      json = bodyBuffer != null
+        ? new JsonObject(bodyBuffer)
+        : new JsonObject(body);
     }
-    else {
+    return json.copy();
+  }
+
+  /**
+   * Decodes the records in the given array property of the body one at a time and passes each
+   * of them to the handler, so that only one record is held as JSON at any time.
+   *
+   * @param collectionPropertyName name of the array property holding the records
+   * @param recordHandler          receives each record
+   * @return other top level properties of the body, e.g. {@code totalRecords}
+   */
+  public JsonObject forEachRecord(String collectionPropertyName, Consumer<JsonObject> recordHandler) {
+    if (!hasBody()) {
       return new JsonObject();
     }
+
+    try (JsonParser parser = createParser()) {
+      return readCollection(parser, collectionPropertyName, recordHandler);
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @param collectionPropertyName name of the array property holding the records
+   * @return records in the given array property of the body, decoded one at a time
+   */
+  public List<JsonObject> getRecords(String collectionPropertyName) {
+    List<JsonObject> records = new ArrayList<>();
+    forEachRecord(collectionPropertyName, records::add);
+    return records;
   }
 
   public String getContentType() {
@@ -57,6 +150,41 @@ public class Response {
     return this.location;
   }
 
+  private JsonParser createParser() {
+    return bodyBuffer != null
+      ? JacksonCodec.createParser(bodyBuffer)
+      : JacksonCodec.createParser(body);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static JsonObject readCollection(JsonParser parser, String collectionPropertyName,
+    Consumer<JsonObject> recordHandler) throws IOException {
+
+    JsonObject otherProperties = new JsonObject();
+
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new DecodeException("Response body is not a JSON object");
+    }
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String propertyName = parser.getCurrentName();
+      JsonToken valueToken = parser.nextToken();
+
+      if (propertyName.equals(collectionPropertyName) && valueToken == JsonToken.START_ARRAY) {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          if (parser.currentToken() == JsonToken.START_OBJECT) {
+            recordHandler.accept(new JsonObject(DatabindCodec.mapper().readValue(parser, Map.class)));
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        otherProperties.put(propertyName, DatabindCodec.mapper().readValue(parser, Object.class));
+      }
+    }
+    return otherProperties;
+  }
+
   private static String convertNullToEmpty(String text) {
     return text != null ? text : "";
   }
@@ -0,0 +1,159 @@
+package org.folio.inventory.support.http.client;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.metrics.InventoryMetrics;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Coalesces identical GET requests which are in flight at the same time, so that they share one
+ * request to the other module.
+ * <p>
+ * Requests are identical when they have the same URL, tenant and token. A request which joins
+ * a request in flight gets its own {@link Response} of the same body, completed on the Vert.x context
+ * it was sent from. A request whose response would be shared is only joined until the response arrives,
+ * or until a write is sent for the same tenant through {@link OkapiHttpClient} or a storage collection,
+ * so a GET sent after such a write does not get the state from before it. A request in flight for more than
+ * {@value #MAX_JOIN_AGE_SECONDS} seconds is not joined either, so that a hung request does not hold the others.
+ * <p>
+ * Coalescing can be turned off by setting the {@value #ENABLED} system property to false.
+ */
+public final class SingleFlight {
+
+  private static final Logger LOGGER = LogManager.getLogger(SingleFlight.class);
+
+  public static final String ENABLED = "inventory.http.client.coalesceGets";
+
+  private static final long MAX_JOIN_AGE_SECONDS = 10;
+  private static final long MAX_JOIN_AGE_NANOS = TimeUnit.SECONDS.toNanos(MAX_JOIN_AGE_SECONDS);
+
+  private static final boolean IS_ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED, "true"));
+  // keyed by tenant first, so that a write drops the requests in flight of its tenant without scanning the others
+  private static final Map<String, Map<Key, Flight>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+  private SingleFlight() {
+  }
+
+  /**
+   * Sends the GET request, unless an identical request is in flight.
+   *
+   * @param url      absolute URL of the request
+   * @param tenantId tenant the request is sent for
+   * @param token    token the request is sent with
+   * @param request  sends the request
+   * @return response of the request
+   */
+  public static CompletableFuture<Response> get(String url, String tenantId, String token,
+    Supplier<? extends CompletionStage<Response>> request) {
+
+    if (!IS_ENABLED) {
+      return request.get().toCompletableFuture();
+    }
+
+    Map<Key, Flight> flights = IN_FLIGHT.computeIfAbsent(tenantKey(tenantId), k -> new ConcurrentHashMap<>());
+    Key key = new Key(url, tenantId, token);
+    Flight flight = new Flight();
+    Flight inFlight = flights.putIfAbsent(key, flight);
+
+    if (inFlight != null && flight.startedAt - inFlight.startedAt < MAX_JOIN_AGE_NANOS) {
+      LOGGER.debug("get:: Joining request in flight to {}", url);
+      InventoryMetrics.recordCoalescedClientRequest(url);
+      return join(inFlight.response);
+    }
+    if (inFlight != null) {
+      flights.replace(key, inFlight, flight);
+    }
+
+    try {
+      request.get().whenComplete((response, error) -> {
+        flights.remove(key, flight);
+        complete(flight.response, response, error);
+      });
+    } catch (Exception e) {
+      flights.remove(key, flight);
+      flight.response.completeExceptionally(e);
+    }
+    return flight.response;
+  }
+
+  /**
+   * Stops requests in flight for the tenant from being joined, it has to be called before any write
+   * is sent for the tenant.
+   *
+   * @param tenantId tenant a write is sent for
+   */
+  public static void invalidate(String tenantId) {
+    IN_FLIGHT.remove(tenantKey(tenantId));
+  }
+
+  private static String tenantKey(String tenantId) {
+    return tenantId == null ? "" : tenantId;
+  }
+
+  private static CompletableFuture<Response> join(CompletableFuture<Response> inFlight) {
+    CompletableFuture<Response> joined = new CompletableFuture<>();
+    Context context = Vertx.currentContext();
+
+    inFlight.whenComplete((response, error) -> {
+      Response copy = response != null ? response.copy() : null;
+      if (context == null || context == Vertx.currentContext()) {
+        complete(joined, copy, error);
+      } else {
+        context.runOnContext(v -> complete(joined, copy, error));
+      }
+    });
+    return joined;
+  }
+
+  private static void complete(CompletableFuture<Response> future, Response response, Throwable error) {
+    if (error != null) {
+      future.completeExceptionally(error);
+    } else {
+      future.complete(response);
+    }
+  }
+
+  private static final class Flight {
+    private final long startedAt = System.nanoTime();
+    private final CompletableFuture<Response> response = new CompletableFuture<>();
+  }
+
+  private static final class Key {
+    private final String url;
+    private final String tenantId;
+    private final String token;
+
+    private Key(String url, String tenantId, String token) {
+      this.url = url;
+      this.tenantId = tenantId;
+      this.token = token;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return url.equals(other.url) && Objects.equals(tenantId, other.tenantId) && Objects.equals(token, other.token);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(url, tenantId, token);
+    }
+  }
+}
@@ -14,6 +14,7 @@ import java.util.concurrent.TimeoutException;
 import org.folio.inventory.InventoryVerticle;
 import org.folio.inventory.common.VertxAssistant;
 import org.folio.inventory.rest.impl.PgPoolContainer;
+import org.folio.inventory.support.http.client.HttpClientFactory;
 import org.folio.inventory.support.http.client.OkapiHttpClient;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -245,6 +246,7 @@ public class ApiTestSuite {
 
   private static void startVertx() {
     vertxAssistant.start();
+    vertxAssistant.createUsingVertx(HttpClientFactory::createHttpClient);
   }
 
   private static void startInventoryVerticle()
@@ -265,7 +267,7 @@ public class ApiTestSuite {
     config.put("storage.location", storageLocation);
 
     vertxAssistant.deployVerticle(
-      InventoryVerticle.class.getName(), config, deployed);
+      InventoryVerticle.class.getName(), config, 1, false, deployed);
 
     inventoryModuleDeploymentId = deployed.get(20000, TimeUnit.MILLISECONDS);
   }
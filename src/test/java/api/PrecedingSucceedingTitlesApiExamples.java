@@ -4,16 +4,19 @@ import static api.support.InstanceSamples.nod;
 import static api.support.InstanceSamples.smallAngryPlanet;
 import static api.support.InstanceSamples.taoOfPooh;
 import static api.support.InstanceSamples.uprooted;
+import static io.vertx.core.http.HttpMethod.GET;
 import static org.folio.inventory.domain.instances.Instance.PRECEDING_TITLES_KEY;
 import static org.folio.inventory.domain.instances.Instance.SUCCEEDING_TITLES_KEY;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertNull;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.joda.time.DateTimeZone.UTC;
 import static support.matchers.ResponseMatchers.hasValidationError;
 
 import java.net.MalformedURLException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
@@ -25,14 +28,22 @@ import org.apache.commons.lang3.StringUtils;
 import org.folio.inventory.support.JsonArrayHelper;
 import org.folio.inventory.support.http.client.IndividualResource;
 import org.folio.inventory.support.http.client.Response;
+import org.joda.time.DateTime;
+import org.junit.After;
 import org.junit.Test;
 
 import api.support.ApiTests;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import support.fakes.EndpointFailureDescriptor;
 
 public class PrecedingSucceedingTitlesApiExamples extends ApiTests {
 
+  @After
+  public void disableFailureEmulation() throws Exception {
+    instancesStorageClient.disableFailureEmulation();
+  }
+
   @Test
   public void canCreateAnInstanceWithUnconnectedPrecedingTitles()
     throws InterruptedException, MalformedURLException, TimeoutException,
@@ -561,6 +572,75 @@ public class PrecedingSucceedingTitlesApiExamples extends ApiTests {
     assertSucceedingTitles(succeedingTitles.getJsonObject(0), createdAngryPlanet.getJson(), angryPlanetId.toString());
   }
 
+  @Test
+  public void canGetPageOfInstancesSharingRelatedTitlesWithOneQuery() throws Exception {
+    UUID nodId = UUID.randomUUID();
+    UUID uprootedId = UUID.randomUUID();
+    UUID firstAngryPlanetId = UUID.randomUUID();
+    UUID secondAngryPlanetId = UUID.randomUUID();
+    IndividualResource createdNod = instancesClient.create(nod(nodId));
+    IndividualResource createdUprooted = instancesClient.create(uprooted(uprootedId));
+
+    instancesClient.create(smallAngryPlanet(firstAngryPlanetId)
+      .put(PRECEDING_TITLES_KEY, new JsonArray()
+        .add(createConnectedPrecedingTitle(UUID.randomUUID().toString(), nodId.toString()))));
+    instancesClient.create(smallAngryPlanet(secondAngryPlanetId)
+      .put(PRECEDING_TITLES_KEY, new JsonArray()
+        .add(createConnectedPrecedingTitle(UUID.randomUUID().toString(), nodId.toString())))
+      .put(SUCCEEDING_TITLES_KEY, new JsonArray()
+        .add(createConnectedSucceedingTitle(UUID.randomUUID().toString(), uprootedId.toString()))));
+
+    int queriesBefore = instancesStorageClient.getRecordedQueries().size();
+
+    Map<String, JsonObject> instances = instancesClient
+      .getMany(String.format("id==(%s or %s)", firstAngryPlanetId, secondAngryPlanetId), 10)
+      .stream()
+      .collect(Collectors.toMap(instance -> instance.getString("id"), Function.identity()));
+
+    List<String> queries = instancesStorageClient.getRecordedQueries();
+    List<String> relatedInstancesQueries = queries.subList(queriesBefore, queries.size()).stream()
+      .filter(query -> query.contains(nodId.toString()))
+      .collect(Collectors.toList());
+
+    assertThat(relatedInstancesQueries.size(), is(1));
+    assertThat(relatedInstancesQueries.get(0).contains(uprootedId.toString()), is(true));
+
+    JsonObject firstAngryPlanet = instances.get(firstAngryPlanetId.toString());
+    assertPrecedingTitles(firstAngryPlanet.getJsonArray(PRECEDING_TITLES_KEY).getJsonObject(0),
+      createdNod.getJson(), nodId.toString());
+
+    JsonObject secondAngryPlanet = instances.get(secondAngryPlanetId.toString());
+    assertPrecedingTitles(secondAngryPlanet.getJsonArray(PRECEDING_TITLES_KEY).getJsonObject(0),
+      createdNod.getJson(), nodId.toString());
+    assertSucceedingTitles(secondAngryPlanet.getJsonArray(SUCCEEDING_TITLES_KEY).getJsonObject(0),
+      createdUprooted.getJson(), uprootedId.toString());
+  }
+
+  @Test
+  public void shouldRespondWithErrorWhenRelatedInstancesLookupFails() throws Exception {
+    final String expectedErrorMessage = "Instance-storage is temporary unavailable";
+
+    UUID nodId = UUID.randomUUID();
+    UUID angryPlanetId = UUID.randomUUID();
+    instancesClient.create(nod(nodId));
+    instancesClient.create(smallAngryPlanet(angryPlanetId)
+      .put(PRECEDING_TITLES_KEY, new JsonArray()
+        .add(createConnectedPrecedingTitle(UUID.randomUUID().toString(), nodId.toString()))));
+
+    instancesStorageClient.emulateFailure(new EndpointFailureDescriptor()
+      .setFailureExpireDate(DateTime.now(UTC).plusSeconds(2).toDate())
+      .setBody(expectedErrorMessage)
+      .setContentType("plain/text")
+      .setStatusCode(500)
+      .setMethod(GET.name())
+      .setUriContains(nodId.toString()));
+
+    Response response = instancesClient.getById(angryPlanetId);
+
+    assertThat(response.getStatusCode(), is(500));
+    assertThat(response.getBody(), is(expectedErrorMessage));
+  }
+
   private void verifyRelatedInstancePrecedingTitle(IndividualResource precedingInstance,
     IndividualResource succeedingInstance) throws MalformedURLException,
     InterruptedException, ExecutionException, TimeoutException {
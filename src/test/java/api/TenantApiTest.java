@@ -7,27 +7,71 @@ import org.folio.inventory.common.dao.PostgresConnectionOptions;
 import org.folio.inventory.support.http.client.Response;
 import org.junit.Test;
 
+import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import static api.ApiTestSuite.TENANT_ID;
 import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.folio.HttpStatus.HTTP_INTERNAL_SERVER_ERROR;
+import static org.folio.HttpStatus.HTTP_CREATED;
 import static org.folio.HttpStatus.HTTP_NO_CONTENT;
+import static org.folio.HttpStatus.HTTP_NOT_FOUND;
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.*;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TenantApiTest extends ApiTests {
 
   public static int NO_CONTENT_STATUS = HTTP_NO_CONTENT.toInt();
-  public static int INTERNAL_SERVER_ERROR_STATUS = HTTP_INTERNAL_SERVER_ERROR.toInt();
 
   @Test
   public void shouldCreateSchemaWithTables() throws Exception {
-    final var postCompleted = okapiClient
-      .post(ApiRoot.tenant(), "{}");
+    Response job = initializeTenant("{\"module_to\": \"mod-inventory-20.1.0\"}");
+
+    assertThat(job.getJson().getBoolean("complete"), is(true));
+    assertThat(job.getJson().getString("error"), nullValue());
+    assertThat(job.getJson().getJsonObject("tenantAttributes").getString("module_to"), is("mod-inventory-20.1.0"));
+  }
+
+  @Test
+  public void shouldRespondWithJobBeforeItCompletes() throws Exception {
+    Response postResponse = okapiClient.post(ApiRoot.tenant(), "{}").toCompletableFuture().get(10, SECONDS);
+
+    assertThat(postResponse.getStatusCode(), is(HTTP_CREATED.toInt()));
+    assertThat(postResponse.getLocation(), is("/_/tenant/" + postResponse.getJson().getString("id")));
+    assertThat(postResponse.getJson().getString("tenant"), is(TENANT_ID));
+
+    waitForJob(postResponse);
+  }
+
+  @Test
+  public void shouldDeleteCompletedJob() throws Exception {
+    Response job = initializeTenant("{}");
+    URL jobUrl = new URL(ApiRoot.tenant() + "/" + job.getJson().getString("id"));
+
+    Response deleteResponse = okapiClient.delete(jobUrl).toCompletableFuture().get(10, SECONDS);
+    assertThat(deleteResponse.getStatusCode(), is(NO_CONTENT_STATUS));
+
+    Response getResponse = okapiClient.get(jobUrl).toCompletableFuture().get(10, SECONDS);
+    assertThat(getResponse.getStatusCode(), is(HTTP_NOT_FOUND.toInt()));
+  }
+
+  @Test
+  public void shouldPurgeTenantInJob() throws Exception {
+    initializeTenant("{}");
+
+    Response job = initializeTenant("{\"purge\": true}");
+
+    assertThat(job.getJson().getBoolean("complete"), is(true));
+    assertThat(job.getJson().getString("error"), nullValue());
+  }
+
+  @Test
+  public void shouldNotStartJobWhenModuleIsDisabled() throws Exception {
+    Response postResponse = okapiClient.post(ApiRoot.tenant(), "{\"module_from\": \"mod-inventory-20.0.0\"}")
+      .toCompletableFuture().get(10, SECONDS);
 
-    Response postResponse = postCompleted.toCompletableFuture().get(10, SECONDS);
     assertThat(postResponse.getStatusCode(), is(NO_CONTENT_STATUS));
   }
 
@@ -41,37 +85,17 @@ public class TenantApiTest extends ApiTests {
       DB_PASSWORD, pgConnectOptions.getPassword());
     PostgresConnectionOptions.setSystemProperties(new HashMap<>());
 
-    final var postCompleted = okapiClient
-      .post(ApiRoot.tenant(), "{}");
-
-    Response postResponse = postCompleted.toCompletableFuture().get(10, SECONDS);
-    assertThat(postResponse.getStatusCode(), is(INTERNAL_SERVER_ERROR_STATUS));
+    Response job = initializeTenant("{}");
+    assertThat(job.getJson().getBoolean("complete"), is(true));
+    assertThat(job.getJson().getString("error"), notNullValue());
 
     PostgresConnectionOptions.setSystemProperties(systemProperties);
   }
 
-  @Test
-  public void shouldCreateAndDeleteSchema() throws Exception {
-    final var postCompleted = okapiClient
-      .post(ApiRoot.tenant(), "{}");
-
-    Response postResponse = postCompleted.toCompletableFuture().get(10, SECONDS);
-    assertThat(postResponse.getStatusCode(), is(HTTP_NO_CONTENT.toInt()));
-
-    final var deleteCompleted = okapiClient
-      .delete(ApiRoot.tenant());
-
-    Response deleteResponse = deleteCompleted.toCompletableFuture().get(10, SECONDS);
-    assertThat(deleteResponse.getStatusCode(), is(NO_CONTENT_STATUS));
-  }
-
   @Test
   public void shouldNotDropSchemaWithIncorrectConnectionOptions() throws Exception {
-    final var postCompleted = okapiClient
-      .post(ApiRoot.tenant(), "{}");
-
-    Response postResponse = postCompleted.toCompletableFuture().get(10, SECONDS);
-    assertThat(postResponse.getStatusCode(), is(NO_CONTENT_STATUS));
+    Response job = initializeTenant("{}");
+    assertThat(job.getJson().getString("error"), nullValue());
 
     PgConnectOptions pgConnectOptions = PostgresConnectionOptions.getConnectionOptions(TENANT_ID);
     Map<String, String> systemProperties = Map.of(DB_HOST, pgConnectOptions.getHost(),
@@ -81,19 +105,29 @@ public class TenantApiTest extends ApiTests {
       DB_PASSWORD, pgConnectOptions.getPassword());
     PostgresConnectionOptions.setSystemProperties(Map.of(DB_HOST, "invalid"));
 
-    final var deleteCompletedBefore = okapiClient
-      .delete(ApiRoot.tenant());
-
-    Response deleteResponseBefore = deleteCompletedBefore.toCompletableFuture().get(10, SECONDS);
-    assertThat(deleteResponseBefore.getStatusCode(), is(INTERNAL_SERVER_ERROR_STATUS));
+    Response purgeJobBefore = initializeTenant("{\"purge\": true}");
+    assertThat(purgeJobBefore.getJson().getString("error"), notNullValue());
 
     PostgresConnectionOptions.setSystemProperties(systemProperties);
 
-    final var deleteCompletedAfter = okapiClient
-      .delete(ApiRoot.tenant());
+    Response purgeJobAfter = initializeTenant("{\"purge\": true}");
+    assertThat(purgeJobAfter.getJson().getString("error"), nullValue());
+  }
+
+  private Response initializeTenant(String tenantAttributes) throws Exception {
+    Response postResponse = okapiClient.post(ApiRoot.tenant(), tenantAttributes)
+      .toCompletableFuture().get(10, SECONDS);
+    assertThat(postResponse.getStatusCode(), is(HTTP_CREATED.toInt()));
 
-    Response deleteResponseAfter = deleteCompletedAfter.toCompletableFuture().get(10, SECONDS);
-    assertThat(deleteResponseAfter.getStatusCode(), is(NO_CONTENT_STATUS));
+    return waitForJob(postResponse);
   }
 
+  private Response waitForJob(Response postResponse) throws Exception {
+    URL jobUrl = new URL(ApiRoot.tenant() + "/" + postResponse.getJson().getString("id") + "?wait=10000");
+
+    Response getResponse = okapiClient.get(jobUrl).toCompletableFuture().get(20, SECONDS);
+    assertThat(getResponse.getStatusCode(), is(200));
+    assertThat(getResponse.getJson().getBoolean("complete"), is(true));
+    return getResponse;
+  }
 }
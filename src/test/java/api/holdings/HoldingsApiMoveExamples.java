@@ -12,6 +12,8 @@ import org.folio.inventory.support.http.client.Response;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.joda.time.DateTime;
+import support.fakes.EndpointFailureDescriptor;
 
 import java.net.MalformedURLException;
 import java.util.Arrays;
@@ -25,11 +27,13 @@ import java.util.concurrent.TimeoutException;
 import static api.ApiTestSuite.ID_FOR_FAILURE;
 import static api.support.InstanceSamples.nod;
 import static api.support.InstanceSamples.smallAngryPlanet;
+import static io.vertx.core.http.HttpMethod.POST;
 import static org.folio.inventory.support.http.ContentType.APPLICATION_JSON;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.joda.time.DateTimeZone.UTC;
 import static support.matchers.ResponseMatchers.hasValidationError;
 
 @RunWith(JUnitParamsRunner.class)
@@ -99,6 +103,40 @@ public class HoldingsApiMoveExamples extends ApiTests {
     JsonObject updatedHoldingsRecord1 = holdingsStorageClient.getById(createHoldingsRecord1)
       .getJson();
     assertThat(newInstanceId.toString(), equalTo(updatedHoldingsRecord1.getString(INSTANCE_ID)));
+    assertThat(holdingsStorageClient.getById(createHoldingsRecord2).getStatusCode(), is(404));
+  }
+
+  @Test
+  public void shouldForwardFailureWhenHoldingsRecordsBatchIsRejected() throws InterruptedException, MalformedURLException, TimeoutException, ExecutionException {
+
+    UUID oldInstanceId = UUID.randomUUID();
+    InstanceApiClient.createInstance(okapiClient, smallAngryPlanet(oldInstanceId));
+    UUID newInstanceId = UUID.randomUUID();
+    InstanceApiClient.createInstance(okapiClient, nod(newInstanceId));
+
+    final UUID createHoldingsRecord = createHoldingForInstance(oldInstanceId);
+
+    holdingsStorageClient.emulateFailure(new EndpointFailureDescriptor()
+      .setFailureExpireDate(DateTime.now(UTC).plusSeconds(2).toDate())
+      .setBody("Access requires permission: holdings-storage.batch.synchronous.post")
+      .setContentType("text/plain")
+      .setStatusCode(403)
+      .setMethod(POST.name()));
+
+    JsonObject holdingsRecordMoveRequestBody = new HoldingsRecordMoveRequestBuilder(newInstanceId,
+      new JsonArray(Collections.singletonList(createHoldingsRecord.toString()))).create();
+
+    Response postHoldingsRecordsMoveResponse = moveHoldingsRecords(holdingsRecordMoveRequestBody);
+
+    holdingsStorageClient.disableFailureEmulation();
+
+    assertThat(postHoldingsRecordsMoveResponse.getStatusCode(), is(403));
+    assertThat(postHoldingsRecordsMoveResponse.getBody(),
+      is("Access requires permission: holdings-storage.batch.synchronous.post"));
+
+    JsonObject notMovedHoldingsRecord = holdingsStorageClient.getById(createHoldingsRecord)
+      .getJson();
+    assertThat(notMovedHoldingsRecord.getString(INSTANCE_ID), is(oldInstanceId.toString()));
   }
 
   @Test
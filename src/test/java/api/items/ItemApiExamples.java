@@ -61,10 +61,12 @@ import api.support.ApiTests;
 import api.support.InstanceApiClient;
 import api.support.builders.HoldingRequestBuilder;
 import api.support.builders.ItemRequestBuilder;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import support.fakes.EndpointFailureDescriptor;
 
 @RunWith(JUnitParamsRunner.class)
 public class ItemApiExamples extends ApiTests {
@@ -676,6 +678,174 @@ public class ItemApiExamples extends ApiTests {
     secondPageItems.forEach(this::assertCallNumbers);
   }
 
+  @Test
+  public void cannotGetItemsWhenHoldingsStorageCannotBeReached()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    JsonObject smallAngryInstance = createInstance(smallAngryPlanet(UUID.randomUUID()));
+
+    UUID smallAngryHoldingId = holdingsStorageClient.create(
+      new HoldingRequestBuilder()
+        .forInstance(UUID.fromString(smallAngryInstance.getString("id")))
+    ).getId();
+
+    itemsClient.create(new ItemRequestBuilder()
+      .forHolding(smallAngryHoldingId)
+      .book()
+      .canCirculate()
+      .withBarcode("645398607547"));
+
+    holdingsStorageClient.emulateFailure(new EndpointFailureDescriptor()
+      .setFailureExpireDate(DateTime.now(DateTimeZone.UTC).plusSeconds(2).toDate())
+      .setCloseConnection(true)
+      .setMethod(HttpMethod.GET.name()));
+
+    Response getAllResponse = okapiClient.get(items(""))
+      .toCompletableFuture().get(5, SECONDS);
+
+    assertThat(getAllResponse.getStatusCode(), is(500));
+  }
+
+  @Test
+  public void canExportAllItemsInChunks()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    JsonObject smallAngryInstance = createInstance(smallAngryPlanet(UUID.randomUUID()));
+
+    UUID smallAngryHoldingId = holdingsStorageClient.create(
+      new HoldingRequestBuilder()
+        .forInstance(UUID.fromString(smallAngryInstance.getString("id")))
+        .withCallNumber(CALL_NUMBER)
+    ).getId();
+
+    JsonObject nodInstance = createInstance(nod(UUID.randomUUID()));
+
+    UUID nodHoldingId = holdingsStorageClient.create(
+      new HoldingRequestBuilder()
+        .forInstance(UUID.fromString(nodInstance.getString("id")))
+        .withCallNumber(CALL_NUMBER)
+    ).getId();
+
+    itemsClient.create(new ItemRequestBuilder()
+      .forHolding(smallAngryHoldingId)
+      .book()
+      .canCirculate()
+      .withBarcode("645398607547"));
+
+    itemsClient.create(new ItemRequestBuilder()
+      .forHolding(smallAngryHoldingId)
+      .book()
+      .courseReserves()
+      .withBarcode("175848607547"));
+
+    itemsClient.create(new ItemRequestBuilder()
+      .forHolding(nodHoldingId)
+      .dvd()
+      .canCirculate()
+      .temporarilyCourseReserves()
+      .withBarcode("645334645247"));
+
+    itemsClient.create(new ItemRequestBuilder()
+      .forHolding(nodHoldingId)
+      .book()
+      .courseReserves()
+      .withBarcode("564566456546"));
+
+    itemsClient.create(new ItemRequestBuilder()
+      .forHolding(nodHoldingId)
+      .book()
+      .courseReserves()
+      .withBarcode("943209584495"));
+
+    Response exportResponse = okapiClient.get(ApiRoot.exportItems("chunkSize=2"))
+      .toCompletableFuture().get(5, SECONDS);
+
+    assertThat(exportResponse.getStatusCode(), is(200));
+    assertThat(exportResponse.getContentType(), is("application/x-ndjson"));
+
+    List<JsonObject> exportedItems = exportResponse.getBody().lines()
+      .map(JsonObject::new)
+      .collect(Collectors.toList());
+
+    List<String> exportedIds = exportedItems.stream()
+      .map(item -> item.getString("id"))
+      .collect(Collectors.toList());
+
+    assertThat(exportedItems.size(), is(5));
+    assertThat(exportedIds, is(exportedIds.stream().sorted().collect(Collectors.toList())));
+
+    exportedItems.forEach(ItemApiExamples::hasConsistentMaterialType);
+    exportedItems.forEach(ItemApiExamples::hasConsistentPermanentLoanType);
+    exportedItems.forEach(ItemApiExamples::hasStatus);
+    exportedItems.forEach(ItemApiExamples::hasConsistentPermanentLocation);
+    exportedItems.forEach(item -> assertThat(item.getString("title"), notNullValue()));
+  }
+
+  @Test
+  public void exportFailsWhenItemStorageCannotBeReached()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    itemsStorageClient.emulateFailure(new EndpointFailureDescriptor()
+      .setFailureExpireDate(DateTime.now(DateTimeZone.UTC).plusSeconds(2).toDate())
+      .setCloseConnection(true)
+      .setMethod(HttpMethod.GET.name()));
+
+    Response exportResponse = okapiClient.get(ApiRoot.exportItems("chunkSize=2"))
+      .toCompletableFuture().get(5, SECONDS);
+
+    assertThat(exportResponse.getStatusCode(), is(500));
+  }
+
+  @Test
+  public void cannotExportItemsWithInvalidChunkSize()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    Response exportResponse = okapiClient.get(ApiRoot.exportItems("chunkSize=0"))
+      .toCompletableFuture().get(5, SECONDS);
+
+    assertThat(exportResponse.getStatusCode(), is(400));
+  }
+
+  @Test
+  public void cannotExportItemsWithSortBy()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    Response exportResponse = okapiClient.get(
+      ApiRoot.exportItems("query=" + urlEncode("cql.allRecords=1 sortBy title")))
+      .toCompletableFuture().get(5, SECONDS);
+
+    assertThat(exportResponse.getStatusCode(), is(400));
+  }
+
+  @Test
+  public void canExportItemsWithSortByInQuotedTerm()
+    throws InterruptedException,
+    MalformedURLException,
+    TimeoutException,
+    ExecutionException {
+
+    Response exportResponse = okapiClient.get(
+      ApiRoot.exportItems("query=" + urlEncode("title=\"sortBy guide\"")))
+      .toCompletableFuture().get(5, SECONDS);
+
+    assertThat(exportResponse.getStatusCode(), is(200));
+  }
+
   @Test
   public void CanGetAllItemsWithDifferentTemporaryLoanType()
     throws InterruptedException,
@@ -2,6 +2,7 @@ package api.items;
 
 import static api.ApiTestSuite.ID_FOR_FAILURE;
 import static api.support.InstanceSamples.smallAngryPlanet;
+import static io.vertx.core.http.HttpMethod.POST;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.folio.inventory.support.JsonArrayHelper.toList;
 import static org.folio.inventory.support.JsonArrayHelper.toListOfStrings;
@@ -11,6 +12,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.joda.time.DateTimeZone.UTC;
 
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +23,7 @@ import java.util.stream.Stream;
 import org.folio.inventory.domain.items.ItemStatusName;
 import org.folio.inventory.support.http.client.IndividualResource;
 import org.folio.inventory.support.http.client.Response;
+import org.joda.time.DateTime;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -35,6 +38,7 @@ import api.support.builders.ItemsMoveRequestBuilder;
 import io.vertx.core.json.JsonObject;
 import junitparams.JUnitParamsRunner;
 import lombok.SneakyThrows;
+import support.fakes.EndpointFailureDescriptor;
 
 @RunWith(JUnitParamsRunner.class)
 public class ItemApiMoveExamples extends ApiTests {
@@ -101,6 +105,41 @@ public class ItemApiMoveExamples extends ApiTests {
     final var updatedItem = itemsClient.getById(item.getId()).getJson();
 
     assertThat(newHoldingsId.toString(), equalTo(updatedItem.getString(HOLDINGS_RECORD_ID)));
+    assertThat(itemsStorageClient.getById(nonExistentItemId).getStatusCode(), is(404));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldForwardFailureWhenItemsBatchIsRejected() {
+    final var instanceId = createInstance();
+
+    final var existingHoldingsId = createHoldingsForInstance(instanceId);
+    final var newHoldingsId = createHoldingsForInstance(instanceId);
+
+    final var item = itemsClient.create(
+      new ItemRequestBuilder()
+        .forHolding(existingHoldingsId)
+        .withBarcode("645398607547")
+        .withStatus(ItemStatusName.AVAILABLE.value()));
+
+    itemsStorageClient.emulateFailure(new EndpointFailureDescriptor()
+      .setFailureExpireDate(DateTime.now(UTC).plusSeconds(2).toDate())
+      .setBody("Access requires permission: item-storage.batch.synchronous.post")
+      .setContentType("text/plain")
+      .setStatusCode(403)
+      .setMethod(POST.name()));
+
+    final var moveItemsResponse = moveItems(newHoldingsId, item);
+
+    itemsStorageClient.disableFailureEmulation();
+
+    assertThat(moveItemsResponse.getStatusCode(), is(403));
+    assertThat(moveItemsResponse.getBody(),
+      is("Access requires permission: item-storage.batch.synchronous.post"));
+
+    final var notMovedItem = itemsClient.getById(item.getId()).getJson();
+
+    assertThat(notMovedItem.getString(HOLDINGS_RECORD_ID), is(existingHoldingsId.toString()));
   }
 
   @Test
@@ -41,6 +41,12 @@ public class ApiRoot {
     return new URL(String.format("%s/items", inventory()));
   }
 
+  public static URL exportItems(String query)
+    throws MalformedURLException {
+
+    return new URL(String.format("%s/items/export?%s", inventory(), query));
+  }
+
   public static URL moveItems()
     throws MalformedURLException {
 
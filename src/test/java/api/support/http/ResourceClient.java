@@ -297,6 +297,22 @@ public class ResourceClient {
     return getFinished.toCompletableFuture().get(5, SECONDS);
   }
 
+  /**
+   * @return CQL queries of the GET requests received by the fake storage module, in the order received
+   */
+  public List<String> getRecordedQueries() throws MalformedURLException,
+    InterruptedException, ExecutionException, TimeoutException {
+
+    final var getFinished = client.get(urlMaker.combine("/recorded-queries"));
+
+    Response response = getFinished.toCompletableFuture().get(5, SECONDS);
+
+    assertThat(format("Get recorded queries failed: %s", response.getBody()),
+      response.getStatusCode(), is(200));
+
+    return JsonArrayHelper.toListOfStrings(response.getJson().getJsonArray("queries"));
+  }
+
   public void emulateFailure(EndpointFailureDescriptor failureDescriptor)
     throws MalformedURLException, InterruptedException, ExecutionException, TimeoutException {
 
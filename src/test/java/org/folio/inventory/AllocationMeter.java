@@ -0,0 +1,36 @@
+package org.folio.inventory;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures memory allocated by the current thread, for the tests of the {@link PerformanceTest} category.
+ */
+public final class AllocationMeter {
+
+  private AllocationMeter() {
+  }
+
+  /**
+   * @return whether the JVM can measure memory allocated by a thread
+   */
+  public static boolean isSupported() {
+    var threadMXBean = ManagementFactory.getThreadMXBean();
+    return threadMXBean instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled();
+  }
+
+  /**
+   * @param times  number of times to run the action
+   * @param action action to measure
+   * @return bytes allocated by the current thread while running the action the given number of times
+   */
+  public static long allocatedBytes(int times, Runnable action) {
+    var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < times; i++) {
+      action.run();
+    }
+    return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+  }
+}
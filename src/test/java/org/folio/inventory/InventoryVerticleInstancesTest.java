@@ -0,0 +1,90 @@
+package org.folio.inventory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.inventory.common.VertxAssistant;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.Deployment;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+public class InventoryVerticleInstancesTest {
+
+  private static final String PATH = "/isbn/validator?isbn=9781930110991";
+  private static final int INSTANCES = 3;
+  private static final int REQUESTS_PER_INSTANCE = 4;
+
+  private final VertxAssistant vertxAssistant = new VertxAssistant();
+  private WebClient webClient;
+
+  @Before
+  public void setUp() {
+    vertxAssistant.start();
+    // a connection per request, as connections are handed to the instances sharing the port in turn
+    webClient = vertxAssistant.createUsingVertx(vertx -> WebClient.create(vertx,
+      new WebClientOptions().setKeepAlive(false)));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    webClient.close();
+    CompletableFuture<Void> stopped = new CompletableFuture<>();
+    vertxAssistant.stop(stopped);
+    stopped.get(20, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void allInstancesShouldBeDeployedAndServeRequests() throws Exception {
+    int port = freePort();
+    Map<String, Object> config = new HashMap<>();
+    config.put("port", port);
+    config.put("storage.type", "okapi");
+
+    CompletableFuture<String> deployed = new CompletableFuture<>();
+    vertxAssistant.deployVerticle(InventoryVerticle.class.getName(), config, INSTANCES, false, deployed);
+    String deploymentId = deployed.get(20, TimeUnit.SECONDS);
+
+    Vertx vertx = vertxAssistant.getVertx();
+    Deployment deployment = ((VertxInternal) vertx).getDeployment(deploymentId);
+    assertThat(deployment.getVerticles().size(), is(INSTANCES));
+    assertThat(deployment.deploymentOptions().isWorker(), is(false));
+
+    List<CompletableFuture<Integer>> statusCodes = new ArrayList<>();
+    for (int i = 0; i < INSTANCES * REQUESTS_PER_INSTANCE; i++) {
+      CompletableFuture<Integer> statusCode = new CompletableFuture<>();
+      webClient.get(port, "localhost", PATH).send(ar -> {
+        if (ar.succeeded()) {
+          statusCode.complete(ar.result().statusCode());
+        } else {
+          statusCode.completeExceptionally(ar.cause());
+        }
+      });
+      statusCodes.add(statusCode);
+    }
+
+    for (CompletableFuture<Integer> statusCode : statusCodes) {
+      assertThat(statusCode.get(20, TimeUnit.SECONDS), is(200));
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
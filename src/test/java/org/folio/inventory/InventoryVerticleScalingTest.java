@@ -0,0 +1,144 @@
+package org.folio.inventory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.common.VertxAssistant;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+/**
+ * Throughput test: compares requests per second handled by one instance of {@link InventoryVerticle}
+ * with requests per second handled by one instance per available core.
+ */
+@Category(PerformanceTest.class)
+public class InventoryVerticleScalingTest {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String PATH = "/isbn/validator?isbn=9781930110991";
+  private static final int WARM_UP_REQUESTS = 2000;
+  private static final int MEASURED_REQUESTS = 20000;
+  private static final int CONCURRENT_REQUESTS = 64;
+  private static final int MAX_MEASURED_INSTANCES = 4;
+  private static final double MIN_SCALING_EFFICIENCY = 0.6;
+
+  private final VertxAssistant vertxAssistant = new VertxAssistant();
+  private WebClient webClient;
+
+  @Before
+  public void setUp() {
+    vertxAssistant.start();
+    webClient = vertxAssistant.createUsingVertx(vertx -> WebClient.create(vertx,
+      new WebClientOptions().setMaxPoolSize(CONCURRENT_REQUESTS).setKeepAlive(true)));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    webClient.close();
+    CompletableFuture<Void> stopped = new CompletableFuture<>();
+    vertxAssistant.stop(stopped);
+    stopped.get(20, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void throughputShouldScaleWithNumberOfInstances() throws Exception {
+    int cores = Runtime.getRuntime().availableProcessors();
+    int instances = Math.min(cores, MAX_MEASURED_INSTANCES);
+
+    double singleInstanceThroughput = measureThroughput(1);
+    double multipleInstancesThroughput = measureThroughput(instances);
+    double speedUp = multipleInstancesThroughput / singleInstanceThroughput;
+
+    LOGGER.info("Throughput with 1 instance: {} requests/s, with {} instances: {} requests/s, speed up: {}",
+      Math.round(singleInstanceThroughput), instances, Math.round(multipleInstancesThroughput), speedUp);
+
+    assumeTrue("Scaling can only be measured with at least 2 cores", instances > 1);
+    assertThat(speedUp, greaterThanOrEqualTo(instances * MIN_SCALING_EFFICIENCY));
+  }
+
+  private double measureThroughput(int instances) throws Exception {
+    int port = freePort();
+    Map<String, Object> config = new HashMap<>();
+    config.put("port", port);
+    config.put("storage.type", "okapi");
+
+    CompletableFuture<String> deployed = new CompletableFuture<>();
+    vertxAssistant.deployVerticle(InventoryVerticle.class.getName(), config, instances, false, deployed);
+    String deploymentId = deployed.get(20, TimeUnit.SECONDS);
+
+    try {
+      sendRequests(port, WARM_UP_REQUESTS).get(60, TimeUnit.SECONDS);
+
+      long startTime = System.nanoTime();
+      sendRequests(port, MEASURED_REQUESTS).get(120, TimeUnit.SECONDS);
+      long elapsedNanos = System.nanoTime() - startTime;
+
+      return MEASURED_REQUESTS * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    } finally {
+      vertxAssistant.undeployVerticle(deploymentId).get(20, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Sends the given number of requests keeping {@link #CONCURRENT_REQUESTS} of them in flight.
+   */
+  private CompletableFuture<Void> sendRequests(int port, int requests) {
+    CompletableFuture<Void> completed = new CompletableFuture<>();
+    AtomicInteger sent = new AtomicInteger();
+    AtomicInteger received = new AtomicInteger();
+
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      sendNext(port, requests, sent, received, completed);
+    }
+    return completed;
+  }
+
+  private void sendNext(int port, int requests, AtomicInteger sent, AtomicInteger received,
+    CompletableFuture<Void> completed) {
+
+    if (sent.incrementAndGet() > requests) {
+      return;
+    }
+    webClient.get(port, "localhost", PATH).send(ar -> {
+      if (ar.failed() || !isOk(ar.result())) {
+        completed.completeExceptionally(ar.failed()
+          ? ar.cause() : new IllegalStateException("Unexpected status " + ar.result().statusCode()));
+        return;
+      }
+      if (received.incrementAndGet() == requests) {
+        completed.complete(null);
+      } else {
+        sendNext(port, requests, sent, received, completed);
+      }
+    });
+  }
+
+  private static boolean isOk(HttpResponse<Buffer> response) {
+    return response.statusCode() == 200;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
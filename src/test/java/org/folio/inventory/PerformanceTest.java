@@ -0,0 +1,8 @@
+package org.folio.inventory;
+
+/**
+ * JUnit category of tests which measure throughput or allocation. Their results depend on the machine they run on,
+ * so they are left out of the build and only run by the {@code performance} Maven profile.
+ */
+public interface PerformanceTest {
+}
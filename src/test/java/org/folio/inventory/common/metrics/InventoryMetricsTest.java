@@ -0,0 +1,119 @@
+package org.folio.inventory.common.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+
+public class InventoryMetricsTest {
+
+  @Test
+  public void shouldReplaceIdsAndRemoveQueryFromPath() {
+    String id = UUID.randomUUID().toString();
+
+    assertThat(InventoryMetrics.normalizePath("http://okapi:9130/item-storage/items/" + id + "?limit=10"),
+      is("/item-storage/items/{id}"));
+    assertThat(InventoryMetrics.normalizePath("/inventory/instances/" + id + "/marc/12"),
+      is("/inventory/instances/{id}/marc/{id}"));
+    assertThat(InventoryMetrics.normalizePath("http://okapi:9130"), is("/"));
+    assertThat(InventoryMetrics.normalizePath(null), is("unknown"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldCountClientRequestsInFlightPerHost() {
+    String host = "mod-" + UUID.randomUUID();
+    HttpRequest<Buffer> request = mock(HttpRequest.class);
+    when(request.method()).thenReturn(HttpMethod.GET);
+    when(request.uri()).thenReturn("http://" + host + ":9130/item-storage/items?limit=10");
+
+    Handler<AsyncResult<HttpResponse<Buffer>>> first = InventoryMetrics.recordClientRequest(request, ar -> {});
+    Handler<AsyncResult<HttpResponse<Buffer>>> second = InventoryMetrics.recordClientRequest(request, ar -> {});
+    assertEquals(2, activeRequests(host), 0);
+
+    first.handle(Future.failedFuture("connection refused"));
+    assertEquals(1, activeRequests(host), 0);
+
+    second.handle(Future.failedFuture("connection refused"));
+    assertEquals(0, activeRequests(host), 0);
+  }
+
+  @Test
+  public void shouldRecordKafkaEventOutcome() {
+    String handlerName = "TestHandler-" + UUID.randomUUID();
+
+    InventoryMetrics.recordKafkaEvent(handlerName, "DI_COMPLETED", () -> Future.succeededFuture("key"));
+    InventoryMetrics.recordKafkaEvent(handlerName, "DI_COMPLETED", () -> Future.failedFuture("failed"));
+    InventoryMetrics.recordKafkaEvent(handlerName, "DI_COMPLETED", () -> {
+      throw new IllegalStateException("failed");
+    });
+
+    assertEquals(1, kafkaTimer(handlerName, "success").count());
+    assertEquals(2, kafkaTimer(handlerName, "failure").count());
+  }
+
+  @Test
+  public void shouldCountCacheHitsAndMisses() {
+    String cacheName = "test-cache-" + UUID.randomUUID();
+    AsyncCache<String, Optional<String>> cache = Caffeine.newBuilder().buildAsync();
+
+    for (int i = 0; i < 3; i++) {
+      InventoryMetrics.meteredGet(cacheName, cache, "key",
+        key -> CompletableFuture.completedFuture(Optional.of("value"))).join();
+    }
+
+    assertEquals(2, cacheCounter(cacheName, "hit").count(), 0);
+    assertEquals(1, cacheCounter(cacheName, "miss").count(), 0);
+  }
+
+  @Test
+  public void shouldExposeMetricsInPrometheusFormat() {
+    String cacheName = "scraped-cache-" + UUID.randomUUID();
+    InventoryMetrics.recordCacheGet(cacheName, true);
+
+    assertThat(InventoryMetrics.scrape(),
+      containsString("inventory_cache_gets_total{cache=\"" + cacheName + "\",result=\"hit\",} 1.0"));
+  }
+
+  private static double activeRequests(String host) {
+    return InventoryMetrics.getRegistry().get(InventoryMetrics.HTTP_CLIENT_ACTIVE_REQUESTS)
+      .tag("host", host)
+      .gauge()
+      .value();
+  }
+
+  private static Timer kafkaTimer(String handlerName, String outcome) {
+    return InventoryMetrics.getRegistry().get(InventoryMetrics.KAFKA_HANDLER_EVENTS)
+      .tag("handler", handlerName)
+      .tag("outcome", outcome)
+      .timer();
+  }
+
+  private static Counter cacheCounter(String cacheName, String result) {
+    return InventoryMetrics.getRegistry().get(InventoryMetrics.CACHE_GETS)
+      .tag("cache", cacheName)
+      .tag("result", result)
+      .counter();
+  }
+}
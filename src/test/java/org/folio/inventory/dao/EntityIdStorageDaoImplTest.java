@@ -1,7 +1,9 @@
 package org.folio.inventory.dao;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -127,4 +129,22 @@ public class EntityIdStorageDaoImplTest {
       async.complete();
     });
   }
+
+  @Test(timeout = 10000)
+  public void shouldCompleteRelationshipsOnContextTheyWereRequestedFrom(TestContext context) {
+    Async async = context.async(2);
+    VertxInternal vertx = (VertxInternal) postgresClientFactory.getVertx();
+
+    for (int i = 0; i < 2; i++) {
+      RecordToEntity recordToItem = RecordToEntity.builder().table(EntityTable.ITEM).recordId(UUID.randomUUID().toString()).entityId(UUID.randomUUID().toString()).build();
+      Context requestContext = vertx.createEventLoopContext();
+
+      requestContext.runOnContext(v -> entityIdStorageDao.saveRecordToEntityRelationship(recordToItem, TENANT_ID)
+        .onComplete(ar -> {
+          context.assertTrue(ar.succeeded());
+          context.assertEquals(requestContext, Vertx.currentContext());
+          async.countDown();
+        }));
+    }
+  }
 }
@@ -1,24 +1,34 @@
 package org.folio.inventory.dao;
 
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.pgclient.PgConnectOptions;
-import io.vertx.pgclient.PgPool;
 import io.vertx.pgclient.SslMode;
+import io.vertx.sqlclient.Tuple;
+import org.folio.inventory.common.dao.PoolMetrics;
 import org.folio.inventory.common.dao.PostgresClientFactory;
 import org.folio.inventory.common.dao.PostgresConnectionOptions;
+import org.folio.inventory.common.metrics.InventoryMetrics;
 import org.folio.inventory.rest.impl.PgPoolContainer;
 import org.junit.AfterClass;
+import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_HOST;
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_PORT;
@@ -28,22 +38,36 @@ import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_PASSWO
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_MAXPOOLSIZE;
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_SERVER_PEM;
 import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_IDLETIMEOUT;
+import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_MAX_WAIT_QUEUE_SIZE;
+import static org.folio.inventory.common.dao.PostgresConnectionOptions.DB_POOL_EVICTION_TIMEOUT;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(VertxUnitRunner.class)
 public class PostgresClientFactoryTest {
 
   private static final String TENANT_ID = "test_tenant";
+  private static final String SQL = "SELECT 1";
   private static final Integer MAX_POOL_SIZE = 5;
+  private static final Integer MAX_WAIT_QUEUE_SIZE = 100;
   private static final String SERVER_PEM = randomAlphaString(100);
 
   static Vertx vertx;
+  private static boolean runningOnOwn;
 
   @BeforeClass
   public static void setUp() {
     vertx = Vertx.vertx();
+    if (!PgPoolContainer.isRunning()) {
+      runningOnOwn = true;
+      PgPoolContainer.create();
+    }
+  }
+
+  @Before
+  public void before() {
+    PgPoolContainer.setEmbeddedPostgresOptions();
   }
 
   @AfterClass
@@ -54,38 +78,130 @@ public class PostgresClientFactoryTest {
     }));
     PgPoolContainer.setEmbeddedPostgresOptions();
     PostgresClientFactory.closeAll();
+    if (PgPoolContainer.isRunning() && runningOnOwn) {
+      PgPoolContainer.stop();
+    }
   }
 
   @Test
-  public void shouldCreateCachedPool() {
-    PostgresClientFactory postgresClientFactory =
-      new PostgresClientFactory(vertx);
-    PgPool cachedPool = postgresClientFactory.getCachedPool(TENANT_ID);
+  public void shouldCreatePoolOnFirstQuery(TestContext context) {
+    PostgresClientFactory.closeAll();
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
 
-    assertNotNull(cachedPool);
+    postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+      .onComplete(context.asyncAssertSuccess(notUsed ->
+        context.assertNotNull(PostgresClientFactory.getPoolMetrics().get(TENANT_ID))));
   }
 
   @Test
-  public void shouldReturnPgPoolFromCache() {
-    PostgresClientFactory postgresClientFactory =
-      new PostgresClientFactory(vertx);
-    PgPool cachedPool = postgresClientFactory.getCachedPool(TENANT_ID);
-    PgPool poolFromCache = postgresClientFactory.getCachedPool(TENANT_ID);
-    assertNotNull(cachedPool);
-    assertNotNull(poolFromCache);
-    assertEquals(cachedPool, poolFromCache);
+  public void shouldReturnPgPoolFromCache(TestContext context) {
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+
+    postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+      .compose(notUsed -> {
+        PoolMetrics poolMetrics = PostgresClientFactory.getPoolMetrics().get(TENANT_ID);
+        return postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+          .map(rows -> poolMetrics);
+      })
+      .onComplete(context.asyncAssertSuccess(poolMetrics ->
+        context.assertEquals(poolMetrics, PostgresClientFactory.getPoolMetrics().get(TENANT_ID))));
   }
 
   @Test
-  public void shouldResetPgPoolCache() {
-    PostgresClientFactory postgresClientFactory =
-      new PostgresClientFactory(vertx);
-    PgPool cachedPool = postgresClientFactory.getCachedPool(TENANT_ID);
-    postgresClientFactory.setShouldResetPool(true);
-    PgPool poolFromCache = postgresClientFactory.getCachedPool(TENANT_ID);
-    assertNotNull(cachedPool);
-    assertNotNull(poolFromCache);
-    assertNotEquals(cachedPool, poolFromCache);
+  public void shouldResetPgPoolCache(TestContext context) {
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+
+    postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+      .compose(notUsed -> {
+        PoolMetrics poolMetrics = PostgresClientFactory.getPoolMetrics().get(TENANT_ID);
+        postgresClientFactory.setShouldResetPool(true);
+        return postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+          .map(rows -> poolMetrics);
+      })
+      .onComplete(context.asyncAssertSuccess(poolMetrics ->
+        context.assertNotEquals(poolMetrics, PostgresClientFactory.getPoolMetrics().get(TENANT_ID))));
+  }
+
+  @Test
+  public void shouldReturnSamePoolForConcurrentRequests() throws Exception {
+    PostgresClientFactory.closeAll();
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<PoolMetrics>> queries = Collections.nCopies(64, () -> {
+        postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID);
+        return PostgresClientFactory.getPoolMetrics().get(TENANT_ID);
+      });
+      List<Future<PoolMetrics>> poolMetrics = executor.invokeAll(queries);
+      PoolMetrics expectedPoolMetrics = poolMetrics.get(0).get();
+      for (Future<PoolMetrics> metrics : poolMetrics) {
+        assertSame(expectedPoolMetrics, metrics.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldReturnPoolMetrics(TestContext context) {
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+
+    postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+      .onComplete(context.asyncAssertSuccess(notUsed -> {
+        PoolMetrics poolMetrics = PostgresClientFactory.getPoolMetrics().get(TENANT_ID);
+
+        context.assertNotNull(poolMetrics);
+        context.assertEquals(0, poolMetrics.getInUse());
+        context.assertEquals(0, poolMetrics.getWaiting());
+        context.assertTrue(poolMetrics.getAcquireCount() > 0);
+      }));
+  }
+
+  @Test
+  public void shouldExposePoolUsageAsMetrics(TestContext context) {
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+
+    postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+      .onComplete(context.asyncAssertSuccess(notUsed -> {
+        context.assertEquals(0.0, InventoryMetrics.getRegistry().get(InventoryMetrics.DB_POOL_CONNECTIONS_IN_USE)
+          .tag("tenant", TENANT_ID).gauge().value());
+        context.assertEquals(0.0, InventoryMetrics.getRegistry().get(InventoryMetrics.DB_POOL_CONNECTIONS_WAITING)
+          .tag("tenant", TENANT_ID).gauge().value());
+      }));
+  }
+
+  @Test
+  public void shouldEvictIdlePool(TestContext context) {
+    Async async = context.async();
+    PostgresClientFactory.closeAll();
+    PostgresConnectionOptions.setSystemProperties(Map.of(DB_POOL_EVICTION_TIMEOUT, "100"));
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+
+    postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID).onComplete(ar ->
+      vertx.setTimer(500, timerId -> {
+        context.assertFalse(PostgresClientFactory.getPoolMetrics().containsKey(TENANT_ID));
+        PostgresConnectionOptions.setSystemProperties(new HashMap<>());
+        PostgresClientFactory.closeAll();
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldKeepPoolWhenVerticleWhichCreatedItIsUndeployed(TestContext context) {
+    PostgresClientFactory.closeAll();
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
+
+    vertx.deployVerticle(new AbstractVerticle() {
+        @Override
+        public void start(Promise<Void> startPromise) {
+          postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID)
+            .<Void>mapEmpty()
+            .onComplete(startPromise);
+        }
+      })
+      .compose(vertx::undeploy)
+      .compose(notUsed -> postgresClientFactory.execute(SQL, Tuple.tuple(), TENANT_ID))
+      .onComplete(context.asyncAssertSuccess());
   }
 
   @Test
@@ -112,6 +228,7 @@ public class PostgresClientFactoryTest {
     optionsMap.put(DB_PASSWORD, "test");
     optionsMap.put(DB_DATABASE, "test");
     optionsMap.put(DB_MAXPOOLSIZE, String.valueOf(MAX_POOL_SIZE));
+    optionsMap.put(DB_MAX_WAIT_QUEUE_SIZE, String.valueOf(MAX_WAIT_QUEUE_SIZE));
     optionsMap.put(DB_SERVER_PEM, SERVER_PEM);
     optionsMap.put(DB_IDLETIMEOUT, String.valueOf(60000));
 
@@ -127,6 +244,7 @@ public class PostgresClientFactoryTest {
     assertEquals(SslMode.VERIFY_FULL, pgConnectOpts.getSslMode());
     assertEquals("HTTPS", pgConnectOpts.getHostnameVerificationAlgorithm());
     assertEquals(MAX_POOL_SIZE, PostgresConnectionOptions.getMaxPoolSize());
+    assertEquals(MAX_WAIT_QUEUE_SIZE, PostgresConnectionOptions.getMaxWaitQueueSize());
     assertNotNull(pgConnectOpts.getPemTrustOptions());
     assertEquals(expectedEnabledSecureTransportProtocols, pgConnectOpts.getEnabledSecureTransportProtocols());
     assertNotNull(pgConnectOpts.getOpenSslEngineOptions());
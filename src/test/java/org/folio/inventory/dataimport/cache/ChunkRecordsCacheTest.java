@@ -0,0 +1,166 @@
+package org.folio.inventory.dataimport.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.inventory.common.Context;
+import org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil;
+import org.folio.inventory.domain.instances.Instance;
+import org.folio.inventory.support.http.client.OkapiHttpClient;
+import org.folio.inventory.support.http.client.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class ChunkRecordsCacheTest {
+
+  private static final String OKAPI_URL = "http://localhost:9130";
+  private static final long WINDOW_MS = 50;
+
+  private final Vertx vertx = Vertx.vertx();
+  private final OkapiHttpClient okapiHttpClient = mock(OkapiHttpClient.class);
+  private final Context context = EventHandlingUtil.constructContext("diku", "token", OKAPI_URL);
+
+  private final String firstInstanceId = UUID.randomUUID().toString();
+  private final String secondInstanceId = UUID.randomUUID().toString();
+  private final String chunkId = UUID.randomUUID().toString();
+
+  private ChunkRecordsCache chunkRecordsCache;
+
+  @Before
+  public void setUp() {
+    chunkRecordsCache = new ChunkRecordsCache(vertx, ctx -> okapiHttpClient, WINDOW_MS, 50);
+
+    JsonObject instances = new JsonObject()
+      .put("instances", new JsonArray()
+        .add(new JsonObject().put("id", firstInstanceId).put("title", "first"))
+        .add(new JsonObject().put("id", secondInstanceId).put("title", "second")))
+      .put("totalRecords", 2);
+    when(okapiHttpClient.get(anyString()))
+      .thenReturn(CompletableFuture.completedFuture(new Response(200, instances.encode(), "application/json", null)));
+  }
+
+  @After
+  public void tearDown(TestContext testContext) {
+    vertx.close(testContext.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldLoadInstancesOfChunkByOneRequest(TestContext testContext) {
+    Async async = testContext.async();
+
+    Future<Instance> first = chunkRecordsCache.getInstance(chunkId, firstInstanceId, context);
+    Future<Instance> second = chunkRecordsCache.getInstance(chunkId, secondInstanceId, context);
+    Future<Instance> missing = chunkRecordsCache.getInstance(chunkId, UUID.randomUUID().toString(), context);
+
+    CompositeFuture.all(first, second, missing).onComplete(testContext.asyncAssertSuccess(v -> {
+      testContext.assertEquals("first", first.result().getTitle());
+      testContext.assertEquals("second", second.result().getTitle());
+      testContext.assertNull(missing.result());
+      verify(okapiHttpClient, times(1)).get(contains("/instance-storage/instances?query="));
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldHandOutOwnCopyOfInstanceAskedForTwice(TestContext testContext) {
+    Async async = testContext.async();
+
+    Future<Instance> first = chunkRecordsCache.getInstance(chunkId, firstInstanceId, context);
+    Future<Instance> again = chunkRecordsCache.getInstance(chunkId, firstInstanceId, context);
+
+    CompositeFuture.all(first, again).onComplete(testContext.asyncAssertSuccess(v -> {
+      testContext.assertEquals(firstInstanceId, again.result().getId());
+      testContext.assertFalse(first.result() == again.result());
+      verify(okapiHttpClient, times(1)).get(anyString());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldLoadWhenBatchIsFull(TestContext testContext) {
+    Async async = testContext.async();
+    chunkRecordsCache = new ChunkRecordsCache(vertx, ctx -> okapiHttpClient, 60_000, 2);
+    long startedAt = System.currentTimeMillis();
+
+    CompositeFuture.all(chunkRecordsCache.getInstance(chunkId, firstInstanceId, context),
+        chunkRecordsCache.getInstance(chunkId, secondInstanceId, context))
+      .onComplete(testContext.asyncAssertSuccess(v -> {
+        testContext.assertTrue(System.currentTimeMillis() - startedAt < 60_000);
+        verify(okapiHttpClient, times(1)).get(anyString());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldNotLoadInstancesOfOtherChunksTogether(TestContext testContext) {
+    Async async = testContext.async();
+
+    CompositeFuture.all(chunkRecordsCache.getInstance(chunkId, firstInstanceId, context),
+        chunkRecordsCache.getInstance(UUID.randomUUID().toString(), secondInstanceId, context))
+      .onComplete(testContext.asyncAssertSuccess(v -> {
+        verify(okapiHttpClient, times(2)).get(anyString());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldLoadMarcRecordsOfChunkByOneRequest(TestContext testContext) {
+    Async async = testContext.async();
+    String recordId = UUID.randomUUID().toString();
+    JsonObject sourceRecords = new JsonObject()
+      .put("sourceRecords", new JsonArray()
+        .add(new JsonObject()
+          .put("recordId", recordId)
+          .put("recordType", "MARC_BIB")
+          .put("parsedRecord", new JsonObject().put("content", new JsonObject()))
+          .put("externalIdsHolder", new JsonObject().put("instanceId", firstInstanceId))
+          .put("deleted", false)))
+      .put("totalRecords", 1);
+    when(okapiHttpClient.postForRead(anyString(), any(JsonArray.class)))
+      .thenReturn(CompletableFuture.completedFuture(new Response(200, sourceRecords.encode(), "application/json", null)));
+
+    Future<JsonObject> first = chunkRecordsCache.getMarcRecordByInstanceId(chunkId, firstInstanceId, context);
+    Future<JsonObject> second = chunkRecordsCache.getMarcRecordByInstanceId(chunkId, secondInstanceId, context);
+
+    CompositeFuture.all(first, second).onComplete(testContext.asyncAssertSuccess(v -> {
+      testContext.assertEquals(recordId, first.result().getString("id"));
+      testContext.assertEquals(firstInstanceId, first.result().getJsonObject("externalIdsHolder").getString("instanceId"));
+      testContext.assertFalse(first.result().containsKey("deleted"));
+      testContext.assertNull(second.result());
+      verify(okapiHttpClient, times(1)).postForRead(contains("/source-storage/source-records?idType=INSTANCE"), any(JsonArray.class));
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void shouldFailAllRequestsOfBatchWhenLoadingFails(TestContext testContext) {
+    Async async = testContext.async(2);
+    when(okapiHttpClient.get(anyString()))
+      .thenReturn(CompletableFuture.completedFuture(new Response(500, "Internal Server Error", "text/plain", null)));
+
+    chunkRecordsCache.getInstance(chunkId, firstInstanceId, context)
+      .onComplete(testContext.asyncAssertFailure(e -> async.countDown()));
+    chunkRecordsCache.getInstance(chunkId, secondInstanceId, context)
+      .onComplete(testContext.asyncAssertFailure(e -> async.countDown()));
+  }
+}
@@ -79,6 +79,21 @@ public class MappingMetadataCacheTest {
     });
   }
 
+  @Test
+  public void shouldReturnSameParsedMappingMetadataForJobExecution(TestContext context) {
+    Async async = context.async();
+
+    mappingMetadataCache.getParsed(mappingMetadata.getJobExecutionId(), this.context)
+      .compose(first -> mappingMetadataCache.getParsed(mappingMetadata.getJobExecutionId(), this.context)
+        .onComplete(ar -> {
+          context.assertTrue(ar.succeeded());
+          context.assertTrue(ar.result().isPresent());
+          context.assertTrue(first.get() == ar.result().get());
+          context.assertEquals(mappingMetadata.getMappingParams(), ar.result().get().getMappingMetadataDto().getMappingParams());
+          async.complete();
+        }));
+  }
+
   @Test
   public void shouldReturnMappingMetadataByRecordType(TestContext context) {
     Async async = context.async();
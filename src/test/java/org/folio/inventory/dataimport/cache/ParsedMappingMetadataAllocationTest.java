@@ -0,0 +1,71 @@
+package org.folio.inventory.dataimport.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.HoldingsType;
+import org.folio.MappingMetadataDto;
+import org.folio.inventory.AllocationMeter;
+import org.folio.inventory.PerformanceTest;
+import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Allocation benchmark: compares memory allocated by decoding mapping metadata for every record of a job
+ * with memory allocated when the decoded metadata of the job is reused.
+ */
+@Category(PerformanceTest.class)
+public class ParsedMappingMetadataAllocationTest {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final int REFERENCE_RECORDS_COUNT = 5000;
+  private static final int RECORDS_PER_JOB = 200;
+
+  private final MappingMetadataDto mappingMetadataDto = largeMappingMetadata();
+
+  @Test
+  public void shouldAllocateLessWhenDecodedMappingMetadataIsReused() {
+    assumeTrue(AllocationMeter.isSupported());
+
+    long decodedPerRecord = AllocationMeter.allocatedBytes(RECORDS_PER_JOB, () -> {
+      Json.decodeValue(mappingMetadataDto.getMappingParams(), MappingParameters.class);
+      new JsonObject(mappingMetadataDto.getMappingRules());
+    });
+
+    ParsedMappingMetadata parsedMappingMetadata = new ParsedMappingMetadata(mappingMetadataDto);
+    long decodedOnce = AllocationMeter.allocatedBytes(RECORDS_PER_JOB, () -> {
+      parsedMappingMetadata.getMappingParameters();
+      parsedMappingMetadata.getMappingRules();
+    });
+
+    LOGGER.info("Allocated for {} records: decoded per record {} bytes, decoded once {} bytes",
+      RECORDS_PER_JOB, decodedPerRecord, decodedOnce);
+    assertThat(decodedOnce, lessThan(decodedPerRecord / 10));
+  }
+
+  private static MappingMetadataDto largeMappingMetadata() {
+    List<HoldingsType> holdingsTypes = new ArrayList<>();
+    JsonArray rules = new JsonArray();
+    for (int i = 0; i < REFERENCE_RECORDS_COUNT; i++) {
+      holdingsTypes.add(new HoldingsType().withId(UUID.randomUUID().toString()).withName("holdings type " + i));
+      rules.add(new JsonObject().put("target", "field" + i).put("description", "rule " + i));
+    }
+    return new MappingMetadataDto()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withMappingParams(Json.encode(new MappingParameters().withHoldingsTypes(holdingsTypes)))
+      .withMappingRules(new JsonObject().put("001", rules).encode());
+  }
+}
@@ -0,0 +1,45 @@
+package org.folio.inventory.dataimport.cache;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.HoldingsType;
+import org.folio.MappingMetadataDto;
+import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+import org.junit.Test;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class ParsedMappingMetadataTest {
+
+  private static final int REFERENCE_RECORDS_COUNT = 10;
+
+  private final MappingMetadataDto mappingMetadataDto = mappingMetadata();
+
+  @Test
+  public void shouldDecodeMappingParametersAndRulesOnce() {
+    ParsedMappingMetadata parsedMappingMetadata = new ParsedMappingMetadata(mappingMetadataDto);
+
+    assertThat(parsedMappingMetadata.getMappingParameters(), sameInstance(parsedMappingMetadata.getMappingParameters()));
+    assertThat(parsedMappingMetadata.getMappingRules(), sameInstance(parsedMappingMetadata.getMappingRules()));
+  }
+
+  private static MappingMetadataDto mappingMetadata() {
+    List<HoldingsType> holdingsTypes = new ArrayList<>();
+    JsonArray rules = new JsonArray();
+    for (int i = 0; i < REFERENCE_RECORDS_COUNT; i++) {
+      holdingsTypes.add(new HoldingsType().withId(UUID.randomUUID().toString()).withName("holdings type " + i));
+      rules.add(new JsonObject().put("target", "field" + i).put("description", "rule " + i));
+    }
+    return new MappingMetadataDto()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withMappingParams(Json.encode(new MappingParameters().withHoldingsTypes(holdingsTypes)))
+      .withMappingRules(new JsonObject().put("001", rules).encode());
+  }
+}
@@ -0,0 +1,165 @@
+package org.folio.inventory.dataimport.consumers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.inventory.common.metrics.InventoryMetrics;
+import org.folio.kafka.AsyncRecordHandler;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.Gauge;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+public class AdaptiveLoadLimitRecordHandlerTest {
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+  private final List<Promise<String>> pending = new ArrayList<>();
+  private final AsyncRecordHandler<String, String> delegate = kafkaRecord -> {
+    Promise<String> promise = Promise.promise();
+    pending.add(promise);
+    return promise.future();
+  };
+  private final String consumerName = "test-consumer-" + UUID.randomUUID();
+
+  @Test
+  public void shouldNotHandleMoreRecordsThanLimitAtTheSameTime() {
+    AdaptiveLoadLimitRecordHandler<String, String> handler = handler(2, 1, 2);
+
+    Future<String> first = handler.handle(kafkaRecord());
+    handler.handle(kafkaRecord());
+    Future<String> third = handler.handle(kafkaRecord());
+    assertThat(pending.size(), is(2));
+    assertThat(handler.getInFlight(), is(2));
+
+    completeAfter(0, 10);
+    assertThat(first.succeeded(), is(true));
+    assertThat(pending.size(), is(3));
+
+    completeAfter(1, 10);
+    completeAfter(2, 10);
+    assertThat(third.succeeded(), is(true));
+    assertThat(handler.getInFlight(), is(0));
+  }
+
+  @Test
+  public void shouldIncreaseLimitWhileRecordsAreHandledFastAtTheLimit() {
+    AdaptiveLoadLimitRecordHandler<String, String> handler = handler(2, 1, 10);
+
+    for (int i = 0; i < 20; i++) {
+      handler.handle(kafkaRecord());
+      handler.handle(kafkaRecord());
+      completeAfter(pending.size() - 2, 10);
+      completeAfter(pending.size() - 1, 10);
+    }
+
+    assertThat(handler.getLoadLimit(), greaterThan(2));
+  }
+
+  @Test
+  public void shouldDecreaseLimitOnceWhenRecordsOfRoundAreSlow() {
+    AdaptiveLoadLimitRecordHandler<String, String> handler = handler(8, 2, 8);
+    handleAndComplete(handler, 10);
+
+    for (int i = 0; i < 4; i++) {
+      handler.handle(kafkaRecord());
+    }
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    for (int i = pending.size() - 4; i < pending.size(); i++) {
+      pending.get(i).complete("key");
+    }
+
+    assertThat(handler.getLoadLimit(), is(6));
+  }
+
+  @Test
+  public void shouldNotDecreaseLimitBelowMinimumWhenRecordsFail() {
+    AdaptiveLoadLimitRecordHandler<String, String> handler = handler(4, 2, 8);
+
+    for (int i = 0; i < 20; i++) {
+      Future<String> result = handler.handle(kafkaRecord());
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+      pending.get(pending.size() - 1).fail("failed");
+      assertThat(result.failed(), is(true));
+    }
+
+    assertThat(handler.getLoadLimit(), is(2));
+  }
+
+  @Test
+  public void shouldFailRecordWhichDelegateThrowsFor() {
+    AdaptiveLoadLimitRecordHandler<String, String> handler = new AdaptiveLoadLimitRecordHandler<>(kafkaRecord -> {
+      throw new IllegalStateException("failed");
+    }, consumerName, 1, 1, 2, clock::get);
+
+    assertThat(handler.handle(kafkaRecord()).failed(), is(true));
+    assertThat(handler.getInFlight(), is(0));
+  }
+
+  @Test
+  public void shouldExposeLimitAndRecordsInFlightAsMetrics() {
+    AdaptiveLoadLimitRecordHandler<String, String> handler = handler(3, 1, 5);
+    handler.handle(kafkaRecord());
+
+    assertEquals(3, gauge(InventoryMetrics.KAFKA_CONSUMER_LOAD_LIMIT).value(), 0);
+    assertEquals(1, gauge(InventoryMetrics.KAFKA_CONSUMER_IN_FLIGHT).value(), 0);
+
+    completeAfter(0, 10);
+    assertEquals(0, gauge(InventoryMetrics.KAFKA_CONSUMER_IN_FLIGHT).value(), 0);
+    assertThat(gauge(InventoryMetrics.KAFKA_CONSUMER_LATENCY).value(), lessThan(11.0));
+  }
+
+  @Test
+  public void shouldNotCountWaitForBatchInLatency() {
+    BatchingRecordHandler<String, String> batchingHandler = new BatchingRecordHandler<>(mock(Vertx.class), delegate,
+      kafkaRecord -> "group", kafkaRecord -> UUID.randomUUID().toString(), 2, 60_000);
+    AdaptiveLoadLimitRecordHandler<String, String> handler = new AdaptiveLoadLimitRecordHandler<>(batchingHandler,
+      consumerName, 2, 1, 4, clock::get);
+
+    Future<String> first = handler.handle(kafkaRecord());
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+    handler.handle(kafkaRecord());
+    assertThat(pending.size(), is(2));
+
+    completeAfter(0, 10);
+    completeAfter(1, 10);
+
+    assertThat(first.succeeded(), is(true));
+    assertEquals(20, handler.getSmoothedLatencyNanos() / 1_000_000, 0.01);
+  }
+
+  private AdaptiveLoadLimitRecordHandler<String, String> handler(int loadLimit, int minLoadLimit, int maxLoadLimit) {
+    return new AdaptiveLoadLimitRecordHandler<>(delegate, consumerName, loadLimit, minLoadLimit, maxLoadLimit, clock::get);
+  }
+
+  private void handleAndComplete(AdaptiveLoadLimitRecordHandler<String, String> handler, long latencyMillis) {
+    handler.handle(kafkaRecord());
+    completeAfter(pending.size() - 1, latencyMillis);
+  }
+
+  private void completeAfter(int index, long latencyMillis) {
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    pending.get(index).complete("key");
+  }
+
+  private Gauge gauge(String name) {
+    return InventoryMetrics.getRegistry().get(name).tag("consumer", consumerName).gauge();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> kafkaRecord() {
+    return mock(KafkaConsumerRecord.class);
+  }
+}
@@ -0,0 +1,149 @@
+package org.folio.inventory.dataimport.consumers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.folio.kafka.AsyncRecordHandler;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+@RunWith(VertxUnitRunner.class)
+public class BatchingRecordHandlerTest {
+
+  private final Vertx vertx = Vertx.vertx();
+  private final List<String> handled = new ArrayList<>();
+  private final List<Promise<String>> pending = new ArrayList<>();
+
+  private final AsyncRecordHandler<String, String> delegate = kafkaRecord -> {
+    handled.add(kafkaRecord.key());
+    Promise<String> promise = Promise.promise();
+    pending.add(promise);
+    return promise.future();
+  };
+
+  @After
+  public void tearDown(TestContext testContext) {
+    vertx.close(testContext.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldHandleGroupWhenItIsFull(TestContext testContext) {
+    BatchingRecordHandler<String, String> handler = handler(2, 60_000);
+
+    handler.handle(kafkaRecord("1", "topic-a"));
+    testContext.assertTrue(handled.isEmpty());
+    handler.handle(kafkaRecord("2", "topic-a"));
+
+    testContext.assertEquals(List.of("1", "2"), handled);
+  }
+
+  @Test
+  public void shouldHandleGroupWhenWaitIsOver(TestContext testContext) {
+    Async async = testContext.async();
+    BatchingRecordHandler<String, String> handler = handler(10, 50);
+
+    vertx.runOnContext(v -> {
+      handler.handle(kafkaRecord("1", "topic-a"))
+        .onComplete(testContext.asyncAssertSuccess(key -> {
+          testContext.assertEquals("1", key);
+          async.complete();
+        }));
+      vertx.setTimer(200, timerId -> {
+        testContext.assertEquals(List.of("1"), handled);
+        pending.get(0).complete("1");
+      });
+    });
+  }
+
+  @Test
+  public void shouldNotGroupRecordsOfOtherKeys(TestContext testContext) {
+    BatchingRecordHandler<String, String> handler = handler(2, 60_000);
+
+    handler.handle(kafkaRecord("1", "topic-a"));
+    handler.handle(kafkaRecord("2", "topic-b"));
+    testContext.assertTrue(handled.isEmpty());
+
+    handler.handle(kafkaRecord("3", "topic-b"));
+    testContext.assertEquals(List.of("2", "3"), handled);
+  }
+
+  @Test
+  public void shouldTellRecordsOfGroupWhenItIsHandedOver(TestContext testContext) {
+    BatchingRecordHandler<String, String> handler = handler(2, 60_000);
+    List<String> dispatched = new ArrayList<>();
+
+    handler.handle(kafkaRecord("1", "topic-a"), () -> dispatched.add("1"));
+    testContext.assertTrue(dispatched.isEmpty());
+    handler.handle(kafkaRecord("2", "topic-a"), () -> dispatched.add("2"));
+
+    testContext.assertEquals(List.of("1", "2"), dispatched);
+  }
+
+  @Test
+  public void shouldCompleteRecordsOnlyWhenWholeGroupIsDone(TestContext testContext) {
+    Async async = testContext.async();
+    BatchingRecordHandler<String, String> handler = handler(2, 60_000);
+
+    Future<String> first = handler.handle(kafkaRecord("1", "topic-a"));
+    Future<String> second = handler.handle(kafkaRecord("2", "topic-a"));
+
+    pending.get(0).complete("1");
+    testContext.assertFalse(first.isComplete());
+
+    pending.get(1).fail(new IllegalStateException("Failed to handle record 2"));
+    CompositeFuture.join(first, second).onComplete(ar -> {
+      testContext.assertTrue(first.succeeded());
+      testContext.assertEquals("1", first.result());
+      testContext.assertTrue(second.failed());
+      testContext.assertEquals("Failed to handle record 2", second.cause().getMessage());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldFailOnlyRecordWhichDelegateThrowsFor(TestContext testContext) {
+    Async async = testContext.async();
+    AsyncRecordHandler<String, String> throwing = kafkaRecord -> {
+      if ("2".equals(kafkaRecord.key())) {
+        throw new IllegalArgumentException("Invalid record");
+      }
+      return Future.succeededFuture(kafkaRecord.key());
+    };
+    BatchingRecordHandler<String, String> handler =
+      new BatchingRecordHandler<>(vertx, throwing, KafkaConsumerRecord::topic, KafkaConsumerRecord::key, 2, 60_000);
+
+    Future<String> first = handler.handle(kafkaRecord("1", "topic-a"));
+    Future<String> second = handler.handle(kafkaRecord("2", "topic-a"));
+
+    CompositeFuture.join(first, second).onComplete(ar -> {
+      testContext.assertTrue(first.succeeded());
+      testContext.assertTrue(second.failed());
+      async.complete();
+    });
+  }
+
+  private BatchingRecordHandler<String, String> handler(int batchSize, long maxWaitMs) {
+    return new BatchingRecordHandler<>(vertx, delegate, KafkaConsumerRecord::topic, KafkaConsumerRecord::key, batchSize, maxWaitMs);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> kafkaRecord(String key, String topic) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaRecord.key()).thenReturn(key);
+    when(kafkaRecord.topic()).thenReturn(topic);
+    return kafkaRecord;
+  }
+}
@@ -12,6 +12,7 @@ import org.folio.inventory.common.Context;
 import org.folio.inventory.common.domain.Failure;
 import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.handlers.actions.InstanceUpdateDelegate;
 import org.folio.inventory.domain.instances.Instance;
 import org.folio.inventory.domain.instances.InstanceCollection;
@@ -86,10 +87,10 @@ public class MarcBibInstanceHridSetKafkaHandlerTest {
       return null;
     }).when(mockedInstanceCollection).update(any(Instance.class), any(), any());
 
-    Mockito.when(mappingMetadataCache.get(anyString(), any(Context.class)))
-      .thenReturn(Future.succeededFuture(Optional.of(new MappingMetadataDto()
+    Mockito.when(mappingMetadataCache.getParsed(anyString(), any(Context.class)))
+      .thenReturn(Future.succeededFuture(Optional.of(new ParsedMappingMetadata(new MappingMetadataDto()
         .withMappingRules(mappingRules.encode())
-        .withMappingParams(Json.encode(new MappingParameters())))));
+        .withMappingParams(Json.encode(new MappingParameters()))))));
 
     marcBibInstanceHridSetKafkaHandler = new MarcBibInstanceHridSetKafkaHandler(new InstanceUpdateDelegate(mockedStorage), mappingMetadataCache);
   }
@@ -37,6 +37,7 @@ import org.folio.inventory.TestUtil;
 import org.folio.inventory.common.Context;
 import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.handlers.actions.InstanceUpdateDelegate;
 import org.folio.inventory.domain.instances.Instance;
 import org.folio.inventory.domain.instances.InstanceCollection;
@@ -133,10 +134,10 @@ public class MarcBibUpdateKafkaHandlerTest {
       return null;
     }).when(mockedInstanceCollection).update(any(Instance.class), any(), any());
 
-    Mockito.when(mappingMetadataCache.getByRecordType(anyString(), any(Context.class), anyString()))
-      .thenReturn(Future.succeededFuture(Optional.of(new MappingMetadataDto()
+    Mockito.when(mappingMetadataCache.getParsedByRecordType(anyString(), any(Context.class), anyString()))
+      .thenReturn(Future.succeededFuture(Optional.of(new ParsedMappingMetadata(new MappingMetadataDto()
         .withMappingRules(mappingRules.encode())
-        .withMappingParams(Json.encode(new MappingParameters())))));
+        .withMappingParams(Json.encode(new MappingParameters()))))));
 
     marcBibUpdateKafkaHandler = new MarcBibUpdateKafkaHandler(vertx, 100, kafkaConfig, new InstanceUpdateDelegate(mockedStorage), mappingMetadataCache);
   }
@@ -173,14 +174,14 @@ public class MarcBibUpdateKafkaHandlerTest {
 
     verify(mockedInstanceCollection, times(1)).findById(anyString(), any(), any());
     verify(mockedInstanceCollection, times(1)).update(any(Instance.class), any(), any());
-    verify(mappingMetadataCache, times(1)).getByRecordType(anyString(), any(Context.class), anyString());
+    verify(mappingMetadataCache, times(1)).getParsedByRecordType(anyString(), any(Context.class), anyString());
   }
 
   @Test
   public void shouldReturnFailedFutureWhenMappingRulesNotFound(TestContext context) {
     // given
     Async async = context.async();
-    Mockito.when(mappingMetadataCache.getByRecordType(anyString(), any(Context.class), anyString()))
+    Mockito.when(mappingMetadataCache.getParsedByRecordType(anyString(), any(Context.class), anyString()))
       .thenReturn(Future.succeededFuture(Optional.empty()));
 
     MarcBibUpdate payload = new MarcBibUpdate()
@@ -202,7 +203,7 @@ public class MarcBibUpdateKafkaHandlerTest {
 
     verify(mockedInstanceCollection, times(0)).findById(anyString(), any(), any());
     verify(mockedInstanceCollection, times(0)).update(any(Instance.class), any(), any());
-    verify(mappingMetadataCache, times(1)).getByRecordType(anyString(), any(Context.class), anyString());
+    verify(mappingMetadataCache, times(1)).getParsedByRecordType(anyString(), any(Context.class), anyString());
   }
 
   @Test
@@ -228,7 +229,7 @@ public class MarcBibUpdateKafkaHandlerTest {
 
     verify(mockedInstanceCollection, times(0)).findById(anyString(), any(), any());
     verify(mockedInstanceCollection, times(0)).update(any(Instance.class), any(), any());
-    verify(mappingMetadataCache, times(0)).getByRecordType(anyString(), any(Context.class), anyString());
+    verify(mappingMetadataCache, times(0)).getParsedByRecordType(anyString(), any(Context.class), anyString());
   }
 
   @Test
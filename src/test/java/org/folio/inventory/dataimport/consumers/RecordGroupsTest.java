@@ -0,0 +1,158 @@
+package org.folio.inventory.dataimport.consumers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.common.domain.Success;
+import org.folio.inventory.domain.BatchResult;
+import org.folio.inventory.domain.items.Item;
+import org.folio.inventory.domain.items.ItemCollection;
+import org.folio.inventory.domain.items.ItemStatusName;
+import org.folio.inventory.domain.items.Status;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.json.JsonObject;
+
+public class RecordGroupsTest {
+
+  private final ItemCollection itemCollection = mock(ItemCollection.class);
+  private final String firstRecordId = UUID.randomUUID().toString();
+  private final String secondRecordId = UUID.randomUUID().toString();
+  private final List<List<Item>> batches = new ArrayList<>();
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    doAnswer(invocation -> {
+      List<Item> items = invocation.getArgument(0);
+      batches.add(items);
+      Consumer<Success<BatchResult<Item>>> resultCallback = invocation.getArgument(1);
+
+      // the last item of each batch is rejected
+      BatchResult<Item> batchResult = new BatchResult<>();
+      batchResult.setBatchItems(new ArrayList<>(items.subList(0, items.size() - 1)));
+      batchResult.setFailedBatchItems(List.of(items.get(items.size() - 1)));
+      batchResult.setErrorMessages(List.of("Rejected"));
+      resultCallback.accept(new Success<>(batchResult));
+      return null;
+    }).when(itemCollection).addBatch(anyList(), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldAddItemsOfAllRecordsOfGroupByOneBatch() {
+    RecordGroups.start(List.of(firstRecordId, secondRecordId));
+    List<BatchResult<Item>> firstResults = new ArrayList<>();
+    List<BatchResult<Item>> secondResults = new ArrayList<>();
+
+    Item first = item();
+    Item second = item();
+    Item third = item();
+    RecordGroups.addBatch(firstRecordId, itemCollection, List.of(first), Item::getId,
+      success -> firstResults.add(success.getResult()), failure -> {});
+    assertEquals(0, batches.size());
+
+    RecordGroups.addBatch(secondRecordId, itemCollection, List.of(second, third), Item::getId,
+      success -> secondResults.add(success.getResult()), failure -> {});
+
+    assertEquals(List.of(List.of(first, second, third)), batches);
+    assertEquals(List.of(first), firstResults.get(0).getBatchItems());
+    assertEquals(List.of(), firstResults.get(0).getFailedBatchItems());
+    assertEquals(List.of(second), secondResults.get(0).getBatchItems());
+    assertEquals(List.of(third), secondResults.get(0).getFailedBatchItems());
+    assertEquals(List.of("Rejected"), secondResults.get(0).getErrorMessages());
+  }
+
+  @Test
+  public void shouldAddItemsWhenOtherRecordsOfGroupCompleteWithoutItems() {
+    RecordGroups.Group group = RecordGroups.start(List.of(firstRecordId, secondRecordId));
+    Item first = item();
+    Item second = item();
+
+    RecordGroups.addBatch(firstRecordId, itemCollection, List.of(first, second), Item::getId,
+      success -> {}, failure -> {});
+    assertEquals(0, batches.size());
+
+    group.completed(secondRecordId);
+    assertEquals(List.of(List.of(first, second)), batches);
+
+    group.completed(firstRecordId);
+    assertEquals(1, batches.size());
+  }
+
+  @Test
+  public void shouldAddItemsRightAwayWhenRecordIsNotPartOfGroup() {
+    RecordGroups.start(List.of(secondRecordId));
+    Item first = item();
+
+    RecordGroups.addBatch(firstRecordId, itemCollection, List.of(first), Item::getId,
+      success -> {}, failure -> {});
+
+    assertEquals(List.of(List.of(first)), batches);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldFailAllRecordsOfGroupWhenBatchFails() {
+    ItemCollection failingCollection = mock(ItemCollection.class);
+    doAnswer(invocation -> {
+      Consumer<Failure> failureCallback = invocation.getArgument(2);
+      failureCallback.accept(new Failure("Forbidden", 403));
+      return null;
+    }).when(failingCollection).addBatch(anyList(), any(Consumer.class), any(Consumer.class));
+
+    RecordGroups.start(List.of(firstRecordId, secondRecordId));
+    List<Failure> failures = new ArrayList<>();
+
+    RecordGroups.addBatch(firstRecordId, failingCollection, List.of(item()), Item::getId,
+      success -> {}, failures::add);
+    RecordGroups.addBatch(secondRecordId, failingCollection, List.of(item()), Item::getId,
+      success -> {}, failures::add);
+
+    ArgumentCaptor<List<Item>> items = ArgumentCaptor.forClass(List.class);
+    verify(failingCollection, times(1)).addBatch(items.capture(), any(Consumer.class), any(Consumer.class));
+    assertEquals(2, items.getValue().size());
+    assertEquals(2, failures.size());
+    assertEquals(403, failures.get(0).getStatusCode().intValue());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldNotGroupItemsWithoutId() {
+    RecordGroups.Group group = RecordGroups.start(List.of(firstRecordId, secondRecordId));
+    Item withoutId = item(null);
+
+    RecordGroups.addBatch(firstRecordId, itemCollection, List.of(withoutId), Item::getId,
+      success -> {}, failure -> {});
+
+    assertEquals(1, batches.size());
+    assertNull(batches.get(0).get(0).getId());
+    group.completed(firstRecordId);
+    group.completed(secondRecordId);
+    verify(itemCollection, times(1)).addBatch(anyList(), any(Consumer.class), any(Consumer.class));
+    verify(itemCollection, never()).add(any(), any(Consumer.class), any(Consumer.class));
+  }
+
+  private static Item item() {
+    return item(UUID.randomUUID().toString());
+  }
+
+  private static Item item(String id) {
+    return new Item(id, null, UUID.randomUUID().toString(), new Status(ItemStatusName.AVAILABLE),
+      UUID.randomUUID().toString(), UUID.randomUUID().toString(), new JsonObject());
+  }
+}
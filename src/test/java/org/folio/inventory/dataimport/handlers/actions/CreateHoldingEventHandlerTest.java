@@ -19,6 +19,7 @@ import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.HoldingWriterFactory;
 import org.folio.inventory.dataimport.HoldingsMapperFactory;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.entities.PartialError;
 import org.folio.inventory.dataimport.services.OrderHelperServiceImpl;
 import org.folio.inventory.domain.HoldingsRecordCollection;
@@ -77,6 +78,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.when;
 
 public class CreateHoldingEventHandlerTest {
@@ -159,16 +161,17 @@ public class CreateHoldingEventHandlerTest {
       successHandler.accept(new Success<>(holdingsRecord));
       return null;
     }).when(holdingsRecordsCollection).add(any(), any(Consumer.class), any(Consumer.class));
+    doCallRealMethod().when(holdingsRecordsCollection).addBatch(any(), any(Consumer.class), any(Consumer.class));
 
     doAnswer(invocationOnMock -> {
       RecordToEntity recordToItem = RecordToEntity.builder().recordId(RECORD_ID).entityId(ITEM_ID).build();
       return Future.succeededFuture(recordToItem);
     }).when(holdingsIdStorageService).store(any(), any(), any());
 
-    when(mappingMetadataCache.get(anyString(), any(Context.class)))
-      .thenReturn(Future.succeededFuture(Optional.of(new MappingMetadataDto()
+    when(mappingMetadataCache.getParsed(anyString(), any(Context.class)))
+      .thenReturn(Future.succeededFuture(Optional.of(new ParsedMappingMetadata(new MappingMetadataDto()
         .withMappingRules(new JsonObject().encode())
-        .withMappingParams(Json.encode(new MappingParameters())))));
+        .withMappingParams(Json.encode(new MappingParameters()))))));
 
     when(orderHelperService.fillPayloadForOrderPostProcessingIfNeeded(any(), any(), any())).thenReturn(Future.succeededFuture());
     fakeReader = Mockito.mock(Reader.class);
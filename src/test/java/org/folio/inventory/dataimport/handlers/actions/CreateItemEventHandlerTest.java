@@ -17,6 +17,7 @@ import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.ItemWriterFactory;
 import org.folio.inventory.dataimport.ItemsMapperFactory;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.dataimport.entities.PartialError;
 import org.folio.inventory.dataimport.services.OrderHelperServiceImpl;
 import org.folio.inventory.domain.items.Item;
@@ -155,10 +156,10 @@ public class CreateItemEventHandlerTest {
       StringValue.of(UUID.randomUUID().toString()), StringValue.of("645398607547"));
     Mockito.when(mockedStorage.getItemCollection(ArgumentMatchers.any(Context.class))).thenReturn(mockedItemCollection);
 
-    Mockito.when(mappingMetadataCache.get(anyString(), any(Context.class)))
-      .thenReturn(Future.succeededFuture(Optional.of(new MappingMetadataDto()
+    Mockito.when(mappingMetadataCache.getParsed(anyString(), any(Context.class)))
+      .thenReturn(Future.succeededFuture(Optional.of(new ParsedMappingMetadata(new MappingMetadataDto()
         .withMappingRules(new JsonObject().encode())
-        .withMappingParams(Json.encode(new MappingParameters())))));
+        .withMappingParams(Json.encode(new MappingParameters()))))));
 
     RecordToEntity recordToItem = RecordToEntity.builder().recordId(RECORD_ID).entityId(ITEM_ID).build();
     when(itemIdStorageService.store(any(), any(), any())).thenReturn(Future.succeededFuture(recordToItem));
@@ -169,6 +170,7 @@ public class CreateItemEventHandlerTest {
       successHandler.accept(new Success<>(result));
       return null;
     }).when(mockedItemCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+    Mockito.doCallRealMethod().when(mockedItemCollection).addBatch(any(), any(Consumer.class), any(Consumer.class));
 
     createItemHandler = new CreateItemEventHandler(mockedStorage, mappingMetadataCache, itemIdStorageService, orderHelperService);
     MappingManager.clearReaderFactories();
@@ -761,7 +763,8 @@ public class CreateItemEventHandlerTest {
     }).when(mockedItemCollection).add(any(), any(Consumer.class), any(Consumer.class));
 
     Mockito.doAnswer(invocationOnMock -> {
-      Item itemByCql = new Item(null, null, null, new Status(AVAILABLE), null, null, null);
+      Item itemByCql = new Item(null, null, null, new Status(AVAILABLE), null, null, null)
+        .withBarcode("745398607547");
       MultipleRecords<Item> result = new MultipleRecords<>(Collections.singletonList(itemByCql), 0);
       Consumer<Success<MultipleRecords<Item>>> successHandler = invocationOnMock.getArgument(2);
       successHandler.accept(new Success<>(result));
@@ -186,8 +186,8 @@ public class CreateMarcHoldingsEventHandlerTest {
     when(storage.getHoldingsRecordCollection(any())).thenReturn(holdingsRecordsCollection);
     when(storage.getHoldingsRecordsSourceCollection(any())).thenReturn(holdingsRecordsSourceCollection);
     when(storage.getInstanceCollection(any())).thenReturn(instanceRecordCollection);
-    when(holdingsCollectionService.findInstanceIdByHrid(any(InstanceCollection.class), any())).thenReturn(Future.succeededFuture(instanceId));
-    when(holdingsCollectionService.findSourceIdByName(any(HoldingsRecordsSourceCollection.class), any())).thenReturn(Future.succeededFuture(sourceId));
+    when(holdingsCollectionService.findInstanceIdByHrid(any(InstanceCollection.class), any(), any(), any())).thenReturn(Future.succeededFuture(instanceId));
+    when(holdingsCollectionService.findSourceIdByName(any(HoldingsRecordsSourceCollection.class), any(), any())).thenReturn(Future.succeededFuture(sourceId));
 
     HoldingsRecord holdings = new HoldingsRecord()
       .withId(String.valueOf(UUID.randomUUID()))
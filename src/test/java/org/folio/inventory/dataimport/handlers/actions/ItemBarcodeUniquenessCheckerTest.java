@@ -0,0 +1,162 @@
+package org.folio.inventory.dataimport.handlers.actions;
+
+import static java.lang.String.format;
+import static org.folio.inventory.dataimport.handlers.actions.ItemBarcodeUniquenessChecker.BARCODE_NOT_UNIQUE_MSG;
+import static org.folio.inventory.domain.items.ItemStatusName.AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.folio.inventory.common.api.request.PagingParameters;
+import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.common.domain.MultipleRecords;
+import org.folio.inventory.common.domain.Success;
+import org.folio.inventory.domain.items.Item;
+import org.folio.inventory.domain.items.ItemCollection;
+import org.folio.inventory.domain.items.Status;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Future;
+
+public class ItemBarcodeUniquenessCheckerTest {
+
+  private static final String EXISTING_ITEM_ID = UUID.randomUUID().toString();
+  private static final String EXISTING_BARCODE = "BC-1";
+
+  private ItemCollection itemCollection;
+
+  @Before
+  public void setUp() throws UnsupportedEncodingException {
+    itemCollection = mock(ItemCollection.class);
+
+    doAnswer(invocation -> {
+      String query = invocation.getArgument(0);
+      List<Item> found = query.contains(EXISTING_BARCODE)
+        ? List.of(item(EXISTING_ITEM_ID, EXISTING_BARCODE))
+        : List.of();
+      Consumer<Success<MultipleRecords<Item>>> successHandler = invocation.getArgument(2);
+      successHandler.accept(new Success<>(new MultipleRecords<>(found, found.size())));
+      return null;
+    }).when(itemCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldLookUpBarcodesOfAllItemsWithOneQuery() throws UnsupportedEncodingException {
+    List<Item> items = List.of(newItem("BC-2"), newItem("BC-3"), newItem(EXISTING_BARCODE));
+    ItemBarcodeUniquenessChecker checker = ItemBarcodeUniquenessChecker.forNewItems(itemCollection, barcodes(items));
+
+    List<Future<Void>> results = items.stream().map(checker::verify).collect(Collectors.toList());
+
+    assertTrue(results.get(0).succeeded());
+    assertTrue(results.get(1).succeeded());
+    assertEquals(format(BARCODE_NOT_UNIQUE_MSG, EXISTING_BARCODE), results.get(2).cause().getMessage());
+    verify(itemCollection, times(1))
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldFailItemsRepeatingBarcodeOfPreviousItem() {
+    List<Item> items = List.of(newItem("BC-2"), newItem("bc-2"), newItem("BC-2"));
+    ItemBarcodeUniquenessChecker checker = ItemBarcodeUniquenessChecker.forNewItems(itemCollection, barcodes(items));
+
+    List<Future<Void>> results = items.stream().map(checker::verify).collect(Collectors.toList());
+
+    assertTrue(results.get(0).succeeded());
+    assertEquals(format(BARCODE_NOT_UNIQUE_MSG, "bc-2"), results.get(1).cause().getMessage());
+    assertEquals(format(BARCODE_NOT_UNIQUE_MSG, "BC-2"), results.get(2).cause().getMessage());
+  }
+
+  @Test
+  public void shouldNotFailExistingItemFoundByItsOwnBarcode() {
+    Item existingItem = item(EXISTING_ITEM_ID, EXISTING_BARCODE);
+    Item anotherItem = item(UUID.randomUUID().toString(), EXISTING_BARCODE);
+
+    assertTrue(ItemBarcodeUniquenessChecker.forExistingItems(itemCollection, List.of(EXISTING_BARCODE))
+      .verify(existingItem).succeeded());
+    assertTrue(ItemBarcodeUniquenessChecker.forExistingItems(itemCollection, List.of(EXISTING_BARCODE))
+      .verify(anotherItem).failed());
+  }
+
+  @Test
+  public void shouldFetchAllItemsWhenMoreAreFoundThanAskedFor() throws UnsupportedEncodingException {
+    List<Item> storedItems = List.of(newItem("BC-2"), newItem("BC-3"), newItem("BC-4"), item(EXISTING_ITEM_ID, "BC-5"));
+    doAnswer(invocation -> {
+      PagingParameters pagingParameters = invocation.getArgument(1);
+      List<Item> found = storedItems.subList(0, Math.min(pagingParameters.limit, storedItems.size()));
+      Consumer<Success<MultipleRecords<Item>>> successHandler = invocation.getArgument(2);
+      successHandler.accept(new Success<>(new MultipleRecords<>(found, storedItems.size())));
+      return null;
+    }).when(itemCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    Future<Void> result = ItemBarcodeUniquenessChecker.forNewItems(itemCollection, List.of("BC-5"))
+      .verify(newItem("BC-5"));
+
+    assertEquals(format(BARCODE_NOT_UNIQUE_MSG, "BC-5"), result.cause().getMessage());
+    verify(itemCollection, times(2))
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldMatchBarcodesRegardlessOfCaseAndAccents() {
+    List<Item> items = List.of(newItem("Café-1"), newItem("CAFE-1"));
+    ItemBarcodeUniquenessChecker checker = ItemBarcodeUniquenessChecker.forNewItems(itemCollection, barcodes(items));
+
+    List<Future<Void>> results = items.stream().map(checker::verify).collect(Collectors.toList());
+
+    assertTrue(results.get(0).succeeded());
+    assertEquals(format(BARCODE_NOT_UNIQUE_MSG, "CAFE-1"), results.get(1).cause().getMessage());
+  }
+
+  @Test
+  public void shouldNotLookUpEmptyBarcodes() throws UnsupportedEncodingException {
+    Item item = newItem(null);
+    ItemBarcodeUniquenessChecker checker = ItemBarcodeUniquenessChecker.forNewItems(itemCollection,
+      Arrays.asList(null, ""));
+
+    assertTrue(checker.verify(item).succeeded());
+    verify(itemCollection, never())
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldFailItemsWhenLookupFails() throws UnsupportedEncodingException {
+    doAnswer(invocation -> {
+      Consumer<Failure> failureHandler = invocation.getArgument(3);
+      failureHandler.accept(new Failure("Item storage is not available", 500));
+      return null;
+    }).when(itemCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    Item item = newItem("BC-2");
+
+    Future<Void> result = ItemBarcodeUniquenessChecker.forNewItems(itemCollection, List.of("BC-2")).verify(item);
+
+    assertEquals("Item storage is not available", result.cause().getMessage());
+  }
+
+  private static List<String> barcodes(List<Item> items) {
+    return items.stream().map(Item::getBarcode).collect(Collectors.toList());
+  }
+
+  private static Item newItem(String barcode) {
+    return item(UUID.randomUUID().toString(), barcode);
+  }
+
+  private static Item item(String id, String barcode) {
+    return new Item(id, null, null, new Status(AVAILABLE), null, null, null)
+      .withBarcode(barcode);
+  }
+}
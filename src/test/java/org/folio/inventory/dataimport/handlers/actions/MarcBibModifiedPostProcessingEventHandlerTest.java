@@ -13,6 +13,7 @@ import org.folio.inventory.common.Context;
 import org.folio.inventory.common.domain.Failure;
 import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.domain.instances.Instance;
 import org.folio.inventory.domain.instances.InstanceCollection;
 import org.folio.inventory.domain.instances.titles.PrecedingSucceedingTitle;
@@ -30,6 +31,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -56,6 +58,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -114,7 +117,7 @@ public class MarcBibModifiedPostProcessingEventHandlerTest {
 
     when(mockedStorage.getInstanceCollection(any(Context.class))).thenReturn(mockedInstanceCollection);
 
-    when(mockedOkapiHttpClient.delete(anyString()))
+    when(mockedOkapiHttpClient.put(anyString(), any(JsonObject.class)))
       .thenReturn(CompletableFuture.completedFuture(new Response(204, null, null, null)));
 
     when(mockedOkapiHttpClient.get(anyString()))
@@ -133,10 +136,10 @@ public class MarcBibModifiedPostProcessingEventHandlerTest {
       return null;
     }).when(mockedInstanceCollection).update(any(Instance.class), any(Consumer.class), any(Consumer.class));
 
-    Mockito.when(mappingMetadataCache.get(anyString(), any(Context.class)))
-      .thenReturn(Future.succeededFuture(Optional.of(new MappingMetadataDto()
+    Mockito.when(mappingMetadataCache.getParsed(anyString(), any(Context.class)))
+      .thenReturn(Future.succeededFuture(Optional.of(new ParsedMappingMetadata(new MappingMetadataDto()
         .withMappingRules(mappingRules.encode())
-        .withMappingParams(Json.encode(new MappingParameters())))));
+        .withMappingParams(Json.encode(new MappingParameters()))))));
 
     PrecedingSucceedingTitlesHelper precedingSucceedingTitlesHelper = new PrecedingSucceedingTitlesHelper(ctxt -> mockedOkapiHttpClient);
     marcBibModifiedEventHandler = new MarcBibModifiedPostProcessingEventHandler(new InstanceUpdateDelegate(mockedStorage), precedingSucceedingTitlesHelper, mappingMetadataCache);
@@ -240,6 +243,11 @@ public class MarcBibModifiedPostProcessingEventHandlerTest {
     Assert.assertNotNull(existingInstance.getPrecedingTitles());
     Assert.assertEquals(existingInstance.getId(), updatedInstance.getId());
     Assert.assertTrue(updatedInstance.getPrecedingTitles().isEmpty());
+
+    ArgumentCaptor<JsonObject> titlesCaptor = ArgumentCaptor.forClass(JsonObject.class);
+    verify(mockedOkapiHttpClient).put(Mockito.endsWith("/preceding-succeeding-titles/instances/" + existingInstance.getId()), titlesCaptor.capture());
+    Assert.assertTrue(titlesCaptor.getValue().getJsonArray(PRECEDING_SUCCEEDING_TITLES_KEY).isEmpty());
+    verify(mockedOkapiHttpClient, never()).delete(anyString());
   }
 
   @Test
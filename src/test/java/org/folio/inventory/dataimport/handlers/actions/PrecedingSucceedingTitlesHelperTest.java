@@ -0,0 +1,120 @@
+package org.folio.inventory.dataimport.handlers.actions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.inventory.common.Context;
+import org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil;
+import org.folio.inventory.domain.instances.Instance;
+import org.folio.inventory.support.http.client.OkapiHttpClient;
+import org.folio.inventory.support.http.client.Response;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class PrecedingSucceedingTitlesHelperTest {
+
+  private static final String PRECEDING_SUCCEEDING_TITLES_KEY = "precedingSucceedingTitles";
+
+  private final OkapiHttpClient okapiHttpClient = mock(OkapiHttpClient.class);
+  private final PrecedingSucceedingTitlesHelper helper = new PrecedingSucceedingTitlesHelper(context -> okapiHttpClient);
+  private final Context context = EventHandlingUtil.constructContext("diku", "token", "http://localhost:9130");
+
+  private String instanceId;
+  private String precedingInstanceId;
+
+  @Before
+  public void setUp() {
+    instanceId = UUID.randomUUID().toString();
+    precedingInstanceId = UUID.randomUUID().toString();
+
+    when(okapiHttpClient.put(anyString(), any(JsonObject.class)))
+      .thenReturn(CompletableFuture.completedFuture(new Response(204, null, null, null)));
+  }
+
+  @Test
+  public void shouldNotSendTitlesWhenTheyHaveNotChanged() {
+    JsonObject existingTitle = precedingTitle().put("id", UUID.randomUUID().toString())
+      .put("succeedingInstanceId", instanceId);
+    returnExistingTitles(existingTitle);
+
+    Future<Void> future = helper.replacePrecedingSucceedingTitles(instance(precedingTitle()), context);
+
+    assertThat(future.succeeded(), is(true));
+    verify(okapiHttpClient, never()).put(anyString(), any(JsonObject.class));
+  }
+
+  @Test
+  public void shouldReplaceTitlesByOneRequestKeepingIdsOfUnchangedTitles() {
+    String existingTitleId = UUID.randomUUID().toString();
+    returnExistingTitles(
+      precedingTitle().put("id", existingTitleId).put("succeedingInstanceId", instanceId),
+      new JsonObject().put("id", UUID.randomUUID().toString()).put("title", "Removed title")
+        .put("succeedingInstanceId", instanceId));
+
+    JsonObject addedTitle = new JsonObject().put("title", "Added title");
+    Future<Void> future = helper.replacePrecedingSucceedingTitles(instance(precedingTitle(), addedTitle), context);
+
+    assertThat(future.succeeded(), is(true));
+    ArgumentCaptor<JsonObject> titlesCaptor = ArgumentCaptor.forClass(JsonObject.class);
+    verify(okapiHttpClient).put(
+      eq("http://localhost:9130/preceding-succeeding-titles/instances/" + instanceId), titlesCaptor.capture());
+    verify(okapiHttpClient, never()).delete(anyString());
+    verify(okapiHttpClient, never()).post(anyString(), any(JsonObject.class));
+
+    JsonArray titles = titlesCaptor.getValue().getJsonArray(PRECEDING_SUCCEEDING_TITLES_KEY);
+    assertThat(titles.size(), is(2));
+    assertThat(titles.getJsonObject(0).getString("id"), is(existingTitleId));
+    assertThat(titles.getJsonObject(1).getString("title"), is("Added title"));
+    assertThat(titles.getJsonObject(1).getString("id"), not(existingTitleId));
+  }
+
+  @Test
+  public void shouldFailWhenTitlesAreNotReplaced() {
+    returnExistingTitles();
+    when(okapiHttpClient.put(anyString(), any(JsonObject.class)))
+      .thenReturn(CompletableFuture.completedFuture(new Response(500, "Internal Server Error", null, null)));
+
+    Future<Void> future = helper.replacePrecedingSucceedingTitles(instance(precedingTitle()), context);
+
+    assertThat(future.failed(), is(true));
+  }
+
+  private JsonObject precedingTitle() {
+    return new JsonObject()
+      .put("title", "Butterflies in the snow")
+      .put("precedingInstanceId", precedingInstanceId);
+  }
+
+  private Instance instance(JsonObject... precedingTitles) {
+    return Instance.fromJson(new JsonObject()
+      .put("id", instanceId)
+      .put(Instance.TITLE_KEY, "Jewish life")
+      .put(Instance.PRECEDING_TITLES_KEY, new JsonArray(List.of(precedingTitles))));
+  }
+
+  private void returnExistingTitles(JsonObject... titles) {
+    JsonObject body = new JsonObject()
+      .put(PRECEDING_SUCCEEDING_TITLES_KEY, new JsonArray(List.of(titles)))
+      .put("totalRecords", titles.length);
+
+    when(okapiHttpClient.get(anyString()))
+      .thenReturn(CompletableFuture.completedFuture(new Response(200, body.encode(), "application/json", null)));
+  }
+}
@@ -57,7 +57,6 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -91,7 +90,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -198,7 +197,7 @@ public class ReplaceInstanceEventHandlerTest {
     doAnswer(invocationOnMock -> completedStage(createResponse(200, new JsonObject().encode())))
       .when(mockedClient).get(anyString());
     doAnswer(invocationOnMock -> completedStage(createResponse(204, null)))
-      .when(mockedClient).delete(anyString());
+      .when(mockedClient).put(anyString(), any(JsonObject.class));
   }
 
   @Test
@@ -252,7 +251,10 @@ public class ReplaceInstanceEventHandlerTest {
     assertThat(createdInstance.getJsonArray("notes").getJsonObject(0).getString("instanceNoteTypeId"), notNullValue());
     assertThat(createdInstance.getJsonArray("notes").getJsonObject(1).getString("instanceNoteTypeId"), notNullValue());
     assertThat(createdInstance.getString("_version"), is(INSTANCE_VERSION_AS_STRING));
-    verify(mockedClient, times(2)).post(any(URL.class), any(JsonObject.class));
+    ArgumentCaptor<JsonObject> titlesCaptor = ArgumentCaptor.forClass(JsonObject.class);
+    verify(mockedClient).put(anyString(), titlesCaptor.capture());
+    assertThat(titlesCaptor.getValue().getJsonArray(PRECEDING_SUCCEEDING_TITLES_KEY).size(), is(2));
+    verify(mockedClient, never()).post(any(URL.class), any(JsonObject.class));
     verify(1, getRequestedFor(new UrlPathPattern(new RegexPattern("/source-storage/records" + "/.*"), true)));
   }
 
@@ -307,9 +309,13 @@ public class ReplaceInstanceEventHandlerTest {
     assertNotEquals(existingPrecedingTitle.getString(TITLE_KEY), updatedInstance.getJsonArray("precedingTitles").getJsonObject(0).getString(TITLE_KEY));
     assertThat(updatedInstance.getString("_version"), is(INSTANCE_VERSION_AS_STRING));
 
-    ArgumentCaptor<Set<String>> titleIdCaptor = ArgumentCaptor.forClass(Set.class);
-    verify(precedingSucceedingTitlesHelper).deletePrecedingSucceedingTitles(titleIdCaptor.capture(), any(Context.class));
-    assertTrue(titleIdCaptor.getValue().contains(existingPrecedingTitle.getString("id")));
+    ArgumentCaptor<JsonObject> titlesCaptor = ArgumentCaptor.forClass(JsonObject.class);
+    verify(mockedClient).put(anyString(), titlesCaptor.capture());
+    JsonArray replacingTitles = titlesCaptor.getValue().getJsonArray(PRECEDING_SUCCEEDING_TITLES_KEY);
+    assertTrue(replacingTitles.stream()
+      .map(JsonObject.class::cast)
+      .noneMatch(titleJson -> existingPrecedingTitle.getString("id").equals(titleJson.getString("id"))));
+    verify(mockedClient, never()).delete(anyString());
   }
 
   @Test(expected = ExecutionException.class)
@@ -55,6 +55,7 @@ import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.ItemWriterFactory;
 import org.folio.inventory.dataimport.ItemsMapperFactory;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
+import org.folio.inventory.dataimport.cache.ParsedMappingMetadata;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.domain.items.Item;
 import org.folio.inventory.domain.items.ItemCollection;
@@ -199,10 +200,10 @@ public class UpdateItemEventHandlerTest {
       return null;
     }).when(mockedHoldingsCollection).findById(anyString(),any(Consumer.class),any(Consumer.class));
 
-    when(mappingMetadataCache.get(anyString(), any(Context.class)))
-      .thenReturn(Future.succeededFuture(Optional.of(new MappingMetadataDto()
+    when(mappingMetadataCache.getParsed(anyString(), any(Context.class)))
+      .thenReturn(Future.succeededFuture(Optional.of(new ParsedMappingMetadata(new MappingMetadataDto()
         .withMappingRules(new JsonObject().encode())
-        .withMappingParams(Json.encode(new MappingParameters())))));
+        .withMappingParams(Json.encode(new MappingParameters()))))));
 
     MappingManager.clearReaderFactories();
     MappingManager.registerReaderFactory(fakeReaderFactory);
@@ -672,7 +673,8 @@ public class UpdateItemEventHandlerTest {
     throws InterruptedException, ExecutionException, TimeoutException, UnsupportedEncodingException {
     // given
     doAnswer(invocationOnMock -> {
-      Item itemByCql = new Item(null, null, null, new Status(AVAILABLE), null, null, null);
+      Item itemByCql = new Item(null, null, null, new Status(AVAILABLE), null, null, null)
+        .withBarcode("In process");
       MultipleRecords<Item> result = new MultipleRecords<>(Collections.singletonList(itemByCql), 0);
       Consumer<Success<MultipleRecords<Item>>> successHandler = invocationOnMock.getArgument(2);
       successHandler.accept(new Success<>(result));
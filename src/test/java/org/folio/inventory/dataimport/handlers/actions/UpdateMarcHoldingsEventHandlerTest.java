@@ -73,6 +73,7 @@ import org.folio.inventory.common.domain.Success;
 import org.folio.inventory.dataimport.cache.MappingMetadataCache;
 import org.folio.inventory.domain.HoldingsRecordCollection;
 import org.folio.inventory.domain.instances.InstanceCollection;
+import org.folio.inventory.services.HoldingsCollectionService;
 import org.folio.inventory.storage.Storage;
 import org.folio.processing.events.services.publisher.KafkaEventPublisher;
 import org.folio.processing.mapping.MappingManager;
@@ -139,7 +140,7 @@ public class UpdateMarcHoldingsEventHandlerTest {
     MockitoAnnotations.openMocks(this);
     MappingManager.clearReaderFactories();
     MappingMetadataCache mappingMetadataCache = new MappingMetadataCache(vertx, vertx.createHttpClient(), 3600);
-    eventHandler = new UpdateMarcHoldingsEventHandler(storage, mappingMetadataCache, publisher);
+    eventHandler = new UpdateMarcHoldingsEventHandler(storage, mappingMetadataCache, publisher, new HoldingsCollectionService());
     mappingRules = new JsonObject(TestUtil.readFileFromPath(MAPPING_RULES_PATH));
 
     doAnswer(invocationOnMock -> {
@@ -0,0 +1,110 @@
+package org.folio.inventory.dataimport.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.DataImportEventPayload;
+import org.folio.inventory.AllocationMeter;
+import org.folio.inventory.PerformanceTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Allocation benchmark: compares memory allocated by the steps of the item update handler, which used to parse
+ * and encode the items and holdings of a multi-item record for each step, with the same steps done on parsed entities.
+ */
+@Category(PerformanceTest.class)
+public class ParsedPayloadContextAllocationTest {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String ITEM = "ITEM";
+  private static final String HOLDINGS = "HOLDINGS";
+  private static final int ITEMS_PER_RECORD = 50;
+  private static final int RECORDS = 200;
+
+  private final String itemsAsString = items().encode();
+
+  @Test
+  public void shouldAllocateLessWhenEntitiesAreParsedOnce() {
+    assumeTrue(AllocationMeter.isSupported());
+
+    long parsedPerStep = allocatedBytes(payload -> {
+      HashMap<String, String> context = payload.getContext();
+      new JsonArray(context.get(ITEM)).isEmpty();
+      JsonArray items = new JsonArray(context.get(ITEM));
+      context.put(ITEM, items.encode());
+      items = new JsonArray(context.get(ITEM));
+      wrapItems(items);
+      context.put(ITEM, items.encode());
+      for (int i = 0; i < ITEMS_PER_RECORD; i++) {
+        JsonArray holdings = new JsonArray(context.getOrDefault(HOLDINGS, "[]"));
+        holdings.add(holdings(i));
+        context.put(HOLDINGS, holdings.encode());
+      }
+    });
+
+    long parsedOnce = allocatedBytes(payload -> {
+      ParsedPayloadContext parsedContext = new ParsedPayloadContext(payload);
+      parsedContext.getJsonArray(ITEM).isEmpty();
+      wrapItems(parsedContext.getJsonArray(ITEM));
+      parsedContext.markChanged(ITEM);
+      parsedContext.flush();
+      JsonArray holdings = new JsonArray();
+      for (int i = 0; i < ITEMS_PER_RECORD; i++) {
+        holdings.add(holdings(i));
+        parsedContext.put(HOLDINGS, holdings);
+      }
+      parsedContext.flush();
+    });
+
+    LOGGER.info("Allocated for {} records of {} items: parsed per step {} bytes, parsed once {} bytes",
+      RECORDS, ITEMS_PER_RECORD, parsedPerStep, parsedOnce);
+    assertThat(parsedOnce, lessThan(parsedPerStep / 4));
+  }
+
+  private long allocatedBytes(Consumer<DataImportEventPayload> recordHandler) {
+    return AllocationMeter.allocatedBytes(RECORDS, () -> {
+      HashMap<String, String> context = new HashMap<>();
+      context.put(ITEM, itemsAsString);
+      recordHandler.accept(new DataImportEventPayload().withContext(context));
+    });
+  }
+
+  private static void wrapItems(JsonArray items) {
+    for (int i = 0; i < items.size(); i++) {
+      items.set(i, new JsonObject().put("item", items.getJsonObject(i)));
+    }
+  }
+
+  private static JsonArray items() {
+    JsonArray items = new JsonArray();
+    for (int i = 0; i < ITEMS_PER_RECORD; i++) {
+      items.add(new JsonObject()
+        .put("id", UUID.randomUUID().toString())
+        .put("barcode", "barcode-" + i)
+        .put("holdingsRecordId", UUID.randomUUID().toString())
+        .put("status", new JsonObject().put("name", "Available"))
+        .put("materialType", new JsonObject().put("id", UUID.randomUUID().toString()))
+        .put("permanentLoanType", new JsonObject().put("id", UUID.randomUUID().toString())));
+    }
+    return items;
+  }
+
+  private static JsonObject holdings(int index) {
+    return new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("permanentLocationId", UUID.randomUUID().toString())
+      .put("callNumber", "call number " + index);
+  }
+}
@@ -0,0 +1,104 @@
+package org.folio.inventory.dataimport.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+import org.folio.DataImportEventPayload;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class ParsedPayloadContextTest {
+
+  private static final String ITEM = "ITEM";
+  private static final String HOLDINGS = "HOLDINGS";
+
+  @Test
+  public void shouldParseEntityOnce() {
+    DataImportEventPayload payload = payload(items(3));
+    ParsedPayloadContext parsedContext = new ParsedPayloadContext(payload);
+
+    JsonArray items = parsedContext.getJsonArray(ITEM);
+
+    assertThat(items.size(), is(3));
+    assertThat(parsedContext.getJsonArray(ITEM), sameInstance(items));
+  }
+
+  @Test
+  public void shouldParseEntityAgainWhenItIsReplacedInContext() {
+    DataImportEventPayload payload = payload(items(3));
+    ParsedPayloadContext parsedContext = new ParsedPayloadContext(payload);
+    parsedContext.getJsonArray(ITEM);
+
+    payload.getContext().put(ITEM, items(1).encode());
+
+    assertThat(parsedContext.getJsonArray(ITEM).size(), is(1));
+  }
+
+  @Test
+  public void shouldEncodeChangedEntitiesOnlyOnFlush() {
+    DataImportEventPayload payload = payload(items(1));
+    String itemsAsString = payload.getContext().get(ITEM);
+    ParsedPayloadContext parsedContext = new ParsedPayloadContext(payload);
+
+    parsedContext.getJsonArray(ITEM).add(new JsonObject().put("id", "new"));
+    parsedContext.markChanged(ITEM);
+    parsedContext.put(HOLDINGS, new JsonArray().add(new JsonObject().put("id", "holdings")));
+
+    assertThat(payload.getContext().get(ITEM), sameInstance(itemsAsString));
+    assertThat(payload.getContext().get(HOLDINGS), nullValue());
+
+    parsedContext.flush();
+
+    assertThat(new JsonArray(payload.getContext().get(ITEM)).size(), is(2));
+    assertThat(new JsonArray(payload.getContext().get(HOLDINGS)).getJsonObject(0).getString("id"), is("holdings"));
+    assertThat(parsedContext.getJsonArray(HOLDINGS).size(), is(1));
+  }
+
+  @Test
+  public void shouldReturnNullForMissingEntity() {
+    ParsedPayloadContext parsedContext = new ParsedPayloadContext(payload(items(1)));
+
+    assertThat(parsedContext.getJsonArray(HOLDINGS), nullValue());
+    assertThat(parsedContext.getJsonObject("PO_LINE"), nullValue());
+  }
+
+  @Test
+  public void shouldRemoveEntityWithChangesWhichWereNotFlushed() {
+    DataImportEventPayload payload = payload(items(1));
+    ParsedPayloadContext parsedContext = new ParsedPayloadContext(payload);
+    parsedContext.put(ITEM, items(2));
+
+    String removed = parsedContext.remove(ITEM);
+
+    assertThat(new JsonArray(removed).size(), is(2));
+    assertThat(payload.getContext().containsKey(ITEM), is(false));
+    assertThat(parsedContext.getJsonArray(ITEM), nullValue());
+  }
+
+  private static DataImportEventPayload payload(JsonArray items) {
+    HashMap<String, String> context = new HashMap<>();
+    context.put(ITEM, items.encode());
+    return new DataImportEventPayload().withContext(context);
+  }
+
+  private static JsonArray items(int count) {
+    JsonArray items = new JsonArray();
+    for (int i = 0; i < count; i++) {
+      items.add(new JsonObject()
+        .put("id", UUID.randomUUID().toString())
+        .put("barcode", "barcode-" + i)
+        .put("holdingsRecordId", UUID.randomUUID().toString())
+        .put("status", new JsonObject().put("name", "Available"))
+        .put("materialType", new JsonObject().put("id", UUID.randomUUID().toString()))
+        .put("permanentLoanType", new JsonObject().put("id", UUID.randomUUID().toString())));
+    }
+    return items;
+  }
+}
@@ -0,0 +1,121 @@
+package org.folio.inventory.dataimport.util;
+
+import static org.folio.ActionProfile.Action.CREATE;
+import static org.folio.ActionProfile.Action.UPDATE;
+import static org.folio.ActionProfile.FolioRecord.HOLDINGS;
+import static org.folio.ActionProfile.FolioRecord.ITEM;
+import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.ACTION_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.JOB_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MATCH_PROFILE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.ActionProfile;
+import org.folio.DataImportEventPayload;
+import org.folio.MatchProfile;
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class ProfileSnapshotNodeUtilTest {
+
+  private static final String TENANT_ID = "diku";
+
+  @Test
+  public void shouldMapContentOfNodeToProfile() {
+    ProfileSnapshotWrapper node = actionProfileNode(UUID.randomUUID().toString(), CREATE, ITEM);
+
+    ActionProfile actionProfile = ProfileSnapshotNodeUtil.getActionProfile(payload(TENANT_ID, null, node));
+
+    assertThat(actionProfile.getAction(), is(CREATE));
+    assertThat(actionProfile.getFolioRecord(), is(ITEM));
+  }
+
+  @Test
+  public void shouldResolveProfilesOfAllNodesOfSnapshot() {
+    String profileSnapshotId = UUID.randomUUID().toString();
+    String actionNodeId = UUID.randomUUID().toString();
+    String matchNodeId = UUID.randomUUID().toString();
+    String matchProfileId = UUID.randomUUID().toString();
+
+    ProfileSnapshotWrapper matchNode = new ProfileSnapshotWrapper()
+      .withId(matchNodeId)
+      .withContentType(MATCH_PROFILE)
+      .withContent(JsonObject.mapFrom(new MatchProfile().withId(matchProfileId)).getMap())
+      .withChildSnapshotWrappers(List.of(actionProfileNode(actionNodeId, CREATE, ITEM)));
+    ProfileSnapshotNodeUtil.resolveProfiles(TENANT_ID, profileSnapshotId, jobProfileSnapshot(profileSnapshotId, matchNode));
+
+    ActionProfile first = ProfileSnapshotNodeUtil.getActionProfile(
+      payload(TENANT_ID, profileSnapshotId, actionProfileNode(actionNodeId, CREATE, ITEM)));
+    ActionProfile second = ProfileSnapshotNodeUtil.getActionProfile(
+      payload(TENANT_ID, profileSnapshotId, actionProfileNode(actionNodeId, CREATE, ITEM)));
+    MatchProfile matchProfile = ProfileSnapshotNodeUtil.getMatchProfile(payload(TENANT_ID, profileSnapshotId, matchNode));
+
+    assertThat(first.getFolioRecord(), is(ITEM));
+    assertThat(second, sameInstance(first));
+    assertThat(matchProfile.getId(), is(matchProfileId));
+  }
+
+  @Test
+  public void shouldNotUseProfilesResolvedForOtherSnapshotOrTenant() {
+    String profileSnapshotId = UUID.randomUUID().toString();
+    String nodeId = UUID.randomUUID().toString();
+    ProfileSnapshotNodeUtil.resolveProfiles(TENANT_ID, profileSnapshotId,
+      jobProfileSnapshot(profileSnapshotId, actionProfileNode(nodeId, CREATE, ITEM)));
+
+    // a node of the same id with a changed profile in another snapshot, and in the same snapshot id of another tenant
+    ActionProfile ofOtherSnapshot = ProfileSnapshotNodeUtil.getActionProfile(
+      payload(TENANT_ID, UUID.randomUUID().toString(), actionProfileNode(nodeId, UPDATE, HOLDINGS)));
+    ActionProfile ofOtherTenant = ProfileSnapshotNodeUtil.getActionProfile(
+      payload("other", profileSnapshotId, actionProfileNode(nodeId, UPDATE, HOLDINGS)));
+
+    assertThat(ofOtherSnapshot.getAction(), is(UPDATE));
+    assertThat(ofOtherSnapshot.getFolioRecord(), is(HOLDINGS));
+    assertThat(ofOtherTenant.getAction(), is(UPDATE));
+    assertThat(ofOtherTenant.getFolioRecord(), is(HOLDINGS));
+  }
+
+  @Test
+  public void shouldReturnContentWhichIsAlreadyProfile() {
+    ActionProfile actionProfile = new ActionProfile().withAction(CREATE).withFolioRecord(ITEM);
+    ProfileSnapshotWrapper node = new ProfileSnapshotWrapper()
+      .withId(UUID.randomUUID().toString())
+      .withContentType(ACTION_PROFILE)
+      .withContent(actionProfile);
+
+    assertThat(ProfileSnapshotNodeUtil.getActionProfile(payload(TENANT_ID, null, node)), sameInstance(actionProfile));
+  }
+
+  private static ProfileSnapshotWrapper jobProfileSnapshot(String profileSnapshotId, ProfileSnapshotWrapper child) {
+    return new ProfileSnapshotWrapper()
+      .withId(profileSnapshotId)
+      .withContentType(JOB_PROFILE)
+      .withChildSnapshotWrappers(List.of(child));
+  }
+
+  private static DataImportEventPayload payload(String tenantId, String profileSnapshotId, ProfileSnapshotWrapper node) {
+    HashMap<String, String> context = new HashMap<>();
+    if (profileSnapshotId != null) {
+      context.put("JOB_PROFILE_SNAPSHOT_ID", profileSnapshotId);
+    }
+    return new DataImportEventPayload()
+      .withTenant(tenantId)
+      .withContext(context)
+      .withCurrentNode(node);
+  }
+
+  private static ProfileSnapshotWrapper actionProfileNode(String nodeId, ActionProfile.Action action,
+    ActionProfile.FolioRecord folioRecord) {
+
+    return new ProfileSnapshotWrapper()
+      .withId(nodeId)
+      .withContentType(ACTION_PROFILE)
+      .withContent(JsonObject.mapFrom(new ActionProfile().withAction(action).withFolioRecord(folioRecord)).getMap());
+  }
+}
@@ -81,7 +81,7 @@ public class UpdateHoldingsQuickMarcEventHandlerTest {
     var sourceId = String.valueOf(UUID.randomUUID());
     when(storage.getHoldingsRecordCollection(any(Context.class))).thenReturn(holdingsRecordCollection);
     when(storage.getHoldingsRecordsSourceCollection(any(Context.class))).thenReturn(sourceCollection);
-    when(holdingsCollectionService.findSourceIdByName(any(HoldingsRecordsSourceCollection.class), any())).thenReturn(Future.succeededFuture(sourceId));
+    when(holdingsCollectionService.findSourceIdByName(any(HoldingsRecordsSourceCollection.class), any(), any())).thenReturn(Future.succeededFuture(sourceId));
 
     doAnswer(invocationOnMock -> {
       Consumer<Success<HoldingsRecord>> successHandler = invocationOnMock.getArgument(1);
@@ -0,0 +1,117 @@
+package org.folio.inventory.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.inventory.services.BoundWithResolver;
+import org.folio.inventory.storage.external.CollectionResourceClient;
+import org.folio.inventory.support.http.client.Response;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class BoundWithResolverTest {
+  private final String boundWithHoldingsId = UUID.randomUUID().toString();
+  private final String holdingsWithBoundWithItemId = UUID.randomUUID().toString();
+  private final String notBoundWithHoldingsId = UUID.randomUUID().toString();
+  private final String boundWithItemId = UUID.randomUUID().toString();
+  private final String otherItemId = UUID.randomUUID().toString();
+
+  private CollectionResourceClient boundWithPartsClient;
+  private CollectionResourceClient itemsClient;
+
+  @Before
+  public void setUp() {
+    boundWithPartsClient = mock(CollectionResourceClient.class);
+    itemsClient = mock(CollectionResourceClient.class);
+
+    doAnswer(invocation -> {
+      String query = invocation.getArgument(0);
+      JsonArray parts = new JsonArray();
+      if (query.contains(boundWithHoldingsId)) {
+        parts.add(new JsonObject().put("holdingsRecordId", boundWithHoldingsId).put("itemId", boundWithItemId));
+      }
+      if (query.contains(boundWithItemId)) {
+        parts.add(new JsonObject().put("holdingsRecordId", boundWithHoldingsId).put("itemId", boundWithItemId));
+      }
+      return respond("boundWithParts", parts);
+    }).when(boundWithPartsClient).getMany(anyString(), anyInt(), anyInt());
+
+    doAnswer(invocation -> {
+      JsonArray items = new JsonArray()
+        .add(new JsonObject().put("id", boundWithItemId).put("holdingsRecordId", holdingsWithBoundWithItemId))
+        .add(new JsonObject().put("id", otherItemId).put("holdingsRecordId", notBoundWithHoldingsId));
+      return respond("items", items);
+    }).when(itemsClient).getMany(anyString(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void shouldFindHoldingsReferencedDirectlyOrThroughItems() {
+    BoundWithResolver resolver = new BoundWithResolver(UUID.randomUUID().toString(),
+      boundWithPartsClient, itemsClient);
+
+    Set<String> boundWithHoldingsIds = resolver.findBoundWithHoldingsIds(
+      List.of(boundWithHoldingsId, holdingsWithBoundWithItemId, notBoundWithHoldingsId)).join();
+
+    assertThat(boundWithHoldingsIds, containsInAnyOrder(boundWithHoldingsId, holdingsWithBoundWithItemId));
+  }
+
+  @Test
+  public void shouldNotCheckAgainHoldingsKnownNotToBeBoundWith() {
+    String tenantId = UUID.randomUUID().toString();
+
+    new BoundWithResolver(tenantId, boundWithPartsClient, itemsClient)
+      .findBoundWithHoldingsIds(List.of(notBoundWithHoldingsId)).join();
+
+    Set<String> boundWithHoldingsIds = new BoundWithResolver(tenantId, boundWithPartsClient, itemsClient)
+      .findBoundWithHoldingsIds(List.of(notBoundWithHoldingsId)).join();
+
+    assertThat(boundWithHoldingsIds, empty());
+    verify(itemsClient, times(1)).getMany(contains(notBoundWithHoldingsId), anyInt(), anyInt());
+  }
+
+  @Test
+  public void shouldNotRememberHoldingsOfOtherTenants() {
+    new BoundWithResolver(UUID.randomUUID().toString(), boundWithPartsClient, itemsClient)
+      .findBoundWithHoldingsIds(List.of(notBoundWithHoldingsId)).join();
+
+    new BoundWithResolver(UUID.randomUUID().toString(), boundWithPartsClient, itemsClient)
+      .findBoundWithHoldingsIds(List.of(notBoundWithHoldingsId)).join();
+
+    verify(itemsClient, times(2)).getMany(contains(notBoundWithHoldingsId), anyInt(), anyInt());
+  }
+
+  @Test
+  public void shouldNotQueryStorageForEmptyList() {
+    Set<String> boundWithHoldingsIds = new BoundWithResolver(UUID.randomUUID().toString(),
+      boundWithPartsClient, itemsClient).findBoundWithHoldingsIds(List.of()).join();
+
+    assertThat(boundWithHoldingsIds, empty());
+    verify(itemsClient, never()).getMany(anyString(), anyInt(), anyInt());
+    verify(boundWithPartsClient, never()).getMany(anyString(), anyInt(), anyInt());
+  }
+
+  private static CompletableFuture<Response> respond(String collectionName, JsonArray records) {
+    JsonObject body = new JsonObject()
+      .put(collectionName, records)
+      .put("totalRecords", records.size());
+
+    return CompletableFuture.completedFuture(new Response(200, body.encode(), "application/json", null));
+  }
+}
@@ -1,6 +1,9 @@
 package org.folio.inventory.service;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
 import org.folio.HoldingsRecordsSource;
 import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.common.domain.Failure;
@@ -21,14 +24,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class HoldingsCollectionServiceTest {
   private HoldingsCollectionService holdingsCollectionService;
@@ -79,6 +88,116 @@ public class HoldingsCollectionServiceTest {
   }
 
 
+  @Test
+  public void shouldLookUpSourceIdOncePerTenant() throws IOException {
+    var sourceId = String.valueOf(UUID.randomUUID());
+    doAnswer(invocationOnMock -> {
+      HoldingsRecordsSource source = new HoldingsRecordsSource().withId(sourceId).withName("MARC");
+      Consumer<Success<MultipleRecords<HoldingsRecordsSource>>> successHandler = invocationOnMock.getArgument(2);
+      successHandler.accept(new Success<>(new MultipleRecords<>(Collections.singletonList(source), 1)));
+      return null;
+    }).when(holdingsRecordsSourceCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    // the caches are shared by all instances, so the tenants of each test are unique
+    var tenantId = String.valueOf(UUID.randomUUID());
+    assertEquals(sourceId, holdingsCollectionService.findSourceIdByName(holdingsRecordsSourceCollection, "MARC", tenantId).result());
+    assertEquals(sourceId, holdingsCollectionService.findSourceIdByName(holdingsRecordsSourceCollection, "MARC", tenantId).result());
+    holdingsCollectionService.findSourceIdByName(holdingsRecordsSourceCollection, "MARC", String.valueOf(UUID.randomUUID()));
+
+    verify(holdingsRecordsSourceCollection, times(2))
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldShareCachedIdsBetweenInstances() throws IOException {
+    var sourceId = String.valueOf(UUID.randomUUID());
+    doAnswer(invocationOnMock -> {
+      HoldingsRecordsSource source = new HoldingsRecordsSource().withId(sourceId).withName("MARC");
+      Consumer<Success<MultipleRecords<HoldingsRecordsSource>>> successHandler = invocationOnMock.getArgument(2);
+      successHandler.accept(new Success<>(new MultipleRecords<>(Collections.singletonList(source), 1)));
+      return null;
+    }).when(holdingsRecordsSourceCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    var tenantId = String.valueOf(UUID.randomUUID());
+    assertEquals(sourceId, holdingsCollectionService.findSourceIdByName(holdingsRecordsSourceCollection, "MARC", tenantId).result());
+    assertEquals(sourceId, new HoldingsCollectionService().findSourceIdByName(holdingsRecordsSourceCollection, "MARC", tenantId).result());
+
+    verify(holdingsRecordsSourceCollection, times(1))
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldLookUpInstanceIdOncePerJob() throws IOException {
+    var instanceId = String.valueOf(UUID.randomUUID());
+    doAnswer(invocationOnMock -> {
+      Instance instance = new Instance(instanceId, "2", "in00000000315", String.valueOf(UUID.randomUUID()),
+        String.valueOf(UUID.randomUUID()), String.valueOf(UUID.randomUUID()));
+      Consumer<Success<MultipleRecords<Instance>>> successHandler = invocationOnMock.getArgument(2);
+      successHandler.accept(new Success<>(new MultipleRecords<>(Collections.singletonList(instance), 1)));
+      return null;
+    }).when(instanceRecordCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    var jobExecutionId = String.valueOf(UUID.randomUUID());
+    assertEquals(instanceId, holdingsCollectionService.findInstanceIdByHrid(instanceRecordCollection, "in00000000315", "diku", jobExecutionId).result());
+    assertEquals(instanceId, holdingsCollectionService.findInstanceIdByHrid(instanceRecordCollection, "in00000000315", "diku", jobExecutionId).result());
+    holdingsCollectionService.findInstanceIdByHrid(instanceRecordCollection, "in00000000315", "diku", String.valueOf(UUID.randomUUID()));
+
+    verify(instanceRecordCollection, times(2))
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
+  @Test
+  public void shouldCompleteSharedLookupOnContextOfEachCaller() throws Exception {
+    var sourceId = String.valueOf(UUID.randomUUID());
+    List<Consumer<Success<MultipleRecords<HoldingsRecordsSource>>>> pendingLookups = new CopyOnWriteArrayList<>();
+    doAnswer(invocationOnMock -> {
+      pendingLookups.add(invocationOnMock.getArgument(2));
+      return null;
+    }).when(holdingsRecordsSourceCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    Vertx vertx = Vertx.vertx();
+    try {
+      var tenantId = String.valueOf(UUID.randomUUID());
+      List<Context> callerContexts = List.of(((VertxInternal) vertx).createEventLoopContext(),
+        ((VertxInternal) vertx).createEventLoopContext());
+      List<CompletableFuture<Context>> completedOn = new ArrayList<>();
+
+      for (Context callerContext : callerContexts) {
+        CompletableFuture<Context> contextOfResult = new CompletableFuture<>();
+        completedOn.add(contextOfResult);
+        callerContext.runOnContext(v -> new HoldingsCollectionService()
+          .findSourceIdByName(holdingsRecordsSourceCollection, "MARC", tenantId)
+          .onSuccess(id -> contextOfResult.complete(Vertx.currentContext())));
+      }
+
+      await().atMost(5, TimeUnit.SECONDS).until(() -> pendingLookups.size() == 1);
+      HoldingsRecordsSource source = new HoldingsRecordsSource().withId(sourceId).withName("MARC");
+      // the lookup completes on a thread of neither caller
+      pendingLookups.get(0).accept(new Success<>(new MultipleRecords<>(Collections.singletonList(source), 1)));
+
+      assertEquals(callerContexts.get(0), completedOn.get(0).get(5, TimeUnit.SECONDS));
+      assertEquals(callerContexts.get(1), completedOn.get(1).get(5, TimeUnit.SECONDS));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void shouldNotCacheInstanceIdWhichWasNotFound() throws IOException {
+    doAnswer(invocationOnMock -> {
+      Consumer<Success<MultipleRecords<Instance>>> successHandler = invocationOnMock.getArgument(2);
+      successHandler.accept(new Success<>(new MultipleRecords<>(new ArrayList<>(), 0)));
+      return null;
+    }).when(instanceRecordCollection).findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+
+    var jobExecutionId = String.valueOf(UUID.randomUUID());
+    assertTrue(holdingsCollectionService.findInstanceIdByHrid(instanceRecordCollection, "in00000000315", "diku", jobExecutionId).failed());
+    assertTrue(holdingsCollectionService.findInstanceIdByHrid(instanceRecordCollection, "in00000000315", "diku", jobExecutionId).failed());
+
+    verify(instanceRecordCollection, times(2))
+      .findByCql(anyString(), any(PagingParameters.class), any(Consumer.class), any(Consumer.class));
+  }
+
   @Test
   public void shouldFailWhenExceptionByFindInstanceId() throws IOException {
     doThrow(new UnsupportedEncodingException())
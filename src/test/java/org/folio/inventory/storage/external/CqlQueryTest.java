@@ -22,4 +22,26 @@ public class CqlQueryTest {
     assertThat(CqlQuery.notEqual("foo", "bar\"baz").toString(), is("foo<>\"bar\\\"baz\""));
   }
 
+  @Test
+  public void keysetPage() {
+    CqlQuery query = CqlQuery.match("foo", "bar").or(CqlQuery.match("baz", "qux"));
+
+    assertThat(query.grouped().and(CqlQuery.greaterThan("id", "abc")).sortBy("id").toString(),
+      is("(foo=\"bar\" or baz=\"qux\") and id>\"abc\" sortBy id"));
+  }
+
+  @Test
+  public void hasSortByClause() {
+    assertThat(CqlQuery.hasSortBy("title=\"foo\" sortBy title"), is(true));
+    assertThat(CqlQuery.hasSortBy("(title=\"foo\")SORTBY title/sort.descending"), is(true));
+    assertThat(CqlQuery.hasSortBy("cql.allRecords=1 sortby"), is(true));
+  }
+
+  @Test
+  public void hasNoSortByClauseWhenSortByIsPartOfTerm() {
+    assertThat(CqlQuery.hasSortBy("title=\"sortBy guide\""), is(false));
+    assertThat(CqlQuery.hasSortBy("title=\"quoted \\\" sortBy guide\""), is(false));
+    assertThat(CqlQuery.hasSortBy("title=sortByGuide"), is(false));
+    assertThat(CqlQuery.hasSortBy("notes.note=resortBy"), is(false));
+  }
 }
@@ -1,5 +1,6 @@
 package org.folio.inventory.storage.external;
 
+import static api.ApiTestSuite.ID_FOR_FAILURE;
 import static org.folio.inventory.common.FutureAssistance.fail;
 import static org.folio.inventory.common.FutureAssistance.getOnCompletion;
 import static org.folio.inventory.common.FutureAssistance.succeed;
@@ -17,6 +18,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.folio.inventory.common.WaitForAllFutures;
 import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.common.domain.MultipleRecords;
+import org.folio.inventory.domain.BatchResult;
 import org.folio.inventory.domain.items.Item;
 import org.folio.inventory.domain.items.ItemCollection;
 import org.folio.inventory.domain.items.ItemStatusName;
@@ -166,6 +168,64 @@ public class ExternalItemCollectionExamples extends ExternalStorageTests {
     assertThat(updated.getStatus().getName(), is(ItemStatusName.CHECKED_OUT));
   }
 
+  @Test
+  @SneakyThrows
+  public void itemsCanBeAddedInBatch() {
+    List<Item> items = List.of(
+      smallAngryPlanet.copyWithNewId(UUID.randomUUID().toString()),
+      nod.copyWithNewId(UUID.randomUUID().toString()),
+      uprooted.copyWithNewId(UUID.randomUUID().toString()));
+
+    CompletableFuture<BatchResult<Item>> addFinished = new CompletableFuture<>();
+
+    collection.addBatch(items, succeed(addFinished), fail(addFinished));
+
+    BatchResult<Item> batchResult = getOnCompletion(addFinished);
+
+    assertThat(batchResult.getFailedBatchItems().size(), is(0));
+    assertThat(batchResult.getBatchItems().size(), is(3));
+
+    for (int i = 0; i < items.size(); i++) {
+      Item added = batchResult.getBatchItems().get(i);
+
+      assertThat(added.id, is(items.get(i).id));
+      assertThat(added.getBarcode(), is(items.get(i).getBarcode()));
+      // generated by storage, so the added items must have been fetched
+      assertThat(added.getHrid(), notNullValue());
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void itemsWhichCannotBeUpdatedInBatchAreReported() {
+    CompletableFuture<Item> addFinished = new CompletableFuture<>();
+
+    collection.add(smallAngryPlanet, succeed(addFinished), fail(addFinished));
+
+    Item added = getOnCompletion(addFinished);
+
+    Item failing = nod.copyWithNewId(ID_FOR_FAILURE.toString());
+
+    CompletableFuture<BatchResult<Item>> updateFinished = new CompletableFuture<>();
+
+    collection.updateBatch(List.of(added.changeStatus(ItemStatusName.CHECKED_OUT), failing),
+      succeed(updateFinished), fail(updateFinished));
+
+    BatchResult<Item> batchResult = getOnCompletion(updateFinished);
+
+    assertThat(batchResult.getBatchItems().size(), is(1));
+    assertThat(batchResult.getBatchItems().get(0).id, is(added.id));
+    assertThat(batchResult.getFailedBatchItems().size(), is(1));
+    assertThat(batchResult.getFailedBatchItems().get(0).id, is(ID_FOR_FAILURE.toString()));
+    assertThat(batchResult.getErrorMessages().get(0), is("Test Internal Server Error"));
+
+    CompletableFuture<Item> gotUpdated = new CompletableFuture<>();
+
+    collection.findById(added.id, succeed(gotUpdated), fail(gotUpdated));
+
+    assertThat(getOnCompletion(gotUpdated).getStatus().getName(), is(ItemStatusName.CHECKED_OUT));
+  }
+
   @Test
   @SneakyThrows
   public void anItemCanBeDeleted() {
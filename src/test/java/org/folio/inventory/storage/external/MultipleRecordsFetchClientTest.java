@@ -0,0 +1,266 @@
+package org.folio.inventory.storage.external;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.folio.util.StringUtil.urlEncode;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.folio.inventory.exceptions.ExternalResourceFetchException;
+import org.folio.inventory.support.http.client.Response;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import lombok.SneakyThrows;
+
+public class MultipleRecordsFetchClientTest {
+
+  private static final Pattern LAST_ID = Pattern.compile("id>\"([^\"]+)\"");
+  private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+  private final List<String> storedIds = IntStream.range(0, 2500)
+    .mapToObj(i -> UUID.randomUUID().toString())
+    .sorted()
+    .collect(Collectors.toList());
+  private final List<String> queries = new ArrayList<>();
+
+  private CollectionResourceClient resourceClient;
+
+  @Before
+  public void setUp() {
+    resourceClient = mock(CollectionResourceClient.class);
+
+    doAnswer(invocation -> {
+      String query = invocation.getArgument(0);
+      int limit = invocation.getArgument(1);
+      queries.add(query);
+
+      Matcher matcher = LAST_ID.matcher(query);
+      String lastId = matcher.find() ? matcher.group(1) : "";
+      JsonArray holdingsRecords = new JsonArray(storedIds.stream()
+        .filter(id -> id.compareTo(lastId) > 0)
+        .limit(limit)
+        .map(id -> new JsonObject().put("id", id).put("instanceId", INSTANCE_ID))
+        .collect(Collectors.toList()));
+
+      return completedFuture(new Response(200,
+        new JsonObject().put("holdingsRecords", holdingsRecords).encode(), "application/json", null));
+    }).when(resourceClient).getMany(anyString(), anyInt(), anyInt());
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldWalkAllRecordsInPagesOrderedById() {
+    List<Integer> pageSizes = new ArrayList<>();
+    List<String> foundIds = new ArrayList<>();
+
+    fetchClient(1000).findByPages(CqlQuery.exactMatch("instanceId", INSTANCE_ID), page -> {
+      pageSizes.add(page.size());
+      page.forEach(holdingsRecord -> foundIds.add(holdingsRecord.getString("id")));
+      return completedFuture(null);
+    }).get(5, SECONDS);
+
+    assertThat(foundIds, is(storedIds));
+    assertThat(pageSizes, is(List.of(1000, 1000, 500)));
+    assertThat(queries.get(0), is(String.format("instanceId==\"%s\" sortBy id", INSTANCE_ID)));
+    assertThat(queries.get(1), is(String.format("(instanceId==\"%s\") and id>\"%s\" sortBy id",
+      INSTANCE_ID, storedIds.get(999))));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldRequestNextPageOnlyWhenPageIsHandled() {
+    List<Integer> requestsWhenHandled = new ArrayList<>();
+
+    fetchClient(1000).findByPages(List.of(INSTANCE_ID), ids -> CqlQuery.exactMatchAny("instanceId", ids), page -> {
+      requestsWhenHandled.add(queries.size());
+      return completedFuture(null);
+    }).get(5, SECONDS);
+
+    assertThat(requestsWhenHandled, is(List.of(1, 2, 3)));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldFetchRecordsOfPartitionInPages() {
+    List<JsonObject> found = fetchClient(1000)
+      .find(List.of(INSTANCE_ID), ids -> CqlQuery.exactMatchAny("instanceId", ids))
+      .get(5, SECONDS);
+
+    assertThat(found.stream().map(record -> record.getString("id")).collect(Collectors.toList()), is(storedIds));
+    assertThat(queries.size(), is(3));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldNotRequestAnotherPageAfterFullLastPage() {
+    fetchClient(500).findByPages(CqlQuery.exactMatch("instanceId", INSTANCE_ID),
+      page -> completedFuture(null)).get(5, SECONDS);
+
+    // the fifth page is full, only the empty sixth page tells there are no more records,
+    // the query of a page does not grow with the number of pages before it
+    assertThat(queries.size(), is(6));
+    assertThat(queries.stream().map(String::length).collect(Collectors.toList()),
+      everyItem(lessThanOrEqualTo(200)));
+  }
+
+  @Test(expected = ExternalResourceFetchException.class)
+  @SneakyThrows
+  public void shouldFailWhenPageCannotBeFetched() {
+    doAnswer(invocation -> completedFuture(new Response(500, "Internal server error", "text/plain", null)))
+      .when(resourceClient).getMany(anyString(), anyInt(), anyInt());
+
+    try {
+      fetchClient(1000).findByPages(CqlQuery.exactMatch("instanceId", INSTANCE_ID),
+        page -> completedFuture(null)).get(5, SECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Test(expected = ConnectException.class)
+  @SneakyThrows
+  public void shouldFailWhenStorageCannotBeReached() {
+    doAnswer(invocation -> CompletableFuture.failedFuture(new ConnectException("Connection refused")))
+      .when(resourceClient).getMany(anyString(), anyInt(), anyInt());
+
+    try {
+      fetchClient(1000).find(storedIds.subList(0, 100), ids -> CqlQuery.exactMatchAny("id", ids))
+        .get(5, SECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Test
+  public void shouldKeepQueriesOfPartitionsWithinLengthBudget() {
+    List<String> barcodes = IntStream.range(0, 300)
+      .mapToObj(i -> "barcode with spaces and \"quotes\" " + i)
+      .collect(Collectors.toList());
+
+    List<CqlQuery> queries = MultipleRecordsFetchClient.builder()
+      .withCollectionResourceClient(resourceClient)
+      .withCollectionPropertyName("items")
+      .withPartitionSize(100)
+      .withMaxQueryLength(1000)
+      .build()
+      .partitionQueries(barcodes, partition -> CqlQuery.exactMatchAny("barcode", partition));
+
+    assertThat(queries.stream().map(query -> urlEncode(query.toString()).length()).collect(Collectors.toList()),
+      everyItem(lessThanOrEqualTo(1000)));
+    assertThat(queries.stream().mapToInt(query -> query.toString().split(" or ").length).sum(), is(300));
+    // partitions are cut by the budget rather than by the partition size
+    assertThat(queries.size(), greaterThan(300 / 100));
+  }
+
+  @Test
+  public void shouldUsePartitionSizeWhenQueriesAreShort() {
+    List<CqlQuery> queries = MultipleRecordsFetchClient.builder()
+      .withCollectionResourceClient(resourceClient)
+      .withCollectionPropertyName("holdingsRecords")
+      .withPartitionSize(40)
+      .build()
+      .partitionQueries(storedIds.subList(0, 100), ids -> CqlQuery.exactMatchAny("id", ids));
+
+    assertThat(queries.stream().map(query -> query.toString().split(" or ").length).collect(Collectors.toList()),
+      is(List.of(40, 40, 20)));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldLimitPartitionsRequestedAtATime() {
+    List<Runnable> requestsInFlight = new ArrayList<>();
+    doAnswer(invocation -> {
+      String query = invocation.getArgument(0);
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      // a partition of one id is answered with a record of that id
+      String id = query.substring(query.indexOf('"') + 1, query.lastIndexOf('"'));
+      requestsInFlight.add(() -> response.complete(new Response(200,
+        new JsonObject().put("holdingsRecords", new JsonArray().add(new JsonObject().put("id", id))).encode(),
+        "application/json", null)));
+      return response;
+    }).when(resourceClient).getMany(anyString(), anyInt(), anyInt());
+
+    CompletableFuture<List<JsonObject>> found = MultipleRecordsFetchClient.builder()
+      .withCollectionResourceClient(resourceClient)
+      .withCollectionPropertyName("holdingsRecords")
+      .withPartitionSize(1)
+      .withMaxConcurrentRequests(3)
+      .build()
+      .find(storedIds.subList(0, 10), ids -> CqlQuery.exactMatchAny("id", ids));
+
+    List<Integer> numbersInFlight = new ArrayList<>();
+    while (!found.isDone()) {
+      numbersInFlight.add(requestsInFlight.size());
+      // the latest request is answered first, so responses do not come in the order of the partitions
+      requestsInFlight.remove(requestsInFlight.size() - 1).run();
+    }
+
+    assertThat(numbersInFlight, everyItem(lessThanOrEqualTo(3)));
+    assertThat(numbersInFlight.get(0), is(3));
+    assertThat(found.get(5, SECONDS).stream().map(record -> record.getString("id")).collect(Collectors.toList()),
+      is(storedIds.subList(0, 10)));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldLimitRequestsOfAllFindsOfClientTogether() {
+    List<Runnable> requestsInFlight = new ArrayList<>();
+    doAnswer(invocation -> {
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      requestsInFlight.add(() -> response.complete(new Response(200,
+        new JsonObject().put("holdingsRecords", new JsonArray()).encode(), "application/json", null)));
+      return response;
+    }).when(resourceClient).getMany(anyString(), anyInt(), anyInt());
+
+    MultipleRecordsFetchClient fetchClient = MultipleRecordsFetchClient.builder()
+      .withCollectionResourceClient(resourceClient)
+      .withCollectionPropertyName("holdingsRecords")
+      .withPartitionSize(1)
+      .withMaxConcurrentRequests(3)
+      .build();
+    CompletableFuture<List<JsonObject>> first = fetchClient
+      .find(storedIds.subList(0, 5), ids -> CqlQuery.exactMatchAny("id", ids));
+    CompletableFuture<List<JsonObject>> second = fetchClient
+      .find(storedIds.subList(5, 10), ids -> CqlQuery.exactMatchAny("id", ids));
+
+    List<Integer> numbersInFlight = new ArrayList<>();
+    while (!first.isDone() || !second.isDone()) {
+      numbersInFlight.add(requestsInFlight.size());
+      requestsInFlight.remove(0).run();
+    }
+
+    assertThat(numbersInFlight, everyItem(lessThanOrEqualTo(3)));
+    assertThat(numbersInFlight.get(0), is(3));
+    assertThat(first.get(5, SECONDS), is(List.of()));
+    assertThat(second.get(5, SECONDS), is(List.of()));
+  }
+
+  private MultipleRecordsFetchClient fetchClient(int pageSize) {
+    return MultipleRecordsFetchClient.builder()
+      .withCollectionResourceClient(resourceClient)
+      .withCollectionPropertyName("holdingsRecords")
+      .withPageSize(pageSize)
+      .build();
+  }
+}
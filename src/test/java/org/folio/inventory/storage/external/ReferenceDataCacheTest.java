@@ -0,0 +1,163 @@
+package org.folio.inventory.storage.external;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.folio.inventory.storage.external.ReferenceDataType.MATERIAL_TYPES;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.folio.inventory.common.Context;
+import org.folio.inventory.common.metrics.InventoryMetrics;
+import org.folio.inventory.dataimport.handlers.matching.util.EventHandlingUtil;
+import org.folio.inventory.exceptions.ExternalResourceFetchException;
+import org.folio.inventory.support.http.client.OkapiHttpClient;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+import io.micrometer.core.instrument.Counter;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import lombok.SneakyThrows;
+
+public class ReferenceDataCacheTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String MATERIAL_TYPES_URL = "/material-types";
+
+  private final Vertx vertx = Vertx.vertx();
+  private final String bookId = UUID.randomUUID().toString();
+  private final String dvdId = UUID.randomUUID().toString();
+
+  private ReferenceDataCache referenceDataCache;
+
+  @Rule
+  public WireMockRule mockServer = new WireMockRule(
+    WireMockConfiguration.wireMockConfig()
+      .dynamicPort()
+      .notifier(new Slf4jNotifier(true)));
+
+  @Before
+  public void setUp() {
+    referenceDataCache = new ReferenceDataCache(100, 3600);
+
+    JsonObject materialTypes = new JsonObject()
+      .put("mtypes", new JsonArray()
+        .add(new JsonObject().put("id", bookId).put("name", "Book"))
+        .add(new JsonObject().put("id", dvdId).put("name", "DVD")))
+      .put("totalRecords", 2);
+
+    WireMock.stubFor(get(urlPathEqualTo(MATERIAL_TYPES_URL))
+      .willReturn(WireMock.okJson(materialTypes.encode())));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldFetchAllMissingRecordsInSingleRequest() {
+    Map<String, JsonObject> records = referenceDataCache.getAll(MATERIAL_TYPES,
+      List.of(bookId, dvdId, bookId), context(TENANT_ID), okapiClient(TENANT_ID))
+      .get(5, SECONDS);
+
+    assertThat(records.size(), is(2));
+    assertThat(records.get(bookId).getString("name"), is("Book"));
+    assertThat(records.get(dvdId).getString("name"), is("DVD"));
+    WireMock.verify(1, getRequestedFor(urlPathEqualTo(MATERIAL_TYPES_URL)));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldServeCachedRecordsWithoutRequest() {
+    referenceDataCache.getAll(MATERIAL_TYPES, List.of(bookId, dvdId),
+      context(TENANT_ID), okapiClient(TENANT_ID)).get(5, SECONDS);
+
+    Map<String, JsonObject> records = referenceDataCache.getAll(MATERIAL_TYPES,
+      List.of(bookId), context(TENANT_ID), okapiClient(TENANT_ID))
+      .get(5, SECONDS);
+
+    assertThat(records.get(bookId).getString("name"), is("Book"));
+    WireMock.verify(1, getRequestedFor(urlPathEqualTo(MATERIAL_TYPES_URL)));
+    assertThat(referenceDataCache.getHitCount(), is(1L));
+    assertThat(referenceDataCache.getMissCount(), is(2L));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldNotShareRecordsBetweenTenants() {
+    referenceDataCache.getAll(MATERIAL_TYPES, List.of(bookId),
+      context(TENANT_ID), okapiClient(TENANT_ID)).get(5, SECONDS);
+
+    referenceDataCache.getAll(MATERIAL_TYPES, List.of(bookId),
+      context("other_tenant"), okapiClient("other_tenant")).get(5, SECONDS);
+
+    WireMock.verify(2, getRequestedFor(urlPathEqualTo(MATERIAL_TYPES_URL)));
+  }
+
+  @Test
+  public void shouldFailWhenRecordsCannotBeFetched() {
+    WireMock.stubFor(get(urlPathEqualTo(MATERIAL_TYPES_URL))
+      .willReturn(WireMock.serverError()));
+
+    CompletableFuture<Map<String, JsonObject>> records = referenceDataCache.getAll(MATERIAL_TYPES,
+      List.of(bookId), context(TENANT_ID), okapiClient(TENANT_ID));
+
+    ExecutionException failure = assertThrows(ExecutionException.class, () -> records.get(5, SECONDS));
+    assertThat(failure.getCause(), instanceOf(ExternalResourceFetchException.class));
+  }
+
+  @Test
+  public void shouldShareOneCacheBetweenCallers() {
+    assertThat(ReferenceDataCache.shared(100, 3600), sameInstance(ReferenceDataCache.shared(10, 60)));
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldCountHitsAndMissesInMetrics() {
+    double hitsBefore = cacheGets("hit");
+    double missesBefore = cacheGets("miss");
+
+    referenceDataCache.getAll(MATERIAL_TYPES, List.of(bookId),
+      context(TENANT_ID), okapiClient(TENANT_ID)).get(5, SECONDS);
+    referenceDataCache.getAll(MATERIAL_TYPES, List.of(bookId, dvdId),
+      context(TENANT_ID), okapiClient(TENANT_ID)).get(5, SECONDS);
+
+    assertThat(cacheGets("hit") - hitsBefore, is(1.0));
+    assertThat(cacheGets("miss") - missesBefore, is(2.0));
+  }
+
+  private static double cacheGets(String result) {
+    Counter counter = InventoryMetrics.getRegistry().find(InventoryMetrics.CACHE_GETS)
+      .tag("cache", "reference-data")
+      .tag("result", result)
+      .counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  private Context context(String tenantId) {
+    return EventHandlingUtil.constructContext(tenantId, "token", mockServer.baseUrl());
+  }
+
+  @SneakyThrows
+  private OkapiHttpClient okapiClient(String tenantId) {
+    return new OkapiHttpClient(WebClient.create(vertx), new URL(mockServer.baseUrl()),
+      tenantId, "token", null, null, null);
+  }
+}
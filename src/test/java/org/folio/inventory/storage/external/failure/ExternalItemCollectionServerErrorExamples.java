@@ -2,18 +2,21 @@ package org.folio.inventory.storage.external.failure;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.inventory.common.VertxAssistant;
 import org.folio.inventory.common.api.request.PagingParameters;
 import org.folio.inventory.common.domain.Failure;
+import org.folio.inventory.domain.BatchResult;
 import org.folio.inventory.domain.items.Item;
 import org.folio.inventory.domain.items.ItemCollection;
 import org.folio.inventory.domain.items.ItemStatusName;
@@ -26,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.http.Fault;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.github.tomakehurst.wiremock.matching.UrlPathPattern;
 
@@ -183,6 +187,96 @@ public class ExternalItemCollectionServerErrorExamples {
     assertServerError(failure);
   }
 
+  @Test
+  @SneakyThrows
+  void connectionFailureWhenFindingItemsTriggersFailureCallback() {
+    wireMockServer.stubFor(any(collectionRoot())
+      .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+    ItemCollection collection = createCollection();
+
+    CompletableFuture<Failure> failureCalled = new CompletableFuture<>();
+
+    collection.findByCql("title=\"*Small Angry*\"",
+      new PagingParameters(10, 0),
+      success -> fail("Completion callback should not be called"),
+      failureCalled::complete);
+
+    Failure failure = failureCalled.get(1000, MILLISECONDS);
+
+    assertThat(failure.getStatusCode(), Matchers.is(500));
+  }
+
+  @Test
+  @SneakyThrows
+  void forbiddenBatchUpdateTriggersFailureCallbackWithoutSavingItemsOneByOne() {
+    wireMockServer.stubFor(any(batchRoot())
+      .willReturn(aResponse()
+        .withStatus(403)
+        .withBody("Access requires permission: item-storage.batch.synchronous.items.post")
+        .withHeader("Content-Type", "text/plain")));
+
+    ItemCollection collection = createCollection();
+
+    CompletableFuture<Failure> failureCalled = new CompletableFuture<>();
+
+    collection.updateBatch(List.of(createItem().copyWithNewId(UUID.randomUUID().toString())),
+      success -> fail("Completion callback should not be called"),
+      failureCalled::complete);
+
+    Failure failure = failureCalled.get(1000, MILLISECONDS);
+
+    assertThat(failure.getStatusCode(), Matchers.is(403));
+    assertThat(failure.getReason(), Matchers.containsString("item-storage.batch.synchronous.items.post"));
+    wireMockServer.verify(0, anyRequestedFor(individualItem()));
+  }
+
+  @Test
+  @SneakyThrows
+  void serverErrorOfBatchUpdateTriggersFailureCallbackWithoutSavingItemsOneByOne() {
+    wireMockServer.stubFor(any(batchRoot())
+      .willReturn(serverErrorResponse()));
+
+    ItemCollection collection = createCollection();
+
+    CompletableFuture<Failure> failureCalled = new CompletableFuture<>();
+
+    collection.updateBatch(List.of(createItem().copyWithNewId(UUID.randomUUID().toString())),
+      success -> fail("Completion callback should not be called"),
+      failureCalled::complete);
+
+    Failure failure = failureCalled.get(1000, MILLISECONDS);
+
+    assertServerError(failure);
+    wireMockServer.verify(0, anyRequestedFor(individualItem()));
+  }
+
+  @Test
+  @SneakyThrows
+  void forbiddenBatchCreateSavesItemsOneByOne() {
+    wireMockServer.stubFor(any(batchRoot())
+      .willReturn(aResponse()
+        .withStatus(403)
+        .withBody("Access requires permission: item-storage.batch.synchronous.items.post")
+        .withHeader("Content-Type", "text/plain")));
+    wireMockServer.stubFor(any(collectionRoot())
+      .willReturn(serverErrorResponse()));
+
+    ItemCollection collection = createCollection();
+
+    CompletableFuture<BatchResult<Item>> resultCalled = new CompletableFuture<>();
+
+    collection.addBatch(List.of(createItem().copyWithNewId(UUID.randomUUID().toString())),
+      success -> resultCalled.complete(success.getResult()),
+      failure -> fail("Failure callback should not be called"));
+
+    BatchResult<Item> result = resultCalled.get(1000, MILLISECONDS);
+
+    assertThat(result.getBatchItems().size(), Matchers.is(0));
+    assertThat(result.getErrorMessages(), Matchers.contains("Server Error"));
+    wireMockServer.verify(1, anyRequestedFor(collectionRoot()));
+  }
+
   private static Item createItem() {
     return new Item(null,
       null,
@@ -219,6 +313,10 @@ public class ExternalItemCollectionServerErrorExamples {
     return urlPathMatching("/item-storage/items");
   }
 
+  private UrlPathPattern batchRoot() {
+    return urlPathMatching("/item-storage/batch/synchronous");
+  }
+
   private UrlPathPattern individualItem() {
     return urlPathMatching("/item-storage/items/[a-z0-9/-]*");
   }
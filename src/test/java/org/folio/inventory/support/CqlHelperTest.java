@@ -64,4 +64,9 @@ public class CqlHelperTest {
   public void barcode(String barcode, String cql) {
     assertThat(CqlHelper.barcodeIs(barcode), is(cql));
   }
+
+  @Test
+  public void barcodes() {
+    assertThat(CqlHelper.barcodeIsAny(List.of("abc", "1-*?")), is("barcode==(\"abc\" or \"1-\\*\\?\")"));
+  }
 }
@@ -0,0 +1,121 @@
+package org.folio.inventory.support.http.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpVersion;
+
+public class HttpClientFactoryTest {
+
+  @Test
+  public void shouldUseDefaultsWhenNothingIsConfigured() {
+    HttpClientOptions options = HttpClientFactory.createOptions(name -> null);
+
+    assertThat(options.getMaxPoolSize(), is(20));
+    assertThat(options.getMaxWaitQueueSize(), is(HttpClientOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE));
+    assertThat(options.isKeepAlive(), is(true));
+    assertThat(options.isPipelining(), is(false));
+    assertThat(options.getProtocolVersion(), is(HttpVersion.HTTP_1_1));
+  }
+
+  @Test
+  public void shouldApplyConfiguredPoolSettings() {
+    Map<String, String> settings = Map.of(
+      HttpClientFactory.MAX_POOL_SIZE, "50",
+      HttpClientFactory.MAX_WAIT_QUEUE_SIZE, " 200 ",
+      HttpClientFactory.KEEP_ALIVE_TIMEOUT, "30",
+      HttpClientFactory.PIPELINING, "true",
+      HttpClientFactory.HTTP2, "true",
+      HttpClientFactory.HTTP2_MAX_POOL_SIZE, "2");
+
+    HttpClientOptions options = HttpClientFactory.createOptions(settings::get);
+
+    assertThat(options.getMaxPoolSize(), is(50));
+    assertThat(options.getMaxWaitQueueSize(), is(200));
+    assertThat(options.getKeepAliveTimeout(), is(30));
+    assertThat(options.isPipelining(), is(true));
+    assertThat(options.getProtocolVersion(), is(HttpVersion.HTTP_2));
+    assertThat(options.isHttp2ClearTextUpgrade(), is(false));
+    assertThat(options.getHttp2MaxPoolSize(), is(2));
+  }
+
+  @Test
+  public void shouldShareClientsOfVertxInstance() {
+    Vertx vertx = Vertx.vertx();
+    try {
+      assertThat(HttpClientFactory.getHttpClient(vertx), sameInstance(HttpClientFactory.getHttpClient(vertx)));
+      assertThat(HttpClientFactory.getWebClient(vertx), sameInstance(HttpClientFactory.getWebClient(vertx)));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void shouldKeepClientOpenWhenVerticleWhichAskedForItIsUndeployed() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      HttpServer server = vertx.createHttpServer()
+        .requestHandler(request -> request.response().end("ok"))
+        .listen(0)
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      HttpClient created = HttpClientFactory.createHttpClient(vertx);
+      CompletableFuture<HttpClient> asked = new CompletableFuture<>();
+      String deploymentId = vertx.deployVerticle(new AbstractVerticle() {
+          @Override
+          public void start() {
+            asked.complete(HttpClientFactory.getHttpClient(vertx));
+          }
+        })
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      vertx.undeploy(deploymentId).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      HttpClient client = HttpClientFactory.getHttpClient(vertx);
+      String body = client.request(HttpMethod.GET, server.actualPort(), "localhost", "/")
+        .compose(request -> request.send())
+        .compose(response -> response.body())
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        .toString();
+
+      assertThat(client, sameInstance(created));
+      assertThat(asked.get(), sameInstance(created));
+      assertThat(body, is("ok"));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void shouldNotCreateClientOnVerticleThread() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      CompletableFuture<Throwable> failure = new CompletableFuture<>();
+      vertx.runOnContext(v -> {
+        try {
+          HttpClientFactory.createHttpClient(vertx);
+          failure.complete(null);
+        } catch (IllegalStateException e) {
+          failure.complete(e);
+        }
+      });
+
+      assertThat(failure.get(10, TimeUnit.SECONDS), instanceOf(IllegalStateException.class));
+    } finally {
+      vertx.close();
+    }
+  }
+}
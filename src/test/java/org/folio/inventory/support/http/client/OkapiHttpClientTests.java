@@ -6,6 +6,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.delete;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.noContent;
 import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
@@ -34,6 +35,7 @@ import com.github.tomakehurst.wiremock.client.MappingBuilder;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import lombok.SneakyThrows;
@@ -153,6 +155,31 @@ public class OkapiHttpClientTests {
     assertThat(response.getBody(), is(emptyOrNullString()));
   }
 
+  @Test
+  public void postForReadDoesNotStopGetsInFlightFromBeingJoined()
+    throws InterruptedException, ExecutionException, TimeoutException {
+
+    fakeWebServer.stubFor(matchingFolioHeaders(get(urlPathEqualTo("/record")))
+      .willReturn(okJson(dummyJsonResponseBody()).withFixedDelay(500)));
+    fakeWebServer.stubFor(matchingFolioHeaders(post(urlPathEqualTo("/records")))
+      .withRequestBody(equalToJson("[\"12345\"]"))
+      .willReturn(okJson(dummyJsonResponseBody())));
+
+    OkapiHttpClient client = createClient();
+
+    final var firstGetCompleted = client.get(fakeWebServer.url("/record"));
+
+    final Response postResponse = client.postForRead(fakeWebServer.url("/records"),
+      new JsonArray().add("12345")).toCompletableFuture().get(2, SECONDS);
+
+    final var secondGetCompleted = client.get(fakeWebServer.url("/record"));
+
+    assertThat(postResponse.getStatusCode(), is(HTTP_OK.toInt()));
+    assertThat(firstGetCompleted.toCompletableFuture().get(2, SECONDS).getStatusCode(), is(HTTP_OK.toInt()));
+    assertThat(secondGetCompleted.toCompletableFuture().get(2, SECONDS).getStatusCode(), is(HTTP_OK.toInt()));
+    fakeWebServer.verify(1, getRequestedFor(urlPathEqualTo("/record")));
+  }
+
   //TODO: Maybe replace this with a filter extension
   private MappingBuilder matchingFolioHeaders(MappingBuilder mappingBuilder) {
     return mappingBuilder
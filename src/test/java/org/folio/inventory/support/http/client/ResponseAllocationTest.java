@@ -0,0 +1,84 @@
+package org.folio.inventory.support.http.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.inventory.AllocationMeter;
+import org.folio.inventory.PerformanceTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+
+/**
+ * Allocation benchmark: compares memory allocated per record by decoding a page of items record by record
+ * with memory allocated by decoding the body to a string and parsing the whole page.
+ * <p>
+ * Records are still handed to mappers as JsonObjects, so decoding record by record only saves the string
+ * and the tree of the whole page, a quarter to a third of the allocation, short of halving it.
+ */
+@Category(PerformanceTest.class)
+public class ResponseAllocationTest {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final int RECORDS_PER_PAGE = 100;
+  private static final int PAGES = 500;
+
+  private final Buffer page = page();
+
+  @Test
+  public void shouldAllocateLessPerRecordWhenRecordsAreDecodedOneAtATime() {
+    assumeTrue(AllocationMeter.isSupported());
+
+    long wholePage = AllocationMeter.allocatedBytes(PAGES, () -> {
+      Response response = fromBuffer(page);
+      new JsonObject(response.getBody()).getJsonArray("items").forEach(JsonObject.class::cast);
+    });
+
+    long recordByRecord = AllocationMeter.allocatedBytes(PAGES, () -> fromBuffer(page)
+      .forEachRecord("items", json -> {}));
+
+    LOGGER.info("Allocated per record: whole page parsed {} bytes, decoded record by record {} bytes",
+      wholePage / PAGES / RECORDS_PER_PAGE, recordByRecord / PAGES / RECORDS_PER_PAGE);
+    assertThat(recordByRecord, lessThan(wholePage * 9 / 10));
+  }
+
+  private static Buffer page() {
+    JsonArray items = new JsonArray();
+    for (int i = 0; i < RECORDS_PER_PAGE; i++) {
+      items.add(new JsonObject()
+        .put("id", UUID.randomUUID().toString())
+        .put("barcode", "barcode-" + i)
+        .put("holdingsRecordId", UUID.randomUUID().toString())
+        .put("status", new JsonObject().put("name", "Available"))
+        .put("materialTypeId", UUID.randomUUID().toString())
+        .put("permanentLoanTypeId", UUID.randomUUID().toString())
+        .put("notes", new JsonArray().add(new JsonObject().put("note", "note " + i))));
+    }
+    return new JsonObject()
+      .put("items", items)
+      .put("totalRecords", RECORDS_PER_PAGE)
+      .toBuffer();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Response fromBuffer(Buffer body) {
+    HttpResponse<Buffer> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.statusCode()).thenReturn(200);
+    when(httpResponse.body()).thenReturn(body);
+    when(httpResponse.getHeader("Content-Type")).thenReturn("application/json");
+
+    return Response.from(httpResponse);
+  }
+}
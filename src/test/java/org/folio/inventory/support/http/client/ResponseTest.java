@@ -0,0 +1,116 @@
+package org.folio.inventory.support.http.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+
+public class ResponseTest {
+  private static final JsonObject ITEMS = new JsonObject()
+    .put("items", new JsonArray()
+      .add(new JsonObject().put("id", "1").put("status", new JsonObject().put("name", "Available")))
+      .add(new JsonObject().put("id", "2").put("notes", new JsonArray().add("note"))))
+    .put("totalRecords", 2)
+    .put("resultInfo", new JsonObject().put("facets", new JsonArray()));
+
+  @Test
+  public void shouldDecodeBodyOnlyOnce() {
+    Response response = fromBuffer(ITEMS.toBuffer());
+
+    assertThat(response.getBody(), is(ITEMS.encode()));
+    assertThat(response.getBody(), sameInstance(response.getBody()));
+  }
+
+  @Test
+  public void shouldReturnNewJsonOnEachCall() {
+    Response response = fromBuffer(ITEMS.toBuffer());
+
+    response.getJson().put("totalRecords", 0).getJsonArray("items").clear();
+
+    assertThat(response.getJson(), is(ITEMS));
+    assertThat(response.getJson(), not(sameInstance(response.getJson())));
+  }
+
+  @Test
+  public void shouldDecodeRecordsOneAtATime() {
+    Response response = fromBuffer(ITEMS.toBuffer());
+    List<JsonObject> records = new ArrayList<>();
+
+    JsonObject otherProperties = response.forEachRecord("items", records::add);
+
+    assertThat(records, contains(
+      ITEMS.getJsonArray("items").getJsonObject(0), ITEMS.getJsonArray("items").getJsonObject(1)));
+    assertThat(records.get(0).getJsonObject("status").getString("name"), is("Available"));
+    assertThat(records.get(1).getJsonArray("notes").getString(0), is("note"));
+    assertThat(otherProperties.getInteger("totalRecords"), is(2));
+    assertThat(otherProperties.getJsonObject("resultInfo"), is(ITEMS.getJsonObject("resultInfo")));
+    assertThat(otherProperties.containsKey("items"), is(false));
+  }
+
+  @Test
+  public void shouldDecodeRecordsOfBodyWhichHasBeenParsedAndModified() {
+    Response response = fromBuffer(ITEMS.toBuffer());
+    response.getJson().getJsonArray("items").remove(0);
+
+    List<String> ids = new ArrayList<>();
+    JsonObject otherProperties = response.forEachRecord("items", json -> ids.add(json.getString("id")));
+
+    assertThat(ids, contains("1", "2"));
+    assertThat(otherProperties.getInteger("totalRecords"), is(2));
+  }
+
+  @Test
+  public void shouldDecodeRecordsOfStringBody() {
+    Response response = new Response(200, ITEMS.encode(), "application/json", null);
+
+    List<JsonObject> records = response.getRecords("items");
+
+    assertThat(records.stream().map(json -> json.getString("id")).collect(Collectors.toList()),
+      contains("1", "2"));
+  }
+
+  @Test
+  public void shouldSkipRecordsWhichAreNotObjects() {
+    Buffer body = new JsonObject()
+      .put("items", new JsonArray().add("text").addNull().add(new JsonObject().put("id", "1")))
+      .toBuffer();
+
+    List<JsonObject> records = fromBuffer(body).getRecords("items");
+
+    assertThat(records, contains(new JsonObject().put("id", "1")));
+  }
+
+  @Test
+  public void shouldHaveNoRecordsWhenThereIsNoBody() {
+    Response response = fromBuffer(Buffer.buffer("  "));
+
+    assertThat(response.hasBody(), is(false));
+    assertThat(response.getRecords("items"), empty());
+    assertThat(response.getJson(), is(new JsonObject()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Response fromBuffer(Buffer body) {
+    HttpResponse<Buffer> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.statusCode()).thenReturn(200);
+    when(httpResponse.body()).thenReturn(body);
+    when(httpResponse.getHeader("Content-Type")).thenReturn("application/json");
+
+    return Response.from(httpResponse);
+  }
+}
@@ -0,0 +1,125 @@
+package org.folio.inventory.support.http.client;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+import lombok.SneakyThrows;
+
+public class SingleFlightTest {
+
+  private static final String URL = "http://okapi:9130/holdings-storage/holdings/" + UUID.randomUUID();
+  private static final String TOKEN = "token";
+
+  private final List<CompletableFuture<Response>> sentRequests = new ArrayList<>();
+  private String tenantId;
+
+  @Before
+  public void setUp() {
+    tenantId = "tenant-" + UUID.randomUUID();
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldShareResponseOfIdenticalRequestInFlight() {
+    CompletableFuture<Response> first = SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+    CompletableFuture<Response> second = SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+
+    assertThat(sentRequests.size(), is(1));
+
+    sentRequests.get(0).complete(okResponse());
+
+    assertThat(second.get(5, SECONDS).getJson().getString("id"), is("holdings"));
+    // each holder parses the shared body on its own
+    assertThat(second.get(5, SECONDS).getJson(), not(sameInstance(first.get(5, SECONDS).getJson())));
+  }
+
+  @Test
+  public void shouldSendRequestAgainWhenResponseHasArrived() {
+    SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+    sentRequests.get(0).complete(okResponse());
+
+    SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void shouldNotShareRequestsOfOtherTenantsOrTokens() {
+    SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+    SingleFlight.get(URL, "other-" + tenantId, TOKEN, sendRequest());
+    SingleFlight.get(URL, tenantId, "other-token", sendRequest());
+    SingleFlight.get(URL + "?limit=1", tenantId, TOKEN, sendRequest());
+
+    assertThat(sentRequests.size(), is(4));
+  }
+
+  @Test
+  public void shouldNotJoinRequestSentBeforeWrite() {
+    CompletableFuture<Response> beforeWrite = SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+
+    SingleFlight.invalidate(tenantId);
+    CompletableFuture<Response> afterWrite = SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+
+    assertThat(sentRequests.size(), is(2));
+
+    // the earlier response does not end the flight of the later request
+    sentRequests.get(0).complete(okResponse());
+    SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+
+    assertThat(beforeWrite.isDone(), is(true));
+    assertThat(afterWrite.isDone(), is(false));
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void shouldKeepJoiningRequestsOfOtherTenantsAfterWrite() {
+    String otherTenantId = "other-" + tenantId;
+    SingleFlight.get(URL, otherTenantId, TOKEN, sendRequest());
+
+    SingleFlight.invalidate(tenantId);
+    SingleFlight.get(URL, otherTenantId, TOKEN, sendRequest());
+
+    assertThat(sentRequests.size(), is(1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  @SneakyThrows
+  public void shouldShareFailureOfRequestInFlight() {
+    SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+    CompletableFuture<Response> joined = SingleFlight.get(URL, tenantId, TOKEN, sendRequest());
+
+    sentRequests.get(0).completeExceptionally(new IllegalStateException("Connection refused"));
+
+    try {
+      joined.get(5, SECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
+  private Supplier<CompletableFuture<Response>> sendRequest() {
+    return () -> {
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      sentRequests.add(response);
+      return response;
+    };
+  }
+
+  private static Response okResponse() {
+    return new Response(200, new JsonObject().put("id", "holdings").encode(), "application/json", null);
+  }
+}
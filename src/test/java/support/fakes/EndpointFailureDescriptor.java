@@ -8,6 +8,8 @@ public class EndpointFailureDescriptor {
   private String contentType;
   private String body;
   private String method;
+  private boolean closeConnection;
+  private String uriContains;
 
   public Date getFailureExpireDate() {
     return failureExpireDate;
@@ -53,4 +55,22 @@ public class EndpointFailureDescriptor {
     this.method = method;
     return this;
   }
+
+  public boolean isCloseConnection() {
+    return closeConnection;
+  }
+
+  public EndpointFailureDescriptor setCloseConnection(boolean closeConnection) {
+    this.closeConnection = closeConnection;
+    return this;
+  }
+
+  public String getUriContains() {
+    return uriContains;
+  }
+
+  public EndpointFailureDescriptor setUriContains(String uriContains) {
+    this.uriContains = uriContains;
+    return this;
+  }
 }
@@ -20,6 +20,8 @@ public class FakeCQLToJSONInterpreter {
   // " or ) at the left and a-z at right
   private static final String OR_REGEX = "(?<=[\")]) or (?=[a-z])";
   private static final Pattern PATTERN = Pattern.compile(OR_REGEX);
+  // a query in parentheses followed by another clause, as keyset pagination requests: (query) and id>"last id"
+  private static final Pattern GROUP_AND_PATTERN = Pattern.compile("^\\((.*)\\) and (.*)$");
   private final boolean diagnosticsEnabled;
 
   public FakeCQLToJSONInterpreter(boolean diagnosticsEnabled) {
@@ -74,10 +76,15 @@ public class FakeCQLToJSONInterpreter {
   }
 
   private Predicate<JsonObject> filterForQuery(String query) {
-    if(StringUtils.isBlank(query)) {
+    if(StringUtils.isBlank(query) || query.trim().equals("cql.allRecords=1")) {
       return t -> true;
     }
 
+    final Matcher groupMatcher = GROUP_AND_PATTERN.matcher(query);
+    if (groupMatcher.matches()) {
+      return filterForQuery(groupMatcher.group(1)).and(filterForQuery(groupMatcher.group(2)));
+    }
+
     String splitRegex;
     BinaryOperator<Predicate<JsonObject>> accumulator;
 
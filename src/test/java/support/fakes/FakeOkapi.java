@@ -121,12 +121,14 @@ public class FakeOkapi extends AbstractVerticle {
   }
 
   private void registerFakeHoldingStorageModule(Router router) {
-    new FakeStorageModuleBuilder()
+    FakeStorageModule fakeHoldingStorageModule = new FakeStorageModuleBuilder()
       .withRecordName("holding")
       .withRootPath("/holdings-storage/holdings")
       .withCollectionPropertyName("holdingsRecords")
       .withRequiredProperties("instanceId", "permanentLocationId")
-      .create().register(router);
+      .create();
+    fakeHoldingStorageModule.register(router);
+    fakeHoldingStorageModule.registerSynchronousBatch(router, "/holdings-storage/batch/synchronous");
   }
 
   private void registerFakeAuthorityStorageModule(Router router) {
@@ -138,7 +140,7 @@ public class FakeOkapi extends AbstractVerticle {
   }
 
   private void registerFakeItemsStorageModule(Router router) {
-    new FakeStorageModuleBuilder()
+    FakeStorageModule fakeItemStorageModule = new FakeStorageModuleBuilder()
       .withRecordName("item")
       .withRootPath("/item-storage/items")
       .withRequiredProperties("materialTypeId", "permanentLoanTypeId", "status.name")
@@ -149,7 +151,9 @@ public class FakeOkapi extends AbstractVerticle {
         StorageRecordPreProcessors::setEffectiveShelvingOrder,
         StorageRecordPreProcessors::setStatusDateProcessor
       )
-      .create().register(router);
+      .create();
+    fakeItemStorageModule.register(router);
+    fakeItemStorageModule.registerSynchronousBatch(router, "/item-storage/batch/synchronous");
   }
 
   private void registerFakeMaterialTypesModule(Router router) {
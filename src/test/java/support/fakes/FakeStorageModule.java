@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -43,6 +44,7 @@ class FakeStorageModule extends AbstractVerticle {
   private final Map<String, Supplier<Object>> defaultProperties;
   private final List<RecordPreProcessor> recordPreProcessors;
   private EndpointFailureDescriptor endpointFailureDescriptor = null;
+  private final List<String> recordedQueries = new CopyOnWriteArrayList<>();
 
   FakeStorageModule(
     String rootPath,
@@ -93,12 +95,17 @@ class FakeStorageModule extends AbstractVerticle {
     router.put(rootPath + "/:id").handler(this::checkRequiredProperties);
     router.put(rootPath + "/:id").handler(this::replace);
 
+    router.get(rootPath + "/recorded-queries").handler(this::getRecordedQueries);
     router.get(rootPath + "/:id").handler(this::get);
     router.delete(rootPath + "/:id").handler(this::delete);
   }
 
   private void emulateFailureIfNeeded(RoutingContext routingContext) {
-    if (shouldEmulateFailure(routingContext)) {
+    if (shouldEmulateFailure(routingContext) && endpointFailureDescriptor.isCloseConnection()) {
+      // the client sees a connection failure rather than a response
+      routingContext.request().connection().close();
+
+    } else if (shouldEmulateFailure(routingContext)) {
       final String body = endpointFailureDescriptor.getBody();
 
       routingContext.response()
@@ -120,7 +127,9 @@ class FakeStorageModule extends AbstractVerticle {
     return endpointFailureDescriptor != null && DateTime.now().toDate()
       .before(endpointFailureDescriptor.getFailureExpireDate())
       && endpointFailureDescriptor.getMethod().equals(routingContext.request()
-      .method().name());
+      .method().name())
+      && (endpointFailureDescriptor.getUriContains() == null
+      || routingContext.request().uri().contains(endpointFailureDescriptor.getUriContains()));
   }
 
   void registerBatch(Router router, String batchPath) {
@@ -158,6 +167,53 @@ class FakeStorageModule extends AbstractVerticle {
     });
   }
 
+  void registerSynchronousBatch(Router router, String batchPath) {
+    router.post(batchPath).handler(BodyHandler.create());
+    router.route(batchPath).handler(this::emulateFailureIfNeeded);
+    router.route(batchPath).handler(this::checkTokenHeader);
+    router.post(batchPath).handler(this::saveBatchSynchronously);
+  }
+
+  private void saveBatchSynchronously(RoutingContext routingContext) {
+    WebContext context = new WebContext(routingContext);
+    boolean upsert = Boolean.parseBoolean(routingContext.request().getParam("upsert"));
+    JsonArray batchElements = getJsonFromBody(routingContext).getJsonArray(collectionPropertyName);
+    Map<String, JsonObject> resourcesForTenant = getResourcesForTenant(context);
+
+    // like the storage modules, either all records of the batch are saved or none
+    for (int i = 0; i < batchElements.size(); i++) {
+      String id = batchElements.getJsonObject(i).getString("id");
+
+      if (ID_FOR_FAILURE.toString().equals(id)) {
+        ServerErrorResponse.internalError(routingContext.response(), "Test Internal Server Error");
+        return;
+      } else if (ID_FOR_OPTIMISTIC_LOCKING_FAILURE.toString().equals(id)) {
+        ClientErrorResponse.optimisticLocking(routingContext.response(), "Optimistic Locking");
+        return;
+      } else if (!upsert && resourcesForTenant.containsKey(id)) {
+        ClientErrorResponse.badRequest(routingContext.response(),
+          String.format("id value already exists in table %s: %s", recordTypeName, id));
+        return;
+      }
+    }
+
+    CompletableFuture<Void> lastSave = completedFuture(null);
+
+    for (int i = 0; i < batchElements.size(); i++) {
+      JsonObject element = batchElements.getJsonObject(i);
+      setDefaultProperties(element);
+      String id = element.getString("id");
+
+      lastSave = lastSave
+        .thenCompose(prev -> preProcessRecords(resourcesForTenant.get(id), element))
+        .thenAccept(body -> resourcesForTenant.put(id, body));
+
+      System.out.printf("Saved %s resource: %s%n", recordTypeName, id);
+    }
+
+    lastSave.thenAccept(notUsed -> routingContext.response().setStatusCode(201).end());
+  }
+
   private void create(RoutingContext routingContext) {
 
     WebContext context = new WebContext(routingContext);
@@ -245,6 +301,10 @@ class FakeStorageModule extends AbstractVerticle {
 
     System.out.printf("Handling %s%n", routingContext.request().uri());
 
+    if (query != null) {
+      recordedQueries.add(query);
+    }
+
     Map<String, JsonObject> resourcesForTenant = getResourcesForTenant(context);
 
     List<JsonObject> filteredItems = new FakeCQLToJSONInterpreter(false)
@@ -266,6 +326,11 @@ class FakeStorageModule extends AbstractVerticle {
     JsonResponse.success(routingContext.response(), result);
   }
 
+  private void getRecordedQueries(RoutingContext routingContext) {
+    JsonResponse.success(routingContext.response(),
+      new JsonObject().put("queries", new JsonArray(new ArrayList<>(recordedQueries))));
+  }
+
   private void empty(RoutingContext routingContext) {
     WebContext context = new WebContext(routingContext);
 